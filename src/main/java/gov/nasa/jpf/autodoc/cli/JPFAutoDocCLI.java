@@ -19,8 +19,11 @@
 package gov.nasa.jpf.autodoc.cli;
 
 import gov.nasa.jpf.autodoc.core.AnalysisEngine;
+import gov.nasa.jpf.autodoc.core.ClasspathResolver;
 import gov.nasa.jpf.autodoc.core.DefaultAnalysisEngine;
 import gov.nasa.jpf.autodoc.core.model.AnalysisConfig;
+import gov.nasa.jpf.autodoc.core.model.ArchiveBackend;
+import gov.nasa.jpf.autodoc.core.model.ExecutorMode;
 import gov.nasa.jpf.autodoc.core.model.UnifiedAnalysisResult;
 import gov.nasa.jpf.autodoc.output.OutputGenerator;
 import gov.nasa.jpf.autodoc.output.OutputGeneratorFactory;
@@ -32,8 +35,13 @@ import picocli.CommandLine.Option;
 import picocli.CommandLine.Parameters;
 
 import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.List;
 import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 import java.util.logging.SimpleFormatter;
@@ -55,9 +63,11 @@ public class JPFAutoDocCLI implements Callable<Integer> {
     private static final Logger logger = Logger.getLogger(JPFAutoDocCLI.class.getName());
     
     @Option(names = {"-cp", "--classpath"}, 
-            description = "Classpath to analyze (directory, JAR, ZIP, or other archive files)")
+            description = "Classpath of directories and JAR/ZIP files, separated by the platform path separator; dir/* adds all JAR files in dir; used to look up superclasses outside the target")
     private String classpath;
     
+    private List<Path> classpathEntries;
+    
     @Option(names = {"-o", "--output"}, 
             description = "Output format: ${COMPLETION-CANDIDATES}",
             defaultValue = "MARKDOWN")
@@ -91,6 +101,19 @@ public class JPFAutoDocCLI implements Callable<Integer> {
             description = "Number of parallel threads (default: number of processors)")
     private Integer threadCount;
     
+    @Option(names = {"--reader-threads"}, 
+            description = "Number of threads reading class files while others analyze them (default: 2)")
+    private Integer readerThreadCount = AnalysisConfig.DEFAULT_READER_THREAD_COUNT;
+    
+    @Option(names = {"--executor"}, 
+            description = "How parallel analysis is scheduled: ${COMPLETION-CANDIDATES} (default: PLATFORM)",
+            defaultValue = "PLATFORM")
+    private ExecutorMode executorMode = ExecutorMode.PLATFORM;
+    
+    @Option(names = {"--concurrent-targets"}, 
+            description = "Analyze all targets at the same time, reading classes they share (e.g. jpf-core) only once")
+    private boolean concurrentTargets = false;
+    
     @Option(names = {"--verbose", "-v"}, 
             description = "Enable verbose output")
     private boolean verbose = false;
@@ -103,6 +126,19 @@ public class JPFAutoDocCLI implements Callable<Integer> {
             description = "Exclude pattern for class names")
     private List<String> excludePatterns;
     
+    @Option(names = {"--archive-backend"}, 
+            description = "Reader used for JAR/ZIP archives: ${COMPLETION-CANDIDATES} (default: MAPPED)",
+            defaultValue = "MAPPED")
+    private ArchiveBackend archiveBackend = ArchiveBackend.MAPPED;
+    
+    @Option(names = {"--nested-depth"}, 
+            description = "Levels of JAR/ZIP files nested in archives to read, e.g. lib/ in fat jars; 0 disables (default: 2)")
+    private Integer nestedDepth = AnalysisConfig.DEFAULT_NESTED_ARCHIVE_DEPTH;
+    
+    @Option(names = {"--inflate-threshold"}, 
+            description = "Entries from which a JAR/ZIP file read with the JAR_FILE backend is inflated by several threads; 0 disables (default: 10000)")
+    private Integer inflateThreshold = AnalysisConfig.DEFAULT_PARALLEL_INFLATION_THRESHOLD;
+    
     @Option(names = {"--max-memory"}, 
             description = "Maximum memory usage in MB (default: 2048)")
     private Integer maxMemory = 2048;
@@ -178,45 +214,58 @@ public class JPFAutoDocCLI implements Callable<Integer> {
             AnalysisConfig config = buildAnalysisConfig();
             logger.info("Analysis configuration built: " + config.toString());
             
-            // Perform analysis for each target
-            for (String target : targets) {
-                try {
-                    logger.info("Starting analysis of target: " + target);
-                    System.out.println("Analyzing: " + target);
-                    
-                    // Perform analysis
-                    UnifiedAnalysisResult result = analysisEngine.analyze(target, config);
-                    logger.info("Analysis completed for target: " + target + 
-                              " - Configurations: " + result.getTotalConfigurations() + 
-                              ", Types: " + result.getTotalTypes());
-                    
-                    // Generate output
-                    if (multipleOutputs != null) {
-                        generateMultipleOutputs(result, target);
-                    } else {
-                        OutputGenerator generator = OutputGeneratorFactory.getGenerator(outputFormat);
-                        if (generator == null) {
-                            logger.severe("Unsupported output format: " + outputFormat);
-                            System.err.println("Error: Unsupported output format: " + outputFormat);
-                            System.err.println("Supported formats: " + java.util.Arrays.toString(OutputGeneratorFactory.getSupportedFormats()));
-                            return 1;
+            // Perform analysis for each target on the one engine, which keeps its
+            // worker threads and caches from one target to the next
+            try {
+                // With concurrent targets all analyses start now; outputs are still written in target order
+                List<CompletableFuture<UnifiedAnalysisResult>> concurrentResults = concurrentTargets
+                    ? analysisEngine.analyzeConcurrently(targets, config)
+                    : null;
+                
+                for (int i = 0; i < targets.size(); i++) {
+                    String target = targets.get(i);
+                    try {
+                        logger.info("Starting analysis of target: " + target);
+                        System.out.println("Analyzing: " + target);
+                        
+                        // Perform analysis
+                        UnifiedAnalysisResult result = concurrentResults != null
+                            ? awaitResult(concurrentResults.get(i))
+                            : analysisEngine.analyze(target, config);
+                        logger.info("Analysis completed for target: " + target + 
+                                  " - Configurations: " + result.getTotalConfigurations() + 
+                                  ", Types: " + result.getTotalTypes());
+                        
+                        // Generate output
+                        if (multipleOutputs != null) {
+                            generateMultipleOutputs(result, target);
+                        } else {
+                            OutputGenerator generator = OutputGeneratorFactory.getGenerator(outputFormat);
+                            if (generator == null) {
+                                logger.severe("Unsupported output format: " + outputFormat);
+                                System.err.println("Error: Unsupported output format: " + outputFormat);
+                                System.err.println("Supported formats: " + java.util.Arrays.toString(OutputGeneratorFactory.getSupportedFormats()));
+                                return 1;
+                            }
+                            generateOutput(result, target, generator);
                         }
-                        generateOutput(result, target, generator);
-                    }
-                    
-                    // Print summary if verbose
-                    if (verbose) {
-                        printSummary(result);
-                    }
-                    
-                } catch (Exception e) {
-                    logger.log(Level.SEVERE, "Error analyzing target: " + target, e);
-                    System.err.println("Error analyzing target '" + target + "': " + e.getMessage());
-                    if (verbose) {
-                        e.printStackTrace();
+                        
+                        // Print summary if verbose
+                        if (verbose) {
+                            printSummary(result);
+                        }
+                        
+                    } catch (Exception e) {
+                        logger.log(Level.SEVERE, "Error analyzing target: " + target, e);
+                        System.err.println("Error analyzing target '" + target + "': " + e.getMessage());
+                        if (verbose) {
+                            e.printStackTrace();
+                        }
+                        return 1;
                     }
-                    return 1;
                 }
+            } finally {
+                analysisEngine.close();
             }
             
             logger.info("All analysis completed successfully");
@@ -232,10 +281,31 @@ public class JPFAutoDocCLI implements Callable<Integer> {
         }
     }
     
+    /**
+     * Waits for the result of a target analyzed concurrently, failing the way
+     * analyzing the target directly would.
+     */
+    private static UnifiedAnalysisResult awaitResult(CompletableFuture<UnifiedAnalysisResult> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+    }
+    
     private AnalysisConfig buildAnalysisConfig() {
         AnalysisConfig.Builder builder = AnalysisConfig.builder()
             .validateResults(validate)
-            .verbose(verbose);
+            .verbose(verbose)
+            .archiveBackend(archiveBackend)
+            .nestedArchiveDepth(nestedDepth)
+            .readerThreadCount(readerThreadCount)
+            .executorMode(executorMode)
+            .parallelInflationThreshold(inflateThreshold)
+            .classpath(classpathEntries);
         
         // Set analysis type
         if (configOnly) {
@@ -376,12 +446,23 @@ public class JPFAutoDocCLI implements Callable<Integer> {
             return false;
         }
         
-        // Validate classpath exists
-        File classpathFile = new File(classpath);
-        if (!classpathFile.exists()) {
-            System.err.println("Error: Classpath does not exist: " + classpath);
+        // Validate every classpath entry exists
+        try {
+            classpathEntries = ClasspathResolver.parse(classpath);
+        } catch (IOException e) {
+            System.err.println("Error: Invalid classpath entry: " + e.getMessage());
             return false;
         }
+        if (classpathEntries.isEmpty()) {
+            System.err.println("Error: Classpath has no entries: " + classpath);
+            return false;
+        }
+        for (Path entry : classpathEntries) {
+            if (!Files.exists(entry)) {
+                System.err.println("Error: Classpath entry does not exist: " + entry);
+                return false;
+            }
+        }
         
         // Validate targets
         if (targets == null || targets.isEmpty()) {
@@ -410,6 +491,28 @@ public class JPFAutoDocCLI implements Callable<Integer> {
             return false;
         }
         
+        // Validate reader thread count
+        // Virtual reader threads are cheap, so more of them may wait on slow storage at once;
+        // without them VIRTUAL falls back to platform threads, which keep the platform limit
+        boolean virtualReaders = executorMode == ExecutorMode.VIRTUAL && DefaultAnalysisEngine.supportsVirtualThreads();
+        int maxReaderThreads = virtualReaders ? 256 : 32;
+        if (readerThreadCount < 1 || readerThreadCount > maxReaderThreads) {
+            System.err.println("Error: Reader thread count must be between 1 and " + maxReaderThreads + ".");
+            return false;
+        }
+        
+        // Validate nested archive depth
+        if (nestedDepth < 0) {
+            System.err.println("Error: Nested archive depth must not be negative.");
+            return false;
+        }
+        
+        // Validate parallel inflation threshold
+        if (inflateThreshold < 0) {
+            System.err.println("Error: Inflate threshold must not be negative.");
+            return false;
+        }
+        
         // Validate memory limit
         if (maxMemory != null && (maxMemory < 512 || maxMemory > 16384)) {
             System.err.println("Error: Memory limit must be between 512 and 16384 MB.");
@@ -566,6 +669,9 @@ public class JPFAutoDocCLI implements Callable<Integer> {
         System.out.println("Date: " + result.getAnalysisDate());
         System.out.println("Configurations: " + result.getTotalConfigurations());
         System.out.println("Types: " + result.getTotalTypes());
+        if (result.getDuplicateClassCount() > 0) {
+            System.out.println("Duplicate Classes Skipped: " + result.getDuplicateClassCount());
+        }
         
         if (result.hasConfigurations()) {
             System.out.println("\nConfiguration Details:");
@@ -656,7 +762,9 @@ public class JPFAutoDocCLI implements Callable<Integer> {
     }
     
     public static void main(String[] args) {
-        int exitCode = new CommandLine(new JPFAutoDocCLI()).execute(args);
+        int exitCode = new CommandLine(new JPFAutoDocCLI())
+            .setCaseInsensitiveEnumValuesAllowed(true)
+            .execute(args);
         System.exit(exitCode);
     }
 } 
\ No newline at end of file
@@ -21,11 +21,16 @@ package gov.nasa.jpf.autodoc.core;
 import gov.nasa.jpf.autodoc.core.model.UnifiedAnalysisResult;
 import gov.nasa.jpf.autodoc.core.model.AnalysisConfig;
 
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
 /**
  * Core analysis engine interface that coordinates all analysis operations.
  * This is the main entry point for performing JPF documentation analysis.
+ * An engine may hold worker threads and caches that are reused by all its
+ * analyses, so one engine should be used for all targets and closed afterwards.
  */
-public interface AnalysisEngine {
+public interface AnalysisEngine extends AutoCloseable {
     
     /**
      * Analyzes a set of class files according to the given configuration.
@@ -36,6 +41,18 @@ public interface AnalysisEngine {
      */
     UnifiedAnalysisResult analyze(ClassFileSet files, AnalysisConfig config);
     
+    /**
+     * Analyzes class files pulled lazily from a source.
+     * Class files are read as analysis proceeds, so only the class files
+     * currently being analyzed need to be held in memory.
+     * The caller remains responsible for closing the source.
+     * 
+     * @param source The source to pull class files from
+     * @param config The analysis configuration
+     * @return Unified analysis result containing all extracted information
+     */
+    UnifiedAnalysisResult analyze(ClassFileSource source, AnalysisConfig config);
+    
     /**
      * Analyzes a single class file.
      * 
@@ -53,4 +70,22 @@ public interface AnalysisEngine {
      * @return Unified analysis result for all files in the source
      */
     UnifiedAnalysisResult analyze(String source, AnalysisConfig config);
-} 
\ No newline at end of file
+    
+    /**
+     * Analyzes several directories or JAR files at the same time.
+     * Classes found in more than one of them, such as the classes of jpf-core,
+     * are read and analyzed once and their findings added to every result.
+     * 
+     * @param sources The directories or JAR files to analyze
+     * @param config The analysis configuration, shared by all sources
+     * @return Futures of the results, one per source in the order of the sources
+     */
+    List<CompletableFuture<UnifiedAnalysisResult>> analyzeConcurrently(List<String> sources, AnalysisConfig config);
+    
+    /**
+     * Releases the worker threads and caches of the engine.
+     * The engine cannot analyze anything once it is closed.
+     */
+    @Override
+    void close();
+}
@@ -18,22 +18,29 @@
 
 package gov.nasa.jpf.autodoc.core;
 
+import gov.nasa.jpf.autodoc.core.model.AnalysisConfig;
+import gov.nasa.jpf.autodoc.core.model.ArchiveBackend;
+
+import java.io.BufferedInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.ArrayList;
-import java.util.Enumeration;
+import java.util.Collections;
 import java.util.List;
-import java.util.jar.JarEntry;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
 import java.util.jar.JarFile;
-import java.util.zip.ZipEntry;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.ZipException;
 import java.util.zip.ZipFile;
-import java.util.zip.ZipInputStream;
 import java.io.ByteArrayOutputStream;
-import java.io.File;
-import java.nio.file.Files;
-import java.util.stream.Stream;
-import java.util.stream.Collectors;
 
 /**
  * Utility class for reading class files from various archive formats.
@@ -41,6 +48,13 @@ import java.util.stream.Collectors;
  */
 public class ArchiveFileReader {
     
+    private static final int STREAM_BUFFER_SIZE = 64 * 1024;
+    private static final int READ_AHEAD_CHUNKS = 16;
+    
+    // Workers inflating one large JAR/ZIP file; each holds its own handle on the archive.
+    // At least two, so reading one entry overlaps with inflating another even on one core.
+    private static final int INFLATION_WORKERS = Math.max(2, Math.min(4, Runtime.getRuntime().availableProcessors()));
+    
     /**
      * Reads all class files from a JAR file.
      * 
@@ -49,28 +63,22 @@ public class ArchiveFileReader {
      * @throws IOException if the JAR file cannot be read
      */
     public static List<ClassFile> readFromJar(Path jarPath) throws IOException {
-        List<ClassFile> classFiles = new ArrayList<>();
-        
-        try (JarFile jarFile = new JarFile(jarPath.toFile())) {
-            Enumeration<JarEntry> entries = jarFile.entries();
-            
-            while (entries.hasMoreElements()) {
-                JarEntry entry = entries.nextElement();
-                String entryName = entry.getName();
-                
-                if (entryName.endsWith(".class") && !entry.isDirectory()) {
-                    try (InputStream inputStream = jarFile.getInputStream(entry)) {
-                        byte[] classData = readAllBytes(inputStream);
-                        String className = entryNameToClassName(entryName);
-                        
-                        ClassFile classFile = ClassFile.fromJar(className, classData, jarPath);
-                        classFiles.add(classFile);
-                    }
-                }
-            }
+        try (ClassFileSource source = openJar(jarPath)) {
+            return source.toList();
         }
-        
-        return classFiles;
+    }
+    
+    /**
+     * Opens a JAR file as a lazy source of class files.
+     * Class files of nested JAR/ZIP entries (e.g. lib/ in a fat jar) are included
+     * up to {@link AnalysisConfig#DEFAULT_NESTED_ARCHIVE_DEPTH} levels.
+     * 
+     * @param jarPath Path to the JAR file
+     * @return Source over the class files in the JAR
+     * @throws IOException if the JAR file cannot be opened
+     */
+    public static ClassFileSource openJar(Path jarPath) throws IOException {
+        return openJar(jarPath, AnalysisConfig.defaultConfig());
     }
     
     /**
@@ -81,28 +89,20 @@ public class ArchiveFileReader {
      * @throws IOException if the ZIP file cannot be read
      */
     public static List<ClassFile> readFromZip(Path zipPath) throws IOException {
-        List<ClassFile> classFiles = new ArrayList<>();
-        
-        try (ZipFile zipFile = new ZipFile(zipPath.toFile())) {
-            Enumeration<? extends ZipEntry> entries = zipFile.entries();
-            
-            while (entries.hasMoreElements()) {
-                ZipEntry entry = entries.nextElement();
-                String entryName = entry.getName();
-                
-                if (entryName.endsWith(".class") && !entry.isDirectory()) {
-                    try (InputStream inputStream = zipFile.getInputStream(entry)) {
-                        byte[] classData = readAllBytes(inputStream);
-                        String className = entryNameToClassName(entryName);
-                        
-                        ClassFile classFile = ClassFile.fromJar(className, classData, zipPath);
-                        classFiles.add(classFile);
-                    }
-                }
-            }
+        try (ClassFileSource source = openZip(zipPath)) {
+            return source.toList();
         }
-        
-        return classFiles;
+    }
+    
+    /**
+     * Opens a ZIP file as a lazy source of class files.
+     * 
+     * @param zipPath Path to the ZIP file
+     * @return Source over the class files in the ZIP
+     * @throws IOException if the ZIP file cannot be opened
+     */
+    public static ClassFileSource openZip(Path zipPath) throws IOException {
+        return openZip(zipPath, AnalysisConfig.defaultConfig());
     }
     
     /**
@@ -113,26 +113,46 @@ public class ArchiveFileReader {
      * @throws IOException if the TAR file cannot be read
      */
     public static List<ClassFile> readFromTar(Path tarPath) throws IOException {
-        List<ClassFile> classFiles = new ArrayList<>();
-        
-        // For TAR files, we'll use a simple approach with external tools or
-        // extract to temporary directory and then read class files
-        // This is a simplified implementation - in production you might want to use
-        // Apache Commons Compress or similar library for better TAR support
-        
+        try (ClassFileSource source = openTar(tarPath)) {
+            return source.toList();
+        }
+    }
+    
+    /**
+     * Opens a TAR file (including gzip and bzip2 compressed variants) as a lazy
+     * source of class files. The archive is decompressed and read in a single
+     * forward pass without temporary files, holding only the current entry in memory.
+     * Compressed archives are decompressed on a background thread so that
+     * decompression overlaps with the consumer.
+     * 
+     * @param tarPath Path to the TAR file
+     * @return Source over the class files in archive order
+     * @throws IOException if the TAR file cannot be opened
+     */
+    public static ClassFileSource openTar(Path tarPath) throws IOException {
+        return openTar(tarPath, AnalysisConfig.defaultConfig());
+    }
+    
+    private static ClassFileSource openTar(Path tarPath, AnalysisConfig config) throws IOException {
         String fileName = tarPath.getFileName().toString().toLowerCase();
-        if (fileName.endsWith(".tar.gz") || fileName.endsWith(".tgz")) {
-            // Handle gzipped TAR files
-            return readFromCompressedTar(tarPath, "gzip");
-        } else if (fileName.endsWith(".tar.bz2")) {
-            // Handle bzip2 compressed TAR files
-            return readFromCompressedTar(tarPath, "bzip2");
-        } else if (fileName.endsWith(".tar")) {
-            // Handle uncompressed TAR files
-            return readFromCompressedTar(tarPath, "none");
+        InputStream inputStream = Files.newInputStream(tarPath);
+        
+        try {
+            if (fileName.endsWith(".tar.gz") || fileName.endsWith(".tgz")) {
+                inputStream = readAhead(new GZIPInputStream(inputStream, STREAM_BUFFER_SIZE), tarPath);
+            } else if (fileName.endsWith(".tar.bz2") || fileName.endsWith(".tbz2")) {
+                inputStream = readAhead(new BZip2InputStream(inputStream), tarPath);
+            } else if (fileName.endsWith(".tar")) {
+                inputStream = new BufferedInputStream(inputStream, STREAM_BUFFER_SIZE);
+            } else {
+                throw new IOException("Unsupported TAR format: " + tarPath);
+            }
+        } catch (IOException e) {
+            inputStream.close();
+            throw e;
         }
         
-        throw new IOException("Unsupported TAR format: " + tarPath);
+        return new TarSource(inputStream, tarPath, config.getNestedArchiveDepth(), config::includesClass);
     }
     
     /**
@@ -151,13 +171,219 @@ public class ArchiveFileReader {
         } else if (fileName.endsWith(".zip")) {
             return readFromZip(archivePath);
         } else if (fileName.endsWith(".tar") || fileName.endsWith(".tar.gz") || 
-                   fileName.endsWith(".tgz") || fileName.endsWith(".tar.bz2")) {
+                   fileName.endsWith(".tgz") || fileName.endsWith(".tar.bz2") || 
+                   fileName.endsWith(".tbz2")) {
             return readFromTar(archivePath);
         } else {
             throw new IOException("Unsupported archive format: " + archivePath);
         }
     }
     
+    /**
+     * Reads class files from any supported archive format using the given backend.
+     * The backend only applies to JAR and ZIP files; TAR files are always streamed.
+     * 
+     * @param archivePath Path to the archive file
+     * @param backend The backend to use for JAR and ZIP files
+     * @return List of ClassFile objects representing the class files in the archive
+     * @throws IOException if the archive file cannot be read
+     */
+    public static List<ClassFile> readFromArchive(Path archivePath, ArchiveBackend backend) throws IOException {
+        return readFromArchive(archivePath, AnalysisConfig.builder().archiveBackend(backend).build());
+    }
+    
+    /**
+     * Reads class files from any supported archive format using the reader
+     * settings of an analysis configuration.
+     * 
+     * @param archivePath Path to the archive file
+     * @param config The configuration providing the archive backend, nested archive depth and class filters
+     * @return List of ClassFile objects representing the class files in the archive
+     * @throws IOException if the archive file cannot be read
+     */
+    public static List<ClassFile> readFromArchive(Path archivePath, AnalysisConfig config) throws IOException {
+        try (ClassFileSource source = openArchive(archivePath, config)) {
+            return source.toList();
+        }
+    }
+    
+    /**
+     * Finds the entries of a JAR or ZIP file that changed since the archive was
+     * last indexed in the given index directory, and updates the stored index.
+     * Only the central directory is read; no entry is inflated. If the archive
+     * still has the length and modification time of the stored index, it is
+     * not opened at all. Without a usable stored index every entry is reported
+     * as added.
+     * 
+     * @param archivePath Path to the JAR or ZIP file
+     * @param indexDirectory Directory holding the archive indexes
+     * @return The entries added, modified and removed since the last run
+     * @throws IOException if the archive cannot be read or the index cannot be written
+     */
+    public static ArchiveIndex.Changes findChangedEntries(Path archivePath, Path indexDirectory) throws IOException {
+        Path indexFile = ArchiveIndex.indexFileFor(indexDirectory, archivePath);
+        ArchiveIndex previous = null;
+        if (Files.isRegularFile(indexFile)) {
+            try {
+                previous = ArchiveIndex.read(indexFile);
+                if (previous.isCurrent(archivePath)) {
+                    return ArchiveIndex.Changes.none();
+                }
+            } catch (IOException e) {
+                System.err.println("Warning: Ignoring archive index " + indexFile + ": " + e.getMessage());
+                previous = null;
+            }
+        }
+        
+        ArchiveIndex current = ArchiveIndex.build(archivePath);
+        current.write(indexFile);
+        return current.changesSince(previous);
+    }
+    
+    /**
+     * Reads all class files from a JAR or ZIP file by memory-mapping it and
+     * parsing the central directory directly. Entries are inflated into buffers
+     * sized from the central directory instead of being copied through streams.
+     * Archives the mapped reader cannot handle are read with the JarFile backend.
+     * 
+     * @param archivePath Path to the JAR or ZIP file
+     * @return List of ClassFile objects representing the class files in the archive
+     * @throws IOException if the archive file cannot be read
+     */
+    public static List<ClassFile> readFromMappedArchive(Path archivePath) throws IOException {
+        try (ClassFileSource source = openMappedArchive(archivePath)) {
+            return source.toList();
+        }
+    }
+    
+    /**
+     * Opens a JAR or ZIP file as a lazy source backed by a memory mapping.
+     * Archives the mapped reader cannot handle are opened with the JarFile backend.
+     * 
+     * @param archivePath Path to the JAR or ZIP file
+     * @return Source over the class files in the archive
+     * @throws IOException if the archive file cannot be opened
+     */
+    public static ClassFileSource openMappedArchive(Path archivePath) throws IOException {
+        return openMappedArchive(archivePath, AnalysisConfig.defaultConfig());
+    }
+    
+    private static ClassFileSource openMappedArchive(Path archivePath, AnalysisConfig config) throws IOException {
+        try {
+            return MappedZipReader.open(archivePath, config.getNestedArchiveDepth(), config::includesClass);
+        } catch (ZipException e) {
+            // Unsupported layout (e.g. ZIP64 beyond 2 GB, prepended data); let the JDK reader decide
+            if (archivePath.getFileName().toString().toLowerCase().endsWith(".zip")) {
+                return openZip(archivePath, config);
+            }
+            return openJar(archivePath, config);
+        }
+    }
+    
+    /**
+     * Opens any supported archive format as a lazy source of class files.
+     * 
+     * @param archivePath Path to the archive file
+     * @param backend The backend to use for JAR and ZIP files
+     * @return Source over the class files in the archive
+     * @throws IOException if the archive file cannot be opened
+     */
+    public static ClassFileSource openArchive(Path archivePath, ArchiveBackend backend) throws IOException {
+        return openArchive(archivePath, AnalysisConfig.builder().archiveBackend(backend).build());
+    }
+    
+    /**
+     * Opens any supported archive format as a lazy source of class files, using
+     * the reader settings of an analysis configuration. JAR and ZIP entries nested
+     * in the archive are read in memory up to the configured depth. Class entries
+     * rejected by the include/exclude patterns are skipped by name and never read.
+     * 
+     * @param archivePath Path to the archive file
+     * @param config The configuration providing the archive backend, nested archive depth and class filters
+     * @return Source over the class files in the archive
+     * @throws IOException if the archive file cannot be opened
+     */
+    public static ClassFileSource openArchive(Path archivePath, AnalysisConfig config) throws IOException {
+        String fileName = archivePath.getFileName().toString().toLowerCase();
+        if (config.getArchiveBackend() == ArchiveBackend.MAPPED && isZipArchive(archivePath)) {
+            return openMappedArchive(archivePath, config);
+        } else if (fileName.endsWith(".jar")) {
+            return openJar(archivePath, config);
+        } else if (fileName.endsWith(".zip")) {
+            return openZip(archivePath, config);
+        }
+        
+        return openTar(archivePath, config);
+    }
+    
+    private static ClassFileSource openJar(Path jarPath, AnalysisConfig config) throws IOException {
+        return openZipFile(new JarFile(jarPath.toFile()), jarPath, config);
+    }
+    
+    private static ClassFileSource openZip(Path zipPath, AnalysisConfig config) throws IOException {
+        return openZipFile(new ZipFile(zipPath.toFile()), zipPath, config);
+    }
+    
+    /**
+     * Wraps an opened JAR or ZIP file in a source. Archives with at least
+     * {@link AnalysisConfig#getParallelInflationThreshold()} entries are inflated
+     * by several workers, each with its own handle on the archive.
+     */
+    private static ClassFileSource openZipFile(ZipFile zipFile, Path archivePath, AnalysisConfig config)
+            throws IOException {
+        ClassFileSource parallel;
+        try {
+            parallel = ParallelZipFileSource.openIfLarge(zipFile, archivePath,
+                                                         config.getParallelInflationThreshold(), INFLATION_WORKERS,
+                                                         config.getNestedArchiveDepth(), config::includesClass);
+        } catch (IOException | RuntimeException e) {
+            zipFile.close();
+            throw e;
+        }
+        if (parallel != null) {
+            return parallel;
+        }
+        return new ZipFileSource(zipFile, archivePath, config.getNestedArchiveDepth(), config::includesClass);
+    }
+    
+    /**
+     * Opens a directory as a lazy source of class files, including the class
+     * files of any archives found within. The tree is walked once, in parallel,
+     * when the source is iterated; class files are read as they are consumed.
+     * 
+     * @param dirPath Path to the directory
+     * @param backend The backend to use for JAR and ZIP files
+     * @return Source over the class files in the directory
+     */
+    public static ClassFileSource openDirectory(Path dirPath, ArchiveBackend backend) {
+        return openDirectory(dirPath, AnalysisConfig.builder().archiveBackend(backend).build());
+    }
+    
+    /**
+     * Opens a directory as a lazy source of class files, reading archives found
+     * within using the reader settings of an analysis configuration.
+     * 
+     * @param dirPath Path to the directory
+     * @param config The configuration providing the archive backend, nested archive depth and class filters
+     * @return Source over the class files in the directory
+     */
+    public static ClassFileSource openDirectory(Path dirPath, AnalysisConfig config) {
+        return new DirectorySource(dirPath, config);
+    }
+    
+    /**
+     * Opens a directory as a lazy source of class files, walking the tree and
+     * reading the archives found within, largest first, on the given pool.
+     * 
+     * @param dirPath Path to the directory
+     * @param config The configuration providing the archive backend, nested archive depth and class filters
+     * @param pool The pool to walk and read archives on; not shut down when the source is closed
+     * @return Source over the class files in the directory
+     */
+    static ClassFileSource openDirectory(Path dirPath, AnalysisConfig config, ForkJoinPool pool) {
+        return new DirectorySource(dirPath, config, pool);
+    }
+    
     /**
      * Reads class files from multiple archive files.
      * 
@@ -166,56 +392,162 @@ public class ArchiveFileReader {
      * @throws IOException if any archive file cannot be read
      */
     public static List<ClassFile> readFromArchives(List<Path> archivePaths) throws IOException {
-        List<ClassFile> allClassFiles = new ArrayList<>();
+        return readFromArchives(archivePaths, AnalysisConfig.defaultConfig(), Runtime.getRuntime().availableProcessors());
+    }
+    
+    /**
+     * Reads class files from multiple archive files in parallel.
+     * Archives are started largest first, so a large archive does not become the
+     * long tail of the run; the result keeps the order of the given paths.
+     * 
+     * @param archivePaths List of paths to archive files
+     * @param config The configuration providing the archive backend, nested archive depth and class filters
+     * @param parallelism Number of archives read at the same time
+     * @return List of ClassFile objects from all archives
+     * @throws IOException if any archive file cannot be read
+     */
+    public static List<ClassFile> readFromArchives(List<Path> archivePaths, AnalysisConfig config,
+                                                   int parallelism) throws IOException {
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
         
-        for (Path archivePath : archivePaths) {
-            List<ClassFile> classFiles = readFromArchive(archivePath);
-            allClassFiles.addAll(classFiles);
+        try {
+            List<ClassFile> allClassFiles = new ArrayList<>();
+            for (Future<List<ClassFile>> classFiles : submitLargestFirst(archivePaths, config, pool)) {
+                allClassFiles.addAll(getArchiveResult(classFiles));
+            }
+            return allClassFiles;
+        } finally {
+            pool.shutdownNow();
         }
-        
-        return allClassFiles;
     }
     
     /**
-     * Reads class files from a directory, including any archive files found within.
+     * Submits archives to be read on a pool in order of decreasing file size.
      * 
-     * @param dirPath Path to the directory
-     * @return List of ClassFile objects from the directory and any archives within
-     * @throws IOException if any file cannot be read
+     * @param archivePaths Paths to archive files
+     * @param config The configuration to read the archives with
+     * @param pool The pool to read on
+     * @return The pending class files of each archive, in the order of the given paths
      */
-    public static List<ClassFile> readFromDirectory(Path dirPath) throws IOException {
-        List<ClassFile> allClassFiles = new ArrayList<>();
-        
-        // First, read class files directly from the directory
-        try (Stream<Path> paths = Files.walk(dirPath)) {
-            paths.filter(path -> path.toString().endsWith(".class"))
-                 .forEach(path -> {
-                     try {
-                         ClassFile classFile = ClassFile.fromFile(path.toFile());
-                         allClassFiles.add(classFile);
-                     } catch (IOException e) {
-                         System.err.println("Warning: Could not read class file: " + path);
-                     }
-                 });
+    static List<Future<List<ClassFile>>> submitLargestFirst(List<Path> archivePaths, AnalysisConfig config,
+                                                            ExecutorService pool) {
+        long[] sizes = new long[archivePaths.size()];
+        List<Integer> order = new ArrayList<>(archivePaths.size());
+        for (int i = 0; i < sizes.length; i++) {
+            sizes[i] = sizeOf(archivePaths.get(i));
+            order.add(i);
         }
+        order.sort((a, b) -> Long.compare(sizes[b], sizes[a]));
         
-        // Then, look for archive files and read class files from them
-        try (Stream<Path> paths = Files.walk(dirPath)) {
-            List<Path> archiveFiles = paths
-                .filter(path -> isArchiveFile(path))
-                .collect(Collectors.toList());
-            
-            for (Path archivePath : archiveFiles) {
+        List<Future<List<ClassFile>>> futures = new ArrayList<>(Collections.nCopies(sizes.length, null));
+        for (int i : order) {
+            Path archivePath = archivePaths.get(i);
+            futures.set(i, CompletableFuture.supplyAsync(() -> {
                 try {
-                    List<ClassFile> archiveClassFiles = readFromArchive(archivePath);
-                    allClassFiles.addAll(archiveClassFiles);
+                    return readFromArchive(archivePath, config);
                 } catch (IOException e) {
-                    System.err.println("Warning: Could not read archive: " + archivePath);
+                    throw new UncheckedIOException(e);
                 }
+            }, pool));
+        }
+        return futures;
+    }
+    
+    /**
+     * Waits for an archive submitted with {@link #submitLargestFirst} and unwraps its failure.
+     * 
+     * @param classFiles The pending class files of the archive
+     * @return The class files of the archive
+     * @throws IOException if the archive could not be read or the wait was interrupted
+     */
+    static List<ClassFile> getArchiveResult(Future<List<ClassFile>> classFiles) throws IOException {
+        try {
+            return classFiles.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while reading archives");
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof UncheckedIOException) {
+                throw ((UncheckedIOException) cause).getCause();
+            } else if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            } else if (cause instanceof Error) {
+                throw (Error) cause;
             }
+            throw new IOException(cause);
+        }
+    }
+    
+    private static long sizeOf(Path path) {
+        try {
+            return Files.size(path);
+        } catch (IOException e) {
+            // Reading the archive reports the problem
+            return 0;
         }
+    }
+    
+    /**
+     * Reads class files from a directory, including any archive files found within,
+     * with the reader settings of the default configuration.
+     * 
+     * @param dirPath Path to the directory
+     * @return List of ClassFile objects from the directory and any archives within
+     * @throws IOException if any file cannot be read
+     */
+    public static List<ClassFile> readFromDirectory(Path dirPath) throws IOException {
+        return readFromDirectory(dirPath, AnalysisConfig.defaultConfig(), Runtime.getRuntime().availableProcessors());
+    }
+    
+    /**
+     * Reads class files from a directory, including any archive files found within,
+     * using the given backend for JAR and ZIP files.
+     * 
+     * @param dirPath Path to the directory
+     * @param backend The backend to use for JAR and ZIP files
+     * @return List of ClassFile objects from the directory and any archives within
+     * @throws IOException if any file cannot be read
+     */
+    public static List<ClassFile> readFromDirectory(Path dirPath, ArchiveBackend backend) throws IOException {
+        return readFromDirectory(dirPath, backend, Runtime.getRuntime().availableProcessors());
+    }
+    
+    /**
+     * Reads class files from a directory, including any archive files found within.
+     * The tree is walked once and the archives found are then read in parallel, largest first.
+     * Class files are returned as handles that read the file on first access to
+     * their data, using the size cached by the walk, and can be released after analysis.
+     * The result is ordered by path, independent of the number of threads.
+     * 
+     * @param dirPath Path to the directory
+     * @param backend The backend to use for JAR and ZIP files
+     * @param parallelism Number of threads used to walk and read
+     * @return List of ClassFile objects from the directory and any archives within
+     * @throws IOException if the directory cannot be read
+     */
+    public static List<ClassFile> readFromDirectory(Path dirPath, ArchiveBackend backend, int parallelism) throws IOException {
+        return readFromDirectory(dirPath, AnalysisConfig.builder().archiveBackend(backend).build(), parallelism);
+    }
+    
+    /**
+     * Reads class files from a directory, including any archive files found within,
+     * using the reader settings of an analysis configuration.
+     * 
+     * @param dirPath Path to the directory
+     * @param config The configuration providing the archive backend, nested archive depth and class filters
+     * @param parallelism Number of threads used to walk and read
+     * @return List of ClassFile objects from the directory and any archives within
+     * @throws IOException if the directory cannot be read
+     */
+    public static List<ClassFile> readFromDirectory(Path dirPath, AnalysisConfig config, int parallelism) throws IOException {
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
         
-        return allClassFiles;
+        try {
+            return new DirectoryWalker(config).walk(dirPath, pool);
+        } finally {
+            pool.shutdown();
+        }
     }
     
     /**
@@ -231,7 +563,19 @@ public class ArchiveFileReader {
                fileName.endsWith(".tar") || 
                fileName.endsWith(".tar.gz") || 
                fileName.endsWith(".tgz") || 
-               fileName.endsWith(".tar.bz2");
+               fileName.endsWith(".tar.bz2") || 
+               fileName.endsWith(".tbz2");
+    }
+    
+    /**
+     * Checks if a file is a JAR or ZIP archive.
+     * 
+     * @param filePath Path to the file
+     * @return true if the file is a JAR or ZIP archive
+     */
+    static boolean isZipArchive(Path filePath) {
+        String fileName = filePath.getFileName().toString().toLowerCase();
+        return fileName.endsWith(".jar") || fileName.endsWith(".zip");
     }
     
     /**
@@ -240,7 +584,7 @@ public class ArchiveFileReader {
      * @param entryName The entry name from the archive
      * @return The corresponding Java class name
      */
-    private static String entryNameToClassName(String entryName) {
+    static String entryNameToClassName(String entryName) {
         return entryName
             .replace(".class", "")
             .replace("/", ".")
@@ -254,7 +598,7 @@ public class ArchiveFileReader {
      * @return Byte array containing all the data
      * @throws IOException if the stream cannot be read
      */
-    private static byte[] readAllBytes(InputStream inputStream) throws IOException {
+    static byte[] readAllBytes(InputStream inputStream) throws IOException {
         ByteArrayOutputStream buffer = new ByteArrayOutputStream();
         int nRead;
         byte[] data = new byte[1024];
@@ -266,45 +610,8 @@ public class ArchiveFileReader {
         return buffer.toByteArray();
     }
     
-    /**
-     * Reads from a compressed TAR file.
-     * This is a simplified implementation - in production you might want to use
-     * Apache Commons Compress or similar library for better TAR support.
-     * 
-     * @param tarPath Path to the TAR file
-     * @param compressionType Type of compression ("gzip", "bzip2", "none")
-     * @return List of ClassFile objects from the TAR
-     * @throws IOException if the TAR file cannot be read
-     */
-    private static List<ClassFile> readFromCompressedTar(Path tarPath, String compressionType) throws IOException {
-        // This is a placeholder implementation
-        // In a real implementation, you would use Apache Commons Compress or similar
-        // to properly handle TAR files with various compression formats
-        
-        List<ClassFile> classFiles = new ArrayList<>();
-        
-        // For now, we'll throw an exception indicating that TAR support
-        // requires additional dependencies
-        throw new IOException("TAR file support requires Apache Commons Compress library. " +
-                            "Please add the dependency to your build file and implement " +
-                            "proper TAR reading functionality.");
-        
-        // Example implementation with Apache Commons Compress:
-        /*
-        try (InputStream inputStream = Files.newInputStream(tarPath);
-             InputStream decompressedStream = getDecompressedStream(inputStream, compressionType);
-             TarArchiveInputStream tarStream = new TarArchiveInputStream(decompressedStream)) {
-            
-            TarArchiveEntry entry;
-            while ((entry = tarStream.getNextTarEntry()) != null) {
-                if (!entry.isDirectory() && entry.getName().endsWith(".class")) {
-                    byte[] classData = readAllBytes(tarStream);
-                    String className = entryNameToClassName(entry.getName());
-                    ClassFile classFile = ClassFile.fromJar(className, classData, tarPath);
-                    classFiles.add(classFile);
-                }
-            }
-        }
-        */
+    private static InputStream readAhead(InputStream decompressed, Path tarPath) {
+        return new ReadAheadInputStream(decompressed, STREAM_BUFFER_SIZE, READ_AHEAD_CHUNKS,
+                                        "tar-read-ahead-" + tarPath.getFileName());
     }
 } 
\ No newline at end of file
@@ -0,0 +1,390 @@
+/*
+ * Copyright (C) 2025, United States Government, as represented by the
+ * Administrator of the National Aeronautics and Space Administration.
+ * All rights reserved.
+ *
+ * The Java Pathfinder AutoDoc tool is licensed under the
+ * Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ * 
+ *        http://www.apache.org/licenses/LICENSE-2.0. 
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and 
+ * limitations under the License.
+ */
+package gov.nasa.jpf.autodoc.core;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipException;
+import java.util.zip.ZipFile;
+
+/**
+ * Snapshot of the central directory of a JAR or ZIP file: the name, CRC-32,
+ * compressed and uncompressed size of every entry, together with the length
+ * and modification time of the archive.
+ * 
+ * An index is built from the central directory alone, without inflating any
+ * entry, and can be stored next to other indexes in an index directory.
+ * Comparing a stored index with the archive tells which entries changed since
+ * the index was written; if the archive length and modification time are
+ * unchanged the archive is not opened at all.
+ */
+public final class ArchiveIndex {
+    
+    private static final int MAGIC = 0x4A504649; // "JPFI"
+    private static final int VERSION = 1;
+    private static final String INDEX_SUFFIX = ".idx";
+    
+    private final String archivePath;
+    private final long archiveLength;
+    private final long archiveModified;
+    private final String[] names;
+    private final int[] crcs;
+    private final long[] compressedSizes;
+    private final long[] sizes;
+    private volatile Map<String, Integer> positions;
+    
+    private ArchiveIndex(String archivePath, long archiveLength, long archiveModified,
+                         String[] names, int[] crcs, long[] compressedSizes, long[] sizes) {
+        this.archivePath = archivePath;
+        this.archiveLength = archiveLength;
+        this.archiveModified = archiveModified;
+        this.names = names;
+        this.crcs = crcs;
+        this.compressedSizes = compressedSizes;
+        this.sizes = sizes;
+    }
+    
+    /**
+     * Builds the index of an archive from its central directory.
+     * Archives the mapped reader cannot handle are listed through {@link ZipFile}.
+     *
+     * @param archivePath Path to the JAR or ZIP file
+     * @return The index of the archive
+     * @throws IOException if the archive cannot be read
+     */
+    public static ArchiveIndex build(Path archivePath) throws IOException {
+        Path absolutePath = archivePath.toAbsolutePath().normalize();
+        BasicFileAttributes attributes = Files.readAttributes(absolutePath, BasicFileAttributes.class);
+        
+        List<MappedZipReader.Entry> entries;
+        try {
+            entries = MappedZipReader.readCentralDirectory(MappedZipReader.map(absolutePath));
+        } catch (ZipException e) {
+            entries = listEntries(absolutePath);
+        }
+        
+        int count = entries.size();
+        String[] names = new String[count];
+        int[] crcs = new int[count];
+        long[] compressedSizes = new long[count];
+        long[] sizes = new long[count];
+        for (int i = 0; i < count; i++) {
+            MappedZipReader.Entry entry = entries.get(i);
+            names[i] = entry.getName();
+            crcs[i] = entry.getCrc();
+            compressedSizes[i] = entry.getCompressedSize();
+            sizes[i] = entry.getSize();
+        }
+        return new ArchiveIndex(absolutePath.toString(), attributes.size(), attributes.lastModifiedTime().toMillis(),
+                                names, crcs, compressedSizes, sizes);
+    }
+    
+    private static List<MappedZipReader.Entry> listEntries(Path archivePath) throws IOException {
+        List<MappedZipReader.Entry> entries = new ArrayList<>();
+        try (ZipFile zipFile = new ZipFile(archivePath.toFile())) {
+            Enumeration<? extends ZipEntry> zipEntries = zipFile.entries();
+            while (zipEntries.hasMoreElements()) {
+                ZipEntry entry = zipEntries.nextElement();
+                entries.add(new MappedZipReader.Entry(entry.getName(), 0, entry.getMethod(), (int) entry.getCrc(),
+                                                      entry.getCompressedSize(), entry.getSize(), -1));
+            }
+        }
+        return entries;
+    }
+    
+    /**
+     * Reads an index written by {@link #write(Path)}.
+     *
+     * @param indexFile The index file
+     * @return The stored index
+     * @throws IOException if the file cannot be read or is not an index of this version
+     */
+    public static ArchiveIndex read(Path indexFile) throws IOException {
+        // One read and a flat parse keep loading a 50k entry index in the millisecond range
+        ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(indexFile));
+        try {
+            if (buffer.getInt() != MAGIC || buffer.getInt() != VERSION) {
+                throw new IOException("Not an archive index: " + indexFile);
+            }
+            String archivePath = readString(buffer);
+            long archiveLength = buffer.getLong();
+            long archiveModified = buffer.getLong();
+            int count = buffer.getInt();
+            if (count < 0 || count > buffer.remaining()) {
+                throw new IOException("Corrupt archive index: " + indexFile);
+            }
+            
+            String[] names = new String[count];
+            int[] crcs = new int[count];
+            long[] compressedSizes = new long[count];
+            long[] sizes = new long[count];
+            for (int i = 0; i < count; i++) {
+                names[i] = readString(buffer);
+                crcs[i] = buffer.getInt();
+                compressedSizes[i] = buffer.getLong();
+                sizes[i] = buffer.getLong();
+            }
+            return new ArchiveIndex(archivePath, archiveLength, archiveModified, names, crcs, compressedSizes, sizes);
+        } catch (RuntimeException e) {
+            throw new IOException("Corrupt archive index: " + indexFile, e);
+        }
+    }
+    
+    private static String readString(ByteBuffer buffer) {
+        int length = buffer.getInt();
+        String value = new String(buffer.array(), buffer.position(), length, StandardCharsets.UTF_8);
+        buffer.position(buffer.position() + length);
+        return value;
+    }
+    
+    /**
+     * Writes the index to a file. The file is replaced atomically where the
+     * file system supports it, so concurrent readers never see a partial index.
+     *
+     * @param indexFile The index file
+     * @throws IOException if the file cannot be written
+     */
+    public void write(Path indexFile) throws IOException {
+        Path directory = indexFile.toAbsolutePath().getParent();
+        Files.createDirectories(directory);
+        Path tempFile = Files.createTempFile(directory, indexFile.getFileName().toString(), ".tmp");
+        try {
+            try (DataOutputStream out = new DataOutputStream(
+                     new BufferedOutputStream(Files.newOutputStream(tempFile), 64 * 1024))) {
+                out.writeInt(MAGIC);
+                out.writeInt(VERSION);
+                writeString(out, archivePath);
+                out.writeLong(archiveLength);
+                out.writeLong(archiveModified);
+                out.writeInt(names.length);
+                for (int i = 0; i < names.length; i++) {
+                    writeString(out, names[i]);
+                    out.writeInt(crcs[i]);
+                    out.writeLong(compressedSizes[i]);
+                    out.writeLong(sizes[i]);
+                }
+            }
+            try {
+                Files.move(tempFile, indexFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(tempFile, indexFile, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            Files.deleteIfExists(tempFile);
+        }
+    }
+    
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+    
+    /**
+     * Locates the index file of an archive within an index directory.
+     * The file name combines the archive name with a hash of its absolute path,
+     * so archives with the same name in different directories get separate indexes.
+     *
+     * @param indexDirectory The index directory
+     * @param archivePath Path to the archive
+     * @return Path of the index file, which may not exist yet
+     */
+    public static Path indexFileFor(Path indexDirectory, Path archivePath) {
+        Path absolutePath = archivePath.toAbsolutePath().normalize();
+        return indexDirectory.resolve(absolutePath.getFileName() + "-" +
+                                      Integer.toHexString(absolutePath.toString().hashCode()) + INDEX_SUFFIX);
+    }
+    
+    /**
+     * Checks whether the archive still has the length and modification time
+     * recorded in this index, without opening it.
+     *
+     * @param archivePath Path to the archive
+     * @return true if the archive is unchanged as far as the file system tells
+     * @throws IOException if the archive attributes cannot be read
+     */
+    public boolean isCurrent(Path archivePath) throws IOException {
+        Path absolutePath = archivePath.toAbsolutePath().normalize();
+        if (!absolutePath.toString().equals(this.archivePath)) {
+            return false;
+        }
+        BasicFileAttributes attributes = Files.readAttributes(absolutePath, BasicFileAttributes.class);
+        return attributes.size() == archiveLength && attributes.lastModifiedTime().toMillis() == archiveModified;
+    }
+    
+    /**
+     * Compares this index with an earlier index of the same archive.
+     * An entry is modified if its CRC-32 or one of its sizes differs.
+     *
+     * @param previous The earlier index, or null if there is none
+     * @return The entries added, modified and removed since the earlier index
+     */
+    public Changes changesSince(ArchiveIndex previous) {
+        List<String> added = new ArrayList<>();
+        List<String> modified = new ArrayList<>();
+        List<String> removed = new ArrayList<>();
+        
+        for (int i = 0; i < names.length; i++) {
+            int previousPosition = previous != null ? previous.positionOf(names[i]) : -1;
+            if (previousPosition < 0) {
+                added.add(names[i]);
+            } else if (previous.crcs[previousPosition] != crcs[i] ||
+                       previous.sizes[previousPosition] != sizes[i] ||
+                       previous.compressedSizes[previousPosition] != compressedSizes[i]) {
+                modified.add(names[i]);
+            }
+        }
+        if (previous != null) {
+            for (String name : previous.names) {
+                if (positionOf(name) < 0) {
+                    removed.add(name);
+                }
+            }
+        }
+        return new Changes(added, modified, removed);
+    }
+    
+    private int positionOf(String name) {
+        if (positions == null) {
+            Map<String, Integer> map = new HashMap<>(names.length * 2);
+            for (int i = 0; i < names.length; i++) {
+                map.put(names[i], i);
+            }
+            positions = map;
+        }
+        Integer position = positions.get(name);
+        return position != null ? position : -1;
+    }
+    
+    public long getArchiveLength() {
+        return archiveLength;
+    }
+    
+    public long getArchiveModified() {
+        return archiveModified;
+    }
+    
+    public int getEntryCount() {
+        return names.length;
+    }
+    
+    /**
+     * @return The entry names in central directory order
+     */
+    public List<String> getEntryNames() {
+        return Collections.unmodifiableList(Arrays.asList(names));
+    }
+    
+    /**
+     * @param name The entry name
+     * @return true if the archive has an entry of that name
+     */
+    public boolean hasEntry(String name) {
+        return positionOf(name) >= 0;
+    }
+    
+    /**
+     * @param name The entry name
+     * @return The unsigned CRC-32 of the entry, or -1 if there is no such entry
+     */
+    public long getCrc(String name) {
+        int position = positionOf(name);
+        return position >= 0 ? Integer.toUnsignedLong(crcs[position]) : -1;
+    }
+    
+    /**
+     * @param name The entry name
+     * @return The uncompressed size of the entry, or -1 if there is no such entry
+     */
+    public long getSize(String name) {
+        int position = positionOf(name);
+        return position >= 0 ? sizes[position] : -1;
+    }
+    
+    /**
+     * @param name The entry name
+     * @return The compressed size of the entry, or -1 if there is no such entry
+     */
+    public long getCompressedSize(String name) {
+        int position = positionOf(name);
+        return position >= 0 ? compressedSizes[position] : -1;
+    }
+    
+    @Override
+    public String toString() {
+        return "ArchiveIndex{archive=" + archivePath + ", entries=" + names.length + "}";
+    }
+    
+    /**
+     * Entries of an archive that changed between two indexes, in central directory order.
+     */
+    public static final class Changes {
+        
+        private final List<String> added;
+        private final List<String> modified;
+        private final List<String> removed;
+        
+        Changes(List<String> added, List<String> modified, List<String> removed) {
+            this.added = Collections.unmodifiableList(added);
+            this.modified = Collections.unmodifiableList(modified);
+            this.removed = Collections.unmodifiableList(removed);
+        }
+        
+        static Changes none() {
+            return new Changes(List.of(), List.of(), List.of());
+        }
+        
+        public List<String> getAddedEntries() {
+            return added;
+        }
+        
+        public List<String> getModifiedEntries() {
+            return modified;
+        }
+        
+        public List<String> getRemovedEntries() {
+            return removed;
+        }
+        
+        public boolean isEmpty() {
+            return added.isEmpty() && modified.isEmpty() && removed.isEmpty();
+        }
+        
+        @Override
+        public String toString() {
+            return "Changes{added=" + added.size() + ", modified=" + modified.size() +
+                   ", removed=" + removed.size() + "}";
+        }
+    }
+} 
\ No newline at end of file
@@ -0,0 +1,462 @@
+/*
+ * Copyright (C) 2025, United States Government, as represented by the
+ * Administrator of the National Aeronautics and Space Administration.
+ * All rights reserved.
+ *
+ * The Java Pathfinder AutoDoc tool is licensed under the
+ * Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ * 
+ *        http://www.apache.org/licenses/LICENSE-2.0. 
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and 
+ * limitations under the License.
+ */
+package gov.nasa.jpf.autodoc.core;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+
+/**
+ * Streaming bzip2 decompressor.
+ * Decodes one block at a time (at most 900 KB of state), verifies block and
+ * stream CRCs, and continues across concatenated streams as written by
+ * parallel bzip2 tools. Randomised blocks (bzip2 0.9.0 and earlier) are not supported.
+ */
+final class BZip2InputStream extends InputStream {
+    
+    private static final long BLOCK_MAGIC = 0x314159265359L;
+    private static final long END_OF_STREAM_MAGIC = 0x177245385090L;
+    
+    private static final int RUNA = 0;
+    private static final int RUNB = 1;
+    private static final int GROUP_SIZE = 50;
+    private static final int MAX_GROUPS = 6;
+    private static final int MAX_ALPHA_SIZE = 258;
+    private static final int MAX_CODE_LENGTH = 20;
+    private static final int MAX_SELECTORS = 18002;
+    private static final int MAX_RUN = 2 * 1024 * 1024;
+    
+    private static final int[] CRC_TABLE = createCrcTable();
+    
+    private final InputStream in;
+    private final byte[] inputBuffer = new byte[64 * 1024];
+    private int inputPosition;
+    private int inputLimit;
+    private long bitBuffer;
+    private int bitCount;
+    
+    // Block decoding state
+    private int blockSizeLimit;
+    private int[] tt;
+    private final int[] counts = new int[256];
+    private final byte[] seqToUnseq = new byte[256];
+    private final byte[] mtf = new byte[256];
+    private final byte[] selectors = new byte[MAX_SELECTORS];
+    private final int[][] limit = new int[MAX_GROUPS][MAX_CODE_LENGTH + 2];
+    private final int[][] base = new int[MAX_GROUPS][MAX_CODE_LENGTH + 2];
+    private final int[][] perm = new int[MAX_GROUPS][MAX_ALPHA_SIZE];
+    private final int[] minLengths = new int[MAX_GROUPS];
+    private int selectorCount;
+    private int groupIndex;
+    private int groupRemaining;
+    
+    // Block output state
+    private int tPos;
+    private int blockRemaining;
+    private int lastByte;
+    private int runLength;
+    private int repeatByte;
+    private int repeatRemaining;
+    private int blockCrc;
+    private int expectedBlockCrc;
+    private int streamCrc;
+    private boolean inBlock;
+    private boolean eof;
+    
+    BZip2InputStream(InputStream in) throws IOException {
+        this.in = in;
+        if (!readStreamHeader()) {
+            throw new IOException("Not a bzip2 stream");
+        }
+    }
+    
+    @Override
+    public int read() throws IOException {
+        byte[] single = new byte[1];
+        return read(single, 0, 1) < 0 ? -1 : single[0] & 0xFF;
+    }
+    
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+        if (len == 0) {
+            return 0;
+        }
+        
+        int count = 0;
+        while (count < len && !eof) {
+            if (repeatRemaining > 0) {
+                b[off + count++] = (byte) repeatByte;
+                updateCrc(repeatByte);
+                repeatRemaining--;
+                continue;
+            }
+            
+            if (blockRemaining == 0) {
+                endBlock();
+                if (!startBlock()) {
+                    eof = true;
+                }
+                continue;
+            }
+            
+            tPos = tt[tPos];
+            int value = tPos & 0xFF;
+            tPos >>>= 8;
+            blockRemaining--;
+            
+            // Undo the initial run-length encoding: four equal bytes are followed by a repeat count
+            if (runLength == 4) {
+                repeatByte = lastByte;
+                repeatRemaining = value;
+                runLength = 0;
+                lastByte = -1;
+                continue;
+            }
+            if (value == lastByte) {
+                runLength++;
+            } else {
+                lastByte = value;
+                runLength = 1;
+            }
+            
+            b[off + count++] = (byte) value;
+            updateCrc(value);
+        }
+        
+        return count == 0 ? -1 : count;
+    }
+    
+    @Override
+    public void close() throws IOException {
+        in.close();
+    }
+    
+    private void updateCrc(int value) {
+        blockCrc = (blockCrc << 8) ^ CRC_TABLE[((blockCrc >>> 24) ^ value) & 0xFF];
+    }
+    
+    private void endBlock() throws IOException {
+        if (inBlock) {
+            inBlock = false;
+            int computed = ~blockCrc;
+            if (computed != expectedBlockCrc) {
+                throw new IOException("bzip2 block CRC mismatch");
+            }
+            streamCrc = ((streamCrc << 1) | (streamCrc >>> 31)) ^ computed;
+        }
+    }
+    
+    private boolean readStreamHeader() throws IOException {
+        int b = readByteOrEof();
+        if (b < 0) {
+            return false;
+        }
+        if (b != 'B' || bits(8) != 'Z' || bits(8) != 'h') {
+            throw new IOException("Invalid bzip2 stream header");
+        }
+        int level = bits(8) - '0';
+        if (level < 1 || level > 9) {
+            throw new IOException("Invalid bzip2 block size");
+        }
+        
+        blockSizeLimit = level * 100000;
+        if (tt == null || tt.length < blockSizeLimit) {
+            tt = new int[blockSizeLimit];
+        }
+        streamCrc = 0;
+        return true;
+    }
+    
+    private boolean startBlock() throws IOException {
+        while (true) {
+            long magic = ((long) bits(24) << 24) | bits(24);
+            
+            if (magic == END_OF_STREAM_MAGIC) {
+                if (bits(32) != streamCrc) {
+                    throw new IOException("bzip2 stream CRC mismatch");
+                }
+                // Streams are byte aligned; another one may follow
+                bitCount -= bitCount % 8;
+                if (!readStreamHeader()) {
+                    return false;
+                }
+                continue;
+            }
+            if (magic != BLOCK_MAGIC) {
+                throw new IOException("Invalid bzip2 block header");
+            }
+            
+            expectedBlockCrc = bits(32);
+            if (bits(1) != 0) {
+                throw new IOException("Randomised bzip2 blocks are not supported");
+            }
+            int origPtr = bits(24);
+            
+            int blockSize = decodeBlock();
+            if (origPtr >= blockSize) {
+                throw new IOException("Invalid bzip2 block origin");
+            }
+            
+            // Inverse Burrows-Wheeler transform: link each position to its successor
+            int[] cumulative = new int[257];
+            for (int i = 0; i < 256; i++) {
+                cumulative[i + 1] = cumulative[i] + counts[i];
+            }
+            for (int i = 0; i < blockSize; i++) {
+                int value = tt[i] & 0xFF;
+                tt[cumulative[value]++] |= i << 8;
+            }
+            
+            tPos = tt[origPtr] >>> 8;
+            blockRemaining = blockSize;
+            blockCrc = 0xFFFFFFFF;
+            lastByte = -1;
+            runLength = 0;
+            inBlock = true;
+            return true;
+        }
+    }
+    
+    private int decodeBlock() throws IOException {
+        // Symbol map
+        int used = bits(16);
+        int inUse = 0;
+        for (int i = 0; i < 16; i++) {
+            if ((used & (0x8000 >>> i)) != 0) {
+                int bitmap = bits(16);
+                for (int j = 0; j < 16; j++) {
+                    if ((bitmap & (0x8000 >>> j)) != 0) {
+                        seqToUnseq[inUse++] = (byte) (i * 16 + j);
+                    }
+                }
+            }
+        }
+        if (inUse == 0) {
+            throw new IOException("Invalid bzip2 symbol map");
+        }
+        int alphaSize = inUse + 2;
+        
+        // Huffman group selectors, move-to-front coded
+        int groupCount = bits(3);
+        int selectorTotal = bits(15);
+        if (groupCount < 2 || groupCount > MAX_GROUPS || selectorTotal < 1) {
+            throw new IOException("Invalid bzip2 selectors");
+        }
+        byte[] positions = new byte[groupCount];
+        for (int i = 0; i < groupCount; i++) {
+            positions[i] = (byte) i;
+        }
+        selectorCount = Math.min(selectorTotal, MAX_SELECTORS);
+        for (int i = 0; i < selectorTotal; i++) {
+            int index = 0;
+            while (bits(1) != 0) {
+                if (++index >= groupCount) {
+                    throw new IOException("Invalid bzip2 selector");
+                }
+            }
+            if (i < MAX_SELECTORS) {
+                byte selected = positions[index];
+                System.arraycopy(positions, 0, positions, 1, index);
+                positions[0] = selected;
+                selectors[i] = selected;
+            }
+        }
+        
+        // Delta-coded code lengths, then decoding tables per group
+        int[] lengths = new int[alphaSize];
+        for (int group = 0; group < groupCount; group++) {
+            int length = bits(5);
+            int minLength = MAX_CODE_LENGTH;
+            int maxLength = 0;
+            for (int i = 0; i < alphaSize; i++) {
+                while (true) {
+                    if (length < 1 || length > MAX_CODE_LENGTH) {
+                        throw new IOException("Invalid bzip2 code length");
+                    }
+                    if (bits(1) == 0) {
+                        break;
+                    }
+                    length += bits(1) == 0 ? 1 : -1;
+                }
+                lengths[i] = length;
+                minLength = Math.min(minLength, length);
+                maxLength = Math.max(maxLength, length);
+            }
+            createDecodeTables(group, lengths, alphaSize, minLength, maxLength);
+        }
+        
+        // Huffman and run-length decode the move-to-front values into tt
+        for (int i = 0; i < 256; i++) {
+            mtf[i] = (byte) i;
+            counts[i] = 0;
+        }
+        groupIndex = -1;
+        groupRemaining = 0;
+        
+        int endOfBlock = inUse + 1;
+        int blockSize = 0;
+        int symbol = nextSymbol();
+        
+        while (symbol != endOfBlock) {
+            if (symbol == RUNA || symbol == RUNB) {
+                int run = 0;
+                int weight = 1;
+                do {
+                    run += symbol == RUNA ? weight : 2 * weight;
+                    weight <<= 1;
+                    if (weight >= MAX_RUN) {
+                        throw new IOException("Invalid bzip2 run length");
+                    }
+                    symbol = nextSymbol();
+                } while (symbol == RUNA || symbol == RUNB);
+                
+                if (blockSize + run > blockSizeLimit) {
+                    throw new IOException("bzip2 block too large");
+                }
+                int value = seqToUnseq[mtf[0] & 0xFF] & 0xFF;
+                counts[value] += run;
+                for (int i = 0; i < run; i++) {
+                    tt[blockSize++] = value;
+                }
+            } else {
+                if (blockSize >= blockSizeLimit) {
+                    throw new IOException("bzip2 block too large");
+                }
+                int index = symbol - 1;
+                byte selected = mtf[index];
+                System.arraycopy(mtf, 0, mtf, 1, index);
+                mtf[0] = selected;
+                
+                int value = seqToUnseq[selected & 0xFF] & 0xFF;
+                counts[value]++;
+                tt[blockSize++] = value;
+                symbol = nextSymbol();
+            }
+        }
+        
+        return blockSize;
+    }
+    
+    private void createDecodeTables(int group, int[] lengths, int alphaSize, int minLength, int maxLength) {
+        int[] groupLimit = limit[group];
+        int[] groupBase = base[group];
+        int[] groupPerm = perm[group];
+        
+        int index = 0;
+        for (int length = minLength; length <= maxLength; length++) {
+            for (int symbol = 0; symbol < alphaSize; symbol++) {
+                if (lengths[symbol] == length) {
+                    groupPerm[index++] = symbol;
+                }
+            }
+        }
+        
+        Arrays.fill(groupBase, 0);
+        Arrays.fill(groupLimit, 0);
+        for (int symbol = 0; symbol < alphaSize; symbol++) {
+            groupBase[lengths[symbol] + 1]++;
+        }
+        for (int i = 1; i < groupBase.length; i++) {
+            groupBase[i] += groupBase[i - 1];
+        }
+        
+        int code = 0;
+        for (int length = minLength; length <= maxLength; length++) {
+            code += groupBase[length + 1] - groupBase[length];
+            groupLimit[length] = code - 1;
+            code <<= 1;
+        }
+        for (int length = minLength + 1; length <= maxLength; length++) {
+            groupBase[length] = ((groupLimit[length - 1] + 1) << 1) - groupBase[length];
+        }
+        minLengths[group] = minLength;
+    }
+    
+    private int nextSymbol() throws IOException {
+        if (groupRemaining == 0) {
+            if (++groupIndex >= selectorCount) {
+                throw new IOException("bzip2 selectors exhausted");
+            }
+            groupRemaining = GROUP_SIZE;
+        }
+        groupRemaining--;
+        
+        int group = selectors[groupIndex];
+        int[] groupLimit = limit[group];
+        int length = minLengths[group];
+        int code = bits(length);
+        while (code > groupLimit[length]) {
+            if (++length > MAX_CODE_LENGTH) {
+                throw new IOException("Invalid bzip2 Huffman code");
+            }
+            code = (code << 1) | bits(1);
+        }
+        
+        int index = code - base[group][length];
+        if (index < 0 || index >= MAX_ALPHA_SIZE) {
+            throw new IOException("Invalid bzip2 Huffman code");
+        }
+        return perm[group][index];
+    }
+    
+    private int bits(int count) throws IOException {
+        while (bitCount < count) {
+            int b = readInput();
+            if (b < 0) {
+                throw new EOFException("Unexpected end of bzip2 stream");
+            }
+            bitBuffer = (bitBuffer << 8) | b;
+            bitCount += 8;
+        }
+        bitCount -= count;
+        return (int) ((bitBuffer >>> bitCount) & ((1L << count) - 1));
+    }
+    
+    private int readByteOrEof() throws IOException {
+        if (bitCount >= 8) {
+            bitCount -= 8;
+            return (int) ((bitBuffer >>> bitCount) & 0xFF);
+        }
+        return readInput();
+    }
+    
+    private int readInput() throws IOException {
+        if (inputPosition == inputLimit) {
+            inputLimit = in.read(inputBuffer, 0, inputBuffer.length);
+            inputPosition = 0;
+            if (inputLimit <= 0) {
+                inputLimit = 0;
+                return -1;
+            }
+        }
+        return inputBuffer[inputPosition++] & 0xFF;
+    }
+    
+    private static int[] createCrcTable() {
+        int[] table = new int[256];
+        for (int i = 0; i < 256; i++) {
+            int crc = i << 24;
+            for (int j = 0; j < 8; j++) {
+                crc = (crc & 0x80000000) != 0 ? (crc << 1) ^ 0x04C11DB7 : crc << 1;
+            }
+            table[i] = crc;
+        }
+        return table;
+    }
+} 
\ No newline at end of file
@@ -0,0 +1,99 @@
+/*
+ * Copyright (C) 2025, United States Government, as represented by the
+ * Administrator of the National Aeronautics and Space Administration.
+ * All rights reserved.
+ *
+ * The Java Pathfinder AutoDoc tool is licensed under the
+ * Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ * 
+ *        http://www.apache.org/licenses/LICENSE-2.0. 
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and 
+ * limitations under the License.
+ */
+package gov.nasa.jpf.autodoc.core;
+
+import gov.nasa.jpf.autodoc.core.model.ResultSink;
+import gov.nasa.jpf.autodoc.core.model.UnifiedAnalysisResult;
+
+import java.util.List;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.BiConsumer;
+import java.util.function.Supplier;
+
+/**
+ * Analyzes a range of class files on a fork/join pool.
+ * Ranges larger than the chunk size are halved: the left half is forked for an
+ * idle worker to steal and the right half is analyzed in place. The result of
+ * the right half is then merged into that of the left half, so where classes
+ * report the same name the later class wins, as when analyzing in source order.
+ * Each chunk fills one result, so results are allocated per chunk, not per class.
+ */
+final class ChunkedAnalysisTask extends RecursiveTask<UnifiedAnalysisResult> {
+    
+    private static final long serialVersionUID = 1L;
+    
+    // Several chunks per worker leave work to steal when chunks take uneven time
+    private static final int CHUNKS_PER_THREAD = 8;
+    private static final int MIN_CHUNK_SIZE = 16;
+    
+    private final List<ClassFile> files;
+    private final int from;
+    private final int to;
+    private final int chunkSize;
+    private final Supplier<UnifiedAnalysisResult> resultFactory;
+    private final BiConsumer<ClassFile, ResultSink> analyzer;
+    
+    /**
+     * @param files The class files
+     * @param parallelism Number of workers of the pool the task runs on
+     * @param resultFactory Creates the empty result of a chunk
+     * @param analyzer Analyzes a single class file into a chunk result; must be thread-safe
+     */
+    ChunkedAnalysisTask(List<ClassFile> files, int parallelism, Supplier<UnifiedAnalysisResult> resultFactory,
+                        BiConsumer<ClassFile, ResultSink> analyzer) {
+        this(files, 0, files.size(), chunkSize(files.size(), parallelism), resultFactory, analyzer);
+    }
+    
+    private ChunkedAnalysisTask(List<ClassFile> files, int from, int to, int chunkSize,
+                                Supplier<UnifiedAnalysisResult> resultFactory,
+                                BiConsumer<ClassFile, ResultSink> analyzer) {
+        this.files = files;
+        this.from = from;
+        this.to = to;
+        this.chunkSize = chunkSize;
+        this.resultFactory = resultFactory;
+        this.analyzer = analyzer;
+    }
+    
+    /**
+     * Sizes chunks to the amount of work and the number of workers.
+     */
+    static int chunkSize(int classCount, int parallelism) {
+        return Math.max(MIN_CHUNK_SIZE, classCount / (parallelism * CHUNKS_PER_THREAD));
+    }
+    
+    @Override
+    protected UnifiedAnalysisResult compute() {
+        if (to - from <= chunkSize) {
+            UnifiedAnalysisResult result = resultFactory.get();
+            for (int i = from; i < to; i++) {
+                analyzer.accept(files.get(i), result);
+            }
+            return result;
+        }
+        
+        int middle = (from + to) >>> 1;
+        ChunkedAnalysisTask left = new ChunkedAnalysisTask(files, from, middle, chunkSize, resultFactory, analyzer);
+        left.fork();
+        UnifiedAnalysisResult right = new ChunkedAnalysisTask(files, middle, to, chunkSize, resultFactory, analyzer)
+            .compute();
+        UnifiedAnalysisResult result = left.join();
+        result.merge(right);
+        return result;
+    }
+} 
\ No newline at end of file
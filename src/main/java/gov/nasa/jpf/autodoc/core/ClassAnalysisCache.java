@@ -0,0 +1,177 @@
+/*
+ * Copyright (C) 2025, United States Government, as represented by the
+ * Administrator of the National Aeronautics and Space Administration.
+ * All rights reserved.
+ *
+ * The Java Pathfinder AutoDoc tool is licensed under the
+ * Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ * 
+ *        http://www.apache.org/licenses/LICENSE-2.0. 
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and 
+ * limitations under the License.
+ */
+package gov.nasa.jpf.autodoc.core;
+
+import gov.nasa.jpf.autodoc.core.model.ChoiceGenerator;
+import gov.nasa.jpf.autodoc.core.model.ConfigAnnotation;
+import gov.nasa.jpf.autodoc.core.model.ConfigOption;
+import gov.nasa.jpf.autodoc.core.model.Listener;
+import gov.nasa.jpf.autodoc.core.model.LoggerConfig;
+import gov.nasa.jpf.autodoc.core.model.ModelClass;
+import gov.nasa.jpf.autodoc.core.model.NativePeer;
+import gov.nasa.jpf.autodoc.core.model.ResultSink;
+import gov.nasa.jpf.autodoc.core.model.TypeInfo;
+
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+/**
+ * Remembers what the analyzers found in each class content, so classes shared by
+ * several targets, such as the classes of jpf-core, are loaded and analyzed once.
+ * Classes are identified by their {@link ClassFingerprint}, which archive entries
+ * take from the ZIP central directory, so a cached class is never inflated again.
+ *
+ * Safe for concurrent use. A class analyzed by one thread while others ask for it
+ * is analyzed once; the others wait for its findings. The findings must not depend
+ * on anything but the class bytes, so a cache must only be shared by analyses with
+ * the same configuration.
+ */
+final class ClassAnalysisCache {
+    
+    private final ConcurrentMap<ClassFingerprint, CompletableFuture<Findings>> entries = new ConcurrentHashMap<>();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    
+    /**
+     * Adds the findings of a class to a sink, analyzing the class only if no
+     * class with the same content was analyzed before.
+     *
+     * @param classFile The class file
+     * @param sink Receives the findings
+     * @param analysis Analyzes the class file into the sink it is given
+     */
+    void analyze(ClassFile classFile, ResultSink sink, Consumer<ResultSink> analysis) {
+        ClassFingerprint fingerprint;
+        try {
+            fingerprint = classFile.getFingerprint();
+        } catch (UncheckedIOException e) {
+            // Let the analysis report the unreadable class file
+            analysis.accept(sink);
+            return;
+        }
+        
+        CompletableFuture<Findings> claim = new CompletableFuture<>();
+        CompletableFuture<Findings> cached = entries.putIfAbsent(fingerprint, claim);
+        if (cached != null) {
+            Findings findings;
+            try {
+                findings = cached.join();
+            } catch (CompletionException e) {
+                // The first analysis failed; analyze this copy without the cache, so it reports its own failure
+                analysis.accept(sink);
+                return;
+            }
+            hits.increment();
+            findings.replayInto(sink);
+            return;
+        }
+        
+        misses.increment();
+        Findings findings = new Findings();
+        try {
+            analysis.accept(findings);
+        } catch (RuntimeException | Error e) {
+            // Later copies are analyzed again rather than sharing the failure
+            entries.remove(fingerprint, claim);
+            claim.completeExceptionally(e);
+            throw e;
+        }
+        claim.complete(findings);
+        findings.replayInto(sink);
+    }
+    
+    /**
+     * @return Classes whose findings were taken from the cache
+     */
+    long getHitCount() {
+        return hits.sum();
+    }
+    
+    /**
+     * @return Classes analyzed and added to the cache
+     */
+    long getMissCount() {
+        return misses.sum();
+    }
+    
+    @Override
+    public String toString() {
+        return String.format("Class cache: %d classes analyzed, %d taken from the cache", getMissCount(), getHitCount());
+    }
+    
+    /**
+     * The findings of one class, in the order the analyzers reported them.
+     */
+    private static final class Findings implements ResultSink {
+        
+        private final List<Consumer<ResultSink>> findings = new ArrayList<>();
+        
+        void replayInto(ResultSink sink) {
+            for (Consumer<ResultSink> finding : findings) {
+                finding.accept(sink);
+            }
+        }
+        
+        @Override
+        public void addConfigOption(ConfigOption option) {
+            findings.add(sink -> sink.addConfigOption(option));
+        }
+        
+        @Override
+        public void addConfigAnnotation(ConfigAnnotation annotation) {
+            findings.add(sink -> sink.addConfigAnnotation(annotation));
+        }
+        
+        @Override
+        public void addChoiceGenerator(ChoiceGenerator cg) {
+            findings.add(sink -> sink.addChoiceGenerator(cg));
+        }
+        
+        @Override
+        public void addLogger(LoggerConfig logger) {
+            findings.add(sink -> sink.addLogger(logger));
+        }
+        
+        @Override
+        public void addType(TypeInfo type) {
+            findings.add(sink -> sink.addType(type));
+        }
+        
+        @Override
+        public void addModelClass(ModelClass modelClass) {
+            findings.add(sink -> sink.addModelClass(modelClass));
+        }
+        
+        @Override
+        public void addNativePeer(NativePeer nativePeer) {
+            findings.add(sink -> sink.addNativePeer(nativePeer));
+        }
+        
+        @Override
+        public void addListener(Listener listener) {
+            findings.add(sink -> sink.addListener(listener));
+        }
+    }
+}
@@ -18,9 +18,16 @@
 
 package gov.nasa.jpf.autodoc.core;
 
+import gov.nasa.jpf.autodoc.core.bytecode.ClassFormatException;
+import gov.nasa.jpf.autodoc.core.bytecode.ClassHeaderReader;
+
 import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Arrays;
 
 /**
  * Represents a Java class file for analysis.
@@ -32,6 +39,7 @@ public class ClassFile {
     private final byte[] data;
     private final Path sourcePath;
     private final String sourceType; // "file", "jar", "directory"
+    private volatile ClassFingerprint fingerprint;
     
     public ClassFile(String className, byte[] data, Path sourcePath, String sourceType) {
         this.className = className;
@@ -40,26 +48,163 @@ public class ClassFile {
         this.sourceType = sourceType;
     }
     
+    /**
+     * Creates a class file whose bytes are provided by a subclass.
+     */
+    protected ClassFile(String className, Path sourcePath, String sourceType) {
+        this(className, null, sourcePath, sourceType);
+    }
+    
     public static ClassFile fromFile(File file) throws IOException {
+        byte[] data = java.nio.file.Files.readAllBytes(file.toPath());
+        return new ClassFile(classNameOf(data, file.toPath()), data, file.toPath(), "file");
+    }
+    
+    /**
+     * Reads a class file whose attributes are already known, e.g. from a directory walk.
+     * The cached size is used to read the file into an exactly-sized buffer
+     * without querying the file system again.
+     * 
+     * @param path Path to the class file
+     * @param attributes Attributes of the class file
+     * @return The class file
+     * @throws IOException if the file cannot be read
+     */
+    public static ClassFile fromFile(Path path, BasicFileAttributes attributes) throws IOException {
+        byte[] data = readFile(path, attributes.size());
+        return new ClassFile(classNameOf(data, path), data, path, "file");
+    }
+    
+    /**
+     * Creates a handle for a class file that is read on first access to its data.
+     * The class name is read from the class file header when it is first asked for;
+     * a file no larger than the header read is loaded whole for it instead.
+     * 
+     * @param path Path to the class file
+     * @param size Expected size of the file, used to size the buffer; -1 if unknown
+     * @return The class file handle
+     */
+    public static ClassFile lazyFromFile(Path path, long size) {
+        return lazyFromFile(null, path, size);
+    }
+    
+    /**
+     * Creates a handle for a class file that is read on first access to its data,
+     * for callers that already know the class name, e.g. from the file's path.
+     * 
+     * @param className The class name, or null to read it from the class file when needed
+     * @param path Path to the class file
+     * @param size Expected size of the file, used to size the buffer; -1 if unknown
+     * @return The class file handle
+     */
+    static ClassFile lazyFromFile(String className, Path path, long size) {
+        boolean nameFromData = size >= 0 && size <= ClassHeaderReader.HEADER_PREFIX_SIZE;
+        return new LazyClassFile(className, path, "file", () -> readFile(path, size), nameFromData);
+    }
+    
+    private static byte[] readFile(Path path, long size) throws IOException {
+        if (size < 0) {
+            return Files.readAllBytes(path);
+        }
+        
+        byte[] data = new byte[(int) size];
+        int length;
+        try (InputStream inputStream = Files.newInputStream(path)) {
+            length = inputStream.readNBytes(data, 0, data.length);
+        }
+        if (length < data.length) {
+            // File was truncated after its size was read
+            data = Arrays.copyOf(data, length);
+        }
+        return data;
+    }
+    
+    public static ClassFile fromJar(String className, byte[] data, Path jarPath) {
+        return new ClassFile(className, data, jarPath, "jar");
+    }
+    
+    public static ClassFile fromDirectory(String className, byte[] data, Path dirPath) {
+        return new ClassFile(className, data, dirPath, "directory");
+    }
+    
+    /**
+     * Reads the class name from the header of a class file on disk, without
+     * reading the rest of the file.
+     * 
+     * @param path Path to the class file
+     * @return The class name
+     * @throws IOException if the file cannot be read
+     */
+    static String classNameOf(Path path) throws IOException {
+        try {
+            return ClassHeaderReader.readClassName(path);
+        } catch (ClassFormatException e) {
+            return fileToClassName(path);
+        }
+    }
+    
+    /**
+     * Reads the class name from the header of a loaded class file.
+     * 
+     * @param data The class file bytes
+     * @param path Path to the class file, used if the bytes are not a valid class file
+     * @return The class name
+     */
+    static String classNameOf(byte[] data, Path path) {
+        try {
+            return ClassHeaderReader.readClassName(data);
+        } catch (ClassFormatException e) {
+            return fileToClassName(path);
+        }
+    }
+    
+    /**
+     * Derives a class name from the path of a class file below a classes or build directory.
+     * Only used for files whose header cannot be read.
+     * 
+     * @param path Path to the class file
+     * @return The class name
+     */
+    private static String fileToClassName(Path path) {
         // Convert file path to class name
-        String filePath = file.getAbsolutePath();
-        String className = filePath
+        String filePath = path.toFile().getAbsolutePath();
+        return filePath
             .replace(".class", "")
             .replaceAll(".*classes/", "") // Remove path up to classes directory
             .replaceAll(".*build/", "") // Remove path up to build directory
             .replace("/", ".")
             .replace("\\", ".");
-        
-        byte[] data = java.nio.file.Files.readAllBytes(file.toPath());
-        return new ClassFile(className, data, file.toPath(), "file");
     }
     
-    public static ClassFile fromJar(String className, byte[] data, Path jarPath) {
-        return new ClassFile(className, data, jarPath, "jar");
+    /**
+     * Records the size and CRC-32 of the class bytes as stored in an archive,
+     * so duplicates can be recognized without loading the bytes.
+     * 
+     * @param size Uncompressed size of the entry
+     * @param crc CRC-32 of the entry
+     * @return This class file
+     */
+    ClassFile withStoredChecksum(long size, long crc) {
+        if (size >= 0 && crc >= 0) {
+            fingerprint = new ClassFingerprint(getClassName(), size, crc);
+        }
+        return this;
     }
     
-    public static ClassFile fromDirectory(String className, byte[] data, Path dirPath) {
-        return new ClassFile(className, data, dirPath, "directory");
+    /**
+     * Returns the fingerprint of the class bytes, computing it from the bytes
+     * if no stored checksum is known.
+     * 
+     * @return The fingerprint
+     * @throws java.io.UncheckedIOException if the bytes have to be loaded and cannot be read
+     */
+    ClassFingerprint getFingerprint() {
+        ClassFingerprint result = fingerprint;
+        if (result == null) {
+            result = ClassFingerprint.of(getClassName(), getData());
+            fingerprint = result;
+        }
+        return result;
     }
     
     // Getters
@@ -71,6 +216,22 @@ public class ClassFile {
         return data;
     }
     
+    /**
+     * Checks whether the class bytes are currently held in memory.
+     * 
+     * @return true if {@link #getData()} does not need to load the bytes
+     */
+    public boolean isLoaded() {
+        return true;
+    }
+    
+    /**
+     * Drops the class bytes if they can be loaded again on demand.
+     * Has no effect on class files created from bytes.
+     */
+    public void release() {
+    }
+    
     public Path getSourcePath() {
         return sourcePath;
     }
@@ -82,7 +243,7 @@ public class ClassFile {
     @Override
     public String toString() {
         return "ClassFile{" +
-                "className='" + className + '\'' +
+                "className='" + getClassName() + '\'' +
                 ", sourcePath=" + sourcePath +
                 ", sourceType='" + sourceType + '\'' +
                 '}';
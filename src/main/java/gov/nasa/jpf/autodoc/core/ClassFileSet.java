@@ -18,17 +18,22 @@
 
 package gov.nasa.jpf.autodoc.core;
 
+import gov.nasa.jpf.autodoc.util.ClassNameMatcher;
+
 import java.util.*;
 import java.util.stream.Collectors;
 
 /**
  * Represents a collection of class files for analysis.
  * This class provides efficient access and iteration over class files.
+ * Byte-identical copies of a class, e.g. from a build directory and a fat jar,
+ * are only kept once.
  */
 public class ClassFileSet implements Iterable<ClassFile> {
     
     private final List<ClassFile> files;
     private final Map<String, ClassFile> classNameIndex;
+    private final DuplicateClassFilter duplicateFilter = new DuplicateClassFilter();
     
     public ClassFileSet() {
         this.files = new ArrayList<>();
@@ -40,9 +45,41 @@ public class ClassFileSet implements Iterable<ClassFile> {
         addAll(files);
     }
     
+    /**
+     * Adds a class file unless a byte-identical copy is already in the set.
+     * 
+     * @param classFile The class file
+     * @see #addIfAbsent(ClassFile)
+     */
     public void add(ClassFile classFile) {
+        addIfAbsent(classFile);
+    }
+    
+    /**
+     * Adds a class file unless a byte-identical copy is already in the set.
+     * Class files without a stored checksum are read to compute one, and
+     * released again if they were not loaded before.
+     * 
+     * @param classFile The class file
+     * @return false if the class file was skipped as a duplicate
+     */
+    public boolean addIfAbsent(ClassFile classFile) {
+        boolean loaded = classFile.isLoaded();
+        boolean unique;
+        try {
+            unique = duplicateFilter.test(classFile);
+        } finally {
+            if (!loaded) {
+                classFile.release();
+            }
+        }
+        if (!unique) {
+            return false;
+        }
+        
         files.add(classFile);
         classNameIndex.put(classFile.getClassName(), classFile);
+        return true;
     }
     
     public void addAll(Collection<ClassFile> classFiles) {
@@ -67,6 +104,13 @@ public class ClassFileSet implements Iterable<ClassFile> {
         return new HashSet<>(classNameIndex.keySet());
     }
     
+    /**
+     * @return Number of class files skipped because a byte-identical copy was added before
+     */
+    public int getDuplicateCount() {
+        return duplicateFilter.getDuplicateCount();
+    }
+    
     public int size() {
         return files.size();
     }
@@ -82,8 +126,9 @@ public class ClassFileSet implements Iterable<ClassFile> {
     }
     
     public List<ClassFile> filterByClassNamePattern(String pattern) {
+        ClassNameMatcher matcher = ClassNameMatcher.compile(pattern);
         return files.stream()
-                .filter(file -> file.getClassName().matches(pattern))
+                .filter(file -> matcher.matches(file.getClassName()))
                 .collect(Collectors.toList());
     }
     
@@ -0,0 +1,170 @@
+/*
+ * Copyright (C) 2025, United States Government, as represented by the
+ * Administrator of the National Aeronautics and Space Administration.
+ * All rights reserved.
+ *
+ * The Java Pathfinder AutoDoc tool is licensed under the
+ * Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ * 
+ *        http://www.apache.org/licenses/LICENSE-2.0. 
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and 
+ * limitations under the License.
+ */
+
+package gov.nasa.jpf.autodoc.core;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * A pull-based source of class files.
+ * Class files are read on demand while the source is iterated, so only the
+ * class files currently being consumed have to be held in memory.
+ * A source can be iterated once and must be closed to release the files it reads from.
+ */
+public interface ClassFileSource extends Iterable<ClassFile>, Closeable {
+    
+    /**
+     * Returns an iterator that reads class files on demand.
+     * I/O errors while reading are reported as {@link UncheckedIOException}.
+     *
+     * @return Iterator over the class files of this source
+     */
+    @Override
+    Iterator<ClassFile> iterator();
+    
+    /**
+     * Returns a sequential stream that reads class files on demand.
+     *
+     * @return Stream over the class files of this source
+     */
+    default Stream<ClassFile> stream() {
+        return StreamSupport.stream(spliterator(), false);
+    }
+    
+    /**
+     * Reads all remaining class files into a list.
+     *
+     * @return List of all class files of this source
+     * @throws IOException if a class file cannot be read
+     */
+    default List<ClassFile> toList() throws IOException {
+        List<ClassFile> classFiles = new ArrayList<>();
+        try {
+            for (ClassFile classFile : this) {
+                classFiles.add(classFile);
+            }
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        return classFiles;
+    }
+    
+    /**
+     * Returns a source that only yields the class files accepted by the filter.
+     * Closing the returned source closes this source.
+     *
+     * @param filter The filter to apply
+     * @return The filtered source
+     */
+    default ClassFileSource filter(Predicate<ClassFile> filter) {
+        ClassFileSource delegate = this;
+        return new ClassFileSource() {
+            @Override
+            public Iterator<ClassFile> iterator() {
+                Iterator<ClassFile> iterator = delegate.iterator();
+                return new LazyIterator() {
+                    @Override
+                    protected ClassFile computeNext() {
+                        while (iterator.hasNext()) {
+                            ClassFile classFile = iterator.next();
+                            if (filter.test(classFile)) {
+                                return classFile;
+                            }
+                        }
+                        return null;
+                    }
+                };
+            }
+            
+            @Override
+            public void close() throws IOException {
+                delegate.close();
+            }
+        };
+    }
+    
+    /**
+     * Creates a source over class files that are already in memory.
+     *
+     * @param classFiles The class files to iterate
+     * @return A source that needs no closing
+     */
+    static ClassFileSource of(Collection<ClassFile> classFiles) {
+        return new ClassFileSource() {
+            @Override
+            public Iterator<ClassFile> iterator() {
+                return classFiles.iterator();
+            }
+            
+            @Override
+            public void close() {
+                // Nothing to release
+            }
+        };
+    }
+    
+    /**
+     * Base iterator for sources that produce one class file at a time.
+     */
+    abstract class LazyIterator implements Iterator<ClassFile> {
+        
+        private ClassFile next;
+        private boolean done;
+        
+        /**
+         * Reads the next class file.
+         *
+         * @return The next class file, or null when the source is exhausted
+         * @throws IOException if the next class file cannot be read
+         */
+        protected abstract ClassFile computeNext() throws IOException;
+        
+        @Override
+        public boolean hasNext() {
+            if (next == null && !done) {
+                try {
+                    next = computeNext();
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                done = next == null;
+            }
+            return next != null;
+        }
+        
+        @Override
+        public ClassFile next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            ClassFile result = next;
+            next = null;
+            return result;
+        }
+    }
+} 
\ No newline at end of file
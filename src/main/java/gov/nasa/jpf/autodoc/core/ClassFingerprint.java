@@ -0,0 +1,75 @@
+/*
+ * Copyright (C) 2025, United States Government, as represented by the
+ * Administrator of the National Aeronautics and Space Administration.
+ * All rights reserved.
+ *
+ * The Java Pathfinder AutoDoc tool is licensed under the
+ * Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ * 
+ *        http://www.apache.org/licenses/LICENSE-2.0. 
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and 
+ * limitations under the License.
+ */
+package gov.nasa.jpf.autodoc.core;
+
+import java.util.Objects;
+import java.util.zip.CRC32;
+
+/**
+ * Identifies the content of a class file by its name, size and CRC-32.
+ * Archive entries take the size and CRC-32 from the ZIP central directory, so
+ * they can be compared without inflating them; other class files compute the
+ * CRC-32 from their bytes, which gives the same value for the same content.
+ */
+final class ClassFingerprint {
+    
+    private final String className;
+    private final long size;
+    private final long crc;
+    
+    ClassFingerprint(String className, long size, long crc) {
+        this.className = className;
+        this.size = size;
+        this.crc = crc;
+    }
+    
+    /**
+     * Computes the fingerprint of class bytes.
+     *
+     * @param className The class name
+     * @param data The class bytes
+     * @return The fingerprint
+     */
+    static ClassFingerprint of(String className, byte[] data) {
+        CRC32 crc = new CRC32();
+        crc.update(data);
+        return new ClassFingerprint(className, data.length, crc.getValue());
+    }
+    
+    @Override
+    public boolean equals(Object other) {
+        if (this == other) {
+            return true;
+        }
+        if (!(other instanceof ClassFingerprint)) {
+            return false;
+        }
+        ClassFingerprint that = (ClassFingerprint) other;
+        return size == that.size && crc == that.crc && className.equals(that.className);
+    }
+    
+    @Override
+    public int hashCode() {
+        return Objects.hash(className, size, crc);
+    }
+    
+    @Override
+    public String toString() {
+        return className + " (" + size + " bytes, crc " + Long.toHexString(crc) + ")";
+    }
+} 
\ No newline at end of file
@@ -0,0 +1,329 @@
+/*
+ * Copyright (C) 2025, United States Government, as represented by the
+ * Administrator of the National Aeronautics and Space Administration.
+ * All rights reserved.
+ *
+ * The Java Pathfinder AutoDoc tool is licensed under the
+ * Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ * 
+ *        http://www.apache.org/licenses/LICENSE-2.0. 
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and 
+ * limitations under the License.
+ */
+package gov.nasa.jpf.autodoc.core;
+
+import gov.nasa.jpf.autodoc.core.bytecode.ClassFileScanner;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+/**
+ * Resolves class names against a classpath of directories and JAR/ZIP files.
+ * 
+ * All entries share one index from class name to location. The index is filled
+ * lazily in classpath order: a lookup only indexes entries until the class is
+ * found, and each entry is indexed once, from the archive's central directory
+ * or a walk of the directory. Later lookups of indexed classes, including
+ * misses once every entry is indexed, are a single hash lookup. As on the
+ * Java classpath, the first entry containing a class wins. Superclass names
+ * looked up with {@link #findSuperClassName} are cached as well, so each class
+ * on the classpath is read at most once for them.
+ */
+public final class ClasspathResolver implements Closeable {
+    
+    private static final String WILDCARD = "*";
+    private static final String CLASS_SUFFIX = ".class";
+    private static final String JAR_SUFFIX = ".jar";
+    private static final String NO_SUPERCLASS = "";
+    
+    private final List<Path> entries;
+    private final Map<String, Location> index = new ConcurrentHashMap<>();
+    private final Map<Path, ZipFile> openArchives = new ConcurrentHashMap<>();
+    private final Map<String, String> superClassNames = new ConcurrentHashMap<>();
+    private int indexedEntries; // guarded by this
+    private volatile boolean fullyIndexed;
+    
+    /**
+     * @param entries The classpath entries in lookup order
+     */
+    public ClasspathResolver(List<Path> entries) {
+        this.entries = Collections.unmodifiableList(new ArrayList<>(entries));
+        this.fullyIndexed = this.entries.isEmpty();
+    }
+    
+    /**
+     * Creates a resolver for a classpath string.
+     *
+     * @param classpath Entries separated by the platform path separator
+     * @return The resolver
+     * @throws IOException if a wildcard entry names a directory that cannot be listed
+     * @see #parse(String)
+     */
+    public static ClasspathResolver of(String classpath) throws IOException {
+        return new ClasspathResolver(parse(classpath));
+    }
+    
+    /**
+     * Splits a classpath string on the platform path separator. As with the
+     * {@code java} launcher, an entry {@code dir/*} expands to the files in
+     * {@code dir} ending in {@code .jar} or {@code .JAR}, sorted by name;
+     * subdirectories are not searched. Empty entries are dropped.
+     * Other entries are returned as given, whether they exist or not.
+     *
+     * @param classpath Entries separated by the platform path separator
+     * @return The classpath entries in order
+     * @throws IOException if a wildcard entry names a directory that cannot be listed
+     */
+    public static List<Path> parse(String classpath) throws IOException {
+        List<Path> entries = new ArrayList<>();
+        for (String element : classpath.split(File.pathSeparator)) {
+            String trimmed = element.trim();
+            if (trimmed.isEmpty()) {
+                continue;
+            }
+            if (trimmed.equals(WILDCARD) || trimmed.endsWith("/" + WILDCARD) ||
+                trimmed.endsWith(File.separator + WILDCARD)) {
+                String directory = trimmed.substring(0, trimmed.length() - WILDCARD.length());
+                entries.addAll(expandWildcard(Paths.get(directory.isEmpty() ? "." : directory)));
+            } else {
+                entries.add(Paths.get(trimmed));
+            }
+        }
+        return entries;
+    }
+    
+    private static List<Path> expandWildcard(Path directory) throws IOException {
+        if (!Files.isDirectory(directory)) {
+            throw new NoSuchFileException(directory.toString(), null, "Wildcard classpath entry is not a directory");
+        }
+        List<Path> archives = new ArrayList<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory)) {
+            for (Path path : stream) {
+                if (isJar(path) && Files.isRegularFile(path)) {
+                    archives.add(path);
+                }
+            }
+        }
+        Collections.sort(archives);
+        return archives;
+    }
+    
+    private static boolean isJar(Path path) {
+        String fileName = path.getFileName().toString();
+        return fileName.endsWith(JAR_SUFFIX) || fileName.endsWith(JAR_SUFFIX.toUpperCase());
+    }
+    
+    public List<Path> getEntries() {
+        return entries;
+    }
+    
+    /**
+     * Finds the classpath entry holding a class.
+     *
+     * @param className Fully qualified class name, e.g. gov.nasa.jpf.vm.VM
+     * @return The location of the class, or null if no entry contains it
+     */
+    public Location locate(String className) {
+        Location location = index.get(className);
+        if (location != null || fullyIndexed) {
+            return location;
+        }
+        
+        synchronized (this) {
+            while ((location = index.get(className)) == null && indexedEntries < entries.size()) {
+                indexEntry(entries.get(indexedEntries++));
+            }
+            fullyIndexed = indexedEntries == entries.size();
+        }
+        return location;
+    }
+    
+    /**
+     * @param className Fully qualified class name
+     * @return true if some classpath entry contains the class
+     */
+    public boolean contains(String className) {
+        return locate(className) != null;
+    }
+    
+    /**
+     * Reads a class from the classpath.
+     *
+     * @param className Fully qualified class name
+     * @return The class file, or null if no entry contains the class
+     * @throws IOException if the class cannot be read
+     */
+    public ClassFile find(String className) throws IOException {
+        Location location = locate(className);
+        if (location == null) {
+            return null;
+        }
+        
+        Path entry = location.getClasspathEntry();
+        if (!location.isArchive()) {
+            return ClassFile.fromFile(entry.resolve(location.getEntryName()).toFile());
+        }
+        
+        ZipFile zipFile = openArchive(entry);
+        ZipEntry zipEntry = zipFile.getEntry(location.getEntryName());
+        if (zipEntry == null) {
+            throw new IOException("Entry " + location.getEntryName() + " no longer in " + entry);
+        }
+        try (InputStream in = zipFile.getInputStream(zipEntry)) {
+            return ClassFile.fromJar(className, ArchiveFileReader.readAllBytes(in), entry);
+        }
+    }
+    
+    /**
+     * Looks up the superclass of a class on the classpath.
+     *
+     * @param className Fully qualified class name
+     * @return The superclass name, or null if no entry contains the class or it has no superclass
+     * @throws IOException if the class cannot be read
+     */
+    public String findSuperClassName(String className) throws IOException {
+        String superName = superClassNames.get(className);
+        if (superName == null) {
+            ClassFile classFile = find(className);
+            superName = classFile != null ? new ClassFileScanner().scan(classFile.getData()).getSuperClassName() : null;
+            if (superName == null) {
+                superName = NO_SUPERCLASS;
+            }
+            superClassNames.put(className, superName);
+        }
+        return superName.isEmpty() ? null : superName;
+    }
+    
+    /**
+     * @return Number of classes indexed so far
+     */
+    public int getIndexedClassCount() {
+        return index.size();
+    }
+    
+    private ZipFile openArchive(Path archivePath) throws IOException {
+        ZipFile zipFile = openArchives.get(archivePath);
+        if (zipFile == null) {
+            synchronized (openArchives) {
+                zipFile = openArchives.get(archivePath);
+                if (zipFile == null) {
+                    zipFile = new ZipFile(archivePath.toFile());
+                    openArchives.put(archivePath, zipFile);
+                }
+            }
+        }
+        return zipFile;
+    }
+    
+    private void indexEntry(Path entry) {
+        try {
+            if (Files.isDirectory(entry)) {
+                indexDirectory(entry);
+            } else if (Files.isRegularFile(entry) && ArchiveFileReader.isZipArchive(entry)) {
+                indexArchive(entry);
+            } else {
+                System.err.println("Warning: Skipping classpath entry that is not a directory, JAR or ZIP file: " +
+                                   entry);
+            }
+        } catch (IOException e) {
+            System.err.println("Warning: Could not index classpath entry " + entry + ": " + e.getMessage());
+        }
+    }
+    
+    private void indexArchive(Path archivePath) throws IOException {
+        // Only the central directory is read; multi-release variants under META-INF are not indexed
+        for (String name : ArchiveIndex.build(archivePath).getEntryNames()) {
+            if (name.endsWith(CLASS_SUFFIX) && !name.startsWith("META-INF/")) {
+                index.putIfAbsent(ArchiveFileReader.entryNameToClassName(name), new Location(archivePath, name, true));
+            }
+        }
+    }
+    
+    private void indexDirectory(Path directory) throws IOException {
+        try (Stream<Path> paths = Files.walk(directory)) {
+            paths.filter(path -> path.getFileName().toString().endsWith(CLASS_SUFFIX))
+                 .filter(Files::isRegularFile)
+                 .forEach(path -> {
+                     String name = directory.relativize(path).toString().replace(File.separatorChar, '/');
+                     index.putIfAbsent(ArchiveFileReader.entryNameToClassName(name), new Location(directory, name, false));
+                 });
+        }
+    }
+    
+    @Override
+    public void close() throws IOException {
+        IOException failure = null;
+        for (ZipFile zipFile : openArchives.values()) {
+            try {
+                zipFile.close();
+            } catch (IOException e) {
+                if (failure == null) {
+                    failure = e;
+                } else {
+                    failure.addSuppressed(e);
+                }
+            }
+        }
+        openArchives.clear();
+        if (failure != null) {
+            throw failure;
+        }
+    }
+    
+    /**
+     * Where a class was found: a classpath entry and the name of the class
+     * file within it, using '/' as separator.
+     */
+    public static final class Location {
+        
+        private final Path classpathEntry;
+        private final String entryName;
+        private final boolean archive;
+        
+        Location(Path classpathEntry, String entryName, boolean archive) {
+            this.classpathEntry = classpathEntry;
+            this.entryName = entryName;
+            this.archive = archive;
+        }
+        
+        public Path getClasspathEntry() {
+            return classpathEntry;
+        }
+        
+        public String getEntryName() {
+            return entryName;
+        }
+        
+        /**
+         * @return true if the class is in a JAR or ZIP file, false if in a directory
+         */
+        public boolean isArchive() {
+            return archive;
+        }
+        
+        @Override
+        public String toString() {
+            return classpathEntry + (archive ? "!/" : File.separator) + entryName;
+        }
+    }
+} 
\ No newline at end of file
@@ -19,6 +19,9 @@
 package gov.nasa.jpf.autodoc.core;
 
 import gov.nasa.jpf.autodoc.core.model.AnalysisConfig;
+import gov.nasa.jpf.autodoc.core.model.ExecutorMode;
+import gov.nasa.jpf.autodoc.core.model.ResultAccumulator;
+import gov.nasa.jpf.autodoc.core.model.ResultSink;
 import gov.nasa.jpf.autodoc.core.model.UnifiedAnalysisResult;
 import gov.nasa.jpf.autodoc.options.ConfigurationAnalyzer;
 import gov.nasa.jpf.autodoc.types.TypeHierarchyAnalyzer;
@@ -26,25 +29,53 @@ import gov.nasa.jpf.autodoc.types.CrossReferenceAnalyzer;
 import gov.nasa.jpf.autodoc.core.ArchiveFileReader;
 
 import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
-import java.util.concurrent.Future;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Predicate;
+import java.util.logging.Logger;
 import java.util.stream.Stream;
 import java.util.stream.Collectors;
 
 /**
  * Default implementation of the AnalysisEngine interface.
  * Coordinates configuration analysis, type hierarchy analysis, and cross-reference analysis.
+ * The thread pools of parallel analysis are created on first use and kept until the
+ * engine is closed, so analyzing several targets starts the worker threads once.
  */
 public class DefaultAnalysisEngine implements AnalysisEngine {
     
+    private static final Logger logger = Logger.getLogger(DefaultAnalysisEngine.class.getName());
+    
+    // Analysis tasks allowed in flight per worker thread when consuming a source
+    private static final int IN_FLIGHT_PER_THREAD = 4;
+    
+    // Class files taken from a source per fork/join run, bounding those held at once
+    private static final int FORK_JOIN_BATCH_SIZE = 4096;
+    
     private final ConfigurationAnalyzer configAnalyzer;
     private final TypeHierarchyAnalyzer typeAnalyzer;
     private final CrossReferenceAnalyzer crossRefAnalyzer;
+    private final Map<List<Path>, ClasspathResolver> classpathResolvers = new ConcurrentHashMap<>();
+    private ExecutorService readerPool; // guarded by this
+    private boolean virtualReaders; // guarded by this
+    private ExecutorService analyzerPool; // guarded by this
+    private int analyzerPoolSize; // guarded by this
+    private ForkJoinPool forkJoinPool; // guarded by this
+    private ExecutorService targetPool; // guarded by this
+    private volatile boolean closed; // written under this
     
     public DefaultAnalysisEngine() {
         this.configAnalyzer = new ConfigurationAnalyzer();
@@ -52,16 +83,168 @@ public class DefaultAnalysisEngine implements AnalysisEngine {
         this.crossRefAnalyzer = new CrossReferenceAnalyzer();
     }
     
+    /**
+     * @return Whether this JVM runs virtual threads, so {@link ExecutorMode#VIRTUAL}
+     *         reads class files on virtual rather than platform threads
+     */
+    public static boolean supportsVirtualThreads() {
+        return VirtualThreads.isSupported();
+    }
+    
+    /**
+     * Returns the resolver for the classpath of a configuration. The resolver
+     * and its index are shared by all analyses with the same classpath, so
+     * classpath entries are indexed at most once per engine. Resolvers stay
+     * open, as analyses may still use them, until the engine is closed.
+     *
+     * @param config The analysis configuration
+     * @return Resolver over {@link AnalysisConfig#getClasspath()}
+     */
+    public ClasspathResolver getClasspathResolver(AnalysisConfig config) {
+        checkOpen();
+        return classpathResolvers.computeIfAbsent(config.getClasspath(), ClasspathResolver::new);
+    }
+    
+    /**
+     * Returns the pool running the readers of the ingestion pipeline. Its threads are
+     * created as readers need them and reused by later analyses; they are virtual threads
+     * when asked for and available, platform threads otherwise.
+     */
+    private synchronized ExecutorService getReaderPool(AnalysisConfig config) {
+        checkOpen();
+        boolean virtual = config.getExecutorMode() == ExecutorMode.VIRTUAL && VirtualThreads.isSupported();
+        if (readerPool == null || virtualReaders != virtual) {
+            if (readerPool != null) {
+                // Readers of analyses still running finish on the old pool
+                readerPool.shutdown();
+            }
+            readerPool = Executors.newCachedThreadPool(readerThreadFactory(config));
+            virtualReaders = virtual;
+        }
+        return readerPool;
+    }
+    
+    /**
+     * Returns the pool of platform threads analyzing class files, sized by
+     * {@link AnalysisConfig#getThreadCount()}.
+     */
+    private synchronized ExecutorService getAnalyzerPool(AnalysisConfig config) {
+        checkOpen();
+        if (analyzerPool == null || analyzerPoolSize != config.getThreadCount()) {
+            if (analyzerPool != null) {
+                analyzerPool.shutdown();
+            }
+            analyzerPoolSize = config.getThreadCount();
+            analyzerPool = Executors.newFixedThreadPool(analyzerPoolSize, daemonThreadFactory("autodoc-analyzer"));
+        }
+        return analyzerPool;
+    }
+    
+    /**
+     * Returns the work-stealing pool of fork/join analysis, which also walks directories
+     * and reads the archives found in them, with a parallelism of {@link AnalysisConfig#getThreadCount()}.
+     */
+    private synchronized ForkJoinPool getForkJoinPool(AnalysisConfig config) {
+        checkOpen();
+        if (forkJoinPool == null || forkJoinPool.getParallelism() != config.getThreadCount()) {
+            if (forkJoinPool != null) {
+                forkJoinPool.shutdown();
+            }
+            forkJoinPool = new ForkJoinPool(config.getThreadCount());
+        }
+        return forkJoinPool;
+    }
+    
+    /**
+     * Returns the pool running one task per target of {@link #analyzeConcurrently}.
+     * The tasks mostly wait for the other pools, so the pool grows with the targets.
+     */
+    private synchronized ExecutorService getTargetPool() {
+        checkOpen();
+        if (targetPool == null) {
+            targetPool = Executors.newCachedThreadPool(daemonThreadFactory("autodoc-target"));
+        }
+        return targetPool;
+    }
+    
+    private void checkOpen() {
+        if (closed) {
+            throw new IllegalStateException("Analysis engine is closed");
+        }
+    }
+    
+    /**
+     * Shuts down the thread pools and closes the classpath archives.
+     * Analyses still running are allowed to finish.
+     */
+    @Override
+    public synchronized void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        
+        if (readerPool != null) {
+            readerPool.shutdown();
+        }
+        if (analyzerPool != null) {
+            analyzerPool.shutdown();
+        }
+        if (forkJoinPool != null) {
+            forkJoinPool.shutdown();
+        }
+        if (targetPool != null) {
+            targetPool.shutdown();
+        }
+        for (ClasspathResolver classpathResolver : classpathResolvers.values()) {
+            try {
+                classpathResolver.close();
+            } catch (IOException e) {
+                System.err.println("Warning: Could not close classpath archives: " + e.getMessage());
+            }
+        }
+        classpathResolvers.clear();
+    }
+    
     @Override
     public UnifiedAnalysisResult analyze(ClassFileSet files, AnalysisConfig config) {
-        UnifiedAnalysisResult result = new UnifiedAnalysisResult("ClassFileSet", config);
+        UnifiedAnalysisResult result;
         
         try {
             // Process files in parallel if configured
             if (config.isParallelProcessing()) {
-                return analyzeParallel(files, config);
+                result = config.getExecutorMode() == ExecutorMode.FORKJOIN
+                    ? analyzeForkJoin(files, config, null)
+                    : analyzeParallel(files, config, null);
+            } else {
+                result = analyzeSequential(files, config, null);
+            }
+            // The set already dropped the duplicates added to it
+            result.addDuplicateClasses(files.getDuplicateCount());
+            return result;
+        } catch (Exception e) {
+            throw new RuntimeException("Analysis failed", e);
+        }
+    }
+    
+    @Override
+    public UnifiedAnalysisResult analyze(ClassFileSource source, AnalysisConfig config) {
+        return analyze(source, config, null);
+    }
+    
+    /**
+     * Analyzes class files pulled from a source, taking the findings of classes
+     * already analyzed for another target from a cache where one is given.
+     */
+    private UnifiedAnalysisResult analyze(ClassFileSource source, AnalysisConfig config, ClassAnalysisCache cache) {
+        try {
+            // Class files are pulled from the source as analysis proceeds
+            if (config.isParallelProcessing()) {
+                return config.getExecutorMode() == ExecutorMode.FORKJOIN
+                    ? analyzeForkJoin(source, config, cache)
+                    : analyzeParallel(source, config, cache);
             } else {
-                return analyzeSequential(files, config);
+                return analyzeSequential(source, config, cache);
             }
         } catch (Exception e) {
             throw new RuntimeException("Analysis failed", e);
@@ -71,17 +254,27 @@ public class DefaultAnalysisEngine implements AnalysisEngine {
     @Override
     public UnifiedAnalysisResult analyze(ClassFile classFile, AnalysisConfig config) {
         UnifiedAnalysisResult result = new UnifiedAnalysisResult(classFile.getSourcePath().toString(), config);
-        
+        analyze(classFile, config, result);
+        return result;
+    }
+    
+    /**
+     * Runs the analyzers on one class, adding what they find to a sink.
+     */
+    private void analyze(ClassFile classFile, AnalysisConfig config, ResultSink sink) {
         try {
+            // Parsed once and shared, so the analyzers never decode the class twice
+            ParsedClass parsedClass = new ParsedClass(classFile);
+            
             if (config.isAnalyzeConfigurations()) {
-                configAnalyzer.analyze(classFile, result);
+                configAnalyzer.analyze(parsedClass, sink);
             }
             
             if (config.isAnalyzeTypes()) {
-                typeAnalyzer.analyze(classFile, result);
+                // Ancestors outside the target are looked up on the classpath, if one is given
+                ClasspathResolver classpath = config.getClasspath().isEmpty() ? null : getClasspathResolver(config);
+                typeAnalyzer.analyze(parsedClass, sink, classpath);
             }
-            
-            return result;
         } catch (Exception e) {
             throw new RuntimeException("Analysis failed for " + classFile.getClassName(), e);
         }
@@ -89,6 +282,26 @@ public class DefaultAnalysisEngine implements AnalysisEngine {
     
     @Override
     public UnifiedAnalysisResult analyze(String source, AnalysisConfig config) {
+        return analyze(source, config, null);
+    }
+    
+    @Override
+    public List<CompletableFuture<UnifiedAnalysisResult>> analyzeConcurrently(List<String> sources,
+                                                                              AnalysisConfig config) {
+        // All targets share the worker pools; classes found in several targets are analyzed once,
+        // the first time any target reaches them
+        ClassAnalysisCache cache = new ClassAnalysisCache();
+        ExecutorService pool = getTargetPool();
+        List<CompletableFuture<UnifiedAnalysisResult>> results = new ArrayList<>(sources.size());
+        for (String source : sources) {
+            results.add(CompletableFuture.supplyAsync(() -> analyze(source, config, cache), pool));
+        }
+        CompletableFuture.allOf(results.toArray(new CompletableFuture<?>[0]))
+            .whenComplete((done, failure) -> logger.info(cache.toString()));
+        return results;
+    }
+    
+    private UnifiedAnalysisResult analyze(String source, AnalysisConfig config, ClassAnalysisCache cache) {
         Path sourcePath = Paths.get(source);
         
         if (!Files.exists(sourcePath)) {
@@ -99,9 +312,9 @@ public class DefaultAnalysisEngine implements AnalysisEngine {
         
         try {
             if (Files.isDirectory(sourcePath)) {
-                return analyzeDirectory(sourcePath, config);
+                return analyzeDirectory(sourcePath, config, cache);
             } else if (ArchiveFileReader.isArchiveFile(sourcePath)) {
-                return analyzeArchive(sourcePath, config);
+                return analyzeArchive(sourcePath, config, cache);
             } else {
                 return analyzeFile(sourcePath, config);
             }
@@ -110,23 +323,30 @@ public class DefaultAnalysisEngine implements AnalysisEngine {
         }
     }
     
-    private UnifiedAnalysisResult analyzeParallel(ClassFileSet files, AnalysisConfig config) {
+    private UnifiedAnalysisResult analyzeParallel(Iterable<ClassFile> files, AnalysisConfig config,
+                                                  ClassAnalysisCache cache) {
         UnifiedAnalysisResult result = new UnifiedAnalysisResult("Parallel Analysis", config);
         
+        // Reader threads load class files while the analysis threads work on earlier ones,
+        // keeping only a bounded window of class files in flight
+        // Classes no analyzer documents and byte-identical copies are dropped before their bytes are loaded
+        // where possible
+        // The analysis threads add their findings to their own shards of one accumulator, which is
+        // replayed into the result in source order once all classes are done
         int threadCount = config.getThreadCount();
-        ExecutorService executor = Executors.newFixedThreadPool(threadCount);
+        DuplicateClassFilter duplicateFilter = new DuplicateClassFilter();
+        Predicate<ClassFile> admission = classFile -> isRelevant(classFile) && duplicateFilter.test(classFile);
+        ResultAccumulator accumulator = new ResultAccumulator();
+        IngestionPipeline pipeline = new IngestionPipeline(config.getReaderThreadCount(), threadCount,
+                                                           threadCount * IN_FLIGHT_PER_THREAD, admission,
+                                                           (classFile, sequence) -> analyzeAndRelease(
+                                                               classFile, config, accumulator.forClass(sequence), cache));
         
         try {
-            // Submit analysis tasks
-            var futures = files.stream()
-                .map(classFile -> executor.submit(() -> analyze(classFile, config)))
-                .collect(Collectors.toList());
-            
-            // Collect results
-            for (Future<UnifiedAnalysisResult> future : futures) {
-                UnifiedAnalysisResult partialResult = future.get();
-                result.merge(partialResult);
-            }
+            IngestionPipeline.Stats stats = pipeline.run(files, getReaderPool(config), getAnalyzerPool(config));
+            accumulator.sealInto(result);
+            result.addDuplicateClasses(duplicateFilter.getDuplicateCount());
+            logger.info(stats.toString());
             
             // Perform cross-reference analysis
             if (config.isAnalyzeTypes()) {
@@ -136,18 +356,38 @@ public class DefaultAnalysisEngine implements AnalysisEngine {
             return result;
         } catch (Exception e) {
             throw new RuntimeException("Parallel analysis failed", e);
-        } finally {
-            executor.shutdown();
         }
     }
     
-    private UnifiedAnalysisResult analyzeSequential(ClassFileSet files, AnalysisConfig config) {
-        UnifiedAnalysisResult result = new UnifiedAnalysisResult("Sequential Analysis", config);
+    private UnifiedAnalysisResult analyzeForkJoin(Iterable<ClassFile> files, AnalysisConfig config,
+                                                  ClassAnalysisCache cache) {
+        UnifiedAnalysisResult result = new UnifiedAnalysisResult("Fork/Join Analysis", config);
         
-        for (ClassFile classFile : files) {
-            UnifiedAnalysisResult partialResult = analyze(classFile, config);
-            result.merge(partialResult);
+        // Each batch is split into chunks that idle workers steal from busy ones; chunk results are
+        // merged pairwise in source order, so the analysis threads never contend for one result
+        DuplicateClassFilter duplicateFilter = new DuplicateClassFilter();
+        ForkJoinPool pool = getForkJoinPool(config);
+        long steals = pool.getStealCount();
+        long start = System.nanoTime();
+        int classCount = 0;
+        
+        Iterator<ClassFile> iterator = files.iterator();
+        while (iterator.hasNext()) {
+            List<ClassFile> batch = new ArrayList<>(FORK_JOIN_BATCH_SIZE);
+            while (iterator.hasNext() && batch.size() < FORK_JOIN_BATCH_SIZE) {
+                batch.add(iterator.next());
+            }
+            classCount += batch.size();
+            result.merge(pool.invoke(new ChunkedAnalysisTask(
+                batch, pool.getParallelism(),
+                () -> new UnifiedAnalysisResult("Fork/Join Chunk", config),
+                (classFile, sink) -> admitAndAnalyze(classFile, duplicateFilter, config, sink, cache))));
         }
+        result.addDuplicateClasses(duplicateFilter.getDuplicateCount());
+        // The pool outlives this analysis, so count the steals since it started (other analyses may add some)
+        logger.info(String.format("Fork/join analysis: %d classes in %d ms on %d threads, %d steals",
+                                  classCount, (System.nanoTime() - start) / 1_000_000,
+                                  pool.getParallelism(), pool.getStealCount() - steals));
         
         // Perform cross-reference analysis
         if (config.isAnalyzeTypes()) {
@@ -157,34 +397,124 @@ public class DefaultAnalysisEngine implements AnalysisEngine {
         return result;
     }
     
-    private UnifiedAnalysisResult analyzeDirectory(Path dirPath, AnalysisConfig config) throws IOException {
-        ClassFileSet files = new ClassFileSet();
+    private UnifiedAnalysisResult analyzeSequential(Iterable<ClassFile> files, AnalysisConfig config,
+                                                    ClassAnalysisCache cache) {
+        UnifiedAnalysisResult result = new UnifiedAnalysisResult("Sequential Analysis", config);
+        DuplicateClassFilter duplicateFilter = new DuplicateClassFilter();
         
-        // Use ArchiveFileReader to read both class files and archives from directory
-        List<ClassFile> classFiles = ArchiveFileReader.readFromDirectory(dirPath);
+        for (ClassFile classFile : files) {
+            // One class at a time, in source order, so the findings go straight into the result
+            admitAndAnalyze(classFile, duplicateFilter, config, result, cache);
+        }
+        result.addDuplicateClasses(duplicateFilter.getDuplicateCount());
         
-        for (ClassFile classFile : classFiles) {
-            if (shouldInclude(classFile, config)) {
-                files.add(classFile);
-            }
+        // Perform cross-reference analysis
+        if (config.isAnalyzeTypes()) {
+            crossRefAnalyzer.analyze(result);
         }
         
-        return analyze(files, config);
+        return result;
     }
     
-    private UnifiedAnalysisResult analyzeArchive(Path archivePath, AnalysisConfig config) throws IOException {
-        ClassFileSet files = new ClassFileSet();
-        
-        // Use ArchiveFileReader to read class files from any supported archive format
-        List<ClassFile> classFiles = ArchiveFileReader.readFromArchive(archivePath);
-        
-        for (ClassFile classFile : classFiles) {
-            if (shouldInclude(classFile, config)) {
-                files.add(classFile);
+    /**
+     * Decides from the class name alone whether any analyzer documents a class.
+     * Names are known from the archive entry or class file header, so classes
+     * outside the JPF packages are never inflated, fingerprinted or parsed.
+     */
+    private static boolean isRelevant(ClassFile classFile) {
+        try {
+            return ParsedClass.isJPFClassName(classFile.getClassName());
+        } catch (UncheckedIOException e) {
+            // Let the analysis report the unreadable class file
+            return true;
+        }
+    }
+    
+    /**
+     * Picks the threads reading class files: virtual threads when asked for and
+     * available, platform threads otherwise. Analysis stays on platform threads.
+     */
+    private static ThreadFactory readerThreadFactory(AnalysisConfig config) {
+        if (config.getExecutorMode() == ExecutorMode.VIRTUAL) {
+            if (VirtualThreads.isSupported()) {
+                return VirtualThreads.newThreadFactory("autodoc-reader");
             }
+            System.err.println("Warning: Virtual threads need Java 21 or later, "
+                               + "reading class files on platform threads");
+        }
+        return daemonThreadFactory("autodoc-reader");
+    }
+    
+    /**
+     * Creates daemon threads named after a prefix and a counter, so an engine
+     * that is never closed does not keep the JVM alive.
+     */
+    private static ThreadFactory daemonThreadFactory(String name) {
+        AtomicInteger count = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, name + "-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+    
+    /**
+     * Analyzes a class file unless no analyzer documents it or it duplicates
+     * one already admitted, in which case its bytes are just dropped.
+     */
+    private void admitAndAnalyze(ClassFile classFile, DuplicateClassFilter duplicateFilter,
+                                 AnalysisConfig config, ResultSink sink, ClassAnalysisCache cache) {
+        if (!isRelevant(classFile) || !duplicateFilter.test(classFile)) {
+            classFile.release();
+            return;
+        }
+        analyzeAndRelease(classFile, config, sink, cache);
+    }
+    
+    /**
+     * Analyzes a class file and then drops its bytes if they can be reloaded,
+     * so retained class file sets do not keep analyzed classes on the heap.
+     * Class files whose bytes can no longer be read are reported and skipped.
+     * With a cache, a class whose content was analyzed before is not loaded again.
+     */
+    private void analyzeAndRelease(ClassFile classFile, AnalysisConfig config, ResultSink sink,
+                                   ClassAnalysisCache cache) {
+        try {
+            if (cache == null) {
+                loadAndAnalyze(classFile, config, sink);
+            } else {
+                cache.analyze(classFile, sink, findings -> loadAndAnalyze(classFile, config, findings));
+            }
+        } catch (UncheckedIOException e) {
+            // The class name may itself need the unreadable file, so report the loader's message
+            System.err.println("Warning: " + e.getMessage() + " from " + classFile.getSourcePath());
+        } finally {
+            classFile.release();
+        }
+    }
+    
+    private void loadAndAnalyze(ClassFile classFile, AnalysisConfig config, ResultSink sink) {
+        if (!classFile.isLoaded()) {
+            classFile.getData();
+        }
+        analyze(classFile, config, sink);
+    }
+    
+    private UnifiedAnalysisResult analyzeDirectory(Path dirPath, AnalysisConfig config,
+                                                   ClassAnalysisCache cache) throws IOException {
+        // Stream class files from the directory and any archives within it; the reader applies the class filters.
+        // The walk and the archive reads run on the engine's fork/join pool
+        try (ClassFileSource source = ArchiveFileReader.openDirectory(dirPath, config, getForkJoinPool(config))) {
+            return analyze(source, config, cache);
+        }
+    }
+    
+    private UnifiedAnalysisResult analyzeArchive(Path archivePath, AnalysisConfig config,
+                                                 ClassAnalysisCache cache) throws IOException {
+        // Stream class files from any supported archive format; the reader applies the class filters
+        try (ClassFileSource source = ArchiveFileReader.openArchive(archivePath, config)) {
+            return analyze(source, config, cache);
         }
-        
-        return analyze(files, config);
     }
     
     private UnifiedAnalysisResult analyzeFile(Path filePath, AnalysisConfig config) throws IOException {
@@ -195,21 +525,4 @@ public class DefaultAnalysisEngine implements AnalysisEngine {
         ClassFile classFile = ClassFile.fromFile(filePath.toFile());
         return analyze(classFile, config);
     }
-    
-    private boolean shouldInclude(ClassFile classFile, AnalysisConfig config) {
-        String className = classFile.getClassName();
-        
-        // Check include patterns
-        if (!config.getIncludePatterns().isEmpty()) {
-            boolean included = config.getIncludePatterns().stream()
-                .anyMatch(pattern -> className.matches(pattern));
-            if (!included) {
-                return false;
-            }
-        }
-        
-        // Check exclude patterns
-        return config.getExcludePatterns().stream()
-            .noneMatch(pattern -> className.matches(pattern));
-    }
 } 
\ No newline at end of file
@@ -0,0 +1,78 @@
+/*
+ * Copyright (C) 2025, United States Government, as represented by the
+ * Administrator of the National Aeronautics and Space Administration.
+ * All rights reserved.
+ *
+ * The Java Pathfinder AutoDoc tool is licensed under the
+ * Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ * 
+ *        http://www.apache.org/licenses/LICENSE-2.0. 
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and 
+ * limitations under the License.
+ */
+package gov.nasa.jpf.autodoc.core;
+
+import gov.nasa.jpf.autodoc.core.model.AnalysisConfig;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.Iterator;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Lazy class file source over a directory tree.
+ * The tree is walked once, in parallel, by a {@link DirectoryWalker}; class files are
+ * handed out as handles sized from the attributes read by the walk and loaded on first
+ * access to their data. Archives found by the walk are read on the pool largest first,
+ * and iteration waits for an archive only when it reaches it.
+ */
+class DirectorySource implements ClassFileSource {
+    
+    private final Path dirPath;
+    private final AnalysisConfig config;
+    private final ForkJoinPool pool;
+    private final boolean ownsPool;
+    
+    /**
+     * Creates a source walking on a pool of its own, shut down when the source is closed.
+     */
+    DirectorySource(Path dirPath, AnalysisConfig config) {
+        this(dirPath, config, new ForkJoinPool(config.getThreadCount()), true);
+    }
+    
+    /**
+     * Creates a source walking on a pool owned by the caller, e.g. the pool of an analysis engine.
+     */
+    DirectorySource(Path dirPath, AnalysisConfig config, ForkJoinPool pool) {
+        this(dirPath, config, pool, false);
+    }
+    
+    private DirectorySource(Path dirPath, AnalysisConfig config, ForkJoinPool pool, boolean ownsPool) {
+        this.dirPath = dirPath;
+        this.config = config;
+        this.pool = pool;
+        this.ownsPool = ownsPool;
+    }
+    
+    @Override
+    public Iterator<ClassFile> iterator() {
+        try {
+            return new DirectoryWalker(config).iterate(dirPath, pool);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+    
+    @Override
+    public void close() {
+        if (ownsPool) {
+            pool.shutdownNow();
+        }
+    }
+}
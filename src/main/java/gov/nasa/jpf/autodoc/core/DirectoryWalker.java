@@ -0,0 +1,267 @@
+/*
+ * Copyright (C) 2025, United States Government, as represented by the
+ * Administrator of the National Aeronautics and Space Administration.
+ * All rights reserved.
+ *
+ * The Java Pathfinder AutoDoc tool is licensed under the
+ * Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ * 
+ *        http://www.apache.org/licenses/LICENSE-2.0. 
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and 
+ * limitations under the License.
+ */
+package gov.nasa.jpf.autodoc.core;
+
+import gov.nasa.jpf.autodoc.core.model.AnalysisConfig;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.UncheckedIOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.NotDirectoryException;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.Supplier;
+
+/**
+ * Single-pass, fork/join directory walker.
+ * Each directory is listed once and the attributes of every entry are read once;
+ * subdirectories are forked as they are discovered so that I/O on independent
+ * files overlaps. Archives found by the walk are then read in parallel, largest
+ * first, so one large archive does not become the long tail. Class files become handles sized from the cached
+ * attributes and are read on first access to their data; when class filters are
+ * set, only the header of each class file is read up front to get its name.
+ * Results are joined in name order, so the output does not depend on scheduling.
+ */
+final class DirectoryWalker {
+    
+    private final AnalysisConfig config;
+    
+    DirectoryWalker(AnalysisConfig config) {
+        this.config = config;
+    }
+    
+    /**
+     * Walks a directory tree and reads all class files, including those in archives.
+     *
+     * @param dirPath The root directory
+     * @param pool The pool to run the walk on
+     * @return List of ClassFile objects in pre-order, name-sorted order
+     * @throws IOException if the root directory cannot be listed
+     */
+    List<ClassFile> walk(Path dirPath, ForkJoinPool pool) throws IOException {
+        List<ClassFile> classFiles = new ArrayList<>();
+        try {
+            iterate(dirPath, pool).forEachRemaining(classFiles::add);
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        return classFiles;
+    }
+    
+    /**
+     * Walks a directory tree and returns its class files, including those in archives,
+     * in the order of {@link #walk}. The walk is done when this returns and the archives
+     * are being read on the pool; iteration only waits for an archive once it reaches it,
+     * so the class files before it can be analyzed in the meantime.
+     *
+     * @param dirPath The root directory
+     * @param pool The pool to run the walk and read the archives on
+     * @return Iterator over the class files; I/O errors are reported as {@link UncheckedIOException}
+     * @throws IOException if the root directory cannot be listed
+     */
+    Iterator<ClassFile> iterate(Path dirPath, ForkJoinPool pool) throws IOException {
+        if (!Files.readAttributes(dirPath, BasicFileAttributes.class).isDirectory()) {
+            throw new NotDirectoryException(dirPath.toString());
+        }
+        
+        List<Part> parts;
+        List<ArchivePart> archives = Collections.synchronizedList(new ArrayList<>());
+        try {
+            parts = pool.invoke(new DirectoryTask(dirPath, true, archives));
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        
+        List<Path> archivePaths = new ArrayList<>(archives.size());
+        for (ArchivePart archive : archives) {
+            archivePaths.add(archive.archivePath);
+        }
+        List<Future<List<ClassFile>>> pending = ArchiveFileReader.submitLargestFirst(archivePaths, config, pool);
+        for (int i = 0; i < archives.size(); i++) {
+            archives.get(i).classFiles = pending.get(i);
+        }
+        
+        Iterator<Part> remaining = parts.iterator();
+        return new ClassFileSource.LazyIterator() {
+            private Iterator<ClassFile> current = Collections.emptyIterator();
+            
+            @Override
+            protected ClassFile computeNext() throws IOException {
+                while (!current.hasNext()) {
+                    if (!remaining.hasNext()) {
+                        return null;
+                    }
+                    current = remaining.next().classFiles().iterator();
+                }
+                return current.next();
+            }
+        };
+    }
+    
+    /**
+     * A run of class files in walk order, or an archive whose class files are read later.
+     */
+    private interface Part {
+        List<ClassFile> classFiles() throws IOException;
+    }
+    
+    /**
+     * Lists one directory, forks work for its subdirectories and collects its parts.
+     */
+    private final class DirectoryTask extends RecursiveTask<List<Part>> {
+        
+        private static final long serialVersionUID = 1L;
+        
+        private final Path dirPath;
+        private final boolean root;
+        private final List<ArchivePart> archives;
+        
+        DirectoryTask(Path dirPath, boolean root, List<ArchivePart> archives) {
+            this.dirPath = dirPath;
+            this.root = root;
+            this.archives = archives;
+        }
+        
+        @Override
+        protected List<Part> compute() {
+            List<Path> entries;
+            try {
+                entries = listSorted(dirPath);
+            } catch (IOException e) {
+                if (root) {
+                    throw new UncheckedIOException(e);
+                }
+                System.err.println("Warning: Could not read directory: " + dirPath);
+                return Collections.emptyList();
+            }
+            
+            // Runs of class file handles, archives and forked tasks, joined in listing order
+            List<Supplier<List<Part>>> parts = new ArrayList<>();
+            List<ClassFile> run = null;
+            
+            for (Path entry : entries) {
+                BasicFileAttributes attributes = readAttributes(entry);
+                if (attributes == null) {
+                    continue;
+                }
+                
+                if (attributes.isDirectory()) {
+                    parts.add(new DirectoryTask(entry, false, archives).fork()::join);
+                    run = null;
+                } else if (entry.toString().endsWith(".class")) {
+                    String className = null;
+                    if (config.hasClassFilters()) {
+                        className = readClassName(entry);
+                        if (className == null || !config.includesClass(className)) {
+                            continue;
+                        }
+                    }
+                    if (run == null) {
+                        List<ClassFile> classFiles = new ArrayList<>();
+                        parts.add(() -> Collections.singletonList(() -> classFiles));
+                        run = classFiles;
+                    }
+                    run.add(ClassFile.lazyFromFile(className, entry, attributes.size()));
+                } else if (ArchiveFileReader.isArchiveFile(entry)) {
+                    ArchivePart archive = new ArchivePart(entry);
+                    archives.add(archive);
+                    parts.add(() -> Collections.singletonList(archive));
+                    run = null;
+                }
+            }
+            
+            List<Part> joined = new ArrayList<>();
+            for (Supplier<List<Part>> part : parts) {
+                joined.addAll(part.get());
+            }
+            return joined;
+        }
+    }
+    
+    /**
+     * The class files of one archive, read after the walk.
+     */
+    private static final class ArchivePart implements Part {
+        
+        private final Path archivePath;
+        private Future<List<ClassFile>> classFiles;
+        
+        ArchivePart(Path archivePath) {
+            this.archivePath = archivePath;
+        }
+        
+        @Override
+        public List<ClassFile> classFiles() throws IOException {
+            try {
+                return ArchiveFileReader.getArchiveResult(classFiles);
+            } catch (InterruptedIOException e) {
+                throw e;
+            } catch (IOException e) {
+                System.err.println("Warning: Could not read archive: " + archivePath);
+                return Collections.emptyList();
+            }
+        }
+    }
+    
+    private static List<Path> listSorted(Path dirPath) throws IOException {
+        List<Path> entries = new ArrayList<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(dirPath)) {
+            for (Path entry : stream) {
+                entries.add(entry);
+            }
+        }
+        Collections.sort(entries);
+        return entries;
+    }
+    
+    private static String readClassName(Path classFile) {
+        try {
+            return ClassFile.classNameOf(classFile);
+        } catch (IOException e) {
+            System.err.println("Warning: Could not read class file: " + classFile);
+            return null;
+        }
+    }
+    
+    private static BasicFileAttributes readAttributes(Path entry) {
+        try {
+            BasicFileAttributes attributes = Files.readAttributes(entry, BasicFileAttributes.class,
+                                                                  LinkOption.NOFOLLOW_LINKS);
+            if (!attributes.isSymbolicLink()) {
+                return attributes;
+            }
+            
+            // Like Files.walk, read linked files but do not descend into linked directories
+            BasicFileAttributes target = Files.readAttributes(entry, BasicFileAttributes.class);
+            return target.isDirectory() ? null : target;
+        } catch (IOException e) {
+            System.err.println("Warning: Could not read attributes of: " + entry);
+            return null;
+        }
+    }
+} 
\ No newline at end of file
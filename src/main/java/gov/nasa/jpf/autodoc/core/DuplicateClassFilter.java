@@ -0,0 +1,67 @@
+/*
+ * Copyright (C) 2025, United States Government, as represented by the
+ * Administrator of the National Aeronautics and Space Administration.
+ * All rights reserved.
+ *
+ * The Java Pathfinder AutoDoc tool is licensed under the
+ * Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ * 
+ *        http://www.apache.org/licenses/LICENSE-2.0. 
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and 
+ * limitations under the License.
+ */
+package gov.nasa.jpf.autodoc.core;
+
+import java.io.UncheckedIOException;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Predicate;
+
+/**
+ * Accepts the first class file of each content and rejects byte-identical copies,
+ * such as the same classes in a build directory, a fat jar and a shaded jar.
+ * Safe for concurrent use; which of several identical copies is kept may then
+ * depend on timing, which does not matter since their analysis is the same.
+ */
+final class DuplicateClassFilter implements Predicate<ClassFile> {
+    
+    private final Set<ClassFingerprint> seen = ConcurrentHashMap.newKeySet();
+    private final LongAdder duplicates = new LongAdder();
+    
+    /**
+     * Checks whether a class file is the first with its content.
+     * Class files without a stored checksum are loaded to compute one.
+     *
+     * @param classFile The class file
+     * @return false if a byte-identical class file was accepted before
+     */
+    @Override
+    public boolean test(ClassFile classFile) {
+        ClassFingerprint fingerprint;
+        try {
+            fingerprint = classFile.getFingerprint();
+        } catch (UncheckedIOException e) {
+            // Let the analysis report the unreadable class file
+            return true;
+        }
+        
+        if (seen.add(fingerprint)) {
+            return true;
+        }
+        duplicates.increment();
+        return false;
+    }
+    
+    /**
+     * @return Number of class files rejected as duplicates
+     */
+    int getDuplicateCount() {
+        return duplicates.intValue();
+    }
+} 
\ No newline at end of file
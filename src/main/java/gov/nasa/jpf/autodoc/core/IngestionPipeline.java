@@ -0,0 +1,345 @@
+/*
+ * Copyright (C) 2025, United States Government, as represented by the
+ * Administrator of the National Aeronautics and Space Administration.
+ * All rights reserved.
+ *
+ * The Java Pathfinder AutoDoc tool is licensed under the
+ * Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ * 
+ *        http://www.apache.org/licenses/LICENSE-2.0. 
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and 
+ * limitations under the License.
+ */
+package gov.nasa.jpf.autodoc.core;
+
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.ObjLongConsumer;
+import java.util.function.Predicate;
+
+/**
+ * Two-stage producer/consumer pipeline that overlaps reading class files with analyzing them.
+ * Reader tasks take class files from the source and load their bytes, then hand each loaded
+ * class file to the analyzer executor as a task of its own. When the analyzers fall behind,
+ * the readers block, so at most {@code capacity} class files are in flight.
+ * Class files rejected by the admission filter are dropped by the readers.
+ * Each class file is numbered in source order and the analyzer is given that
+ * number, so it can record its findings in an order that does not depend on timing.
+ * The pipeline runs on executors owned by the caller, which may be shared by several runs
+ * and outlive them. Readers mostly wait on I/O and may run on virtual threads.
+ */
+final class IngestionPipeline {
+    
+    // Marks the end of the source in the queue of pending class files
+    private static final CompletableFuture<Void> END = CompletableFuture.completedFuture(null);
+    
+    private final int readerCount;
+    private final int analyzerCount;
+    private final int capacity;
+    private final Predicate<ClassFile> admission;
+    private final ObjLongConsumer<ClassFile> analyzer;
+    
+    /**
+     * @param readerCount Number of reader tasks
+     * @param analyzerCount Number of threads of the analyzer executor, used for statistics
+     * @param capacity Maximum number of class files read but not yet finished
+     * @param admission Decides on the reader threads which class files to analyze; must be thread-safe
+     * @param analyzer Analyzes a single class file, given its position in source order; must be thread-safe
+     */
+    IngestionPipeline(int readerCount, int analyzerCount, int capacity, Predicate<ClassFile> admission,
+                      ObjLongConsumer<ClassFile> analyzer) {
+        this.readerCount = readerCount;
+        this.analyzerCount = analyzerCount;
+        this.capacity = capacity;
+        this.admission = admission;
+        this.analyzer = analyzer;
+    }
+    
+    /**
+     * Runs all class files through the pipeline.
+     *
+     * @param files The class files; iterated by one reader at a time
+     * @param readers Runs the reader tasks; should have a thread per reader
+     * @param analyzers Runs a task per loaded class file
+     * @return Statistics of the run
+     * @throws ExecutionException if reading the source or analyzing a class file failed
+     * @throws InterruptedException if the calling thread was interrupted
+     */
+    Stats run(Iterable<ClassFile> files, ExecutorService readers, Executor analyzers)
+        throws ExecutionException, InterruptedException {
+        Run run = new Run(files.iterator(), analyzers);
+        List<Future<?>> readerTasks = new ArrayList<>(readerCount);
+        long start = System.nanoTime();
+        
+        try {
+            for (int i = 0; i < readerCount; i++) {
+                readerTasks.add(readers.submit(run::read));
+            }
+            
+            // Wait on the calling thread, in the order the readers took the class files,
+            // so a failure is reported for the earliest class file that failed
+            while (true) {
+                CompletableFuture<Void> pending = run.pending.take();
+                if (pending == END) {
+                    break;
+                }
+                pending.get();
+                run.window.release();
+            }
+        } finally {
+            // After a failure, stop the readers and drop the class files not yet analyzed;
+            // the executors stay up for other runs
+            run.stopped = true;
+            for (Future<?> readerTask : readerTasks) {
+                readerTask.cancel(true);
+            }
+        }
+        
+        run.stats.wallNanos = System.nanoTime() - start;
+        return run.stats;
+    }
+    
+    /**
+     * A class file on its way through the pipeline, with its position in source order.
+     */
+    private static final class Item {
+        
+        final ClassFile classFile;
+        final long sequence;
+        final CompletableFuture<Void> done = new CompletableFuture<>();
+        
+        Item(ClassFile classFile, long sequence) {
+            this.classFile = classFile;
+            this.sequence = sequence;
+        }
+    }
+    
+    /**
+     * State shared by the threads of one run.
+     */
+    private final class Run {
+        
+        private final Iterator<ClassFile> source;
+        private final Executor analyzers;
+        private final BlockingQueue<CompletableFuture<Void>> pending;
+        private final Semaphore window = new Semaphore(capacity);
+        private final AtomicInteger activeReaders = new AtomicInteger(readerCount);
+        // A lock rather than a monitor, so readers on virtual threads waiting for the source do not pin
+        // their carrier threads
+        private final ReentrantLock sourceLock = new ReentrantLock();
+        private final Stats stats = new Stats(readerCount, analyzerCount);
+        private boolean exhausted; // guarded by sourceLock
+        private long taken; // guarded by sourceLock
+        private volatile boolean stopped;
+        
+        Run(Iterator<ClassFile> source, Executor analyzers) {
+            this.source = source;
+            this.analyzers = analyzers;
+            // One slot more than the window so the end marker never blocks
+            this.pending = new ArrayBlockingQueue<>(capacity + 1);
+        }
+        
+        void read() {
+            try {
+                Item item;
+                while ((item = next()) != null) {
+                    long start = System.nanoTime();
+                    try {
+                        if (!admission.test(item.classFile)) {
+                            item.classFile.release();
+                            stats.classesSkipped.increment();
+                            stats.readNanos.add(System.nanoTime() - start);
+                            item.done.complete(null);
+                            continue;
+                        }
+                        stats.bytesRead.add(item.classFile.getData().length);
+                    } catch (UncheckedIOException e) {
+                        // Reported by the analyzer, which tries again
+                    } catch (RuntimeException | Error e) {
+                        item.done.completeExceptionally(e);
+                        continue;
+                    }
+                    stats.readNanos.add(System.nanoTime() - start);
+                    
+                    Item loaded = item;
+                    try {
+                        analyzers.execute(() -> analyze(loaded));
+                    } catch (RejectedExecutionException e) {
+                        item.classFile.release();
+                        item.done.completeExceptionally(e);
+                    }
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                if (activeReaders.decrementAndGet() == 0) {
+                    pending.offer(END);
+                }
+            }
+        }
+        
+        /**
+         * Takes the next class file from the source and numbers it.
+         * Blocks while the window of class files in flight is full.
+         */
+        private Item next() throws InterruptedException {
+            sourceLock.lockInterruptibly();
+            try {
+                if (exhausted) {
+                    return null;
+                }
+                
+                long stalledAt = System.nanoTime();
+                window.acquire();
+                long start = System.nanoTime();
+                stats.readStallNanos.add(start - stalledAt);
+                Item item;
+                try {
+                    if (!source.hasNext()) {
+                        exhausted = true;
+                        window.release();
+                        return null;
+                    }
+                    item = new Item(source.next(), taken++);
+                } catch (RuntimeException e) {
+                    exhausted = true;
+                    pending.put(CompletableFuture.failedFuture(e));
+                    return null;
+                } finally {
+                    stats.readNanos.add(System.nanoTime() - start);
+                }
+                
+                stats.classesRead.increment();
+                pending.put(item.done);
+                return item;
+            } finally {
+                sourceLock.unlock();
+            }
+        }
+        
+        void analyze(Item item) {
+            if (stopped) {
+                // The run failed; nobody waits for this class file any more
+                item.classFile.release();
+                item.done.complete(null);
+                return;
+            }
+            
+            long start = System.nanoTime();
+            Throwable failure = null;
+            try {
+                analyzer.accept(item.classFile, item.sequence);
+            } catch (RuntimeException | Error e) {
+                failure = e;
+            }
+            // Counted before the item is done, so the counts are complete once the run returns
+            stats.analyzeNanos.add(System.nanoTime() - start);
+            stats.classesAnalyzed.increment();
+            if (failure == null) {
+                item.done.complete(null);
+            } else {
+                item.done.completeExceptionally(failure);
+            }
+        }
+    }
+    
+    /**
+     * Per-stage counters of a pipeline run. Busy times are summed over the threads of a stage.
+     */
+    static final class Stats {
+        
+        private final int readerCount;
+        private final int analyzerCount;
+        private final LongAdder classesRead = new LongAdder();
+        private final LongAdder bytesRead = new LongAdder();
+        private final LongAdder readNanos = new LongAdder();
+        private final LongAdder readStallNanos = new LongAdder();
+        private final LongAdder classesSkipped = new LongAdder();
+        private final LongAdder classesAnalyzed = new LongAdder();
+        private final LongAdder analyzeNanos = new LongAdder();
+        private volatile long wallNanos;
+        
+        private Stats(int readerCount, int analyzerCount) {
+            this.readerCount = readerCount;
+            this.analyzerCount = analyzerCount;
+        }
+        
+        long getClassesRead() {
+            return classesRead.sum();
+        }
+        
+        long getBytesRead() {
+            return bytesRead.sum();
+        }
+        
+        long getClassesAnalyzed() {
+            return classesAnalyzed.sum();
+        }
+        
+        /**
+         * @return Class files read but rejected by the admission filter
+         */
+        long getClassesSkipped() {
+            return classesSkipped.sum();
+        }
+        
+        /**
+         * @return Time readers spent blocked because the analyzers fell behind, in nanoseconds
+         */
+        long getReadStallNanos() {
+            return readStallNanos.sum();
+        }
+        
+        /**
+         * @return Classes per second the read stage sustains while busy
+         */
+        double getReadThroughput() {
+            return rate(getClassesRead(), readNanos.sum() / readerCount);
+        }
+        
+        /**
+         * @return Classes per second the analyze stage sustains while busy
+         */
+        double getAnalyzeThroughput() {
+            return rate(getClassesAnalyzed(), analyzeNanos.sum() / analyzerCount);
+        }
+        
+        long getWallNanos() {
+            return wallNanos;
+        }
+        
+        private static double rate(long count, long nanos) {
+            return nanos == 0 ? 0 : count * 1e9 / nanos;
+        }
+        
+        @Override
+        public String toString() {
+            return String.format("Ingestion pipeline: %d classes (%.1f MB, %d skipped) in %d ms; " +
+                                 "read stage (%d threads) %.0f classes/s, stalled %d ms; " +
+                                 "analyze stage (%d threads) %.0f classes/s",
+                                 getClassesAnalyzed(), getBytesRead() / (1024.0 * 1024.0), getClassesSkipped(),
+                                 wallNanos / 1_000_000,
+                                 readerCount, getReadThroughput(), getReadStallNanos() / 1_000_000,
+                                 analyzerCount, getAnalyzeThroughput());
+        }
+    }
+} 
\ No newline at end of file
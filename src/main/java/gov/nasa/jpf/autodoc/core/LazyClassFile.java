@@ -0,0 +1,124 @@
+/*
+ * Copyright (C) 2025, United States Government, as represented by the
+ * Administrator of the National Aeronautics and Space Administration.
+ * All rights reserved.
+ *
+ * The Java Pathfinder AutoDoc tool is licensed under the
+ * Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ * 
+ *        http://www.apache.org/licenses/LICENSE-2.0. 
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and 
+ * limitations under the License.
+ */
+package gov.nasa.jpf.autodoc.core;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+
+/**
+ * Class file that holds only a locator for its bytes, such as a file path or
+ * an entry of a mapped archive. The bytes are loaded on the first call to
+ * {@link #getData()} and can be dropped with {@link #release()} once analyzed,
+ * so a large set of class files only keeps the classes in use on the heap.
+ * A handle for a file on disk may also leave its class name to be read from the
+ * class file header on first use.
+ */
+final class LazyClassFile extends ClassFile {
+    
+    /**
+     * Loads the bytes of a class file on demand.
+     */
+    @FunctionalInterface
+    interface Locator {
+        byte[] load() throws IOException;
+    }
+    
+    private final Locator locator;
+    private final boolean nameFromData;
+    private volatile byte[] data;
+    private volatile String className;
+    
+    /**
+     * @param className The class name; may be null only if {@code sourcePath} is the class file itself
+     */
+    LazyClassFile(String className, Path sourcePath, String sourceType, Locator locator) {
+        this(className, sourcePath, sourceType, locator, false);
+    }
+    
+    /**
+     * @param className The class name; may be null only if {@code sourcePath} is the class file itself
+     * @param nameFromData true to take a missing class name from the loaded bytes instead of
+     *                     reading the header separately, for files a header read would read whole
+     */
+    LazyClassFile(String className, Path sourcePath, String sourceType, Locator locator, boolean nameFromData) {
+        super(className, sourcePath, sourceType);
+        this.locator = locator;
+        this.nameFromData = nameFromData;
+        this.className = className;
+    }
+    
+    /**
+     * Returns the class name, reading it from the class file header if it was not given.
+     * A small class file is loaded instead, so its bytes are read only once.
+     *
+     * @return The class name
+     * @throws UncheckedIOException if the class file cannot be read
+     */
+    @Override
+    public String getClassName() {
+        String name = className;
+        if (name == null) {
+            byte[] loaded = nameFromData ? getData() : data;
+            try {
+                name = loaded != null ? ClassFile.classNameOf(loaded, getSourcePath())
+                                      : ClassFile.classNameOf(getSourcePath());
+            } catch (IOException e) {
+                throw new UncheckedIOException("Could not read class file " + getSourcePath(), e);
+            }
+            className = name;
+        }
+        return name;
+    }
+    
+    /**
+     * Returns the class bytes, loading them if necessary.
+     *
+     * @return The class bytes
+     * @throws UncheckedIOException if the bytes cannot be loaded
+     */
+    @Override
+    public byte[] getData() {
+        byte[] loaded = data;
+        if (loaded == null) {
+            synchronized (this) {
+                loaded = data;
+                if (loaded == null) {
+                    try {
+                        loaded = locator.load();
+                    } catch (IOException e) {
+                        throw new UncheckedIOException("Could not read class file " +
+                                                       (className != null ? className : getSourcePath()), e);
+                    }
+                    data = loaded;
+                }
+            }
+        }
+        return loaded;
+    }
+    
+    @Override
+    public boolean isLoaded() {
+        return data != null;
+    }
+    
+    @Override
+    public void release() {
+        data = null;
+    }
+} 
\ No newline at end of file
@@ -0,0 +1,528 @@
+/*
+ * Copyright (C) 2025, United States Government, as represented by the
+ * Administrator of the National Aeronautics and Space Administration.
+ * All rights reserved.
+ *
+ * The Java Pathfinder AutoDoc tool is licensed under the
+ * Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ * 
+ *        http://www.apache.org/licenses/LICENSE-2.0. 
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and 
+ * limitations under the License.
+ */
+
+package gov.nasa.jpf.autodoc.core;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.function.Predicate;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+import java.util.zip.ZipException;
+
+/**
+ * Reads class files from JAR and ZIP archives by memory-mapping the archive
+ * and parsing the ZIP central directory directly.
+ * Entries are inflated straight into buffers sized from the central directory,
+ * avoiding the stream copies of the {@link java.util.zip.ZipFile} API.
+ *
+ * All offsets are absolute within the given buffer, so the same code reads
+ * mapped files as well as archives held in memory.
+ */
+final class MappedZipReader {
+    
+    private static final int LOCAL_HEADER_SIG = 0x04034b50;
+    private static final int CENTRAL_HEADER_SIG = 0x02014b50;
+    private static final int END_HEADER_SIG = 0x06054b50;
+    private static final int ZIP64_END_HEADER_SIG = 0x06064b50;
+    private static final int ZIP64_LOCATOR_SIG = 0x07064b50;
+    private static final int ZIP64_EXTRA_ID = 0x0001;
+    
+    private static final int LOCAL_HEADER_SIZE = 30;
+    private static final int CENTRAL_HEADER_SIZE = 46;
+    private static final int END_HEADER_SIZE = 22;
+    private static final int ZIP64_LOCATOR_SIZE = 20;
+    private static final int MAX_COMMENT_SIZE = 0xFFFF;
+    
+    private static final int STORED = 0;
+    private static final int DEFLATED = 8;
+    private static final int ENCRYPTED_FLAG = 0x1;
+    private static final long ZIP64_MAGIC = 0xFFFFFFFFL;
+    
+    // Idle inflaters for entries loaded lazily on analysis threads; inflaters beyond the bound are ended
+    private static final BlockingQueue<Inflater> IDLE_INFLATERS =
+        new ArrayBlockingQueue<>(Runtime.getRuntime().availableProcessors());
+    
+    private MappedZipReader() {
+    }
+    
+    /**
+     * Opens a JAR or ZIP file as a lazy source of class files.
+     * The central directory is parsed up front; the class files returned only
+     * locate their entry and inflate it on first access to their data, so they
+     * can be released and reloaded after the source is closed.
+     * 
+     * @param archivePath Path to the archive
+     * @param nestedDepth Levels of nested JAR/ZIP entries to read; 0 ignores nested archives
+     * @param classFilter Class names to read; other class entries are never inflated
+     * @return Source over the class files in central directory order
+     * @throws ZipException if the archive uses a layout this reader does not support
+     * @throws IOException if the archive cannot be read
+     */
+    static ClassFileSource open(Path archivePath, int nestedDepth, Predicate<String> classFilter) throws IOException {
+        return open(map(archivePath), archivePath, nestedDepth, classFilter);
+    }
+    
+    /**
+     * Opens an archive held in a buffer as a lazy source of class files.
+     * Class files of a direct (mapped) buffer are inflated on first access to
+     * their data; those of a heap buffer are inflated as the source is iterated,
+     * so they do not pin the whole buffer.
+     * Nested archives are read in place: stored entries as slices of the
+     * buffer, deflated entries after inflating them into memory.
+     * 
+     * @param archive The complete archive, starting at index 0
+     * @param sourcePath The path reported as the source of each class file
+     * @param nestedDepth Levels of nested JAR/ZIP entries to read; 0 ignores nested archives
+     * @param classFilter Class names to read; other class entries are never inflated
+     * @return Source over the class files in central directory order
+     * @throws ZipException if the central directory is malformed
+     */
+    static ClassFileSource open(ByteBuffer archive, Path sourcePath, int nestedDepth,
+                                Predicate<String> classFilter) throws ZipException {
+        return new MappedSource(archive, readCentralDirectory(archive), sourcePath, nestedDepth, classFilter);
+    }
+    
+    /**
+     * Memory-maps an archive read-only.
+     * The mapping stays valid after the channel is closed.
+     *
+     * @param archivePath Path to the archive
+     * @return Little-endian buffer covering the whole archive
+     * @throws IOException if the archive cannot be opened or is too large to map
+     */
+    static ByteBuffer map(Path archivePath) throws IOException {
+        try (FileChannel channel = FileChannel.open(archivePath, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size > Integer.MAX_VALUE) {
+                throw new ZipException("Archive too large to map: " + archivePath);
+            }
+            return channel.map(FileChannel.MapMode.READ_ONLY, 0, size).order(ByteOrder.LITTLE_ENDIAN);
+        }
+    }
+    
+    /**
+     * Parses the central directory of an archive without touching entry data.
+     *
+     * @param archive The complete archive, starting at index 0
+     * @return The entries in central directory order
+     * @throws ZipException if the central directory is missing or malformed
+     */
+    static List<Entry> readCentralDirectory(ByteBuffer archive) throws ZipException {
+        ByteBuffer buffer = archive.duplicate().order(ByteOrder.LITTLE_ENDIAN);
+        
+        try {
+            int endHeader = findEndHeader(buffer);
+            long entryCount = u16(buffer, endHeader + 10);
+            long directorySize = u32(buffer, endHeader + 12);
+            long directoryOffset = u32(buffer, endHeader + 16);
+            
+            if (entryCount == 0xFFFF || directorySize == ZIP64_MAGIC || directoryOffset == ZIP64_MAGIC) {
+                int locator = endHeader - ZIP64_LOCATOR_SIZE;
+                if (locator >= 0 && buffer.getInt(locator) == ZIP64_LOCATOR_SIG) {
+                    int zip64End = toOffset(buffer.getLong(locator + 8), buffer);
+                    if (buffer.getInt(zip64End) != ZIP64_END_HEADER_SIG) {
+                        throw new ZipException("Invalid ZIP64 end of central directory record");
+                    }
+                    entryCount = buffer.getLong(zip64End + 32);
+                    directorySize = buffer.getLong(zip64End + 40);
+                    directoryOffset = buffer.getLong(zip64End + 48);
+                }
+            }
+            
+            int position = toOffset(directoryOffset, buffer);
+            int end = toOffset(directoryOffset + directorySize, buffer);
+            List<Entry> entries = new ArrayList<>((int) Math.min(entryCount, 1 << 16));
+            
+            while (position < end) {
+                if (buffer.getInt(position) != CENTRAL_HEADER_SIG) {
+                    throw new ZipException("Invalid central directory header at offset " + position);
+                }
+                
+                int flags = u16(buffer, position + 8);
+                int method = u16(buffer, position + 10);
+                int crc = buffer.getInt(position + 16);
+                long compressedSize = u32(buffer, position + 20);
+                long size = u32(buffer, position + 24);
+                int nameLength = u16(buffer, position + 28);
+                int extraLength = u16(buffer, position + 30);
+                int commentLength = u16(buffer, position + 32);
+                long localHeaderOffset = u32(buffer, position + 42);
+                
+                int nameOffset = position + CENTRAL_HEADER_SIZE;
+                String name = decodeName(buffer, nameOffset, nameLength);
+                
+                if (size == ZIP64_MAGIC || compressedSize == ZIP64_MAGIC || localHeaderOffset == ZIP64_MAGIC) {
+                    long[] values = { size, compressedSize, localHeaderOffset };
+                    readZip64Extra(buffer, nameOffset + nameLength, extraLength, values);
+                    size = values[0];
+                    compressedSize = values[1];
+                    localHeaderOffset = values[2];
+                }
+                
+                entries.add(new Entry(name, flags, method, crc, compressedSize, size, localHeaderOffset));
+                position = nameOffset + nameLength + extraLength + commentLength;
+            }
+            
+            return entries;
+        } catch (IndexOutOfBoundsException e) {
+            throw new ZipException("Truncated central directory: " + e.getMessage());
+        }
+    }
+    
+    /**
+     * Reads the uncompressed data of a single entry.
+     *
+     * @param archive The complete archive, starting at index 0
+     * @param entry The central directory entry to read
+     * @param inflater A raw (nowrap) inflater to reuse; it is reset before use
+     * @return The entry data, exactly {@link Entry#getSize()} bytes long
+     * @throws ZipException if the entry cannot be decoded
+     */
+    static byte[] readEntry(ByteBuffer archive, Entry entry, Inflater inflater) throws ZipException {
+        if ((entry.getFlags() & ENCRYPTED_FLAG) != 0) {
+            throw new ZipException("Encrypted entry not supported: " + entry.getName());
+        }
+        if (entry.getSize() > Integer.MAX_VALUE - 8) {
+            throw new ZipException("Entry too large: " + entry.getName());
+        }
+        
+        ByteBuffer input = entryData(archive, entry);
+        byte[] data = new byte[(int) entry.getSize()];
+        
+        switch (entry.getMethod()) {
+            case STORED:
+                if (input.remaining() != data.length) {
+                    throw new ZipException("Invalid stored entry size: " + entry.getName());
+                }
+                input.get(data);
+                return data;
+            case DEFLATED:
+                inflate(inflater, input, data, entry);
+                return data;
+            default:
+                throw new ZipException("Unsupported compression method " + entry.getMethod() +
+                                       " for entry: " + entry.getName());
+        }
+    }
+    
+    /**
+     * Returns a view of the raw (possibly compressed) data of an entry.
+     *
+     * @param archive The complete archive, starting at index 0
+     * @param entry The central directory entry
+     * @return Buffer positioned at 0 and limited to the compressed size
+     * @throws ZipException if the local header is invalid
+     */
+    static ByteBuffer entryData(ByteBuffer archive, Entry entry) throws ZipException {
+        ByteBuffer buffer = archive.duplicate().order(ByteOrder.LITTLE_ENDIAN);
+        
+        try {
+            int localHeader = toOffset(entry.getLocalHeaderOffset(), buffer);
+            if (buffer.getInt(localHeader) != LOCAL_HEADER_SIG) {
+                throw new ZipException("Invalid local header for entry: " + entry.getName());
+            }
+            
+            int dataOffset = localHeader + LOCAL_HEADER_SIZE +
+                             u16(buffer, localHeader + 26) + u16(buffer, localHeader + 28);
+            int dataEnd = toOffset(dataOffset + entry.getCompressedSize(), buffer);
+            
+            buffer.limit(dataEnd);
+            buffer.position(dataOffset);
+            return buffer.slice();
+        } catch (IndexOutOfBoundsException | IllegalArgumentException e) {
+            throw new ZipException("Truncated entry: " + entry.getName());
+        }
+    }
+    
+    /**
+     * Reads the uncompressed data of a single entry with an inflater taken from
+     * a bounded pool, so any thread can load entries without keeping an
+     * inflater of its own.
+     *
+     * @param archive The complete archive, starting at index 0
+     * @param entry The central directory entry to read
+     * @return The entry data
+     * @throws ZipException if the entry cannot be decoded
+     */
+    private static byte[] readPooled(ByteBuffer archive, Entry entry) throws ZipException {
+        Inflater inflater = IDLE_INFLATERS.poll();
+        if (inflater == null) {
+            inflater = new Inflater(true);
+        }
+        try {
+            return readEntry(archive, entry, inflater);
+        } finally {
+            if (!IDLE_INFLATERS.offer(inflater)) {
+                inflater.end();
+            }
+        }
+    }
+    
+    private static void inflate(Inflater inflater, ByteBuffer input, byte[] data, Entry entry) throws ZipException {
+        inflater.reset();
+        inflater.setInput(input);
+        
+        try {
+            int filled = 0;
+            while (filled < data.length) {
+                int count = inflater.inflate(data, filled, data.length - filled);
+                if (count == 0 && (inflater.finished() || inflater.needsInput() || inflater.needsDictionary())) {
+                    throw new ZipException("Truncated deflate stream for entry: " + entry.getName());
+                }
+                filled += count;
+            }
+        } catch (DataFormatException e) {
+            throw new ZipException("Invalid deflate data for entry " + entry.getName() + ": " + e.getMessage());
+        }
+    }
+    
+    private static int findEndHeader(ByteBuffer buffer) throws ZipException {
+        int length = buffer.limit();
+        int lowest = Math.max(0, length - END_HEADER_SIZE - MAX_COMMENT_SIZE);
+        
+        for (int position = length - END_HEADER_SIZE; position >= lowest; position--) {
+            if (buffer.getInt(position) == END_HEADER_SIG &&
+                position + END_HEADER_SIZE + u16(buffer, position + 20) <= length) {
+                return position;
+            }
+        }
+        
+        throw new ZipException("End of central directory not found");
+    }
+    
+    private static void readZip64Extra(ByteBuffer buffer, int offset, int length, long[] values) throws ZipException {
+        int end = offset + length;
+        
+        while (offset + 4 <= end) {
+            int id = u16(buffer, offset);
+            int size = u16(buffer, offset + 2);
+            int position = offset + 4;
+            
+            if (id == ZIP64_EXTRA_ID) {
+                // Only the fields that overflowed in the central header are present, in this order
+                for (int i = 0; i < values.length; i++) {
+                    if (values[i] == ZIP64_MAGIC) {
+                        if (position + 8 > offset + 4 + size) {
+                            throw new ZipException("Invalid ZIP64 extra field");
+                        }
+                        values[i] = buffer.getLong(position);
+                        position += 8;
+                    }
+                }
+                return;
+            }
+            
+            offset = position + size;
+        }
+        
+        throw new ZipException("Missing ZIP64 extra field");
+    }
+    
+    private static String decodeName(ByteBuffer buffer, int offset, int length) {
+        byte[] bytes = new byte[length];
+        ByteBuffer view = buffer.duplicate();
+        view.position(offset);
+        view.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+    
+    private static int toOffset(long value, ByteBuffer buffer) throws ZipException {
+        if (value < 0 || value > buffer.limit()) {
+            throw new ZipException("Offset outside of archive: " + value);
+        }
+        return (int) value;
+    }
+    
+    private static int u16(ByteBuffer buffer, int offset) {
+        return buffer.getShort(offset) & 0xFFFF;
+    }
+    
+    private static long u32(ByteBuffer buffer, int offset) {
+        return buffer.getInt(offset) & 0xFFFFFFFFL;
+    }
+    
+    /**
+     * Source that inflates class entries of a mapped archive on demand.
+     */
+    private static final class MappedSource implements ClassFileSource {
+        
+        private final ByteBuffer archive;
+        private final List<Entry> entries;
+        private final Path sourcePath;
+        private final Inflater inflater;
+        private final NestedArchiveCursor nested;
+        private final Predicate<String> classFilter;
+        
+        MappedSource(ByteBuffer archive, List<Entry> entries, Path sourcePath, int nestedDepth,
+                     Predicate<String> classFilter) {
+            this.archive = archive;
+            this.entries = entries;
+            this.sourcePath = sourcePath;
+            this.inflater = new Inflater(true);
+            this.nested = new NestedArchiveCursor(sourcePath, nestedDepth, classFilter);
+            this.classFilter = classFilter;
+        }
+        
+        @Override
+        public Iterator<ClassFile> iterator() {
+            Iterator<Entry> iterator = entries.iterator();
+            return new LazyIterator() {
+                @Override
+                protected ClassFile computeNext() throws IOException {
+                    ClassFile nestedClass = nested.next();
+                    if (nestedClass != null) {
+                        return nestedClass;
+                    }
+                    
+                    while (iterator.hasNext()) {
+                        Entry entry = iterator.next();
+                        if (entry.isClassFile()) {
+                            if (!classFilter.test(entry.getClassName())) {
+                                continue;
+                            }
+                            long crc = Integer.toUnsignedLong(entry.getCrc());
+                            if (archive.isDirect()) {
+                                return new LazyClassFile(entry.getClassName(), sourcePath, "jar",
+                                                         () -> readPooled(archive, entry))
+                                    .withStoredChecksum(entry.getSize(), crc);
+                            }
+                            byte[] classData = readEntry(archive, entry, inflater);
+                            return ClassFile.fromJar(entry.getClassName(), classData, sourcePath)
+                                .withStoredChecksum(entry.getSize(), crc);
+                        }
+                        
+                        if (nested.accepts(entry.getName())) {
+                            ByteBuffer nestedArchive = readNestedArchive(entry);
+                            if (nestedArchive != null && nested.open(entry.getName(), nestedArchive)) {
+                                nestedClass = nested.next();
+                                if (nestedClass != null) {
+                                    return nestedClass;
+                                }
+                            }
+                        }
+                    }
+                    return null;
+                }
+            };
+        }
+        
+        private ByteBuffer readNestedArchive(Entry entry) {
+            try {
+                if (entry.getMethod() == STORED && (entry.getFlags() & ENCRYPTED_FLAG) == 0) {
+                    // Zero copy: the nested archive is a region of the parent mapping
+                    return entryData(archive, entry);
+                }
+                return ByteBuffer.wrap(readEntry(archive, entry, inflater));
+            } catch (ZipException e) {
+                System.err.println("Warning: Could not read nested archive " + entry.getName() + " in " +
+                                   sourcePath + ": " + e.getMessage());
+                return null;
+            }
+        }
+        
+        @Override
+        public void close() {
+            nested.close();
+            inflater.end();
+        }
+    }
+    
+    /**
+     * A central directory entry.
+     */
+    static final class Entry {
+        
+        private final String name;
+        private final int flags;
+        private final int method;
+        private final int crc;
+        private final long compressedSize;
+        private final long size;
+        private final long localHeaderOffset;
+        
+        Entry(String name, int flags, int method, int crc, long compressedSize, long size, long localHeaderOffset) {
+            this.name = name;
+            this.flags = flags;
+            this.method = method;
+            this.crc = crc;
+            this.compressedSize = compressedSize;
+            this.size = size;
+            this.localHeaderOffset = localHeaderOffset;
+        }
+        
+        String getName() {
+            return name;
+        }
+        
+        int getFlags() {
+            return flags;
+        }
+        
+        int getMethod() {
+            return method;
+        }
+        
+        int getCrc() {
+            return crc;
+        }
+        
+        long getCompressedSize() {
+            return compressedSize;
+        }
+        
+        long getSize() {
+            return size;
+        }
+        
+        long getLocalHeaderOffset() {
+            return localHeaderOffset;
+        }
+        
+        boolean isDirectory() {
+            return name.endsWith("/");
+        }
+        
+        boolean isClassFile() {
+            return name.endsWith(".class") && !isDirectory();
+        }
+        
+        String getClassName() {
+            return ArchiveFileReader.entryNameToClassName(name);
+        }
+        
+        @Override
+        public String toString() {
+            return "Entry{" +
+                    "name='" + name + '\'' +
+                    ", method=" + method +
+                    ", size=" + size +
+                    '}';
+        }
+    }
+} 
\ No newline at end of file
@@ -0,0 +1,126 @@
+/*
+ * Copyright (C) 2025, United States Government, as represented by the
+ * Administrator of the National Aeronautics and Space Administration.
+ * All rights reserved.
+ *
+ * The Java Pathfinder AutoDoc tool is licensed under the
+ * Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ * 
+ *        http://www.apache.org/licenses/LICENSE-2.0. 
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and 
+ * limitations under the License.
+ */
+package gov.nasa.jpf.autodoc.core;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.util.Iterator;
+import java.util.function.Predicate;
+import java.util.zip.ZipException;
+
+/**
+ * Iterates the class files of an archive nested in an entry of another archive,
+ * such as the extension jars under lib/ in a fat jar. Nested archives are read
+ * from memory by the mapped reader and never extracted to disk; at most one
+ * nested archive per level is open at a time.
+ */
+final class NestedArchiveCursor implements Closeable {
+    
+    private final Path parentPath;
+    private final int depth;
+    private final Predicate<String> classFilter;
+    private ClassFileSource source;
+    private Iterator<ClassFile> iterator;
+    private String entryName;
+    
+    /**
+     * @param parentPath The source path of the enclosing archive
+     * @param depth Remaining nesting levels; 0 disables nested archive reading
+     * @param classFilter Class names to read from nested archives
+     */
+    NestedArchiveCursor(Path parentPath, int depth, Predicate<String> classFilter) {
+        this.parentPath = parentPath;
+        this.depth = depth;
+        this.classFilter = classFilter;
+    }
+    
+    /**
+     * Checks whether an entry of the enclosing archive should be read as a nested archive.
+     *
+     * @param entryName Name of the entry
+     * @return true if the entry is a JAR or ZIP file and the depth limit allows descending
+     */
+    boolean accepts(String entryName) {
+        if (depth <= 0 || entryName.endsWith("/")) {
+            return false;
+        }
+        String lowerName = entryName.toLowerCase();
+        return lowerName.endsWith(".jar") || lowerName.endsWith(".zip");
+    }
+    
+    /**
+     * Opens a nested archive, closing the previous one.
+     * Archives that cannot be parsed are reported and skipped.
+     *
+     * @param entryName Name of the entry holding the archive
+     * @param archive The complete nested archive
+     * @return true if the archive was opened
+     */
+    boolean open(String entryName, ByteBuffer archive) {
+        close();
+        
+        try {
+            source = MappedZipReader.open(archive, Path.of(parentPath + "!/" + entryName), depth - 1, classFilter);
+            iterator = source.iterator();
+            this.entryName = entryName;
+            return true;
+        } catch (ZipException e) {
+            System.err.println("Warning: Could not read nested archive " + entryName + " in " + parentPath +
+                               ": " + e.getMessage());
+            return false;
+        }
+    }
+    
+    /**
+     * Returns the next class file of the open nested archive.
+     *
+     * @return The next class file, or null once the nested archive is exhausted
+     */
+    ClassFile next() {
+        if (iterator == null) {
+            return null;
+        }
+        
+        try {
+            if (iterator.hasNext()) {
+                return iterator.next();
+            }
+        } catch (UncheckedIOException e) {
+            System.err.println("Warning: Could not read nested archive " + entryName + " in " + parentPath +
+                               ": " + e.getCause().getMessage());
+        }
+        close();
+        return null;
+    }
+    
+    @Override
+    public void close() {
+        if (source != null) {
+            try {
+                source.close();
+            } catch (IOException e) {
+                // Nested sources only hold an inflater
+            }
+            source = null;
+            iterator = null;
+        }
+    }
+} 
\ No newline at end of file
@@ -0,0 +1,246 @@
+/*
+ * Copyright (C) 2025, United States Government, as represented by the
+ * Administrator of the National Aeronautics and Space Administration.
+ * All rights reserved.
+ *
+ * The Java Pathfinder AutoDoc tool is licensed under the
+ * Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ * 
+ *        http://www.apache.org/licenses/LICENSE-2.0. 
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and 
+ * limitations under the License.
+ */
+package gov.nasa.jpf.autodoc.core;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Predicate;
+import java.util.jar.JarFile;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+/**
+ * Class file source that inflates a large JAR or ZIP file with several workers.
+ * The entries to read are dealt out round-robin; each worker reads its share
+ * through its own {@link ZipFile} handle into a small bounded queue, and the
+ * source takes from the queues in turn. Class files therefore come out in
+ * central directory order, and at most a few entries per worker are held ahead
+ * of the consumer.
+ */
+final class ParallelZipFileSource implements ClassFileSource {
+    
+    // Entries a worker may read ahead of the consumer
+    private static final int QUEUE_CAPACITY = 32;
+    
+    private static final AtomicInteger SOURCE_COUNT = new AtomicInteger();
+    
+    private final Path archivePath;
+    private final boolean jar;
+    private final List<String> entryNames;
+    private final int workerCount;
+    private final int nestedDepth;
+    private final Predicate<String> classFilter;
+    private final List<BlockingQueue<Slot>> queues = new ArrayList<>();
+    private ExecutorService executor;
+    
+    /**
+     * @param archivePath Path to the archive
+     * @param jar Whether workers open the archive as a {@link JarFile}
+     * @param entryNames Names of the class and nested archive entries to read, in central directory order
+     * @param workerCount Number of workers inflating entries
+     * @param nestedDepth Levels of nested JAR/ZIP entries to read; 0 ignores nested archives
+     * @param classFilter Class names to read from nested archives
+     */
+    private ParallelZipFileSource(Path archivePath, boolean jar, List<String> entryNames, int workerCount,
+                                  int nestedDepth, Predicate<String> classFilter) {
+        this.archivePath = archivePath;
+        this.jar = jar;
+        this.entryNames = entryNames;
+        this.workerCount = workerCount;
+        this.nestedDepth = nestedDepth;
+        this.classFilter = classFilter;
+    }
+    
+    /**
+     * Lists the entries of an opened archive and, if there are at least
+     * {@code threshold} of them, returns a parallel source over it.
+     *
+     * @param zipFile The opened archive; closed if a parallel source is returned
+     * @param archivePath Path to the archive
+     * @param threshold Minimum number of entries; 0 disables parallel reading
+     * @param workerCount Number of workers inflating entries
+     * @param nestedDepth Levels of nested JAR/ZIP entries to read; 0 ignores nested archives
+     * @param classFilter Class names to read; other class entries are never inflated
+     * @return The parallel source, or null if the archive should be read by a single reader
+     * @throws IOException if the archive cannot be closed
+     */
+    static ClassFileSource openIfLarge(ZipFile zipFile, Path archivePath, int threshold, int workerCount,
+                                       int nestedDepth, Predicate<String> classFilter) throws IOException {
+        if (threshold <= 0 || workerCount < 2 || zipFile.size() < threshold) {
+            return null;
+        }
+        
+        NestedArchiveCursor nested = new NestedArchiveCursor(archivePath, nestedDepth, classFilter);
+        List<String> entryNames = new ArrayList<>();
+        Enumeration<? extends ZipEntry> entries = zipFile.entries();
+        while (entries.hasMoreElements()) {
+            ZipEntry entry = entries.nextElement();
+            String entryName = entry.getName();
+            if (entryName.endsWith(".class") && !entry.isDirectory()) {
+                if (classFilter.test(ArchiveFileReader.entryNameToClassName(entryName))) {
+                    entryNames.add(entryName);
+                }
+            } else if (nested.accepts(entryName)) {
+                entryNames.add(entryName);
+            }
+        }
+        
+        zipFile.close();
+        return new ParallelZipFileSource(archivePath, zipFile instanceof JarFile, entryNames,
+                                         workerCount, nestedDepth, classFilter);
+    }
+    
+    @Override
+    public Iterator<ClassFile> iterator() {
+        start();
+        
+        return new LazyIterator() {
+            private int index;
+            private Iterator<ClassFile> current = Collections.emptyIterator();
+            
+            @Override
+            protected ClassFile computeNext() throws IOException {
+                while (!current.hasNext()) {
+                    if (index == entryNames.size()) {
+                        return null;
+                    }
+                    
+                    Slot slot;
+                    try {
+                        slot = queues.get(index % workerCount).take();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        throw new InterruptedIOException("Interrupted while reading " + archivePath);
+                    }
+                    if (slot.failure != null) {
+                        throw slot.failure;
+                    }
+                    current = slot.classFiles.iterator();
+                    index++;
+                }
+                return current.next();
+            }
+        };
+    }
+    
+    private void start() {
+        String threadName = "zip-inflater-" + SOURCE_COUNT.incrementAndGet() + "-";
+        AtomicInteger threadCount = new AtomicInteger();
+        executor = Executors.newFixedThreadPool(workerCount, runnable -> {
+            Thread thread = new Thread(runnable, threadName + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        
+        for (int worker = 0; worker < workerCount; worker++) {
+            BlockingQueue<Slot> queue = new ArrayBlockingQueue<>(QUEUE_CAPACITY);
+            queues.add(queue);
+            int first = worker;
+            executor.execute(() -> inflate(first, queue));
+        }
+    }
+    
+    /**
+     * Reads every {@code workerCount}-th entry, starting at {@code first}.
+     */
+    private void inflate(int first, BlockingQueue<Slot> queue) {
+        try (ZipFile zipFile = jar ? new JarFile(archivePath.toFile()) : new ZipFile(archivePath.toFile());
+             NestedArchiveCursor nested = new NestedArchiveCursor(archivePath, nestedDepth, classFilter)) {
+            for (int i = first; i < entryNames.size(); i += workerCount) {
+                queue.put(new Slot(read(zipFile, nested, entryNames.get(i)), null));
+            }
+        } catch (IOException | RuntimeException e) {
+            try {
+                queue.put(new Slot(null, e instanceof IOException ? (IOException) e : new IOException(e)));
+            } catch (InterruptedException interrupted) {
+                // Source was closed
+            }
+        } catch (InterruptedException e) {
+            // Source was closed
+        }
+    }
+    
+    private List<ClassFile> read(ZipFile zipFile, NestedArchiveCursor nested, String entryName) throws IOException {
+        ZipEntry entry = zipFile.getEntry(entryName);
+        if (entry == null) {
+            throw new IOException("Entry " + entryName + " disappeared from " + archivePath);
+        }
+        
+        byte[] data;
+        try (InputStream inputStream = zipFile.getInputStream(entry)) {
+            data = ArchiveFileReader.readAllBytes(inputStream);
+        }
+        if (entryName.endsWith(".class")) {
+            return Collections.singletonList(
+                ClassFile.fromJar(ArchiveFileReader.entryNameToClassName(entryName), data, archivePath)
+                    .withStoredChecksum(entry.getSize(), entry.getCrc()));
+        }
+        
+        List<ClassFile> classFiles = new ArrayList<>();
+        if (nested.open(entryName, ByteBuffer.wrap(data))) {
+            ClassFile classFile;
+            while ((classFile = nested.next()) != null) {
+                classFiles.add(classFile);
+            }
+        }
+        return classFiles;
+    }
+    
+    @Override
+    public void close() throws IOException {
+        if (executor == null) {
+            return;
+        }
+        
+        executor.shutdownNow();
+        try {
+            // Workers close their archive handles on the way out
+            executor.awaitTermination(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+    
+    /**
+     * The class files read from one entry, or the failure to read it.
+     */
+    private static final class Slot {
+        
+        final List<ClassFile> classFiles;
+        final IOException failure;
+        
+        Slot(List<ClassFile> classFiles, IOException failure) {
+            this.classFiles = classFiles;
+            this.failure = failure;
+        }
+    }
+} 
\ No newline at end of file
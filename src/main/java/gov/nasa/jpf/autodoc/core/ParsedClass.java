@@ -0,0 +1,116 @@
+/*
+ * Copyright (C) 2025, United States Government, as represented by the
+ * Administrator of the National Aeronautics and Space Administration.
+ * All rights reserved.
+ *
+ * The Java Pathfinder AutoDoc tool is licensed under the
+ * Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ * 
+ *        http://www.apache.org/licenses/LICENSE-2.0. 
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and 
+ * limitations under the License.
+ */
+package gov.nasa.jpf.autodoc.core;
+
+import gov.nasa.jpf.autodoc.core.bytecode.ClassFileScanner;
+import gov.nasa.jpf.autodoc.core.bytecode.ClassFormatException;
+
+/**
+ * A class file as seen by the analyzers of one analysis task.
+ * 
+ * The engine creates one per class and hands it to every analyzer, so the
+ * class name and JPF package check are derived once and the class bytes are
+ * scanned at most once, by whichever analyzer first asks for them. Sections
+ * are decoded on demand: the constant pool and header when the scanner is
+ * first requested, the field and method tables when first read, and names
+ * and attributes only when an analyzer looks at them. A class no analyzer
+ * reads is never scanned.
+ * 
+ * A parsed class is confined to the thread running its task. The scanner is
+ * shared with other parsed classes on that thread and is rescanned when a
+ * different class used it last.
+ */
+public final class ParsedClass {
+    
+    private static final String JPF_PACKAGE = "gov.nasa.jpf";
+    
+    private static final ThreadLocal<ScannerSlot> SCANNERS = ThreadLocal.withInitial(ScannerSlot::new);
+    
+    private final ClassFile classFile;
+    private String className;
+    private ClassFormatException failure;
+    
+    public ParsedClass(ClassFile classFile) {
+        this.classFile = classFile;
+    }
+    
+    public ClassFile getClassFile() {
+        return classFile;
+    }
+    
+    public String getClassName() {
+        if (className == null) {
+            className = classFile.getClassName();
+        }
+        return className;
+    }
+    
+    /**
+     * @return true if the class is in the {@code gov.nasa.jpf} package or below
+     */
+    public boolean isJPFClass() {
+        return isJPFClassName(getClassName());
+    }
+    
+    /**
+     * Checks a class name the way the analyzers decide which classes to document.
+     * 
+     * @param className Binary class name
+     * @return true if the class is in the {@code gov.nasa.jpf} package or below
+     */
+    public static boolean isJPFClassName(String className) {
+        return className.equals(JPF_PACKAGE) || className.startsWith(JPF_PACKAGE + ".");
+    }
+    
+    /**
+     * Returns the scanner holding this class, scanning the class bytes if needed.
+     * A class that failed to scan fails again with the same exception without
+     * being rescanned.
+     *
+     * @return The scanner; valid until another parsed class on this thread asks for it
+     * @throws ClassFormatException if the class bytes are malformed
+     */
+    public ClassFileScanner getScanner() throws ClassFormatException {
+        if (failure != null) {
+            throw failure;
+        }
+        ScannerSlot slot = SCANNERS.get();
+        if (slot.owner != this) {
+            slot.owner = null;
+            try {
+                slot.scanner.scan(classFile.getData());
+            } catch (ClassFormatException e) {
+                failure = e;
+                throw e;
+            }
+            slot.owner = this;
+        }
+        return slot.scanner;
+    }
+    
+    @Override
+    public String toString() {
+        return "ParsedClass{" + getClassName() + "}";
+    }
+    
+    private static final class ScannerSlot {
+        
+        final ClassFileScanner scanner = new ClassFileScanner();
+        ParsedClass owner;
+    }
+} 
\ No newline at end of file
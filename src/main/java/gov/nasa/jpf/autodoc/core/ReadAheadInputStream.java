@@ -0,0 +1,175 @@
+/*
+ * Copyright (C) 2025, United States Government, as represented by the
+ * Administrator of the National Aeronautics and Space Administration.
+ * All rights reserved.
+ *
+ * The Java Pathfinder AutoDoc tool is licensed under the
+ * Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ * 
+ *        http://www.apache.org/licenses/LICENSE-2.0. 
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and 
+ * limitations under the License.
+ */
+package gov.nasa.jpf.autodoc.core;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * Input stream that reads its delegate on a background thread.
+ * Used for compressed archives so that decompression runs ahead of, and
+ * overlaps with, the consumer. Read-ahead is bounded by a fixed set of
+ * recycled chunks; the delegate is closed by the background thread.
+ */
+final class ReadAheadInputStream extends InputStream {
+    
+    private static final Chunk END = new Chunk(0);
+    
+    private final BlockingQueue<Chunk> filled;
+    private final BlockingQueue<Chunk> free;
+    private final Thread reader;
+    private volatile IOException failure;
+    private Chunk current;
+    private int position;
+    private boolean closed;
+    
+    /**
+     * Starts reading the delegate in the background.
+     *
+     * @param in The stream to read ahead; owned and closed by this stream
+     * @param chunkSize Size of each read-ahead chunk in bytes
+     * @param chunkCount Maximum number of chunks read ahead
+     * @param name Name of the background thread
+     */
+    ReadAheadInputStream(InputStream in, int chunkSize, int chunkCount, String name) {
+        this.filled = new ArrayBlockingQueue<>(chunkCount + 1);
+        this.free = new ArrayBlockingQueue<>(chunkCount);
+        for (int i = 0; i < chunkCount; i++) {
+            free.add(new Chunk(chunkSize));
+        }
+        
+        this.reader = new Thread(() -> fill(in), name);
+        this.reader.setDaemon(true);
+        this.reader.start();
+    }
+    
+    @Override
+    public int read() throws IOException {
+        if (!nextChunk()) {
+            return -1;
+        }
+        return current.data[position++] & 0xFF;
+    }
+    
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+        if (len == 0) {
+            return 0;
+        }
+        if (!nextChunk()) {
+            return -1;
+        }
+        
+        int count = Math.min(len, current.length - position);
+        System.arraycopy(current.data, position, b, off, count);
+        position += count;
+        return count;
+    }
+    
+    @Override
+    public long skip(long n) throws IOException {
+        long skipped = 0;
+        while (skipped < n && nextChunk()) {
+            int count = (int) Math.min(n - skipped, current.length - position);
+            position += count;
+            skipped += count;
+        }
+        return skipped;
+    }
+    
+    @Override
+    public int available() {
+        return current == null || current == END ? 0 : current.length - position;
+    }
+    
+    @Override
+    public void close() {
+        if (!closed) {
+            closed = true;
+            reader.interrupt();
+        }
+    }
+    
+    private boolean nextChunk() throws IOException {
+        if (closed) {
+            throw new IOException("Stream closed");
+        }
+        if (current == END) {
+            return false;
+        }
+        if (current != null && position < current.length) {
+            return true;
+        }
+        
+        if (current != null) {
+            free.offer(current);
+        }
+        try {
+            current = filled.take();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for data");
+        }
+        position = 0;
+        
+        if (current == END) {
+            if (failure != null) {
+                throw failure;
+            }
+            return false;
+        }
+        return true;
+    }
+    
+    private void fill(InputStream in) {
+        try (in) {
+            while (true) {
+                Chunk chunk = free.take();
+                chunk.length = in.readNBytes(chunk.data, 0, chunk.data.length);
+                if (chunk.length == 0) {
+                    break;
+                }
+                filled.put(chunk);
+            }
+        } catch (InterruptedException e) {
+            // Closed by the consumer
+        } catch (IOException e) {
+            failure = e;
+        } catch (Throwable e) {
+            // A runtime failure of the delegate, such as a corrupt compressed stream
+            failure = new IOException("Read-ahead of " + reader.getName() + " failed: " + e, e);
+        } finally {
+            // Always ends the stream, so the consumer never waits for data that will not come;
+            // at most chunkCount chunks are queued, so there is room for END
+            filled.offer(END);
+        }
+    }
+    
+    private static final class Chunk {
+        
+        final byte[] data;
+        int length;
+        
+        Chunk(int size) {
+            this.data = new byte[size];
+        }
+    }
+} 
\ No newline at end of file
@@ -0,0 +1,316 @@
+/*
+ * Copyright (C) 2025, United States Government, as represented by the
+ * Administrator of the National Aeronautics and Space Administration.
+ * All rights reserved.
+ *
+ * The Java Pathfinder AutoDoc tool is licensed under the
+ * Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ * 
+ *        http://www.apache.org/licenses/LICENSE-2.0. 
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and 
+ * limitations under the License.
+ */
+package gov.nasa.jpf.autodoc.core;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.Iterator;
+import java.util.function.Predicate;
+
+/**
+ * Source that reads class files from a TAR stream in a single forward pass.
+ * Understands ustar, GNU long names and pax extended headers. Only the
+ * current class entry (or nested JAR/ZIP entry) is held in memory; all other
+ * entries are skipped.
+ */
+final class TarSource implements ClassFileSource {
+    
+    private static final int BLOCK_SIZE = 512;
+    
+    private static final int NAME_OFFSET = 0;
+    private static final int NAME_LENGTH = 100;
+    private static final int SIZE_OFFSET = 124;
+    private static final int SIZE_LENGTH = 12;
+    private static final int CHECKSUM_OFFSET = 148;
+    private static final int CHECKSUM_LENGTH = 8;
+    private static final int TYPE_OFFSET = 156;
+    private static final int MAGIC_OFFSET = 257;
+    private static final int PREFIX_OFFSET = 345;
+    private static final int PREFIX_LENGTH = 155;
+    
+    private final InputStream in;
+    private final Path sourcePath;
+    private final NestedArchiveCursor nested;
+    private final Predicate<String> classFilter;
+    private final byte[] header = new byte[BLOCK_SIZE];
+    
+    /**
+     * Creates a source over an uncompressed TAR stream.
+     *
+     * @param in The TAR stream; closed when the source is closed
+     * @param sourcePath The path reported as the source of each class file
+     * @param nestedDepth Levels of JAR/ZIP entries to read as nested archives; 0 ignores them
+     * @param classFilter Class names to read; other class entries are skipped unread
+     */
+    TarSource(InputStream in, Path sourcePath, int nestedDepth, Predicate<String> classFilter) {
+        this.in = in;
+        this.sourcePath = sourcePath;
+        this.nested = new NestedArchiveCursor(sourcePath, nestedDepth, classFilter);
+        this.classFilter = classFilter;
+    }
+    
+    @Override
+    public Iterator<ClassFile> iterator() {
+        return new LazyIterator() {
+            @Override
+            protected ClassFile computeNext() throws IOException {
+                return nextClassFile();
+            }
+        };
+    }
+    
+    @Override
+    public void close() throws IOException {
+        nested.close();
+        in.close();
+    }
+    
+    private ClassFile nextClassFile() throws IOException {
+        ClassFile nestedClass = nested.next();
+        if (nestedClass != null) {
+            return nestedClass;
+        }
+        
+        String longName = null;
+        long paxSize = -1;
+        
+        while (readHeader()) {
+            char type = (char) header[TYPE_OFFSET];
+            long headerSize = parseNumber(SIZE_OFFSET, SIZE_LENGTH);
+            
+            switch (type) {
+                case 'L':
+                    // GNU long name for the next entry
+                    longName = trimNul(new String(readData(headerSize), StandardCharsets.UTF_8));
+                    continue;
+                case 'x':
+                    // pax extended header for the next entry
+                    String[] pax = parsePax(readData(headerSize));
+                    if (pax[0] != null) {
+                        longName = pax[0];
+                    }
+                    if (pax[1] != null) {
+                        try {
+                            paxSize = Long.parseLong(pax[1]);
+                        } catch (NumberFormatException e) {
+                            throw new IOException("Invalid pax size " + pax[1] + " in " + sourcePath);
+                        }
+                        if (paxSize < 0) {
+                            throw new IOException("Invalid pax size " + pax[1] + " in " + sourcePath);
+                        }
+                    }
+                    continue;
+                case 'K':
+                case 'g':
+                    // GNU long link name and pax global headers do not name a class entry
+                    skipData(headerSize);
+                    continue;
+                default:
+                    break;
+            }
+            
+            String name = longName != null ? longName : entryName();
+            long size = paxSize >= 0 ? paxSize : headerSize;
+            longName = null;
+            paxSize = -1;
+            
+            boolean regularFile = type == '0' || type == '\0' || type == '7';
+            if (name.startsWith("./")) {
+                name = name.substring(2);
+            }
+            if (regularFile && name.endsWith(".class")) {
+                String className = ArchiveFileReader.entryNameToClassName(name);
+                if (classFilter.test(className)) {
+                    return ClassFile.fromJar(className, readData(size), sourcePath);
+                }
+                skipData(size);
+                continue;
+            }
+            if (regularFile && nested.accepts(name)) {
+                if (nested.open(name, ByteBuffer.wrap(readData(size)))) {
+                    nestedClass = nested.next();
+                    if (nestedClass != null) {
+                        return nestedClass;
+                    }
+                }
+                continue;
+            }
+            
+            // Directories, links and devices carry no data; their size field is ignored
+            skipData(regularFile || type > '7' ? size : 0);
+        }
+        
+        return null;
+    }
+    
+    private boolean readHeader() throws IOException {
+        int read = in.readNBytes(header, 0, BLOCK_SIZE);
+        if (read == 0) {
+            return false;
+        }
+        if (read < BLOCK_SIZE) {
+            throw new EOFException("Truncated TAR header in " + sourcePath);
+        }
+        
+        boolean empty = true;
+        long checksum = 0;
+        for (int i = 0; i < BLOCK_SIZE; i++) {
+            boolean inChecksum = i >= CHECKSUM_OFFSET && i < CHECKSUM_OFFSET + CHECKSUM_LENGTH;
+            empty &= header[i] == 0;
+            checksum += inChecksum ? ' ' : header[i] & 0xFF;
+        }
+        if (empty) {
+            // End-of-archive marker
+            return false;
+        }
+        if (checksum != parseNumber(CHECKSUM_OFFSET, CHECKSUM_LENGTH)) {
+            throw new IOException("Invalid TAR header checksum in " + sourcePath);
+        }
+        return true;
+    }
+    
+    private String entryName() {
+        String name = readString(NAME_OFFSET, NAME_LENGTH);
+        // POSIX ustar splits long paths into prefix and name; GNU tar uses this area differently
+        boolean posix = header[MAGIC_OFFSET + 5] == 0 &&
+                        new String(header, MAGIC_OFFSET, 5, StandardCharsets.US_ASCII).equals("ustar");
+        if (posix) {
+            String prefix = readString(PREFIX_OFFSET, PREFIX_LENGTH);
+            if (!prefix.isEmpty()) {
+                return prefix + "/" + name;
+            }
+        }
+        return name;
+    }
+    
+    private long parseNumber(int offset, int length) throws IOException {
+        if ((header[offset] & 0x80) != 0) {
+            // GNU base-256 encoding for values that do not fit in octal
+            long value = header[offset] & 0x7F;
+            for (int i = 1; i < length; i++) {
+                value = (value << 8) | (header[offset + i] & 0xFF);
+            }
+            return value;
+        }
+        
+        long value = 0;
+        int end = offset + length;
+        int i = offset;
+        while (i < end && (header[i] == ' ' || header[i] == 0)) {
+            i++;
+        }
+        for (; i < end && header[i] != ' ' && header[i] != 0; i++) {
+            int digit = header[i] - '0';
+            if (digit < 0 || digit > 7) {
+                throw new IOException("Invalid TAR header field in " + sourcePath);
+            }
+            value = (value << 3) | digit;
+        }
+        return value;
+    }
+    
+    private byte[] readData(long size) throws IOException {
+        if (size > Integer.MAX_VALUE - 8) {
+            throw new IOException("TAR entry too large in " + sourcePath);
+        }
+        
+        byte[] data = new byte[(int) size];
+        if (in.readNBytes(data, 0, data.length) < data.length) {
+            throw new EOFException("Truncated TAR entry in " + sourcePath);
+        }
+        skipFully(padding(size));
+        return data;
+    }
+    
+    private void skipData(long size) throws IOException {
+        skipFully(size + padding(size));
+    }
+    
+    private void skipFully(long count) throws IOException {
+        while (count > 0) {
+            long skipped = in.skip(count);
+            if (skipped <= 0) {
+                if (in.read() < 0) {
+                    throw new EOFException("Truncated TAR entry in " + sourcePath);
+                }
+                skipped = 1;
+            }
+            count -= skipped;
+        }
+    }
+    
+    private String readString(int offset, int length) {
+        int end = offset;
+        while (end < offset + length && header[end] != 0) {
+            end++;
+        }
+        return new String(header, offset, end - offset, StandardCharsets.UTF_8);
+    }
+    
+    private static long padding(long size) {
+        return (BLOCK_SIZE - size % BLOCK_SIZE) % BLOCK_SIZE;
+    }
+    
+    private static String trimNul(String value) {
+        int end = value.indexOf('\0');
+        return end < 0 ? value : value.substring(0, end);
+    }
+    
+    /**
+     * Extracts the path and size records of a pax extended header.
+     * Records have the form "length key=value\n".
+     */
+    private String[] parsePax(byte[] data) throws IOException {
+        String[] values = new String[2];
+        int position = 0;
+        
+        while (position < data.length && data[position] != 0) {
+            int space = position;
+            while (space < data.length && data[space] != ' ') {
+                space++;
+            }
+            int length;
+            try {
+                length = Integer.parseInt(new String(data, position, space - position, StandardCharsets.US_ASCII));
+            } catch (NumberFormatException e) {
+                throw new IOException("Invalid pax header in " + sourcePath);
+            }
+            if (length <= space - position || position + length > data.length) {
+                throw new IOException("Invalid pax header in " + sourcePath);
+            }
+            
+            String record = new String(data, space + 1, position + length - space - 2, StandardCharsets.UTF_8);
+            int equals = record.indexOf('=');
+            if (equals > 0) {
+                String key = record.substring(0, equals);
+                if (key.equals("path")) {
+                    values[0] = record.substring(equals + 1);
+                } else if (key.equals("size")) {
+                    values[1] = record.substring(equals + 1);
+                }
+            }
+            position += length;
+        }
+        
+        return values;
+    }
+} 
\ No newline at end of file
@@ -0,0 +1,53 @@
+/*
+ * Copyright (C) 2025, United States Government, as represented by the
+ * Administrator of the National Aeronautics and Space Administration.
+ * All rights reserved.
+ *
+ * The Java Pathfinder AutoDoc tool is licensed under the
+ * Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ * 
+ *        http://www.apache.org/licenses/LICENSE-2.0. 
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and 
+ * limitations under the License.
+ */
+
+package gov.nasa.jpf.autodoc.core;
+
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Creates virtual threads for I/O-bound work where the JVM has them.
+ * This version is used on JVMs before Java 21, which have no virtual threads;
+ * the multi-release jar holds a Java 21 version under META-INF/versions/21.
+ */
+final class VirtualThreads {
+    
+    private VirtualThreads() {
+    }
+    
+    /**
+     * @return Whether this JVM runs virtual threads
+     */
+    static boolean isSupported() {
+        return false;
+    }
+    
+    /**
+     * Creates a factory of threads named after a prefix and a counter. This JVM
+     * has no virtual threads, so they are daemon platform threads.
+     */
+    static ThreadFactory newThreadFactory(String name) {
+        AtomicInteger count = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, name + "-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+} 
\ No newline at end of file
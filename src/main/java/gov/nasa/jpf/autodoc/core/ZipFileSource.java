@@ -0,0 +1,99 @@
+/*
+ * Copyright (C) 2025, United States Government, as represented by the
+ * Administrator of the National Aeronautics and Space Administration.
+ * All rights reserved.
+ *
+ * The Java Pathfinder AutoDoc tool is licensed under the
+ * Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ * 
+ *        http://www.apache.org/licenses/LICENSE-2.0. 
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and 
+ * limitations under the License.
+ */
+package gov.nasa.jpf.autodoc.core;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.util.Enumeration;
+import java.util.Iterator;
+import java.util.function.Predicate;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+/**
+ * Lazy class file source backed by a {@link ZipFile} (or {@link java.util.jar.JarFile}).
+ * Entries are read one at a time as the source is iterated; nested JAR/ZIP
+ * entries are read into memory and iterated in place.
+ */
+class ZipFileSource implements ClassFileSource {
+    
+    private final ZipFile zipFile;
+    private final Path sourcePath;
+    private final NestedArchiveCursor nested;
+    private final Predicate<String> classFilter;
+    
+    ZipFileSource(ZipFile zipFile, Path sourcePath, int nestedDepth, Predicate<String> classFilter) {
+        this.zipFile = zipFile;
+        this.sourcePath = sourcePath;
+        this.nested = new NestedArchiveCursor(sourcePath, nestedDepth, classFilter);
+        this.classFilter = classFilter;
+    }
+    
+    @Override
+    public Iterator<ClassFile> iterator() {
+        Enumeration<? extends ZipEntry> entries = zipFile.entries();
+        return new LazyIterator() {
+            @Override
+            protected ClassFile computeNext() throws IOException {
+                ClassFile nestedClass = nested.next();
+                if (nestedClass != null) {
+                    return nestedClass;
+                }
+                
+                while (entries.hasMoreElements()) {
+                    ZipEntry entry = entries.nextElement();
+                    String entryName = entry.getName();
+                    
+                    if (entryName.endsWith(".class") && !entry.isDirectory()) {
+                        String className = ArchiveFileReader.entryNameToClassName(entryName);
+                        if (!classFilter.test(className)) {
+                            continue;
+                        }
+                        try (InputStream inputStream = zipFile.getInputStream(entry)) {
+                            byte[] classData = ArchiveFileReader.readAllBytes(inputStream);
+                            return ClassFile.fromJar(className, classData, sourcePath)
+                                .withStoredChecksum(entry.getSize(), entry.getCrc());
+                        }
+                    }
+                    
+                    if (nested.accepts(entryName)) {
+                        byte[] archiveData;
+                        try (InputStream inputStream = zipFile.getInputStream(entry)) {
+                            archiveData = ArchiveFileReader.readAllBytes(inputStream);
+                        }
+                        if (nested.open(entryName, ByteBuffer.wrap(archiveData))) {
+                            nestedClass = nested.next();
+                            if (nestedClass != null) {
+                                return nestedClass;
+                            }
+                        }
+                    }
+                }
+                return null;
+            }
+        };
+    }
+    
+    @Override
+    public void close() throws IOException {
+        nested.close();
+        zipFile.close();
+    }
+} 
\ No newline at end of file
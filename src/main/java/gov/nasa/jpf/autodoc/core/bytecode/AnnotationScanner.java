@@ -0,0 +1,291 @@
+/*
+ * Copyright (C) 2025, United States Government, as represented by the
+ * Administrator of the National Aeronautics and Space Administration.
+ * All rights reserved.
+ *
+ * The Java Pathfinder AutoDoc tool is licensed under the
+ * Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ * 
+ *        http://www.apache.org/licenses/LICENSE-2.0. 
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and 
+ * limitations under the License.
+ */
+package gov.nasa.jpf.autodoc.core.bytecode;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.StringJoiner;
+
+import static gov.nasa.jpf.autodoc.core.bytecode.ClassHeaderReader.*;
+
+/**
+ * Finds the annotations of one type on the fields and methods of a scanned class.
+ * 
+ * Only the {@code RuntimeVisibleAnnotations} and {@code RuntimeInvisibleAnnotations}
+ * attributes of fields and methods are read; all other attributes, including
+ * method bodies, are skipped by their length. Element values are only decoded
+ * for annotations of the requested type, wherever they are nested, e.g. inside
+ * a container annotation. A class whose constant pool does not mention the
+ * annotation type is rejected without looking at any member.
+ */
+public final class AnnotationScanner {
+    
+    private static final String VISIBLE_ANNOTATIONS = "RuntimeVisibleAnnotations";
+    private static final String INVISIBLE_ANNOTATIONS = "RuntimeInvisibleAnnotations";
+    
+    private AnnotationScanner() {
+        // Utility class
+    }
+    
+    /**
+     * Finds the annotations of a type on the members of the last class scanned.
+     *
+     * @param scanner Scanner holding the class
+     * @param annotationType Binary name of the annotation type, e.g. {@code gov.nasa.jpf.annotation.JPFOption}
+     * @return The annotations found, fields first, in class file order
+     * @throws ClassFormatException if an annotation attribute is malformed
+     */
+    public static List<Annotation> find(ClassFileScanner scanner, String annotationType) throws ClassFormatException {
+        int typeIndex = scanner.findUtf8("L" + annotationType.replace('.', '/') + ";");
+        if (typeIndex == 0) {
+            return Collections.emptyList();
+        }
+        int visibleIndex = scanner.findUtf8(VISIBLE_ANNOTATIONS);
+        int invisibleIndex = scanner.findUtf8(INVISIBLE_ANNOTATIONS);
+        if (visibleIndex == 0 && invisibleIndex == 0) {
+            return Collections.emptyList();
+        }
+        
+        Search search = new Search(scanner, typeIndex, visibleIndex, invisibleIndex);
+        try {
+            for (int i = 0; i < scanner.getFieldCount(); i++) {
+                search.member(scanner.getFieldOffset(i), true);
+            }
+            for (int i = 0; i < scanner.getMethodCount(); i++) {
+                search.member(scanner.getMethodOffset(i), false);
+            }
+        } catch (ArrayIndexOutOfBoundsException e) {
+            throw new ClassFormatException("Truncated annotation attribute");
+        }
+        return search.found;
+    }
+    
+    /**
+     * State of one search: the class bytes, the constant pool indexes to
+     * compare against, and the member currently being read.
+     */
+    private static final class Search {
+        
+        private final ClassFileScanner scanner;
+        private final byte[] data;
+        private final int typeIndex;
+        private final int visibleIndex;
+        private final int invisibleIndex;
+        private final List<Annotation> found = new ArrayList<>();
+        private int memberOffset;
+        private boolean field;
+        private String value;
+        
+        Search(ClassFileScanner scanner, int typeIndex, int visibleIndex, int invisibleIndex) {
+            this.scanner = scanner;
+            this.data = scanner.getData();
+            this.typeIndex = typeIndex;
+            this.visibleIndex = visibleIndex;
+            this.invisibleIndex = invisibleIndex;
+        }
+        
+        void member(int offset, boolean field) throws ClassFormatException {
+            this.memberOffset = offset;
+            this.field = field;
+            
+            int attributeCount = readUnsignedShort(data, offset + 6);
+            int position = offset + 8;
+            for (int i = 0; i < attributeCount; i++) {
+                int nameIndex = readUnsignedShort(data, position);
+                int start = position + 6;
+                position = start + readInt(data, position + 2);
+                if (nameIndex != 0 && (nameIndex == visibleIndex || nameIndex == invisibleIndex)) {
+                    int count = readUnsignedShort(data, start);
+                    int annotation = start + 2;
+                    for (int j = 0; j < count; j++) {
+                        annotation = annotation(annotation);
+                    }
+                }
+            }
+        }
+        
+        /**
+         * Reads an annotation structure, recording it if it has the searched type.
+         *
+         * @return Offset just past the annotation
+         */
+        private int annotation(int offset) throws ClassFormatException {
+            boolean matches = readUnsignedShort(data, offset) == typeIndex;
+            int pairCount = readUnsignedShort(data, offset + 2);
+            int position = offset + 4;
+            
+            Map<String, String> values = matches ? new LinkedHashMap<>() : null;
+            for (int i = 0; i < pairCount; i++) {
+                int nameIndex = readUnsignedShort(data, position);
+                position = elementValue(position + 2, matches);
+                if (matches) {
+                    values.put(scanner.utf8(nameIndex), value);
+                }
+            }
+            
+            if (matches) {
+                found.add(new Annotation(scanner.utf8(readUnsignedShort(data, memberOffset + 2)),
+                                         scanner.utf8(readUnsignedShort(data, memberOffset + 4)), field, values));
+            }
+            return position;
+        }
+        
+        /**
+         * Reads an element value, leaving it in {@link #value} if {@code decode} is set.
+         *
+         * @return Offset just past the element value
+         */
+        private int elementValue(int offset, boolean decode) throws ClassFormatException {
+            int tag = data[offset];
+            int position = offset + 1;
+            switch (tag) {
+                case 's':
+                    if (decode) {
+                        value = scanner.utf8(readUnsignedShort(data, position));
+                    }
+                    return position + 2;
+                case 'B':
+                case 'C':
+                case 'I':
+                case 'S':
+                case 'Z':
+                    if (decode) {
+                        int constant = readInt(data, constant(position, CONSTANT_INTEGER));
+                        value = tag == 'Z' ? String.valueOf(constant != 0)
+                              : tag == 'C' ? String.valueOf((char) constant)
+                              : String.valueOf(constant);
+                    }
+                    return position + 2;
+                case 'F':
+                    if (decode) {
+                        value = String.valueOf(Float.intBitsToFloat(readInt(data, constant(position, CONSTANT_FLOAT))));
+                    }
+                    return position + 2;
+                case 'J':
+                    if (decode) {
+                        value = String.valueOf(readLong(constant(position, CONSTANT_LONG)));
+                    }
+                    return position + 2;
+                case 'D':
+                    if (decode) {
+                        value = String.valueOf(Double.longBitsToDouble(readLong(constant(position, CONSTANT_DOUBLE))));
+                    }
+                    return position + 2;
+                case 'e':
+                    if (decode) {
+                        value = scanner.utf8(readUnsignedShort(data, position + 2));
+                    }
+                    return position + 4;
+                case 'c':
+                    if (decode) {
+                        value = scanner.utf8(readUnsignedShort(data, position));
+                    }
+                    return position + 2;
+                case '@':
+                    int end = annotation(position);
+                    if (decode) {
+                        value = "@" + scanner.utf8(readUnsignedShort(data, position));
+                    }
+                    return end;
+                case '[':
+                    int count = readUnsignedShort(data, position);
+                    position += 2;
+                    StringJoiner elements = decode ? new StringJoiner(",") : null;
+                    for (int i = 0; i < count; i++) {
+                        position = elementValue(position, decode);
+                        if (decode) {
+                            elements.add(value);
+                        }
+                    }
+                    if (decode) {
+                        value = elements.toString();
+                    }
+                    return position;
+                default:
+                    throw new ClassFormatException("Bad element value tag " + tag + " at offset " + offset);
+            }
+        }
+        
+        /**
+         * @return Offset of the value bytes of the constant referenced at {@code offset}
+         */
+        private int constant(int offset, int tag) throws ClassFormatException {
+            return scanner.checkEntry(readUnsignedShort(data, offset), tag) + 1;
+        }
+        
+        private long readLong(int offset) {
+            return ((long) readInt(data, offset) << 32) | (readInt(data, offset + 4) & 0xFFFFFFFFL);
+        }
+    }
+    
+    /**
+     * An annotation found on a field or method, with its element values as strings.
+     * Arrays are joined with commas; enum constants are given by name and
+     * classes by descriptor. Defaults declared by the annotation type are not
+     * included, since they are not stored in the annotated class.
+     */
+    public static final class Annotation {
+        
+        private final String memberName;
+        private final String memberDescriptor;
+        private final boolean field;
+        private final Map<String, String> values;
+        
+        Annotation(String memberName, String memberDescriptor, boolean field, Map<String, String> values) {
+            this.memberName = memberName;
+            this.memberDescriptor = memberDescriptor;
+            this.field = field;
+            this.values = Collections.unmodifiableMap(values);
+        }
+        
+        public String getMemberName() {
+            return memberName;
+        }
+        
+        public String getMemberDescriptor() {
+            return memberDescriptor;
+        }
+        
+        /**
+         * @return true if the annotation is on a field, false if on a method
+         */
+        public boolean isField() {
+            return field;
+        }
+        
+        public Map<String, String> getValues() {
+            return values;
+        }
+        
+        /**
+         * @param name The element name
+         * @return The element value, or null if the annotation does not set it
+         */
+        public String getValue(String name) {
+            return values.get(name);
+        }
+        
+        @Override
+        public String toString() {
+            return "Annotation{member=" + memberName + ", values=" + values + "}";
+        }
+    }
+} 
\ No newline at end of file
@@ -0,0 +1,562 @@
+/*
+ * Copyright (C) 2025, United States Government, as represented by the
+ * Administrator of the National Aeronautics and Space Administration.
+ * All rights reserved.
+ *
+ * The Java Pathfinder AutoDoc tool is licensed under the
+ * Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ * 
+ *        http://www.apache.org/licenses/LICENSE-2.0. 
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and 
+ * limitations under the License.
+ */
+package gov.nasa.jpf.autodoc.core.bytecode;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static gov.nasa.jpf.autodoc.core.bytecode.ClassHeaderReader.*;
+
+/**
+ * Finds calls to the methods of one class in the method bodies of a scanned
+ * class, together with the constant arguments of each call.
+ * 
+ * The bytecode of each method is walked once in code order while tracking
+ * which operand stack values are constants loaded by {@code ldc},
+ * {@code bipush}, {@code iconst_<n>} and the like. At a call the arguments
+ * are read off the tracked stack. Control flow is not followed: after an
+ * unconditional jump, return, throw or an instruction that shuffles the
+ * stack, and at every instruction a jump, switch or exception handler leads
+ * to, the tracked stack is emptied, so arguments that cannot be told for
+ * certain, such as {@code flag ? 10 : 42}, are reported as unknown rather
+ * than wrong. This covers the usual
+ * {@code config.getInt("search.depth_limit", 42)} shape. A class whose
+ * constant pool has no method reference to the target class is rejected
+ * before any method body is read.
+ */
+public final class CallSiteScanner {
+    
+    private static final int DUP = 0x59;
+    private static final int LDC = 0x12;
+    private static final int LDC_W = 0x13;
+    private static final int LDC2_W = 0x14;
+    private static final int BIPUSH = 0x10;
+    private static final int SIPUSH = 0x11;
+    private static final int ICONST_M1 = 0x02;
+    private static final int LCONST_0 = 0x09;
+    private static final int FCONST_0 = 0x0b;
+    private static final int DCONST_0 = 0x0e;
+    private static final int ILOAD = 0x15;
+    private static final int ISTORE = 0x36;
+    private static final int ASTORE = 0x3a;
+    private static final int IINC = 0x84;
+    private static final int IFEQ = 0x99;
+    private static final int JSR = 0xa8;
+    private static final int TABLESWITCH = 0xaa;
+    private static final int LOOKUPSWITCH = 0xab;
+    private static final int INVOKESTATIC = 0xb8;
+    private static final int WIDE = 0xc4;
+    private static final int MULTIANEWARRAY = 0xc5;
+    private static final int IFNULL = 0xc6;
+    private static final int IFNONNULL = 0xc7;
+    private static final int GOTO_W = 0xc8;
+    private static final int JSR_W = 0xc9;
+    
+    /** Instruction lengths by opcode; 0 marks the variable-length switches. */
+    private static final byte[] INSTRUCTION_LENGTHS = new byte[256];
+    
+    // Stack effects by opcode: pops * 16 + pushes, or one of the markers below
+    private static final byte[] STACK_EFFECTS = new byte[256];
+    private static final byte CONSTANT = -1;
+    private static final byte RESET = -2;
+    private static final byte INVOKE = -3;
+    private static final byte SPECIAL = -4;
+    
+    static {
+        Arrays.fill(INSTRUCTION_LENGTHS, (byte) 1);
+        setLength(2, 0x10, 0x12, 0x15, 0x16, 0x17, 0x18, 0x19, 0x36, 0x37, 0x38, 0x39, 0x3a, 0xa9, 0xbc);
+        setLength(3, 0x11, 0x13, 0x14, 0x84, 0xb2, 0xb3, 0xb4, 0xb5, 0xb6, 0xb7, 0xb8, 0xbb, 0xbd, 0xc0, 0xc1,
+                  0xc6, 0xc7);
+        setLength(3, range(0x99, 0xa8));
+        setLength(4, MULTIANEWARRAY);
+        setLength(5, 0xb9, 0xba, 0xc8, 0xc9);
+        setLength(0, TABLESWITCH, LOOKUPSWITCH);
+        
+        setEffect(0, 1, 0x01, 0xa8, 0xb2, 0xbb, 0xc9);                  // aconst_null, jsr, getstatic, new, jsr_w
+        setEffect(CONSTANT, range(0x02, 0x14));                         // iconst_m1 .. ldc2_w
+        setEffect(0, 1, range(0x15, 0x2d));                             // loads
+        setEffect(2, 1, range(0x2e, 0x35));                             // array loads
+        setEffect(1, 0, range(0x36, 0x4e));                             // stores
+        setEffect(3, 0, range(0x4f, 0x56));                             // array stores
+        setEffect(1, 0, 0x57, 0xc2, 0xc3, 0xb3, 0xc6, 0xc7);            // pop, monitors, putstatic, ifnull
+        setEffect(RESET, range(0x58, 0x5f));                            // pop2, dup_x1 .. swap
+        setEffect(SPECIAL, DUP, WIDE, MULTIANEWARRAY);
+        setEffect(2, 1, range(0x60, 0x73));                             // arithmetic
+        setEffect(1, 1, range(0x74, 0x77));                             // negation
+        setEffect(2, 1, range(0x78, 0x83));                             // shifts and logic
+        setEffect(1, 1, range(0x85, 0x93));                             // conversions
+        setEffect(2, 1, range(0x94, 0x98));                             // comparisons
+        setEffect(1, 0, range(0x99, 0x9e));                             // if<cond>
+        setEffect(2, 0, range(0x9f, 0xa6));                             // if_<x>cmp<cond>
+        setEffect(RESET, 0xa7, 0xa9, TABLESWITCH, LOOKUPSWITCH, 0xbf, 0xc8); // goto, ret, switches, athrow, goto_w
+        setEffect(RESET, range(0xac, 0xb1));                            // returns
+        setEffect(1, 1, 0xb4, 0xbc, 0xbd, 0xbe, 0xc1);                  // getfield, newarray, arraylength, instanceof
+        setEffect(2, 0, 0xb5);                                          // putfield
+        setEffect(INVOKE, range(0xb6, 0xba));
+        // nop, iinc and checkcast leave the stack as it is
+    }
+    
+    private static int[] range(int first, int last) {
+        int[] opcodes = new int[last - first + 1];
+        for (int i = 0; i < opcodes.length; i++) {
+            opcodes[i] = first + i;
+        }
+        return opcodes;
+    }
+    
+    private static void setLength(int length, int... opcodes) {
+        for (int opcode : opcodes) {
+            INSTRUCTION_LENGTHS[opcode] = (byte) length;
+        }
+    }
+    
+    private static void setEffect(int pops, int pushes, int... opcodes) {
+        setEffect((byte) (pops * 16 + pushes), opcodes);
+    }
+    
+    private static void setEffect(byte effect, int... opcodes) {
+        for (int opcode : opcodes) {
+            STACK_EFFECTS[opcode] = effect;
+        }
+    }
+    
+    private CallSiteScanner() {
+        // Utility class
+    }
+    
+    /**
+     * Finds the calls to methods of a class in the last class scanned.
+     *
+     * @param scanner Scanner holding the class
+     * @param ownerClass Binary name of the class whose methods are looked for, e.g. {@code gov.nasa.jpf.Config}
+     * @return The call sites in class file order
+     * @throws ClassFormatException if a method body is malformed
+     */
+    public static List<CallSite> find(ClassFileScanner scanner, String ownerClass) throws ClassFormatException {
+        int ownerIndex = scanner.findUtf8(ownerClass.replace('.', '/'));
+        int codeIndex = scanner.findUtf8("Code");
+        if (ownerIndex == 0 || codeIndex == 0) {
+            return Collections.emptyList();
+        }
+        List<CallSite> calls = new ArrayList<>();
+        OperandStack stack = new OperandStack();
+        byte[] data = scanner.getData();
+        try {
+            boolean[] targets = findMethodRefs(scanner, ownerIndex);
+            if (targets == null) {
+                return Collections.emptyList();
+            }
+            for (int i = 0; i < scanner.getMethodCount(); i++) {
+                int offset = scanner.getMethodOffset(i);
+                int attributeCount = readUnsignedShort(data, offset + 6);
+                int position = offset + 8;
+                for (int j = 0; j < attributeCount; j++) {
+                    int length = readInt(data, position + 2);
+                    if (readUnsignedShort(data, position) == codeIndex) {
+                        // max_stack, max_locals, code_length, code
+                        scanCode(scanner, targets, position + 14, readInt(data, position + 10), i, stack, calls);
+                    }
+                    position += 6 + length;
+                }
+            }
+        } catch (ArrayIndexOutOfBoundsException e) {
+            throw new ClassFormatException("Truncated method body");
+        }
+        return calls;
+    }
+    
+    /**
+     * Marks the method and interface method references whose class is the owner.
+     *
+     * @return Marks indexed by constant pool index, or null if there are none
+     */
+    private static boolean[] findMethodRefs(ClassFileScanner scanner, int ownerIndex) {
+        byte[] data = scanner.getData();
+        int poolCount = scanner.getConstantCount();
+        boolean[] targets = null;
+        for (int index = 1; index < poolCount; index++) {
+            int offset = scanner.getConstantOffset(index);
+            if (offset == 0 || (data[offset] != CONSTANT_METHODREF && data[offset] != CONSTANT_INTERFACE_METHODREF)) {
+                continue;
+            }
+            int classOffset = scanner.getConstantOffset(readUnsignedShort(data, offset + 1));
+            if (data[classOffset] == CONSTANT_CLASS && readUnsignedShort(data, classOffset + 1) == ownerIndex) {
+                if (targets == null) {
+                    targets = new boolean[poolCount];
+                }
+                targets[index] = true;
+            }
+        }
+        return targets;
+    }
+    
+    private static void scanCode(ClassFileScanner scanner, boolean[] targets, int start, int length, int method,
+                                 OperandStack stack, List<CallSite> calls) throws ClassFormatException {
+        byte[] data = scanner.getData();
+        int end = start + length;
+        if (length < 0 || end > data.length) {
+            throw new ClassFormatException("Truncated method body");
+        }
+        boolean[] jumpTargets = findJumpTargets(data, start, end);
+        stack.clear();
+        
+        int pc = start;
+        while (pc < end) {
+            if (jumpTargets[pc - start]) {
+                // Values may arrive here from another path, so none are known for certain
+                stack.clear();
+            }
+            int opcode = data[pc] & 0xFF;
+            byte effect = STACK_EFFECTS[opcode];
+            switch (effect) {
+                case CONSTANT:
+                    stack.push(constant(scanner, data, pc, opcode));
+                    break;
+                case RESET:
+                    stack.clear();
+                    break;
+                case INVOKE:
+                    invoke(scanner, targets, data, pc, opcode, method, stack, calls);
+                    break;
+                case SPECIAL:
+                    if (opcode == DUP) {
+                        stack.push(stack.peek(1));
+                    } else if (opcode == MULTIANEWARRAY) {
+                        stack.pop(data[pc + 3] & 0xFF);
+                        stack.push(null);
+                    } else {
+                        int widened = data[pc + 1] & 0xFF;
+                        if (widened >= ILOAD && widened < ISTORE) {
+                            stack.push(null);
+                        } else if (widened >= ISTORE && widened <= ASTORE) {
+                            stack.pop(1);
+                        } else if (widened != IINC) {
+                            stack.clear();
+                        }
+                    }
+                    break;
+                default:
+                    stack.pop(effect >> 4);
+                    for (int i = effect & 0xF; i > 0; i--) {
+                        stack.push(null);
+                    }
+            }
+            pc += instructionLength(data, pc, opcode, start);
+        }
+    }
+    
+    /**
+     * Marks the instructions that jumps, switches and exception handlers lead to.
+     *
+     * @param start Offset of the first instruction
+     * @param end Offset just past the code, where the exception table starts
+     * @return Marks indexed by offset from {@code start}
+     * @throws ClassFormatException if an instruction or target lies outside the code
+     */
+    private static boolean[] findJumpTargets(byte[] data, int start, int end) throws ClassFormatException {
+        boolean[] jumpTargets = new boolean[end - start];
+        int pc = start;
+        while (pc < end) {
+            int opcode = data[pc] & 0xFF;
+            int offset = pc - start;
+            if ((opcode >= IFEQ && opcode <= JSR) || opcode == IFNULL || opcode == IFNONNULL) {
+                markTarget(jumpTargets, offset + (short) readUnsignedShort(data, pc + 1));
+            } else if (opcode == GOTO_W || opcode == JSR_W) {
+                markTarget(jumpTargets, offset + readInt(data, pc + 1));
+            } else if (opcode == TABLESWITCH || opcode == LOOKUPSWITCH) {
+                int operands = pc + 1 + ((4 - (pc + 1 - start) % 4) % 4);
+                markTarget(jumpTargets, offset + readInt(data, operands));
+                if (opcode == TABLESWITCH) {
+                    int count = readInt(data, operands + 8) - readInt(data, operands + 4) + 1;
+                    for (int i = 0; i < count; i++) {
+                        markTarget(jumpTargets, offset + readInt(data, operands + 12 + 4 * i));
+                    }
+                } else {
+                    int count = readInt(data, operands + 4);
+                    for (int i = 0; i < count; i++) {
+                        markTarget(jumpTargets, offset + readInt(data, operands + 12 + 8 * i));
+                    }
+                }
+            }
+            
+            int length = instructionLength(data, pc, opcode, start);
+            if (length <= 0) {
+                throw new ClassFormatException("Bad instruction length at offset " + offset);
+            }
+            pc += length;
+        }
+        
+        // exception_table_length, then start_pc, end_pc, handler_pc and catch_type per handler
+        int handlerCount = readUnsignedShort(data, end);
+        for (int i = 0; i < handlerCount; i++) {
+            markTarget(jumpTargets, readUnsignedShort(data, end + 2 + 8 * i + 4));
+        }
+        return jumpTargets;
+    }
+    
+    private static void markTarget(boolean[] jumpTargets, int target) throws ClassFormatException {
+        if (target < 0 || target >= jumpTargets.length) {
+            throw new ClassFormatException("Jump target " + target + " outside method body");
+        }
+        jumpTargets[target] = true;
+    }
+    
+    private static String constant(ClassFileScanner scanner, byte[] data, int pc, int opcode)
+        throws ClassFormatException {
+        switch (opcode) {
+            case BIPUSH:
+                return String.valueOf(data[pc + 1]);
+            case SIPUSH:
+                return String.valueOf((short) readUnsignedShort(data, pc + 1));
+            case LDC:
+                return constantValue(scanner, data[pc + 1] & 0xFF);
+            case LDC_W:
+            case LDC2_W:
+                return constantValue(scanner, readUnsignedShort(data, pc + 1));
+            default:
+                if (opcode < LCONST_0) {
+                    return String.valueOf(opcode - ICONST_M1 - 1);
+                } else if (opcode < FCONST_0) {
+                    return String.valueOf(opcode - LCONST_0);
+                } else if (opcode < DCONST_0) {
+                    return String.valueOf((float) (opcode - FCONST_0));
+                }
+                return String.valueOf((double) (opcode - DCONST_0));
+        }
+    }
+    
+    private static void invoke(ClassFileScanner scanner, boolean[] targets, byte[] data, int pc, int opcode,
+                               int method, OperandStack stack, List<CallSite> calls) throws ClassFormatException {
+        int refIndex = readUnsignedShort(data, pc + 1);
+        // Method references and invokedynamic entries both keep their NameAndType at offset 3
+        int nameAndType = scanner.getConstantOffset(readUnsignedShort(data, scanner.getConstantOffset(refIndex) + 3));
+        int descriptor = scanner.getConstantOffset(readUnsignedShort(data, nameAndType + 3));
+        int argumentCount = argumentCount(data, descriptor);
+        
+        if (targets[refIndex]) {
+            String[] arguments = new String[argumentCount];
+            int type = descriptor + 4;
+            for (int i = 0; i < argumentCount; i++) {
+                // boolean and char constants are pushed as int, so the parameter type tells how to read them
+                arguments[i] = typedConstant(stack.peek(argumentCount - i), data[type]);
+                type = nextParameter(data, type);
+            }
+            calls.add(new CallSite(scanner.getMethodName(method),
+                                   scanner.utf8(readUnsignedShort(data, nameAndType + 1)),
+                                   scanner.utf8(readUnsignedShort(data, nameAndType + 3)), arguments));
+        }
+        
+        boolean hasReceiver = opcode != INVOKESTATIC
+                              && data[scanner.getConstantOffset(refIndex)] != CONSTANT_INVOKE_DYNAMIC;
+        stack.pop(argumentCount + (hasReceiver ? 1 : 0));
+        if (returnsValue(data, descriptor)) {
+            stack.push(null);
+        }
+    }
+    
+    private static String constantValue(ClassFileScanner scanner, int index) throws ClassFormatException {
+        byte[] data = scanner.getData();
+        int offset = scanner.getConstantOffset(index);
+        switch (data[offset]) {
+            case CONSTANT_STRING:
+                return scanner.utf8(readUnsignedShort(data, offset + 1));
+            case CONSTANT_INTEGER:
+                return String.valueOf(readInt(data, offset + 1));
+            case CONSTANT_FLOAT:
+                return String.valueOf(Float.intBitsToFloat(readInt(data, offset + 1)));
+            case CONSTANT_LONG:
+                return String.valueOf(readLong(data, offset + 1));
+            case CONSTANT_DOUBLE:
+                return String.valueOf(Double.longBitsToDouble(readLong(data, offset + 1)));
+            case CONSTANT_CLASS:
+                return scanner.utf8(readUnsignedShort(data, offset + 1)).replace('/', '.');
+            default:
+                return null;
+        }
+    }
+    
+    private static long readLong(byte[] data, int offset) {
+        return ((long) readInt(data, offset) << 32) | (readInt(data, offset + 4) & 0xFFFFFFFFL);
+    }
+    
+    private static int instructionLength(byte[] data, int pc, int opcode, int codeStart) {
+        int length = INSTRUCTION_LENGTHS[opcode];
+        if (length != 0) {
+            if (opcode == WIDE) {
+                return (data[pc + 1] & 0xFF) == IINC ? 6 : 4;
+            }
+            return length;
+        }
+        
+        // Switch operands are aligned to four bytes from the start of the code
+        int operands = pc + 1 + ((4 - (pc + 1 - codeStart) % 4) % 4);
+        if (opcode == TABLESWITCH) {
+            int low = readInt(data, operands + 4);
+            int high = readInt(data, operands + 8);
+            return operands - pc + 12 + 4 * (high - low + 1);
+        }
+        return operands - pc + 8 + 8 * readInt(data, operands + 4);
+    }
+    
+    /**
+     * Counts the parameters of a method descriptor held in a UTF-8 constant;
+     * long and double count once, as values rather than stack slots.
+     */
+    private static int argumentCount(byte[] data, int utf8Offset) {
+        int count = 0;
+        int i = utf8Offset + 4;
+        while (data[i] != ')') {
+            if (data[i] == 'L') {
+                while (data[i] != ';') {
+                    i++;
+                }
+                count++;
+            } else if (data[i] != '[') {
+                count++;
+            }
+            i++;
+        }
+        return count;
+    }
+    
+    /**
+     * @param offset Offset of a parameter type in a method descriptor
+     * @return Offset of the parameter type after it
+     */
+    private static int nextParameter(byte[] data, int offset) {
+        while (data[offset] == '[') {
+            offset++;
+        }
+        if (data[offset] == 'L') {
+            while (data[offset] != ';') {
+                offset++;
+            }
+        }
+        return offset + 1;
+    }
+    
+    /**
+     * Renders an int constant passed as a boolean or char parameter the way the
+     * source wrote it, as annotation values are; other constants are kept.
+     */
+    private static String typedConstant(String constant, byte type) {
+        if (constant == null || (type != 'Z' && type != 'C')) {
+            return constant;
+        }
+        try {
+            int value = Integer.parseInt(constant);
+            return type == 'Z' ? String.valueOf(value != 0) : String.valueOf((char) value);
+        } catch (NumberFormatException e) {
+            return constant;
+        }
+    }
+    
+    private static boolean returnsValue(byte[] data, int utf8Offset) {
+        int i = utf8Offset + 4;
+        while (data[i] != ')') {
+            i++;
+        }
+        return data[i + 1] != 'V';
+    }
+    
+    /**
+     * The values on the operand stack, as constants or null where unknown.
+     * Popping more values than are known leaves an empty stack.
+     */
+    private static final class OperandStack {
+        
+        private String[] values = new String[16];
+        private int size;
+        
+        void push(String value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+        
+        void pop(int count) {
+            size = Math.max(0, size - count);
+        }
+        
+        /**
+         * @param depth 1 for the top of the stack
+         * @return The value, or null if unknown
+         */
+        String peek(int depth) {
+            return depth <= size ? values[size - depth] : null;
+        }
+        
+        void clear() {
+            size = 0;
+        }
+    }
+    
+    /**
+     * A call to a method of the target class, with the constant arguments found before it.
+     */
+    public static final class CallSite {
+        
+        private final String callerName;
+        private final String methodName;
+        private final String methodDescriptor;
+        private final String[] arguments;
+        
+        CallSite(String callerName, String methodName, String methodDescriptor, String[] arguments) {
+            this.callerName = callerName;
+            this.methodName = methodName;
+            this.methodDescriptor = methodDescriptor;
+            this.arguments = arguments;
+        }
+        
+        /**
+         * @return Name of the method containing the call
+         */
+        public String getCallerName() {
+            return callerName;
+        }
+        
+        public String getMethodName() {
+            return methodName;
+        }
+        
+        public String getMethodDescriptor() {
+            return methodDescriptor;
+        }
+        
+        public int getArgumentCount() {
+            return arguments.length;
+        }
+        
+        /**
+         * @param i Argument position, not counting the receiver
+         * @return The constant passed, or null if the argument is not a constant
+         */
+        public String getConstantArgument(int i) {
+            return arguments[i];
+        }
+        
+        @Override
+        public String toString() {
+            return "CallSite{caller=" + callerName + ", method=" + methodName + methodDescriptor +
+                   ", arguments=" + Arrays.toString(arguments) + "}";
+        }
+    }
+} 
\ No newline at end of file
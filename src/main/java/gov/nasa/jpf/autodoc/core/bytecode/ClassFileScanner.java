@@ -0,0 +1,382 @@
+/*
+ * Copyright (C) 2025, United States Government, as represented by the
+ * Administrator of the National Aeronautics and Space Administration.
+ * All rights reserved.
+ *
+ * The Java Pathfinder AutoDoc tool is licensed under the
+ * Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ * 
+ *        http://www.apache.org/licenses/LICENSE-2.0. 
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and 
+ * limitations under the License.
+ */
+package gov.nasa.jpf.autodoc.core.bytecode;
+
+import java.util.Arrays;
+
+import static gov.nasa.jpf.autodoc.core.bytecode.ClassHeaderReader.*;
+
+/**
+ * Scans a class file and exposes its class, super class, interfaces,
+ * fields and methods as views over the class bytes.
+ * 
+ * Scanning only records offsets into the byte array, in tables that are
+ * reused for the next class, so a scanner that has warmed up allocates
+ * nothing per class. The constant pool and header are walked by
+ * {@link #scan(byte[])}; the field and method tables only when first asked
+ * for. Strings are only created when a name is asked for.
+ * A scanner is meant to be reused by one thread at a time, e.g. held in a
+ * {@link ThreadLocal}; the views returned are valid until the next scan.
+ */
+public final class ClassFileScanner {
+    
+    private static final int ACC_INTERFACE = 0x0200;
+    private static final int ACC_MODULE = 0x8000;
+    
+    private byte[] data;
+    private int[] poolOffsets = new int[512];
+    private int poolCount;
+    private int accessFlags;
+    private int thisClassIndex;
+    private int superClassIndex;
+    private int interfacesOffset;
+    private int interfaceCount;
+    private int membersOffset;
+    private boolean membersScanned;
+    private int[] fieldOffsets = new int[64];
+    private int fieldCount;
+    private int[] methodOffsets = new int[64];
+    private int methodCount;
+    
+    /**
+     * Scans a class file, replacing the result of any earlier scan.
+     *
+     * @param data The complete class file bytes; not copied, and must not change until the next scan
+     * @return This scanner
+     * @throws ClassFormatException if the bytes are not a well-formed class file
+     */
+    public ClassFileScanner scan(byte[] data) throws ClassFormatException {
+        this.data = data;
+        try {
+            if (data.length < 10 || readInt(data, 0) != MAGIC) {
+                throw new ClassFormatException("Bad class file magic number");
+            }
+            int offset = scanConstantPool();
+            
+            accessFlags = readUnsignedShort(data, offset);
+            thisClassIndex = readUnsignedShort(data, offset + 2);
+            superClassIndex = readUnsignedShort(data, offset + 4);
+            interfaceCount = readUnsignedShort(data, offset + 6);
+            interfacesOffset = offset + 8;
+            membersOffset = interfacesOffset + 2 * interfaceCount;
+            membersScanned = false;
+            if (membersOffset + 2 > data.length) {
+                throw new ClassFormatException("Truncated class file");
+            }
+            
+            checkEntry(thisClassIndex, CONSTANT_CLASS);
+            if (superClassIndex != 0) {
+                checkEntry(superClassIndex, CONSTANT_CLASS);
+            }
+            return this;
+        } catch (ArrayIndexOutOfBoundsException e) {
+            throw new ClassFormatException("Truncated class file");
+        }
+    }
+    
+    /**
+     * Builds the field and method tables on first use, so a class rejected
+     * from its constant pool or header never has its members walked.
+     */
+    private void scanMembers() throws ClassFormatException {
+        if (membersScanned) {
+            return;
+        }
+        try {
+            int offset = membersOffset;
+            fieldCount = readUnsignedShort(data, offset);
+            offset += 2;
+            if (fieldOffsets.length < fieldCount) {
+                fieldOffsets = new int[Math.max(fieldCount, fieldOffsets.length * 2)];
+            }
+            for (int i = 0; i < fieldCount; i++) {
+                fieldOffsets[i] = offset;
+                offset = skipMember(offset);
+            }
+            
+            methodCount = readUnsignedShort(data, offset);
+            offset += 2;
+            if (methodOffsets.length < methodCount) {
+                methodOffsets = new int[Math.max(methodCount, methodOffsets.length * 2)];
+            }
+            for (int i = 0; i < methodCount; i++) {
+                methodOffsets[i] = offset;
+                offset = skipMember(offset);
+            }
+            if (offset > data.length) {
+                throw new ClassFormatException("Truncated class file");
+            }
+        } catch (ArrayIndexOutOfBoundsException e) {
+            throw new ClassFormatException("Truncated class file");
+        }
+        membersScanned = true;
+    }
+    
+    private int scanConstantPool() throws ClassFormatException {
+        poolCount = readUnsignedShort(data, 8);
+        if (poolOffsets.length < poolCount) {
+            poolOffsets = new int[Math.max(poolCount, poolOffsets.length * 2)];
+        } else {
+            // Entries skipped by eight-byte constants must not keep offsets from the last class
+            Arrays.fill(poolOffsets, 0, poolCount, 0);
+        }
+        
+        int offset = 10;
+        for (int index = 1; index < poolCount; index++) {
+            poolOffsets[index] = offset;
+            int tag = data[offset] & 0xFF;
+            switch (tag) {
+                case CONSTANT_UTF8:
+                    offset += 3 + readUnsignedShort(data, offset + 1);
+                    break;
+                case CONSTANT_CLASS:
+                case CONSTANT_STRING:
+                case CONSTANT_METHOD_TYPE:
+                case CONSTANT_MODULE:
+                case CONSTANT_PACKAGE:
+                    offset += 3;
+                    break;
+                case CONSTANT_METHOD_HANDLE:
+                    offset += 4;
+                    break;
+                case CONSTANT_INTEGER:
+                case CONSTANT_FLOAT:
+                case CONSTANT_FIELDREF:
+                case CONSTANT_METHODREF:
+                case CONSTANT_INTERFACE_METHODREF:
+                case CONSTANT_NAME_AND_TYPE:
+                case CONSTANT_DYNAMIC:
+                case CONSTANT_INVOKE_DYNAMIC:
+                    offset += 5;
+                    break;
+                case CONSTANT_LONG:
+                case CONSTANT_DOUBLE:
+                    offset += 9;
+                    index++;
+                    break;
+                default:
+                    throw new ClassFormatException("Bad constant pool tag " + tag + " at offset " + offset);
+            }
+        }
+        return offset;
+    }
+    
+    /**
+     * Skips a field_info or method_info structure and its attributes.
+     */
+    private int skipMember(int offset) throws ClassFormatException {
+        int attributeCount = readUnsignedShort(data, offset + 6);
+        offset += 8;
+        for (int i = 0; i < attributeCount; i++) {
+            int length = readInt(data, offset + 2);
+            if (length < 0 || length > data.length - offset - 6) {
+                throw new ClassFormatException("Bad attribute length " + (length & 0xFFFFFFFFL) + " at offset " + offset);
+            }
+            offset += 6 + length;
+        }
+        return offset;
+    }
+    
+    int checkEntry(int index, int tag) throws ClassFormatException {
+        if (index <= 0 || index >= poolCount || poolOffsets[index] == 0 || (data[poolOffsets[index]] & 0xFF) != tag) {
+            throw new ClassFormatException("Bad constant pool reference " + index);
+        }
+        return poolOffsets[index];
+    }
+    
+    /**
+     * @return Offset of the UTF-8 constant naming a class constant
+     */
+    private int classNameOffset(int classIndex) throws ClassFormatException {
+        return checkEntry(readUnsignedShort(data, checkEntry(classIndex, CONSTANT_CLASS) + 1), CONSTANT_UTF8);
+    }
+    
+    private String className(int classIndex) throws ClassFormatException {
+        int offset = classNameOffset(classIndex);
+        return decodeName(data, offset + 3, readUnsignedShort(data, offset + 1));
+    }
+    
+    String utf8(int index) throws ClassFormatException {
+        int offset = checkEntry(index, CONSTANT_UTF8);
+        return decodeUtf8(data, offset + 3, readUnsignedShort(data, offset + 1));
+    }
+    
+    /**
+     * Finds a UTF-8 constant by comparing bytes, without decoding the pool.
+     *
+     * @param ascii The constant to look for; must be ASCII
+     * @return Its constant pool index, or 0 if the pool does not hold it
+     */
+    int findUtf8(String ascii) {
+        int length = ascii.length();
+        for (int index = 1; index < poolCount; index++) {
+            int offset = poolOffsets[index];
+            if (offset == 0 || data[offset] != CONSTANT_UTF8 || readUnsignedShort(data, offset + 1) != length) {
+                continue;
+            }
+            int i = 0;
+            while (i < length && data[offset + 3 + i] == ascii.charAt(i)) {
+                i++;
+            }
+            if (i == length) {
+                return index;
+            }
+        }
+        return 0;
+    }
+    
+    byte[] getData() {
+        return data;
+    }
+    
+    int getConstantCount() {
+        return poolCount;
+    }
+    
+    int getConstantOffset(int index) {
+        return poolOffsets[index];
+    }
+    
+    int getFieldOffset(int i) throws ClassFormatException {
+        scanMembers();
+        return fieldOffsets[checkIndex(i, fieldCount)];
+    }
+    
+    int getMethodOffset(int i) throws ClassFormatException {
+        scanMembers();
+        return methodOffsets[checkIndex(i, methodCount)];
+    }
+    
+    public int getAccessFlags() {
+        return accessFlags;
+    }
+    
+    public boolean isInterface() {
+        return (accessFlags & ACC_INTERFACE) != 0;
+    }
+    
+    public boolean isModule() {
+        return (accessFlags & ACC_MODULE) != 0;
+    }
+    
+    /**
+     * @return The class name in binary form, e.g. {@code gov.nasa.jpf.JPF$Status}
+     * @throws ClassFormatException if the name constant is malformed
+     */
+    public String getClassName() throws ClassFormatException {
+        return className(thisClassIndex);
+    }
+    
+    /**
+     * @return The super class name in binary form, or null for java.lang.Object and module descriptors
+     * @throws ClassFormatException if the name constant is malformed
+     */
+    public String getSuperClassName() throws ClassFormatException {
+        return superClassIndex != 0 ? className(superClassIndex) : null;
+    }
+    
+    public int getInterfaceCount() {
+        return interfaceCount;
+    }
+    
+    /**
+     * @param i Position in the interfaces table
+     * @return The name of a directly implemented interface in binary form
+     * @throws ClassFormatException if the interface constant is malformed
+     */
+    public String getInterfaceName(int i) throws ClassFormatException {
+        return className(readUnsignedShort(data, interfacesOffset + 2 * checkIndex(i, interfaceCount)));
+    }
+    
+    /**
+     * @return The number of fields
+     * @throws ClassFormatException if the fields or methods table is truncated
+     */
+    public int getFieldCount() throws ClassFormatException {
+        scanMembers();
+        return fieldCount;
+    }
+    
+    /**
+     * @param i Position in the fields table
+     * @return The field name
+     * @throws ClassFormatException if the name constant is malformed
+     */
+    public String getFieldName(int i) throws ClassFormatException {
+        return utf8(readUnsignedShort(data, getFieldOffset(i) + 2));
+    }
+    
+    /**
+     * @param i Position in the fields table
+     * @return The field descriptor, e.g. {@code I} or {@code Ljava/lang/String;}
+     * @throws ClassFormatException if the descriptor constant is malformed
+     */
+    public String getFieldDescriptor(int i) throws ClassFormatException {
+        return utf8(readUnsignedShort(data, getFieldOffset(i) + 4));
+    }
+    
+    /**
+     * @return The number of methods
+     * @throws ClassFormatException if the fields or methods table is truncated
+     */
+    public int getMethodCount() throws ClassFormatException {
+        scanMembers();
+        return methodCount;
+    }
+    
+    public int getMethodAccessFlags(int i) throws ClassFormatException {
+        return readUnsignedShort(data, getMethodOffset(i));
+    }
+    
+    /**
+     * @param i Position in the methods table
+     * @return The method name
+     * @throws ClassFormatException if the name constant is malformed
+     */
+    public String getMethodName(int i) throws ClassFormatException {
+        return utf8(readUnsignedShort(data, getMethodOffset(i) + 2));
+    }
+    
+    /**
+     * @param i Position in the methods table
+     * @return The method descriptor, e.g. {@code (Ljava/lang/String;)V}
+     * @throws ClassFormatException if the descriptor constant is malformed
+     */
+    public String getMethodDescriptor(int i) throws ClassFormatException {
+        return utf8(readUnsignedShort(data, getMethodOffset(i) + 4));
+    }
+    
+    /**
+     * Checks for {@code <init>} and {@code <clinit>} without decoding the name.
+     *
+     * @param i Position in the methods table
+     * @return true if the method is a constructor or static initializer
+     * @throws ClassFormatException if the name constant is malformed
+     */
+    public boolean isInitializer(int i) throws ClassFormatException {
+        int offset = checkEntry(readUnsignedShort(data, getMethodOffset(i) + 2), CONSTANT_UTF8);
+        return readUnsignedShort(data, offset + 1) > 0 && data[offset + 3] == '<';
+    }
+    
+    private static int checkIndex(int i, int count) {
+        if (i < 0 || i >= count) {
+            throw new IndexOutOfBoundsException("Index " + i + " out of bounds for length " + count);
+        }
+        return i;
+    }
+} 
\ No newline at end of file
@@ -0,0 +1,32 @@
+/*
+ * Copyright (C) 2025, United States Government, as represented by the
+ * Administrator of the National Aeronautics and Space Administration.
+ * All rights reserved.
+ *
+ * The Java Pathfinder AutoDoc tool is licensed under the
+ * Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ * 
+ *        http://www.apache.org/licenses/LICENSE-2.0. 
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and 
+ * limitations under the License.
+ */
+package gov.nasa.jpf.autodoc.core.bytecode;
+
+import java.io.IOException;
+
+/**
+ * Thrown when bytes that should hold a Java class file are not a well-formed class file.
+ */
+public class ClassFormatException extends IOException {
+    
+    private static final long serialVersionUID = 1L;
+    
+    public ClassFormatException(String message) {
+        super(message);
+    }
+} 
\ No newline at end of file
@@ -0,0 +1,240 @@
+/*
+ * Copyright (C) 2025, United States Government, as represented by the
+ * Administrator of the National Aeronautics and Space Administration.
+ * All rights reserved.
+ *
+ * The Java Pathfinder AutoDoc tool is licensed under the
+ * Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ * 
+ *        http://www.apache.org/licenses/LICENSE-2.0. 
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and 
+ * limitations under the License.
+ */
+package gov.nasa.jpf.autodoc.core.bytecode;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+/**
+ * Reads the name of a class from the header of its class file.
+ * Only the constant pool is walked, and only far enough to reach the
+ * {@code this_class} index that follows it; no other part of the class is parsed.
+ * Reading from a file starts with a small prefix and only reads further if the
+ * constant pool does not fit in it.
+ */
+public final class ClassHeaderReader {
+    
+    /** Size of the first read from a class file; enough for the header of most small classes. */
+    public static final int HEADER_PREFIX_SIZE = 4 * 1024;
+    
+    static final int MAGIC = 0xCAFEBABE;
+    
+    // Constant pool tags (JVMS 4.4)
+    static final int CONSTANT_UTF8 = 1;
+    static final int CONSTANT_INTEGER = 3;
+    static final int CONSTANT_FLOAT = 4;
+    static final int CONSTANT_LONG = 5;
+    static final int CONSTANT_DOUBLE = 6;
+    static final int CONSTANT_CLASS = 7;
+    static final int CONSTANT_STRING = 8;
+    static final int CONSTANT_FIELDREF = 9;
+    static final int CONSTANT_METHODREF = 10;
+    static final int CONSTANT_INTERFACE_METHODREF = 11;
+    static final int CONSTANT_NAME_AND_TYPE = 12;
+    static final int CONSTANT_METHOD_HANDLE = 15;
+    static final int CONSTANT_METHOD_TYPE = 16;
+    static final int CONSTANT_DYNAMIC = 17;
+    static final int CONSTANT_INVOKE_DYNAMIC = 18;
+    static final int CONSTANT_MODULE = 19;
+    static final int CONSTANT_PACKAGE = 20;
+    
+    private ClassHeaderReader() {
+        // Utility class
+    }
+    
+    /**
+     * Reads the class name from a complete class file.
+     *
+     * @param data The class file bytes
+     * @return The class name in binary form, e.g. {@code gov.nasa.jpf.JPF$Status}
+     * @throws ClassFormatException if the bytes are not a class file
+     */
+    public static String readClassName(byte[] data) throws ClassFormatException {
+        String className = readClassName(data, data.length);
+        if (className == null) {
+            throw new ClassFormatException("Truncated class file header");
+        }
+        return className;
+    }
+    
+    /**
+     * Reads the class name from a prefix of a class file.
+     *
+     * @param data Buffer holding the start of the class file
+     * @param length Number of valid bytes in the buffer
+     * @return The class name in binary form, or null if the header extends past {@code length}
+     * @throws ClassFormatException if the bytes are not a class file
+     */
+    public static String readClassName(byte[] data, int length) throws ClassFormatException {
+        if (length < 10) {
+            return null;
+        }
+        if (readInt(data, 0) != MAGIC) {
+            throw new ClassFormatException("Bad class file magic number");
+        }
+        
+        int count = readUnsignedShort(data, 8);
+        int[] offsets = new int[count];
+        int offset = 10;
+        
+        for (int index = 1; index < count; index++) {
+            if (offset >= length) {
+                return null;
+            }
+            offsets[index] = offset;
+            int tag = data[offset] & 0xFF;
+            switch (tag) {
+                case CONSTANT_UTF8:
+                    if (offset + 3 > length) {
+                        return null;
+                    }
+                    offset += 3 + readUnsignedShort(data, offset + 1);
+                    break;
+                case CONSTANT_CLASS:
+                case CONSTANT_STRING:
+                case CONSTANT_METHOD_TYPE:
+                case CONSTANT_MODULE:
+                case CONSTANT_PACKAGE:
+                    offset += 3;
+                    break;
+                case CONSTANT_METHOD_HANDLE:
+                    offset += 4;
+                    break;
+                case CONSTANT_INTEGER:
+                case CONSTANT_FLOAT:
+                case CONSTANT_FIELDREF:
+                case CONSTANT_METHODREF:
+                case CONSTANT_INTERFACE_METHODREF:
+                case CONSTANT_NAME_AND_TYPE:
+                case CONSTANT_DYNAMIC:
+                case CONSTANT_INVOKE_DYNAMIC:
+                    offset += 5;
+                    break;
+                case CONSTANT_LONG:
+                case CONSTANT_DOUBLE:
+                    // Eight-byte constants take up two constant pool entries
+                    offset += 9;
+                    index++;
+                    break;
+                default:
+                    throw new ClassFormatException("Bad constant pool tag " + tag + " at offset " + offset);
+            }
+        }
+        
+        // access_flags, this_class
+        if (offset + 4 > length) {
+            return null;
+        }
+        int classIndex = readUnsignedShort(data, offset + 2);
+        int classOffset = entryOffset(data, offsets, classIndex, CONSTANT_CLASS);
+        int nameOffset = entryOffset(data, offsets, readUnsignedShort(data, classOffset + 1), CONSTANT_UTF8);
+        
+        return decodeName(data, nameOffset + 3, readUnsignedShort(data, nameOffset + 1));
+    }
+    
+    /**
+     * Reads the class name from a class file on disk, reading only as much of
+     * the file as the header needs.
+     *
+     * @param path Path to the class file
+     * @return The class name in binary form
+     * @throws ClassFormatException if the file is not a class file
+     * @throws IOException if the file cannot be read
+     */
+    public static String readClassName(Path path) throws IOException {
+        byte[] buffer = new byte[HEADER_PREFIX_SIZE];
+        int length = 0;
+        
+        try (InputStream in = Files.newInputStream(path)) {
+            while (true) {
+                int read = in.readNBytes(buffer, length, buffer.length - length);
+                length += read;
+                
+                String className = readClassName(buffer, length);
+                if (className != null) {
+                    return className;
+                }
+                if (length < buffer.length) {
+                    throw new ClassFormatException("Truncated class file header in " + path);
+                }
+                buffer = Arrays.copyOf(buffer, buffer.length * 2);
+            }
+        }
+    }
+    
+    private static int entryOffset(byte[] data, int[] offsets, int index, int tag) throws ClassFormatException {
+        if (index <= 0 || index >= offsets.length || offsets[index] == 0 || (data[offsets[index]] & 0xFF) != tag) {
+            throw new ClassFormatException("Bad constant pool reference " + index);
+        }
+        return offsets[index];
+    }
+    
+    /**
+     * Decodes an internal class name from modified UTF-8 and converts it to binary form.
+     */
+    static String decodeName(byte[] data, int offset, int length) throws ClassFormatException {
+        return decodeUtf8(data, offset, length).replace('/', '.');
+    }
+    
+    /**
+     * Decodes a modified UTF-8 constant, with a fast path for ASCII.
+     */
+    static String decodeUtf8(byte[] data, int offset, int length) throws ClassFormatException {
+        boolean ascii = true;
+        for (int i = offset; i < offset + length && ascii; i++) {
+            ascii = data[i] >= 0;
+        }
+        if (ascii) {
+            return new String(data, offset, length, StandardCharsets.ISO_8859_1);
+        }
+        
+        char[] chars = new char[length];
+        int count = 0;
+        int i = offset;
+        int end = offset + length;
+        while (i < end) {
+            int b = data[i] & 0xFF;
+            if (b < 0x80) {
+                chars[count++] = (char) b;
+                i++;
+            } else if ((b & 0xE0) == 0xC0 && i + 1 < end) {
+                chars[count++] = (char) (((b & 0x1F) << 6) | (data[i + 1] & 0x3F));
+                i += 2;
+            } else if ((b & 0xF0) == 0xE0 && i + 2 < end) {
+                chars[count++] = (char) (((b & 0x0F) << 12) | ((data[i + 1] & 0x3F) << 6) | (data[i + 2] & 0x3F));
+                i += 3;
+            } else {
+                throw new ClassFormatException("Malformed UTF-8 constant at offset " + i);
+            }
+        }
+        return new String(chars, 0, count);
+    }
+    
+    static int readUnsignedShort(byte[] data, int offset) {
+        return ((data[offset] & 0xFF) << 8) | (data[offset + 1] & 0xFF);
+    }
+    
+    static int readInt(byte[] data, int offset) {
+        return ((data[offset] & 0xFF) << 24) | ((data[offset + 1] & 0xFF) << 16) |
+               ((data[offset + 2] & 0xFF) << 8) | (data[offset + 3] & 0xFF);
+    }
+} 
\ No newline at end of file
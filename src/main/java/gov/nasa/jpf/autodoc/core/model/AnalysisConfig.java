@@ -18,7 +18,13 @@
 
 package gov.nasa.jpf.autodoc.core.model;
 
+import gov.nasa.jpf.autodoc.util.ClassNameMatcher;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
 
 /**
@@ -27,14 +33,29 @@ import java.util.Set;
  */
 public class AnalysisConfig {
     
+    /**
+     * Default number of levels of JAR/ZIP files nested in archives that are read.
+     */
+    public static final int DEFAULT_NESTED_ARCHIVE_DEPTH = 2;
+    public static final int DEFAULT_READER_THREAD_COUNT = 2;
+    public static final int DEFAULT_PARALLEL_INFLATION_THRESHOLD = 10_000;
+    
     private final boolean analyzeConfigurations;
     private final boolean analyzeTypes;
     private final boolean validateResults;
     private final boolean parallelProcessing;
     private final int threadCount;
+    private final int readerThreadCount;
     private final Set<String> includePatterns;
     private final Set<String> excludePatterns;
+    private final ClassNameMatcher includeMatcher;
+    private final ClassNameMatcher excludeMatcher;
     private final boolean verbose;
+    private final ArchiveBackend archiveBackend;
+    private final ExecutorMode executorMode;
+    private final int nestedArchiveDepth;
+    private final int parallelInflationThreshold;
+    private final List<Path> classpath;
     
     private AnalysisConfig(Builder builder) {
         this.analyzeConfigurations = builder.analyzeConfigurations;
@@ -42,9 +63,17 @@ public class AnalysisConfig {
         this.validateResults = builder.validateResults;
         this.parallelProcessing = builder.parallelProcessing;
         this.threadCount = builder.threadCount;
+        this.readerThreadCount = builder.readerThreadCount;
         this.includePatterns = new HashSet<>(builder.includePatterns);
         this.excludePatterns = new HashSet<>(builder.excludePatterns);
+        this.includeMatcher = ClassNameMatcher.compile(includePatterns);
+        this.excludeMatcher = ClassNameMatcher.compile(excludePatterns);
         this.verbose = builder.verbose;
+        this.archiveBackend = builder.archiveBackend;
+        this.executorMode = builder.executorMode;
+        this.nestedArchiveDepth = builder.nestedArchiveDepth;
+        this.parallelInflationThreshold = builder.parallelInflationThreshold;
+        this.classpath = Collections.unmodifiableList(new ArrayList<>(builder.classpath));
     }
     
     // Getters
@@ -68,6 +97,13 @@ public class AnalysisConfig {
         return threadCount;
     }
     
+    /**
+     * @return Number of threads reading class files ahead of the analysis threads
+     */
+    public int getReaderThreadCount() {
+        return readerThreadCount;
+    }
+    
     public Set<String> getIncludePatterns() {
         return new HashSet<>(includePatterns);
     }
@@ -80,6 +116,59 @@ public class AnalysisConfig {
         return verbose;
     }
     
+    public ArchiveBackend getArchiveBackend() {
+        return archiveBackend;
+    }
+    
+    /**
+     * @return How analysis work is spread over threads when parallel processing is enabled
+     */
+    public ExecutorMode getExecutorMode() {
+        return executorMode;
+    }
+    
+    public int getNestedArchiveDepth() {
+        return nestedArchiveDepth;
+    }
+    
+    /**
+     * @return Number of entries from which a JAR/ZIP file read with the JarFile
+     *         backend is inflated by several workers; 0 disables parallel inflation
+     */
+    public int getParallelInflationThreshold() {
+        return parallelInflationThreshold;
+    }
+    
+    /**
+     * @return Directories and JAR/ZIP files to resolve referenced classes against, in lookup order
+     */
+    public List<Path> getClasspath() {
+        return classpath;
+    }
+    
+    /**
+     * @return true if any include or exclude pattern is set
+     */
+    public boolean hasClassFilters() {
+        return !includeMatcher.isEmpty() || !excludeMatcher.isEmpty();
+    }
+    
+    /**
+     * Checks whether a class passes the include and exclude patterns.
+     * A class is included if it matches any include pattern (or none are set)
+     * and matches no exclude pattern. The patterns are compiled once when the
+     * configuration is built, so this is cheap enough to call per archive entry.
+     * 
+     * @param className Fully qualified class name
+     * @return true if the class should be analyzed
+     */
+    public boolean includesClass(String className) {
+        if (!includeMatcher.isEmpty() && !includeMatcher.matches(className)) {
+            return false;
+        }
+        return !excludeMatcher.matches(className);
+    }
+    
     /**
      * Builder for AnalysisConfig.
      */
@@ -89,9 +178,15 @@ public class AnalysisConfig {
         private boolean validateResults = false;
         private boolean parallelProcessing = true;
         private int threadCount = Runtime.getRuntime().availableProcessors();
+        private int readerThreadCount = DEFAULT_READER_THREAD_COUNT;
         private Set<String> includePatterns = new HashSet<>();
         private Set<String> excludePatterns = new HashSet<>();
         private boolean verbose = false;
+        private ArchiveBackend archiveBackend = ArchiveBackend.MAPPED;
+        private ExecutorMode executorMode = ExecutorMode.PLATFORM;
+        private int nestedArchiveDepth = DEFAULT_NESTED_ARCHIVE_DEPTH;
+        private int parallelInflationThreshold = DEFAULT_PARALLEL_INFLATION_THRESHOLD;
+        private List<Path> classpath = new ArrayList<>();
         
         public Builder analyzeConfigurations(boolean analyzeConfigurations) {
             this.analyzeConfigurations = analyzeConfigurations;
@@ -118,6 +213,11 @@ public class AnalysisConfig {
             return this;
         }
         
+        public Builder readerThreadCount(int readerThreadCount) {
+            this.readerThreadCount = readerThreadCount;
+            return this;
+        }
+        
         public Builder includePattern(String pattern) {
             this.includePatterns.add(pattern);
             return this;
@@ -133,6 +233,31 @@ public class AnalysisConfig {
             return this;
         }
         
+        public Builder archiveBackend(ArchiveBackend archiveBackend) {
+            this.archiveBackend = archiveBackend;
+            return this;
+        }
+        
+        public Builder executorMode(ExecutorMode executorMode) {
+            this.executorMode = executorMode;
+            return this;
+        }
+        
+        public Builder nestedArchiveDepth(int nestedArchiveDepth) {
+            this.nestedArchiveDepth = nestedArchiveDepth;
+            return this;
+        }
+        
+        public Builder parallelInflationThreshold(int parallelInflationThreshold) {
+            this.parallelInflationThreshold = parallelInflationThreshold;
+            return this;
+        }
+        
+        public Builder classpath(List<Path> classpath) {
+            this.classpath = new ArrayList<>(classpath);
+            return this;
+        }
+        
         public AnalysisConfig build() {
             return new AnalysisConfig(this);
         }
@@ -0,0 +1,36 @@
+/*
+ * Copyright (C) 2025, United States Government, as represented by the
+ * Administrator of the National Aeronautics and Space Administration.
+ * All rights reserved.
+ *
+ * The Java Pathfinder AutoDoc tool is licensed under the
+ * Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ * 
+ *        http://www.apache.org/licenses/LICENSE-2.0. 
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and 
+ * limitations under the License.
+ */
+
+package gov.nasa.jpf.autodoc.core.model;
+
+/**
+ * Backends available for reading class files from JAR and ZIP archives.
+ */
+public enum ArchiveBackend {
+    
+    /**
+     * Reads entries through {@link java.util.jar.JarFile} input streams.
+     */
+    JAR_FILE,
+    
+    /**
+     * Memory-maps the archive and inflates entries directly from the central directory.
+     * Falls back to {@link #JAR_FILE} for archive layouts it does not support.
+     */
+    MAPPED
+} 
\ No newline at end of file
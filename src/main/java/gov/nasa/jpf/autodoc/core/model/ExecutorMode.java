@@ -0,0 +1,44 @@
+/*
+ * Copyright (C) 2025, United States Government, as represented by the
+ * Administrator of the National Aeronautics and Space Administration.
+ * All rights reserved.
+ *
+ * The Java Pathfinder AutoDoc tool is licensed under the
+ * Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ * 
+ *        http://www.apache.org/licenses/LICENSE-2.0. 
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and 
+ * limitations under the License.
+ */
+package gov.nasa.jpf.autodoc.core.model;
+
+/**
+ * Ways of spreading the analysis of class files over threads.
+ * Only used when parallel processing is enabled.
+ */
+public enum ExecutorMode {
+    
+    /**
+     * Reader threads load class files while a fixed pool of analysis threads
+     * works on earlier ones, with a bounded window of class files in flight.
+     */
+    PLATFORM,
+    
+    /**
+     * As {@link #PLATFORM}, but the reader threads are virtual threads, so many
+     * class files can be read at once from slow storage such as network mounts.
+     * Needs Java 21 or later; older JVMs fall back to {@link #PLATFORM}.
+     */
+    VIRTUAL,
+    
+    /**
+     * Splits the class files recursively into chunks analyzed on a work-stealing
+     * fork/join pool, reducing the partial results of the chunks pairwise.
+     */
+    FORKJOIN
+} 
\ No newline at end of file
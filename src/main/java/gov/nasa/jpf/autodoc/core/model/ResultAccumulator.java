@@ -0,0 +1,198 @@
+/*
+ * Copyright (C) 2025, United States Government, as represented by the
+ * Administrator of the National Aeronautics and Space Administration.
+ * All rights reserved.
+ *
+ * The Java Pathfinder AutoDoc tool is licensed under the
+ * Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ * 
+ *        http://www.apache.org/licenses/LICENSE-2.0. 
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and 
+ * limitations under the License.
+ */
+package gov.nasa.jpf.autodoc.core.model;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Collects the findings of many classes analyzed concurrently, without a
+ * result object per class and without locks on the analysis threads.
+ * 
+ * Each thread appends to its own shard: an array log of findings, each
+ * tagged with the source order of its class. Sealing replays the logs of
+ * all shards into one result in source order, so where several classes
+ * report the same name the last class in source order wins, exactly as if
+ * the classes had been analyzed one after another. Nothing is allocated per
+ * class; the logs grow geometrically and hold only the findings themselves.
+ * The shards are held by the accumulator, not by the threads, so worker
+ * threads that outlive the analysis do not keep its findings reachable.
+ */
+public final class ResultAccumulator {
+    
+    private static final byte CONFIG_OPTION = 0;
+    private static final byte CONFIG_ANNOTATION = 1;
+    private static final byte CHOICE_GENERATOR = 2;
+    private static final byte LOGGER = 3;
+    private static final byte TYPE = 4;
+    private static final byte MODEL_CLASS = 5;
+    private static final byte NATIVE_PEER = 6;
+    private static final byte LISTENER = 7;
+    
+    private final Map<Thread, Shard> shards = new ConcurrentHashMap<>();
+    
+    /**
+     * Returns the calling thread's sink for the findings of one class.
+     * The sink must only be used by the calling thread, until it asks for the next class.
+     *
+     * @param sequence Position of the class in source order
+     * @return The sink
+     */
+    public ResultSink forClass(long sequence) {
+        Thread thread = Thread.currentThread();
+        Shard shard = shards.get(thread);
+        if (shard == null) {
+            // Only this thread adds its own shard, so there is no race to create it
+            shard = new Shard();
+            shards.put(thread, shard);
+        }
+        shard.sequence = sequence;
+        return shard;
+    }
+    
+    /**
+     * Replays all findings into a result in source order and drops the shards.
+     * Must only be called once all analysis threads have finished.
+     *
+     * @param result The result to add the findings to
+     * @return Number of findings replayed
+     */
+    public int sealInto(UnifiedAnalysisResult result) {
+        int total = 0;
+        for (Shard shard : shards.values()) {
+            total += shard.size;
+        }
+        
+        // The logs laid end to end, with sort keys of source order and position in the joined log;
+        // the findings of one class are consecutive in one shard, so their order is kept
+        byte[] kinds = new byte[total];
+        Object[] findings = new Object[total];
+        long[] order = new long[total];
+        int position = 0;
+        for (Shard shard : shards.values()) {
+            System.arraycopy(shard.kinds, 0, kinds, position, shard.size);
+            System.arraycopy(shard.findings, 0, findings, position, shard.size);
+            for (int i = 0; i < shard.size; i++) {
+                order[position] = shard.sequences[i] << 32 | position;
+                position++;
+            }
+        }
+        shards.clear();
+        Arrays.sort(order);
+        
+        for (long key : order) {
+            position = (int) key;
+            replay(kinds[position], findings[position], result);
+        }
+        return total;
+    }
+    
+    private static void replay(byte kind, Object finding, UnifiedAnalysisResult result) {
+        switch (kind) {
+            case CONFIG_OPTION:
+                result.addConfigOption((ConfigOption) finding);
+                break;
+            case CONFIG_ANNOTATION:
+                result.addConfigAnnotation((ConfigAnnotation) finding);
+                break;
+            case CHOICE_GENERATOR:
+                result.addChoiceGenerator((ChoiceGenerator) finding);
+                break;
+            case LOGGER:
+                result.addLogger((LoggerConfig) finding);
+                break;
+            case TYPE:
+                result.addType((TypeInfo) finding);
+                break;
+            case MODEL_CLASS:
+                result.addModelClass((ModelClass) finding);
+                break;
+            case NATIVE_PEER:
+                result.addNativePeer((NativePeer) finding);
+                break;
+            default:
+                result.addListener((Listener) finding);
+        }
+    }
+    
+    /**
+     * The findings of one thread, in the order they were added.
+     */
+    private static final class Shard implements ResultSink {
+        
+        private long sequence;
+        private long[] sequences = new long[64];
+        private byte[] kinds = new byte[64];
+        private Object[] findings = new Object[64];
+        private int size;
+        
+        private void append(byte kind, Object finding) {
+            if (size == findings.length) {
+                int capacity = size * 2;
+                sequences = Arrays.copyOf(sequences, capacity);
+                kinds = Arrays.copyOf(kinds, capacity);
+                findings = Arrays.copyOf(findings, capacity);
+            }
+            sequences[size] = sequence;
+            kinds[size] = kind;
+            findings[size] = finding;
+            size++;
+        }
+        
+        @Override
+        public void addConfigOption(ConfigOption option) {
+            append(CONFIG_OPTION, option);
+        }
+        
+        @Override
+        public void addConfigAnnotation(ConfigAnnotation annotation) {
+            append(CONFIG_ANNOTATION, annotation);
+        }
+        
+        @Override
+        public void addChoiceGenerator(ChoiceGenerator cg) {
+            append(CHOICE_GENERATOR, cg);
+        }
+        
+        @Override
+        public void addLogger(LoggerConfig logger) {
+            append(LOGGER, logger);
+        }
+        
+        @Override
+        public void addType(TypeInfo type) {
+            append(TYPE, type);
+        }
+        
+        @Override
+        public void addModelClass(ModelClass modelClass) {
+            append(MODEL_CLASS, modelClass);
+        }
+        
+        @Override
+        public void addNativePeer(NativePeer nativePeer) {
+            append(NATIVE_PEER, nativePeer);
+        }
+        
+        @Override
+        public void addListener(Listener listener) {
+            append(LISTENER, listener);
+        }
+    }
+} 
\ No newline at end of file
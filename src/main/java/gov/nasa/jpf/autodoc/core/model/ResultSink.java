@@ -0,0 +1,42 @@
+/*
+ * Copyright (C) 2025, United States Government, as represented by the
+ * Administrator of the National Aeronautics and Space Administration.
+ * All rights reserved.
+ *
+ * The Java Pathfinder AutoDoc tool is licensed under the
+ * Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ * 
+ *        http://www.apache.org/licenses/LICENSE-2.0. 
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and 
+ * limitations under the License.
+ */
+package gov.nasa.jpf.autodoc.core.model;
+
+/**
+ * Receives what the analyzers find in a single class.
+ * Implemented by {@link UnifiedAnalysisResult}, by the per-thread shards
+ * of a {@link ResultAccumulator} and by the cached findings of a class.
+ */
+public interface ResultSink {
+    
+    void addConfigOption(ConfigOption option);
+    
+    void addConfigAnnotation(ConfigAnnotation annotation);
+    
+    void addChoiceGenerator(ChoiceGenerator cg);
+    
+    void addLogger(LoggerConfig logger);
+    
+    void addType(TypeInfo type);
+    
+    void addModelClass(ModelClass modelClass);
+    
+    void addNativePeer(NativePeer nativePeer);
+    
+    void addListener(Listener listener);
+} 
\ No newline at end of file
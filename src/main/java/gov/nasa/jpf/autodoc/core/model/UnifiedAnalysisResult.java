@@ -25,7 +25,7 @@ import java.util.concurrent.ConcurrentHashMap;
  * Unified analysis result containing all extracted information from both
  * configuration analysis and type hierarchy analysis.
  */
-public class UnifiedAnalysisResult {
+public class UnifiedAnalysisResult implements ResultSink {
     
     // Configuration analysis results
     private final Map<String, ConfigOption> configOptions;
@@ -43,6 +43,9 @@ public class UnifiedAnalysisResult {
     private final Map<String, CrossReference> crossReferences;
     private ValidationReport validationReport;
     
+    // Byte-identical copies of already analyzed classes that were skipped
+    private int duplicateClassCount;
+    
     // Metadata
     private final Date analysisDate;
     private final String sourcePath;
@@ -64,35 +67,43 @@ public class UnifiedAnalysisResult {
     }
     
     // Configuration analysis methods
+    @Override
     public void addConfigOption(ConfigOption option) {
         configOptions.put(option.getName(), option);
     }
     
+    @Override
     public void addConfigAnnotation(ConfigAnnotation annotation) {
         configAnnotations.put(annotation.getName(), annotation);
     }
     
+    @Override
     public void addChoiceGenerator(ChoiceGenerator cg) {
         choiceGenerators.put(cg.getName(), cg);
     }
     
+    @Override
     public void addLogger(LoggerConfig logger) {
         loggers.put(logger.getName(), logger);
     }
     
     // Type hierarchy analysis methods
+    @Override
     public void addType(TypeInfo type) {
         types.put(type.getName(), type);
     }
     
+    @Override
     public void addModelClass(ModelClass modelClass) {
         modelClasses.put(modelClass.getName(), modelClass);
     }
     
+    @Override
     public void addNativePeer(NativePeer nativePeer) {
         nativePeers.put(nativePeer.getName(), nativePeer);
     }
     
+    @Override
     public void addListener(Listener listener) {
         listeners.put(listener.getName(), listener);
     }
@@ -138,6 +149,8 @@ public class UnifiedAnalysisResult {
         // Merge cross references
         crossReferences.putAll(other.crossReferences);
         
+        duplicateClassCount += other.duplicateClassCount;
+        
         // Merge validation reports (keep the one with more issues)
         if (other.validationReport != null) {
             if (this.validationReport == null || 
@@ -200,6 +213,19 @@ public class UnifiedAnalysisResult {
         return config;
     }
     
+    public int getDuplicateClassCount() {
+        return duplicateClassCount;
+    }
+    
+    /**
+     * Records class files that were skipped because a byte-identical copy was analyzed.
+     *
+     * @param count Number of skipped class files
+     */
+    public void addDuplicateClasses(int count) {
+        duplicateClassCount += count;
+    }
+    
     // Utility methods
     public boolean hasConfigurations() {
         return !configOptions.isEmpty() || !configAnnotations.isEmpty();
@@ -230,6 +256,7 @@ public class UnifiedAnalysisResult {
                 ", modelClasses=" + modelClasses.size() +
                 ", nativePeers=" + nativePeers.size() +
                 ", listeners=" + listeners.size() +
+                ", duplicateClasses=" + duplicateClassCount +
                 ", sourcePath='" + sourcePath + '\'' +
                 '}';
     }
@@ -19,7 +19,12 @@
 package gov.nasa.jpf.autodoc.options;
 
 import gov.nasa.jpf.autodoc.core.ClassFile;
-import gov.nasa.jpf.autodoc.core.model.UnifiedAnalysisResult;
+import gov.nasa.jpf.autodoc.core.ParsedClass;
+import gov.nasa.jpf.autodoc.core.bytecode.AnnotationScanner;
+import gov.nasa.jpf.autodoc.core.bytecode.CallSiteScanner;
+import gov.nasa.jpf.autodoc.core.bytecode.ClassFileScanner;
+import gov.nasa.jpf.autodoc.core.bytecode.ClassFormatException;
+import gov.nasa.jpf.autodoc.core.model.ResultSink;
 import gov.nasa.jpf.autodoc.core.model.ConfigOption;
 import gov.nasa.jpf.autodoc.core.model.ConfigAnnotation;
 import gov.nasa.jpf.autodoc.core.model.ChoiceGenerator;
@@ -34,28 +39,29 @@ import java.util.regex.Pattern;
 public class ConfigurationAnalyzer {
     
     // JPF-specific patterns
-    private static final Pattern JPF_OPTION_PATTERN = Pattern.compile("@JPFOption");
-    private static final Pattern CONFIG_OPTION_PATTERN = Pattern.compile("get(\\w+)Option");
+    private static final String JPF_OPTION_ANNOTATION = "gov.nasa.jpf.annotation.JPFOption";
+    private static final String CONFIG_CLASS = "gov.nasa.jpf.Config";
     private static final Pattern CHOICE_GENERATOR_PATTERN = Pattern.compile("ChoiceGenerator");
     private static final Pattern LOGGER_PATTERN = Pattern.compile("Logger");
     
-    // JPF package patterns
-    private static final Pattern JPF_PACKAGE_PATTERN = Pattern.compile("gov\\.nasa\\.jpf");
+    public void analyze(ClassFile classFile, ResultSink result) {
+        analyze(new ParsedClass(classFile), result);
+    }
     
-    public void analyze(ClassFile classFile, UnifiedAnalysisResult result) {
+    public void analyze(ParsedClass parsedClass, ResultSink result) {
+        ClassFile classFile = parsedClass.getClassFile();
         try {
             // Skip non-JPF classes
-            if (!isJPFClass(classFile)) {
+            if (!parsedClass.isJPFClass()) {
                 return;
             }
             
-            System.out.println("DEBUG: Analyzing JPF class: " + classFile.getClassName());
-            
-            // Analyze configuration options
-            analyzeConfigurationOptions(classFile, result);
-            
-            // Analyze JPF annotations
-            analyzeJPFAnnotations(classFile, result);
+            // Options and annotations are read from the class bytes, scanned once for both
+            ClassFileScanner scanner = scan(parsedClass);
+            if (scanner != null) {
+                analyzeConfigurationOptions(classFile, scanner, result);
+                analyzeJPFAnnotations(classFile, scanner, result);
+            }
             
             // Analyze choice generators
             analyzeChoiceGenerators(classFile, result);
@@ -69,54 +75,92 @@ public class ConfigurationAnalyzer {
         }
     }
     
-    private boolean isJPFClass(ClassFile classFile) {
-        String className = classFile.getClassName();
-        // Be more lenient - accept any class in the JPF package
-        return className.startsWith("gov.nasa.jpf");
+    private ClassFileScanner scan(ParsedClass parsedClass) {
+        try {
+            return parsedClass.getScanner();
+        } catch (ClassFormatException e) {
+            System.err.println("Warning: Could not read class file of " + parsedClass.getClassName() + ": " + e.getMessage());
+            return null;
+        }
     }
     
-    private void analyzeConfigurationOptions(ClassFile classFile, UnifiedAnalysisResult result) {
+    private void analyzeConfigurationOptions(ClassFile classFile, ClassFileScanner scanner, ResultSink result) {
         String className = classFile.getClassName();
         
-        // Look for configuration option patterns in the class
-        // This is a simplified implementation - in practice, we'd use JPF's ClassFile framework
-        // to parse the bytecode and extract method signatures
-        
-        // Example: Look for methods that might be configuration options
-        if (className.contains("Config") || className.contains("Option") || className.contains("Event")) {
-            // This is a configuration-related class
-            ConfigOption option = new ConfigOption(
-                extractOptionName(className),
-                className,
-                "String", // Default type
-                "get" + extractOptionName(className) + "Option"
-            );
-            
-            result.addConfigOption(option);
-            System.out.println("DEBUG: Added config option: " + option.getName());
+        // Config keys are the constant strings passed to Config getters, e.g. getInt("search.depth_limit", 42).
+        // Classes that never call Config are rejected from the constant pool alone.
+        try {
+            for (CallSiteScanner.CallSite call : CallSiteScanner.find(scanner, CONFIG_CLASS)) {
+                String getter = call.getMethodName();
+                if (!getter.startsWith("get") || getter.length() == 3 || call.getArgumentCount() == 0 ||
+                    !call.getMethodDescriptor().startsWith("(Ljava/lang/String;")) {
+                    continue;
+                }
+                String key = call.getConstantArgument(0);
+                if (key == null) {
+                    continue;
+                }
+                
+                // The getter names the option type, e.g. getBoolean -> Boolean, as in @JPFOption
+                String type = getter.substring(3);
+                ConfigOption option = new ConfigOption(key, className, type, getter);
+                String defaultValue = call.getArgumentCount() > 1 ? call.getConstantArgument(1) : null;
+                if (defaultValue != null) {
+                    option.addValue(new ConfigOption.Value(defaultValue, type, true));
+                }
+                
+                result.addConfigOption(option);
+            }
+        } catch (ClassFormatException e) {
+            System.err.println("Warning: Could not read Config calls of " + className + ": " + e.getMessage());
         }
     }
     
-    private void analyzeJPFAnnotations(ClassFile classFile, UnifiedAnalysisResult result) {
+    private void analyzeJPFAnnotations(ClassFile classFile, ClassFileScanner scanner, ResultSink result) {
         String className = classFile.getClassName();
         
-        // Look for classes with JPF annotations
-        // In practice, we'd parse the class file to find annotations
-        if (className.contains("Option") || className.contains("Config")) {
-            ConfigAnnotation annotation = new ConfigAnnotation(
-                extractOptionName(className),
-                className,
-                "String", // Default type
-                "default", // Default value
-                "JPF configuration option", // Comment
-                "JPFOption"
-            );
-            
-            result.addConfigAnnotation(annotation);
+        // Only the annotation attributes of fields and methods are read; method bodies are skipped
+        try {
+            for (AnnotationScanner.Annotation option : AnnotationScanner.find(scanner, JPF_OPTION_ANNOTATION)) {
+                String key = option.getValue("key");
+                String type = option.getValue("type");
+                String defaultValue = option.getValue("defaultValue");
+                String comment = option.getValue("comment");
+                
+                ConfigAnnotation annotation = new ConfigAnnotation(
+                    key != null ? key : option.getMemberName(),
+                    className,
+                    type != null ? type : typeOfDescriptor(option.getMemberDescriptor()),
+                    defaultValue != null ? defaultValue : "",
+                    comment != null ? comment : "",
+                    "JPFOption"
+                );
+                
+                result.addConfigAnnotation(annotation);
+            }
+        } catch (ClassFormatException e) {
+            System.err.println("Warning: Could not read annotations of " + className + ": " + e.getMessage());
         }
     }
     
-    private void analyzeChoiceGenerators(ClassFile classFile, UnifiedAnalysisResult result) {
+    private String typeOfDescriptor(String descriptor) {
+        // Field descriptors give the option type; for methods the return type is used
+        String type = descriptor.substring(descriptor.indexOf(')') + 1);
+        switch (type.charAt(0)) {
+            case 'Z': return "boolean";
+            case 'B': return "byte";
+            case 'C': return "char";
+            case 'S': return "short";
+            case 'I': return "int";
+            case 'J': return "long";
+            case 'F': return "float";
+            case 'D': return "double";
+            case 'L': return type.substring(type.lastIndexOf('/') + 1, type.length() - 1);
+            default: return type;
+        }
+    }
+    
+    private void analyzeChoiceGenerators(ClassFile classFile, ResultSink result) {
         String className = classFile.getClassName();
         
         // Look for choice generator classes
@@ -132,7 +176,7 @@ public class ConfigurationAnalyzer {
         }
     }
     
-    private void analyzeLoggers(ClassFile classFile, UnifiedAnalysisResult result) {
+    private void analyzeLoggers(ClassFile classFile, ResultSink result) {
         String className = classFile.getClassName();
         
         // Look for logger classes
@@ -147,14 +191,6 @@ public class ConfigurationAnalyzer {
         }
     }
     
-    private String extractOptionName(String className) {
-        // Extract option name from class name
-        // Example: "ConfigOption" -> "config"
-        String name = className.replaceAll(".*\\.", ""); // Remove package
-        name = name.replaceAll("Config|Option|JPF", ""); // Remove common suffixes
-        return name.isEmpty() ? "unknown" : name.toLowerCase();
-    }
-    
     private String extractChoiceGeneratorName(String className) {
         // Extract choice generator name from class name
         String name = className.replaceAll(".*\\.", ""); // Remove package
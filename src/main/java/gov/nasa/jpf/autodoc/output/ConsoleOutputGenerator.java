@@ -138,6 +138,9 @@ public class ConsoleOutputGenerator implements OutputGenerator {
             out.println("Total Native Peers: " + result.getNativePeers().size());
             out.println("Total Listeners: " + result.getListeners().size());
             out.println("Total Cross References: " + result.getCrossReferences().size());
+            if (result.getDuplicateClassCount() > 0) {
+                out.println("Duplicate Classes Skipped: " + result.getDuplicateClassCount());
+            }
             
         } catch (Exception e) {
             throw new OutputGenerationException("Failed to generate console output", e);
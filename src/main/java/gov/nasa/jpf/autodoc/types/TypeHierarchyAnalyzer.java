@@ -19,17 +19,24 @@
 package gov.nasa.jpf.autodoc.types;
 
 import gov.nasa.jpf.autodoc.core.ClassFile;
-import gov.nasa.jpf.autodoc.core.model.UnifiedAnalysisResult;
+import gov.nasa.jpf.autodoc.core.ClasspathResolver;
+import gov.nasa.jpf.autodoc.core.ParsedClass;
+import gov.nasa.jpf.autodoc.core.bytecode.ClassFileScanner;
+import gov.nasa.jpf.autodoc.core.bytecode.ClassFormatException;
+import gov.nasa.jpf.autodoc.core.model.ResultSink;
 import gov.nasa.jpf.autodoc.core.model.TypeInfo;
 import gov.nasa.jpf.autodoc.core.model.ModelClass;
 import gov.nasa.jpf.autodoc.core.model.NativePeer;
 import gov.nasa.jpf.autodoc.core.model.Listener;
 
+import java.io.IOException;
 import java.util.regex.Pattern;
 
 /**
  * Analyzes JPF type hierarchies from class files.
  * Extracts type information, inheritance relationships, and JPF-specific types.
+ * Given a classpath, the ancestors of a type are followed into classes outside
+ * the analyzed target, such as the jpf-core classes an extension builds on.
  */
 public class TypeHierarchyAnalyzer {
     
@@ -39,18 +46,30 @@ public class TypeHierarchyAnalyzer {
     private static final Pattern NATIVE_PEER_PATTERN = Pattern.compile("NativePeer");
     private static final Pattern MODEL_CLASS_PATTERN = Pattern.compile("Model");
     
-    // JPF package patterns
-    private static final Pattern JPF_PACKAGE_PATTERN = Pattern.compile("gov\\.nasa\\.jpf");
+    // Guards against superclass cycles in malformed classpaths
+    private static final int MAX_ANCESTORS = 64;
     
-    public void analyze(ClassFile classFile, UnifiedAnalysisResult result) {
+    public void analyze(ClassFile classFile, ResultSink result) {
+        analyze(new ParsedClass(classFile), result);
+    }
+    
+    public void analyze(ParsedClass parsedClass, ResultSink result) {
+        analyze(parsedClass, result, null);
+    }
+    
+    /**
+     * @param classpath Resolver to look up superclasses outside the target, or null to record only direct superclasses
+     */
+    public void analyze(ParsedClass parsedClass, ResultSink result, ClasspathResolver classpath) {
+        ClassFile classFile = parsedClass.getClassFile();
         try {
             // Skip non-JPF classes
-            if (!isJPFClass(classFile)) {
+            if (!parsedClass.isJPFClass()) {
                 return;
             }
             
             // Analyze type information
-            analyzeTypeInfo(classFile, result);
+            analyzeTypeInfo(parsedClass, result, classpath);
             
             // Analyze model classes
             analyzeModelClasses(classFile, result);
@@ -67,37 +86,57 @@ public class TypeHierarchyAnalyzer {
         }
     }
     
-    private boolean isJPFClass(ClassFile classFile) {
-        String className = classFile.getClassName();
-        return JPF_PACKAGE_PATTERN.matcher(className).find();
-    }
-    
-    private void analyzeTypeInfo(ClassFile classFile, UnifiedAnalysisResult result) {
-        String className = classFile.getClassName();
+    private void analyzeTypeInfo(ParsedClass parsedClass, ResultSink result, ClasspathResolver classpath) {
+        String className = parsedClass.getClassName();
         
         // Determine the type classification
         String type = determineTypeClassification(className);
         
         if (type != null) {
-            TypeInfo typeInfo = new TypeInfo(
-                className,
-                extractSuperClassName(className), // Simplified - would use JPF ClassFile framework
-                type
-            );
-            
-            // Add interfaces (simplified)
-            typeInfo.addInterface("java.io.Serializable");
-            
-            // Add methods (simplified)
-            typeInfo.addMethod("toString");
-            typeInfo.addMethod("equals");
-            typeInfo.addMethod("hashCode");
-            
-            result.addType(typeInfo);
+            try {
+                ClassFileScanner scanner = parsedClass.getScanner();
+                String superName = scanner.getSuperClassName();
+                TypeInfo typeInfo = new TypeInfo(className, superName != null ? superName : "java.lang.Object", type);
+                
+                for (int i = 0; i < scanner.getInterfaceCount(); i++) {
+                    typeInfo.addInterface(scanner.getInterfaceName(i));
+                }
+                
+                // Constructors and static initializers are not part of the documented method set
+                for (int i = 0; i < scanner.getMethodCount(); i++) {
+                    if (!scanner.isInitializer(i)) {
+                        typeInfo.addMethod(scanner.getMethodName(i));
+                    }
+                }
+                
+                if (classpath != null && superName != null) {
+                    addAncestors(typeInfo, superName, classpath);
+                }
+                
+                result.addType(typeInfo);
+            } catch (ClassFormatException e) {
+                System.err.println("Warning: Could not read type information of " + className + ": " + e.getMessage());
+            }
+        }
+    }
+    
+    /**
+     * Records the superclass chain of a type, nearest first, as far as the classpath knows it.
+     */
+    private void addAncestors(TypeInfo typeInfo, String superName, ClasspathResolver classpath) {
+        String ancestor = superName;
+        for (int depth = 0; ancestor != null && depth < MAX_ANCESTORS; depth++) {
+            typeInfo.addAncestor(ancestor);
+            try {
+                ancestor = classpath.findSuperClassName(ancestor);
+            } catch (IOException e) {
+                System.err.println("Warning: Could not read " + ancestor + " from the classpath: " + e.getMessage());
+                return;
+            }
         }
     }
     
-    private void analyzeModelClasses(ClassFile classFile, UnifiedAnalysisResult result) {
+    private void analyzeModelClasses(ClassFile classFile, ResultSink result) {
         String className = classFile.getClassName();
         
         // Look for model classes
@@ -113,7 +152,7 @@ public class TypeHierarchyAnalyzer {
         }
     }
     
-    private void analyzeNativePeers(ClassFile classFile, UnifiedAnalysisResult result) {
+    private void analyzeNativePeers(ClassFile classFile, ResultSink result) {
         String className = classFile.getClassName();
         
         // Look for native peer classes
@@ -128,7 +167,7 @@ public class TypeHierarchyAnalyzer {
         }
     }
     
-    private void analyzeListeners(ClassFile classFile, UnifiedAnalysisResult result) {
+    private void analyzeListeners(ClassFile classFile, ResultSink result) {
         String className = classFile.getClassName();
         
         // Look for listener classes
@@ -172,24 +211,6 @@ public class TypeHierarchyAnalyzer {
         }
     }
     
-    private String extractSuperClassName(String className) {
-        // Simplified - in practice, we'd use JPF's ClassFile framework
-        // to get the actual superclass from the class file
-        
-        // Common JPF inheritance patterns
-        if (className.contains("Listener")) {
-            return "gov.nasa.jpf.Listener";
-        } else if (className.contains("InstructionFactory")) {
-            return "gov.nasa.jpf.InstructionFactory";
-        } else if (className.contains("NativePeer")) {
-            return "gov.nasa.jpf.NativePeer";
-        } else if (className.contains("ChoiceGenerator")) {
-            return "gov.nasa.jpf.ChoiceGenerator";
-        }
-        
-        return "java.lang.Object";
-    }
-    
     private String extractStandardClassName(String className) {
         // Extract the standard class name that this model class represents
         // Example: "java.lang.StringModel" -> "java.lang.String"
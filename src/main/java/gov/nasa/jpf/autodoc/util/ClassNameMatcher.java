@@ -0,0 +1,391 @@
+/*
+ * Copyright (C) 2025, United States Government, as represented by the
+ * Administrator of the National Aeronautics and Space Administration.
+ * All rights reserved.
+ *
+ * The Java Pathfinder AutoDoc tool is licensed under the
+ * Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ * 
+ *        http://www.apache.org/licenses/LICENSE-2.0. 
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and 
+ * limitations under the License.
+ */
+package gov.nasa.jpf.autodoc.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * Matches class names against a set of regular expressions that is compiled once.
+ * A name matches if it fully matches any of the patterns, exactly as with
+ * {@link String#matches(String)}, but common pattern shapes avoid the regex engine:
+ * <ul>
+ * <li>literal names and literal package prefixes such as {@code gov\.nasa\.jpf\.vm\..*}
+ *     are stored in a prefix trie;</li>
+ * <li>patterns built only from literals, {@code .} and {@code .*}, such as
+ *     {@code gov.nasa.jpf.*Listener}, are combined into one automaton that is
+ *     determinized lazily as names are matched;</li>
+ * <li>all other patterns are combined into a single alternation regex.</li>
+ * </ul>
+ * Instances are immutable and safe for concurrent use.
+ */
+public final class ClassNameMatcher implements Predicate<String> {
+    
+    private static final ClassNameMatcher EMPTY = new ClassNameMatcher(null, null, null);
+    
+    private final TrieNode trie;
+    private final GlobAutomaton automaton;
+    private final Pattern regex;
+    
+    private ClassNameMatcher(TrieNode trie, GlobAutomaton automaton, Pattern regex) {
+        this.trie = trie;
+        this.automaton = automaton;
+        this.regex = regex;
+    }
+    
+    /**
+     * Compiles a set of class name patterns.
+     *
+     * @param patterns Java regular expressions matched against fully qualified class names
+     * @return The matcher; matches nothing if there are no patterns
+     * @throws java.util.regex.PatternSyntaxException if a pattern is not a valid regular expression
+     */
+    public static ClassNameMatcher compile(Collection<String> patterns) {
+        if (patterns.isEmpty()) {
+            return EMPTY;
+        }
+        
+        TrieNode trie = null;
+        List<int[]> globs = new ArrayList<>();
+        List<String> regexes = new ArrayList<>();
+        
+        for (String pattern : patterns) {
+            int[] tokens = GlobAutomaton.tokenize(pattern);
+            if (tokens == null) {
+                regexes.add(pattern);
+                continue;
+            }
+            
+            int wildcards = 0;
+            for (int token : tokens) {
+                if (token < 0) {
+                    wildcards++;
+                }
+            }
+            boolean literal = wildcards == 0;
+            boolean literalPrefix = wildcards == 1 && tokens[tokens.length - 1] == GlobAutomaton.STAR;
+            
+            if (literal || literalPrefix) {
+                if (trie == null) {
+                    trie = new TrieNode();
+                }
+                trie.add(tokens, literalPrefix ? tokens.length - 1 : tokens.length, literalPrefix);
+            } else {
+                globs.add(tokens);
+            }
+        }
+        
+        GlobAutomaton automaton = globs.isEmpty() ? null : new GlobAutomaton(globs);
+        Pattern regex = regexes.isEmpty() ? null : Pattern.compile(
+            regexes.stream().map(pattern -> "(?:" + pattern + ")").collect(Collectors.joining("|")));
+        return new ClassNameMatcher(trie, automaton, regex);
+    }
+    
+    /**
+     * Compiles a single class name pattern.
+     *
+     * @param pattern Java regular expression matched against fully qualified class names
+     * @return The matcher
+     */
+    public static ClassNameMatcher compile(String pattern) {
+        return compile(Collections.singletonList(pattern));
+    }
+    
+    /**
+     * Checks whether a class name fully matches any of the patterns.
+     *
+     * @param className Fully qualified class name
+     * @return true if any pattern matches
+     */
+    public boolean matches(String className) {
+        return (trie != null && trie.matches(className)) ||
+               (automaton != null && automaton.matches(className)) ||
+               (regex != null && regex.matcher(className).matches());
+    }
+    
+    @Override
+    public boolean test(String className) {
+        return matches(className);
+    }
+    
+    /**
+     * @return true if the matcher was compiled from no patterns and matches nothing
+     */
+    public boolean isEmpty() {
+        return trie == null && automaton == null && regex == null;
+    }
+    
+    // As in java.util.regex, '.' does not match line terminators unless DOTALL is set
+    private static boolean isLineTerminator(char c) {
+        return c == '\n' || c == '\r' || c == 0x85 || c == 0x2028 || c == 0x2029;
+    }
+    
+    /**
+     * Prefix trie over literal names (exact) and literal prefixes followed by ".*".
+     */
+    private static final class TrieNode {
+        
+        private char[] keys = new char[0];
+        private TrieNode[] children = new TrieNode[0];
+        private boolean exact;
+        private boolean prefix;
+        
+        void add(int[] tokens, int length, boolean isPrefix) {
+            TrieNode node = this;
+            for (int i = 0; i < length; i++) {
+                char c = (char) tokens[i];
+                TrieNode child = node.child(c);
+                if (child == null) {
+                    child = new TrieNode();
+                    node.keys = Arrays.copyOf(node.keys, node.keys.length + 1);
+                    node.children = Arrays.copyOf(node.children, node.children.length + 1);
+                    node.keys[node.keys.length - 1] = c;
+                    node.children[node.children.length - 1] = child;
+                }
+                node = child;
+            }
+            if (isPrefix) {
+                node.prefix = true;
+            } else {
+                node.exact = true;
+            }
+        }
+        
+        boolean matches(String name) {
+            TrieNode node = this;
+            for (int i = 0; ; i++) {
+                if (node.prefix && hasNoLineTerminator(name, i)) {
+                    return true;
+                }
+                if (i == name.length()) {
+                    return node.exact;
+                }
+                node = node.child(name.charAt(i));
+                if (node == null) {
+                    return false;
+                }
+            }
+        }
+        
+        private TrieNode child(char c) {
+            for (int i = 0; i < keys.length; i++) {
+                if (keys[i] == c) {
+                    return children[i];
+                }
+            }
+            return null;
+        }
+        
+        private static boolean hasNoLineTerminator(String name, int from) {
+            for (int i = from; i < name.length(); i++) {
+                if (isLineTerminator(name.charAt(i))) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+    
+    /**
+     * Combined automaton over patterns made of literals, "." and ".*".
+     * The patterns form one NFA whose positions are indices into a flat token
+     * array; DFA states (sets of positions) are built on demand and their ASCII
+     * transitions cached, so steady-state matching is one array lookup per character.
+     */
+    private static final class GlobAutomaton {
+        
+        static final int ANY = -1;
+        static final int STAR = -2;
+        static final int END = -3;
+        
+        // Bounds the memory of the lazily built DFA; beyond it states are not cached
+        private static final int MAX_CACHED_STATES = 4096;
+        
+        private final int[] tokens;
+        private final State start;
+        private final State dead;
+        private final Map<BitSet, State> states = new ConcurrentHashMap<>();
+        
+        GlobAutomaton(List<int[]> patterns) {
+            int length = 0;
+            for (int[] pattern : patterns) {
+                length += pattern.length + 1;
+            }
+            
+            tokens = new int[length];
+            int position = 0;
+            for (int[] pattern : patterns) {
+                System.arraycopy(pattern, 0, tokens, position, pattern.length);
+                position += pattern.length;
+                tokens[position++] = END;
+            }
+            
+            BitSet initial = new BitSet(length);
+            position = 0;
+            for (int[] pattern : patterns) {
+                addClosure(initial, position);
+                position += pattern.length + 1;
+            }
+            
+            dead = new State(new BitSet(), false);
+            Arrays.fill(dead.next, dead);
+            states.put(dead.positions, dead);
+            start = intern(initial);
+        }
+        
+        /**
+         * Splits a regular expression into literal, "." and ".*" tokens.
+         *
+         * @return The tokens (literal characters are non-negative), or null if the
+         *         pattern uses any other regex feature
+         */
+        static int[] tokenize(String pattern) {
+            int[] result = new int[pattern.length() + 1];
+            int count = 0;
+            int i = 0;
+            
+            while (i < pattern.length()) {
+                char c = pattern.charAt(i);
+                if (c == '\\') {
+                    // Only escaped punctuation is a plain literal; \d, \Q, \1 etc. are not
+                    if (i + 1 == pattern.length() || Character.isLetterOrDigit(pattern.charAt(i + 1))) {
+                        return null;
+                    }
+                    result[count++] = pattern.charAt(i + 1);
+                    i += 2;
+                } else if (c == '.') {
+                    char next = i + 1 < pattern.length() ? pattern.charAt(i + 1) : 0;
+                    if (next == '*' || next == '+') {
+                        if (next == '+') {
+                            result[count++] = ANY;
+                        }
+                        if (count == 0 || result[count - 1] != STAR) {
+                            result[count++] = STAR;
+                        }
+                        i += 2;
+                    } else {
+                        result[count++] = ANY;
+                        i++;
+                    }
+                } else if ("^$|?*+()[]{}".indexOf(c) >= 0) {
+                    return null;
+                } else {
+                    result[count++] = c;
+                    i++;
+                }
+                
+                // A following quantifier would apply to the last token
+                if (i < pattern.length() && "*+?{".indexOf(pattern.charAt(i)) >= 0) {
+                    return null;
+                }
+            }
+            
+            return Arrays.copyOf(result, count);
+        }
+        
+        boolean matches(String name) {
+            State state = start;
+            for (int i = 0; i < name.length() && state != dead; i++) {
+                state = transition(state, name.charAt(i));
+            }
+            return state.accepting;
+        }
+        
+        private State transition(State state, char c) {
+            if (c < State.CACHED_CHARS) {
+                State next = state.next[c];
+                if (next == null) {
+                    next = intern(step(state.positions, c));
+                    state.next[c] = next;
+                }
+                return next;
+            }
+            return intern(step(state.positions, c));
+        }
+        
+        private BitSet step(BitSet positions, char c) {
+            BitSet next = new BitSet(tokens.length);
+            boolean wildcardMatches = !isLineTerminator(c);
+            
+            for (int p = positions.nextSetBit(0); p >= 0; p = positions.nextSetBit(p + 1)) {
+                int token = tokens[p];
+                if (token == STAR) {
+                    if (wildcardMatches) {
+                        addClosure(next, p);
+                    }
+                } else if (token == ANY ? wildcardMatches : token == c) {
+                    addClosure(next, p + 1);
+                }
+            }
+            return next;
+        }
+        
+        private void addClosure(BitSet positions, int position) {
+            positions.set(position);
+            // ".*" may match the empty string
+            while (tokens[position] == STAR) {
+                positions.set(++position);
+            }
+        }
+        
+        private State intern(BitSet positions) {
+            State state = states.get(positions);
+            if (state != null) {
+                return state;
+            }
+            
+            boolean accepting = false;
+            for (int p = positions.nextSetBit(0); p >= 0 && !accepting; p = positions.nextSetBit(p + 1)) {
+                accepting = tokens[p] == END;
+            }
+            state = new State(positions, accepting);
+            if (states.size() >= MAX_CACHED_STATES) {
+                return state;
+            }
+            State existing = states.putIfAbsent(positions, state);
+            return existing != null ? existing : state;
+        }
+        
+        /**
+         * A DFA state. Transitions are filled in racily by matching threads; a
+         * lost update only means a state is computed again.
+         */
+        private static final class State {
+            
+            static final int CACHED_CHARS = 128;
+            
+            final BitSet positions;
+            final boolean accepting;
+            final State[] next = new State[CACHED_CHARS];
+            
+            State(BitSet positions, boolean accepting) {
+                this.positions = positions;
+                this.accepting = accepting;
+            }
+        }
+    }
+} 
\ No newline at end of file
@@ -0,0 +1,46 @@
+/*
+ * Copyright (C) 2025, United States Government, as represented by the
+ * Administrator of the National Aeronautics and Space Administration.
+ * All rights reserved.
+ *
+ * The Java Pathfinder AutoDoc tool is licensed under the
+ * Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ * 
+ *        http://www.apache.org/licenses/LICENSE-2.0. 
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and 
+ * limitations under the License.
+ */
+
+package gov.nasa.jpf.autodoc.core;
+
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * Creates virtual threads for I/O-bound work.
+ * This is the Java 21 version of the class, picked from META-INF/versions/21
+ * of the multi-release jar on Java 21 and later.
+ */
+final class VirtualThreads {
+    
+    private VirtualThreads() {
+    }
+    
+    /**
+     * @return Whether this JVM runs virtual threads
+     */
+    static boolean isSupported() {
+        return true;
+    }
+    
+    /**
+     * Creates a factory of virtual threads named after a prefix and a counter.
+     */
+    static ThreadFactory newThreadFactory(String name) {
+        return Thread.ofVirtual().name(name + "-", 1).factory();
+    }
+} 
\ No newline at end of file
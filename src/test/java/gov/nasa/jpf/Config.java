@@ -0,0 +1,66 @@
+/*
+ * Copyright (C) 2025, United States Government, as represented by the
+ * Administrator of the National Aeronautics and Space Administration.
+ * All rights reserved.
+ *
+ * The Java Pathfinder AutoDoc tool is licensed under the
+ * Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ * 
+ *        http://www.apache.org/licenses/LICENSE-2.0. 
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and 
+ * limitations under the License.
+ */
+package gov.nasa.jpf;
+
+import java.util.Properties;
+
+/**
+ * Test stand-in for the jpf-core configuration, with the getters whose call
+ * sites the configuration analysis looks for.
+ */
+public class Config extends Properties {
+    
+    private static final long serialVersionUID = 1L;
+    
+    public String getString(String key) {
+        return getProperty(key);
+    }
+    
+    public String getString(String key, String defValue) {
+        return getProperty(key, defValue);
+    }
+    
+    public int getInt(String key, int defValue) {
+        String value = getProperty(key);
+        return value != null ? Integer.parseInt(value) : defValue;
+    }
+    
+    public long getLong(String key, long defValue) {
+        String value = getProperty(key);
+        return value != null ? Long.parseLong(value) : defValue;
+    }
+    
+    public double getDouble(String key, double defValue) {
+        String value = getProperty(key);
+        return value != null ? Double.parseDouble(value) : defValue;
+    }
+    
+    public boolean getBoolean(String key, boolean defValue) {
+        String value = getProperty(key);
+        return value != null ? Boolean.parseBoolean(value) : defValue;
+    }
+    
+    public char getChar(String key, char defValue) {
+        String value = getProperty(key);
+        return value != null && !value.isEmpty() ? value.charAt(0) : defValue;
+    }
+    
+    public <T> T getInstance(String key, Class<T> type) {
+        return null;
+    }
+} 
\ No newline at end of file
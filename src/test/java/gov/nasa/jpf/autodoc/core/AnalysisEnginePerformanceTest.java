@@ -0,0 +1,113 @@
+/*
+ * Copyright (C) 2025, United States Government, as represented by the
+ * Administrator of the National Aeronautics and Space Administration.
+ * All rights reserved.
+ *
+ * The Java Pathfinder AutoDoc tool is licensed under the
+ * Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ * 
+ *        http://www.apache.org/licenses/LICENSE-2.0. 
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and 
+ * limitations under the License.
+ */
+
+package gov.nasa.jpf.autodoc.core;
+
+import gov.nasa.jpf.autodoc.core.model.AnalysisConfig;
+import gov.nasa.jpf.autodoc.core.model.ExecutorMode;
+import gov.nasa.jpf.autodoc.core.model.UnifiedAnalysisResult;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Measures the per-target overhead of analyzing many small extension jars with a
+ * new engine per target against one engine reused for all targets.
+ * Run with ./gradlew performanceTest; the number of jars can be raised with
+ * -Dautodoc.bench.targets=N.
+ */
+public class AnalysisEnginePerformanceTest {
+    
+    private static final int TARGETS = Integer.getInteger("autodoc.bench.targets", 50);
+    private static final int ROUNDS = Integer.getInteger("autodoc.bench.rounds", 5);
+    
+    // Classes of this tool stand in for the classes of a JPF extension
+    private static final Class<?>[] EXTENSION_CLASSES = {
+        AnalysisEngine.class, ArchiveFileReader.class, ClassFile.class, ClassFileSource.class,
+        DefaultAnalysisEngine.class, IngestionPipeline.class, LazyClassFile.class, ParsedClass.class,
+        AnalysisConfig.class, UnifiedAnalysisResult.class
+    };
+    
+    @TempDir
+    Path tempDir;
+    
+    @Test
+    void testReusedEngineAgainstEnginePerTarget() throws IOException {
+        List<Path> jars = new ArrayList<>();
+        for (int i = 0; i < TARGETS; i++) {
+            Path jar = tempDir.resolve("extension" + i + ".jar");
+            createExtensionJar(jar);
+            jars.add(jar);
+        }
+        
+        for (ExecutorMode mode : new ExecutorMode[] { ExecutorMode.PLATFORM, ExecutorMode.FORKJOIN }) {
+            AnalysisConfig config = AnalysisConfig.builder()
+                .parallelProcessing(true)
+                .executorMode(mode)
+                .build();
+            
+            long perTargetNanos = Long.MAX_VALUE;
+            long reusedNanos = Long.MAX_VALUE;
+            for (int round = 0; round < ROUNDS; round++) {
+                long start = System.nanoTime();
+                for (Path jar : jars) {
+                    try (AnalysisEngine engine = new DefaultAnalysisEngine()) {
+                        assertThat(engine.analyze(jar.toString(), config).getTotalTypes()).isPositive();
+                    }
+                }
+                perTargetNanos = Math.min(perTargetNanos, System.nanoTime() - start);
+                
+                start = System.nanoTime();
+                try (AnalysisEngine engine = new DefaultAnalysisEngine()) {
+                    for (Path jar : jars) {
+                        assertThat(engine.analyze(jar.toString(), config).getTotalTypes()).isPositive();
+                    }
+                }
+                reusedNanos = Math.min(reusedNanos, System.nanoTime() - start);
+            }
+            
+            System.out.printf("Engine lifecycle (%s, %d jars, %d threads, best of %d): engine per target %.2f ms, " +
+                              "reused engine %.2f ms, overhead per target %.3f ms%n",
+                              mode, TARGETS, config.getThreadCount(), ROUNDS, perTargetNanos / 1e6,
+                              reusedNanos / 1e6, (perTargetNanos - reusedNanos) / 1e6 / TARGETS);
+        }
+    }
+    
+    private static void createExtensionJar(Path jarPath) throws IOException {
+        try (JarOutputStream jos = new JarOutputStream(Files.newOutputStream(jarPath))) {
+            for (Class<?> type : EXTENSION_CLASSES) {
+                String resource = type.getName().replace('.', '/') + ".class";
+                jos.putNextEntry(new JarEntry(resource));
+                try (InputStream in = type.getResourceAsStream("/" + resource)) {
+                    in.transferTo(jos);
+                }
+                jos.closeEntry();
+            }
+        }
+    }
+}
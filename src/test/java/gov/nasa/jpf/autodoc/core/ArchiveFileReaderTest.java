@@ -18,16 +18,30 @@
 
 package gov.nasa.jpf.autodoc.core;
 
+import gov.nasa.jpf.autodoc.core.model.AnalysisConfig;
+import gov.nasa.jpf.autodoc.core.model.ArchiveBackend;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.io.TempDir;
 
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
 import java.util.jar.JarEntry;
 import java.util.jar.JarOutputStream;
+import java.util.stream.Collectors;
+import java.util.zip.CRC32;
+import java.util.zip.GZIPOutputStream;
 import java.util.zip.ZipEntry;
 import java.util.zip.ZipOutputStream;
 
@@ -114,6 +128,198 @@ public class ArchiveFileReaderTest {
         assertThat(zipClassFiles).hasSize(2);
     }
     
+    @Test
+    void testReadFromMappedArchive() throws IOException {
+        // When
+        List<ClassFile> mapped = ArchiveFileReader.readFromMappedArchive(testJarPath);
+        List<ClassFile> streamed = ArchiveFileReader.readFromJar(testJarPath);
+        
+        // Then
+        assertThat(mapped).hasSize(2);
+        for (int i = 0; i < mapped.size(); i++) {
+            assertThat(mapped.get(i).getClassName()).isEqualTo(streamed.get(i).getClassName());
+            assertThat(mapped.get(i).getData()).isEqualTo(streamed.get(i).getData());
+            assertThat(mapped.get(i).getSourceType()).isEqualTo("jar");
+            assertThat(mapped.get(i).getSourcePath()).isEqualTo(testJarPath);
+        }
+    }
+    
+    @Test
+    void testReadFromMappedArchiveWithStoredEntries() throws IOException {
+        // Given
+        Path storedZipPath = tempDir.resolve("stored.zip");
+        byte[] classBytes = createTestClassBytes();
+        try (ZipOutputStream zos = new ZipOutputStream(Files.newOutputStream(storedZipPath))) {
+            CRC32 crc = new CRC32();
+            crc.update(classBytes);
+            
+            ZipEntry entry = new ZipEntry("gov/nasa/jpf/StoredClass.class");
+            entry.setMethod(ZipEntry.STORED);
+            entry.setSize(classBytes.length);
+            entry.setCrc(crc.getValue());
+            zos.putNextEntry(entry);
+            zos.write(classBytes);
+            zos.closeEntry();
+        }
+        
+        // When
+        List<ClassFile> classFiles = ArchiveFileReader.readFromArchive(storedZipPath, ArchiveBackend.MAPPED);
+        
+        // Then
+        assertThat(classFiles).hasSize(1);
+        assertThat(classFiles.get(0).getClassName()).isEqualTo("gov.nasa.jpf.StoredClass");
+        assertThat(classFiles.get(0).getData()).isEqualTo(classBytes);
+    }
+    
+    @Test
+    void testReadFromFatJarWithNestedArchives() throws IOException {
+        // Given - a fat jar with a deflated lib jar that embeds another jar, and a stored lib jar
+        byte[] innerJar = createJarBytes(Map.of("gov/nasa/jpf/inner/InnerClass.class", createTestClassBytes()));
+        Map<String, byte[]> libEntries = new LinkedHashMap<>();
+        libEntries.put("gov/nasa/jpf/lib/LibClass.class", createTestClassBytes());
+        libEntries.put("lib/inner.jar", innerJar);
+        byte[] libJar = createJarBytes(libEntries);
+        byte[] storedJar = createJarBytes(Map.of("gov/nasa/jpf/stored/StoredClass.class", createTestClassBytes()));
+        
+        Path fatJarPath = tempDir.resolve("fat.jar");
+        try (JarOutputStream jos = new JarOutputStream(Files.newOutputStream(fatJarPath))) {
+            jos.putNextEntry(new JarEntry("gov/nasa/jpf/Main.class"));
+            jos.write(createTestClassBytes());
+            jos.closeEntry();
+            
+            jos.putNextEntry(new JarEntry("lib/ext.jar"));
+            jos.write(libJar);
+            jos.closeEntry();
+            
+            CRC32 crc = new CRC32();
+            crc.update(storedJar);
+            JarEntry storedEntry = new JarEntry("lib/stored.jar");
+            storedEntry.setMethod(ZipEntry.STORED);
+            storedEntry.setSize(storedJar.length);
+            storedEntry.setCrc(crc.getValue());
+            jos.putNextEntry(storedEntry);
+            jos.write(storedJar);
+            jos.closeEntry();
+        }
+        
+        // When
+        List<ClassFile> mapped = ArchiveFileReader.readFromArchive(fatJarPath, ArchiveBackend.MAPPED);
+        List<ClassFile> jarFile = ArchiveFileReader.readFromArchive(fatJarPath, ArchiveBackend.JAR_FILE);
+        List<ClassFile> parallel = ArchiveFileReader.readFromArchive(fatJarPath, AnalysisConfig.builder()
+            .archiveBackend(ArchiveBackend.JAR_FILE).parallelInflationThreshold(1).build());
+        List<ClassFile> oneLevel = ArchiveFileReader.readFromArchive(fatJarPath,
+            AnalysisConfig.builder().nestedArchiveDepth(1).build());
+        List<ClassFile> topLevel = ArchiveFileReader.readFromArchive(fatJarPath,
+            AnalysisConfig.builder().nestedArchiveDepth(0).build());
+        
+        // Then
+        assertThat(mapped).extracting(ClassFile::getClassName).containsExactly(
+            "gov.nasa.jpf.Main", "gov.nasa.jpf.lib.LibClass", "gov.nasa.jpf.inner.InnerClass",
+            "gov.nasa.jpf.stored.StoredClass");
+        assertThat(jarFile).extracting(ClassFile::getClassName)
+            .containsExactly(mapped.stream().map(ClassFile::getClassName).toArray(String[]::new));
+        assertThat(parallel).extracting(ClassFile::getClassName)
+            .containsExactly(mapped.stream().map(ClassFile::getClassName).toArray(String[]::new));
+        assertThat(parallel.get(2).getSourcePath()).isEqualTo(mapped.get(2).getSourcePath());
+        assertThat(mapped.get(2).getData()).isEqualTo(createTestClassBytes());
+        assertThat(mapped.get(2).getSourcePath().toString()).endsWith("fat.jar!/lib/ext.jar!/lib/inner.jar");
+        assertThat(oneLevel).extracting(ClassFile::getClassName).containsExactly(
+            "gov.nasa.jpf.Main", "gov.nasa.jpf.lib.LibClass", "gov.nasa.jpf.stored.StoredClass");
+        assertThat(topLevel).extracting(ClassFile::getClassName).containsExactly("gov.nasa.jpf.Main");
+    }
+    
+    @Test
+    void testMappedArchiveClassFilesLoadOnDemand() throws IOException {
+        // When
+        List<ClassFile> classFiles = ArchiveFileReader.readFromMappedArchive(testJarPath);
+        
+        // Then - entries are inflated on first access and can be released and reloaded
+        assertThat(classFiles).hasSize(2);
+        assertThat(classFiles).noneMatch(ClassFile::isLoaded);
+        assertThat(classFiles.get(0).getData()).isEqualTo(createTestClassBytes());
+        assertThat(classFiles.get(0).isLoaded()).isTrue();
+        
+        classFiles.get(0).release();
+        assertThat(classFiles.get(0).isLoaded()).isFalse();
+        assertThat(classFiles.get(0).getData()).isEqualTo(createTestClassBytes());
+    }
+    
+    @Test
+    void testClassFiltersAreAppliedBeforeReading() throws IOException {
+        // Given - a jar whose excluded entry has a corrupt local header, so opening it would fail
+        Path jarPath = tempDir.resolve("filtered.jar");
+        try (JarOutputStream jos = new JarOutputStream(Files.newOutputStream(jarPath))) {
+            jos.putNextEntry(new JarEntry("gov/nasa/jpf/listener/Listener.class"));
+            jos.write(createTestClassBytes());
+            jos.closeEntry();
+            
+            jos.putNextEntry(new JarEntry("gov/nasa/jpf/vm/Broken.class"));
+            jos.write(createTestClassBytes());
+            jos.closeEntry();
+        }
+        byte[] jarBytes = Files.readAllBytes(jarPath);
+        String jarText = new String(jarBytes, StandardCharsets.ISO_8859_1);
+        // The first occurrence of the name is in the local header, 30 bytes after its signature
+        jarBytes[jarText.indexOf("gov/nasa/jpf/vm/Broken.class") - 30] = 0;
+        Files.write(jarPath, jarBytes);
+        
+        AnalysisConfig listenersOnly = AnalysisConfig.builder()
+            .archiveBackend(ArchiveBackend.JAR_FILE)
+            .includePattern("gov\\.nasa\\.jpf\\.listener\\..*")
+            .build();
+        AnalysisConfig excludeVm = AnalysisConfig.builder()
+            .archiveBackend(ArchiveBackend.JAR_FILE)
+            .excludePattern("gov\\.nasa\\.jpf\\.vm\\..*")
+            .build();
+        
+        // When
+        List<ClassFile> included = ArchiveFileReader.readFromArchive(jarPath, listenersOnly);
+        List<ClassFile> notExcluded = ArchiveFileReader.readFromArchive(jarPath, excludeVm);
+        
+        // Then
+        assertThat(included).extracting(ClassFile::getClassName).containsExactly("gov.nasa.jpf.listener.Listener");
+        assertThat(notExcluded).extracting(ClassFile::getClassName).containsExactly("gov.nasa.jpf.listener.Listener");
+        assertThatThrownBy(() -> ArchiveFileReader.readFromArchive(jarPath, ArchiveBackend.JAR_FILE))
+            .isInstanceOf(IOException.class);
+    }
+    
+    @Test
+    void testClassFiltersApplyToDirectoriesAndTars() throws IOException {
+        // Given
+        Path tarPath = tempDir.resolve("test.tar");
+        try (OutputStream out = Files.newOutputStream(tarPath)) {
+            createTestTar(out);
+        }
+        Path classDir = tempDir.resolve("classes/gov/nasa/jpf");
+        Files.createDirectories(classDir);
+        Files.write(classDir.resolve("TestClass.class"), createTestClassBytes());
+        AnalysisConfig config = AnalysisConfig.builder().excludePattern(".*TestClass").build();
+        
+        // When
+        List<ClassFile> fromTar = ArchiveFileReader.readFromArchive(tarPath, config);
+        List<ClassFile> fromDirectory = ArchiveFileReader.readFromDirectory(tempDir, config, 2);
+        List<ClassFile> streamed;
+        try (ClassFileSource source = ArchiveFileReader.openDirectory(tempDir, config)) {
+            streamed = source.toList();
+        }
+        
+        // Then
+        assertThat(fromTar).extracting(ClassFile::getClassName).containsExactly("gov.nasa.jpf.AnotherClass");
+        assertThat(fromDirectory).extracting(ClassFile::getClassName).doesNotContain("gov.nasa.jpf.TestClass")
+            .contains("gov.nasa.jpf.AnotherClass");
+        // The source walks the tree the same way, so it yields the same class files in the same order
+        assertThat(streamed).extracting(ClassFile::getClassName)
+            .containsExactlyElementsOf(fromDirectory.stream().map(ClassFile::getClassName)
+                                                    .collect(Collectors.toList()));
+    }
+    
+    @Test
+    void testReadFromArchiveWithBackend() throws IOException {
+        assertThat(ArchiveFileReader.readFromArchive(testJarPath, ArchiveBackend.MAPPED)).hasSize(2);
+        assertThat(ArchiveFileReader.readFromArchive(testZipPath, ArchiveBackend.MAPPED)).hasSize(2);
+        assertThat(ArchiveFileReader.readFromArchive(testJarPath, ArchiveBackend.JAR_FILE)).hasSize(2);
+    }
+    
     @Test
     void testReadFromArchives() throws IOException {
         // When
@@ -126,6 +332,53 @@ public class ArchiveFileReaderTest {
         assertThat(classFiles).hasSize(4); // 2 from JAR + 2 from ZIP
     }
     
+    @Test
+    void testIdenticalClassesFromSeveralArchivesAreKeptOnce() throws IOException {
+        // Given - the JAR and ZIP hold the same two classes, one copy is read through the mapped backend
+        AnalysisConfig mapped = new AnalysisConfig.Builder().archiveBackend(ArchiveBackend.MAPPED).build();
+        ClassFileSet files = new ClassFileSet();
+        
+        // When
+        files.addAll(ArchiveFileReader.readFromArchive(testJarPath));
+        files.addAll(ArchiveFileReader.readFromArchive(testZipPath, mapped));
+        boolean added = files.addIfAbsent(new ClassFile("gov.nasa.jpf.TestClass", new byte[] {1, 2, 3}, testJarPath, "jar"));
+        
+        // Then - a class with the same name but different bytes is kept
+        assertThat(added).isTrue();
+        assertThat(files.addIfAbsent(ArchiveFileReader.readFromArchive(testJarPath).get(0))).isFalse();
+        assertThat(files.size()).isEqualTo(3);
+        assertThat(files.getDuplicateCount()).isEqualTo(3);
+    }
+    
+    @Test
+    void testReadFromArchivesInParallelKeepsOrder() throws IOException {
+        // Given - archives of increasing size, so largest-first reads them in reverse
+        List<Path> archivePaths = new ArrayList<>();
+        for (int i = 1; i <= 6; i++) {
+            Map<String, byte[]> entries = new LinkedHashMap<>();
+            for (int j = 0; j < i * 10; j++) {
+                entries.put("gov/nasa/jpf/a" + i + "/C" + j + ".class", createTestClassBytes());
+            }
+            Path jarPath = tempDir.resolve("lib" + i + ".jar");
+            Files.write(jarPath, createJarBytes(entries));
+            archivePaths.add(jarPath);
+        }
+        
+        // When
+        List<ClassFile> parallel = ArchiveFileReader.readFromArchives(archivePaths, AnalysisConfig.defaultConfig(), 4);
+        List<ClassFile> sequential = new ArrayList<>();
+        for (Path archivePath : archivePaths) {
+            sequential.addAll(ArchiveFileReader.readFromArchive(archivePath));
+        }
+        
+        // Then
+        assertThat(parallel).extracting(ClassFile::getClassName)
+            .containsExactlyElementsOf(sequential.stream().map(ClassFile::getClassName).collect(Collectors.toList()));
+        assertThatThrownBy(() -> ArchiveFileReader.readFromArchives(
+                List.of(testJarPath, tempDir.resolve("missing.jar")), AnalysisConfig.defaultConfig(), 2))
+            .isInstanceOf(IOException.class);
+    }
+    
     @Test
     void testReadFromDirectory() throws IOException {
         // Create a directory with class files and archives
@@ -148,6 +401,91 @@ public class ArchiveFileReaderTest {
         assertThat(classFiles).hasSize(5); // 2 from JAR + 2 from ZIP + 1 direct class file
     }
     
+    @Test
+    void testReadFromNestedDirectoryIsDeterministic() throws IOException {
+        // Given
+        Path testDir = tempDir.resolve("nested-dir");
+        for (int i = 0; i < 5; i++) {
+            Path packageDir = Files.createDirectories(testDir.resolve("p" + i).resolve("sub"));
+            for (int j = 0; j < 100; j++) {
+                Files.write(packageDir.resolve("C" + j + ".class"), createTestClassBytes());
+            }
+            Files.copy(testJarPath, testDir.resolve("p" + i).resolve("lib.jar"));
+        }
+        
+        // When
+        List<ClassFile> serial = ArchiveFileReader.readFromDirectory(testDir, ArchiveBackend.MAPPED, 1);
+        List<ClassFile> parallel = ArchiveFileReader.readFromDirectory(testDir, ArchiveBackend.MAPPED, 4);
+        
+        // Then
+        assertThat(serial).hasSize(5 * (100 + 2));
+        assertThat(parallel).extracting(ClassFile::getSourcePath)
+            .containsExactlyElementsOf(serial.stream().map(ClassFile::getSourcePath)
+                .collect(java.util.stream.Collectors.toList()));
+    }
+    
+    @Test
+    void testOpenArchiveReadsLazily() throws IOException {
+        for (ArchiveBackend backend : ArchiveBackend.values()) {
+            try (ClassFileSource source = ArchiveFileReader.openArchive(testJarPath, backend)) {
+                java.util.Iterator<ClassFile> iterator = source.iterator();
+                
+                assertThat(iterator.hasNext()).isTrue();
+                assertThat(iterator.next().getClassName()).isEqualTo("gov.nasa.jpf.TestClass");
+                assertThat(iterator.next().getClassName()).isEqualTo("gov.nasa.jpf.AnotherClass");
+                assertThat(iterator.hasNext()).isFalse();
+            }
+        }
+    }
+    
+    @Test
+    void testOpenDirectory() throws IOException {
+        // Given
+        Path testDir = tempDir.resolve("source-dir");
+        Files.createDirectories(testDir.resolve("lib"));
+        Files.copy(testJarPath, testDir.resolve("lib/test.jar"));
+        Files.write(testDir.resolve("TestClass.class"), createTestClassBytes());
+        
+        // When
+        List<ClassFile> classFiles;
+        try (ClassFileSource source = ArchiveFileReader.openDirectory(testDir, ArchiveBackend.MAPPED)) {
+            classFiles = source.filter(classFile -> classFile.getClassName().endsWith("Class")).toList();
+        }
+        
+        // Then
+        assertThat(classFiles).hasSize(3); // 2 from JAR + 1 direct class file
+    }
+    
+    @Test
+    void testOpenDirectoryOnPoolReadsArchivesInParallelKeepsOrder() throws IOException {
+        // Given - archives of increasing size next to a class file, so largest-first reads them in reverse
+        Path testDir = tempDir.resolve("engine-dir");
+        Files.createDirectories(testDir);
+        for (int i = 1; i <= 6; i++) {
+            Map<String, byte[]> entries = new LinkedHashMap<>();
+            for (int j = 0; j < i * 10; j++) {
+                entries.put("gov/nasa/jpf/a" + i + "/C" + j + ".class", createTestClassBytes());
+            }
+            Files.write(testDir.resolve("lib" + i + ".jar"), createJarBytes(entries));
+        }
+        Files.write(testDir.resolve("TestClass.class"), createTestClassBytes());
+        
+        // When - the directory is opened the way the engine opens it
+        List<ClassFile> parallel;
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try (ClassFileSource source = ArchiveFileReader.openDirectory(testDir, AnalysisConfig.defaultConfig(), pool)) {
+            parallel = source.toList();
+        } finally {
+            pool.shutdownNow();
+        }
+        List<ClassFile> serial = ArchiveFileReader.readFromDirectory(testDir, ArchiveBackend.JAR_FILE, 1);
+        
+        // Then
+        assertThat(parallel).hasSize(1 + 10 + 20 + 30 + 40 + 50 + 60);
+        assertThat(parallel).extracting(ClassFile::getClassName)
+            .containsExactlyElementsOf(serial.stream().map(ClassFile::getClassName).collect(Collectors.toList()));
+    }
+        
     @Test
     void testIsArchiveFile() {
         // Test supported formats
@@ -164,13 +502,91 @@ public class ArchiveFileReaderTest {
     }
     
     @Test
-    void testReadFromTarThrowsException() {
-        // TAR support is not fully implemented yet
+    void testReadFromTar() throws IOException {
+        // Given
         Path tarPath = tempDir.resolve("test.tar");
+        try (OutputStream out = Files.newOutputStream(tarPath)) {
+            createTestTar(out);
+        }
+        
+        // When
+        List<ClassFile> classFiles = ArchiveFileReader.readFromTar(tarPath);
         
+        // Then
+        assertThat(classFiles).hasSize(2);
+        assertThat(classFiles).extracting(ClassFile::getClassName)
+            .containsExactly("gov.nasa.jpf.TestClass", "gov.nasa.jpf.AnotherClass");
+        assertThat(classFiles.get(0).getData()).isEqualTo(createTestClassBytes());
+        assertThat(classFiles.get(0).getSourcePath()).isEqualTo(tarPath);
+    }
+    
+    @Test
+    void testReadFromTarGz() throws IOException {
+        // Given
+        Path tarGzPath = tempDir.resolve("test.tar.gz");
+        try (OutputStream out = new GZIPOutputStream(Files.newOutputStream(tarGzPath))) {
+            createTestTar(out);
+        }
+        
+        // When
+        List<ClassFile> classFiles = ArchiveFileReader.readFromArchive(tarGzPath);
+        List<ClassFile> streamed;
+        try (ClassFileSource source = ArchiveFileReader.openArchive(tarGzPath, ArchiveBackend.MAPPED)) {
+            streamed = source.toList();
+        }
+        
+        // Then
+        assertThat(classFiles).extracting(ClassFile::getClassName)
+            .containsExactly("gov.nasa.jpf.TestClass", "gov.nasa.jpf.AnotherClass");
+        assertThat(streamed).extracting(ClassFile::getClassName)
+            .containsExactly("gov.nasa.jpf.TestClass", "gov.nasa.jpf.AnotherClass");
+    }
+    
+    @Test
+    void testReadFromTarBz2() throws IOException {
+        // Given - a GNU tar of the test classes and readme, compressed with bzip2 -9
+        Path tarBz2Path = tempDir.resolve("test.tar.bz2");
+        Files.write(tarBz2Path, Base64.getDecoder().decode(
+            "QlpoOTFBWSZTWUyRx84AALtfjMqEYAH9gCwABQBv999AABEAEAwJMAC5ISlM1NIAyYmh6jQDNT1GmgwBpoaNGIyAaADQwRUhMhk0" +
+            "GgGjQAANP3U7UMZeYXyALJL7ICKS5KqknGPIUsxMwUSAMKHuxNJXERFm4kPJM3QCmArXr2zq4bm0ewY9CUqRyUrNKk2eRj6bGtxY" +
+            "E9ZW5IF4WlkNF03aJj3VdTqC48l7S2iBEoSrXWRJBRFPiYKhPhuwYjNafiwsRC0/i7kinChIJkjj5wA="));
+        
+        // When
+        List<ClassFile> classFiles = ArchiveFileReader.readFromTar(tarBz2Path);
+        
+        // Then
+        assertThat(classFiles).extracting(ClassFile::getClassName)
+            .containsExactly("gov.nasa.jpf.TestClass", "gov.nasa.jpf.AnotherClass");
+        assertThat(classFiles.get(1).getData()).isEqualTo(createTestClassBytes());
+    }
+    
+    @Test
+    void testReadFromTruncatedTarThrowsException() throws IOException {
+        // Given
+        ByteArrayOutputStream tar = new ByteArrayOutputStream();
+        createTestTar(tar);
+        Path tarPath = tempDir.resolve("truncated.tar");
+        Files.write(tarPath, Arrays.copyOf(tar.toByteArray(), 520));
+        
+        // When/Then
         assertThatThrownBy(() -> ArchiveFileReader.readFromTar(tarPath))
             .isInstanceOf(IOException.class)
-            .hasMessageContaining("TAR file support requires Apache Commons Compress");
+            .hasMessageContaining("Truncated TAR entry");
+    }
+    
+    @Test
+    void testReadFromTarWithInvalidPaxSizeThrowsException() throws IOException {
+        // Given - a pax header whose size record is not a number
+        Path tarPath = tempDir.resolve("pax.tar");
+        try (OutputStream out = Files.newOutputStream(tarPath)) {
+            writeTarEntry(out, "PaxHeaders/TestClass.class", "12 size=abc\n".getBytes(StandardCharsets.UTF_8), 'x');
+            writeTarEntry(out, "gov/nasa/jpf/TestClass.class", createTestClassBytes());
+        }
+        
+        // When/Then
+        assertThatThrownBy(() -> ArchiveFileReader.readFromTar(tarPath))
+            .isInstanceOf(IOException.class)
+            .hasMessageContaining("Invalid pax size abc");
     }
     
     @Test
@@ -234,6 +650,58 @@ public class ArchiveFileReaderTest {
         }
     }
     
+    private byte[] createJarBytes(Map<String, byte[]> entries) throws IOException {
+        ByteArrayOutputStream jar = new ByteArrayOutputStream();
+        try (JarOutputStream jos = new JarOutputStream(jar)) {
+            for (Map.Entry<String, byte[]> entry : entries.entrySet()) {
+                jos.putNextEntry(new JarEntry(entry.getKey()));
+                jos.write(entry.getValue());
+                jos.closeEntry();
+            }
+        }
+        return jar.toByteArray();
+    }
+    
+    private void createTestTar(OutputStream out) throws IOException {
+        writeTarEntry(out, "gov/nasa/jpf/TestClass.class", createTestClassBytes());
+        writeTarEntry(out, "gov/nasa/jpf/AnotherClass.class", createTestClassBytes());
+        writeTarEntry(out, "readme.txt", "This is a test".getBytes());
+        
+        // End-of-archive marker
+        out.write(new byte[1024]);
+    }
+    
+    private void writeTarEntry(OutputStream out, String name, byte[] data) throws IOException {
+        writeTarEntry(out, name, data, '0');
+    }
+    
+    private void writeTarEntry(OutputStream out, String name, byte[] data, char type) throws IOException {
+        byte[] header = new byte[512];
+        byte[] nameBytes = name.getBytes(StandardCharsets.UTF_8);
+        System.arraycopy(nameBytes, 0, header, 0, nameBytes.length);
+        writeOctal(header, 100, 8, 0644);
+        writeOctal(header, 124, 12, data.length);
+        header[156] = (byte) type;
+        System.arraycopy(("ustar\0" + "00").getBytes(StandardCharsets.US_ASCII), 0, header, 257, 8);
+        
+        // The checksum is computed with the checksum field filled with spaces
+        Arrays.fill(header, 148, 156, (byte) ' ');
+        int checksum = 0;
+        for (byte b : header) {
+            checksum += b & 0xFF;
+        }
+        writeOctal(header, 148, 7, checksum);
+        
+        out.write(header);
+        out.write(data);
+        out.write(new byte[(512 - data.length % 512) % 512]);
+    }
+    
+    private void writeOctal(byte[] header, int offset, int length, long value) {
+        byte[] digits = String.format("%0" + (length - 1) + "o", value).getBytes(StandardCharsets.US_ASCII);
+        System.arraycopy(digits, 0, header, offset, digits.length);
+    }
+    
     private byte[] createTestClassBytes() {
         // Create a minimal valid Java class file
         // This is a simplified version - in a real test you might want to use
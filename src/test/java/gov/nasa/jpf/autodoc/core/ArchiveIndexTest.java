@@ -0,0 +1,161 @@
+/*
+ * Copyright (C) 2025, United States Government, as represented by the
+ * Administrator of the National Aeronautics and Space Administration.
+ * All rights reserved.
+ *
+ * The Java Pathfinder AutoDoc tool is licensed under the
+ * Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ * 
+ *        http://www.apache.org/licenses/LICENSE-2.0. 
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and 
+ * limitations under the License.
+ */
+package gov.nasa.jpf.autodoc.core;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+import java.util.zip.CRC32;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Tests for building, storing and comparing archive indexes.
+ */
+public class ArchiveIndexTest {
+    
+    @TempDir
+    Path tempDir;
+    
+    @Test
+    void testIndexRoundTrip() throws IOException {
+        // Given
+        Path jarPath = tempDir.resolve("test.jar");
+        Map<String, byte[]> entries = new LinkedHashMap<>();
+        entries.put("gov/nasa/jpf/A.class", bytes("class A"));
+        entries.put("gov/nasa/jpf/B.class", bytes("class B, a little longer"));
+        entries.put("readme.txt", bytes("not a class"));
+        createJar(jarPath, entries);
+        Path indexFile = tempDir.resolve("index").resolve("test.idx");
+        
+        // When
+        ArchiveIndex built = ArchiveIndex.build(jarPath);
+        built.write(indexFile);
+        ArchiveIndex loaded = ArchiveIndex.read(indexFile);
+        
+        // Then
+        assertThat(loaded.getEntryCount()).isEqualTo(3);
+        assertThat(loaded.getArchiveLength()).isEqualTo(Files.size(jarPath));
+        assertThat(loaded.isCurrent(jarPath)).isTrue();
+        assertThat(loaded.getCrc("gov/nasa/jpf/B.class")).isEqualTo(crc(entries.get("gov/nasa/jpf/B.class")));
+        assertThat(loaded.getSize("gov/nasa/jpf/B.class")).isEqualTo(entries.get("gov/nasa/jpf/B.class").length);
+        assertThat(loaded.getCompressedSize("readme.txt")).isPositive();
+        assertThat(loaded.getCrc("gov/nasa/jpf/Missing.class")).isEqualTo(-1);
+        assertThat(built.changesSince(loaded).isEmpty()).isTrue();
+    }
+    
+    @Test
+    void testFindChangedEntries() throws IOException {
+        // Given
+        Path jarPath = tempDir.resolve("test.jar");
+        Path indexDirectory = tempDir.resolve("index");
+        Map<String, byte[]> entries = new LinkedHashMap<>();
+        entries.put("gov/nasa/jpf/A.class", bytes("class A"));
+        entries.put("gov/nasa/jpf/B.class", bytes("class B"));
+        entries.put("gov/nasa/jpf/C.class", bytes("class C"));
+        createJar(jarPath, entries);
+        
+        // When - the first run sees everything as new, the second nothing
+        ArchiveIndex.Changes first = ArchiveFileReader.findChangedEntries(jarPath, indexDirectory);
+        ArchiveIndex.Changes second = ArchiveFileReader.findChangedEntries(jarPath, indexDirectory);
+        
+        // Then
+        assertThat(first.getAddedEntries()).containsExactlyElementsOf(entries.keySet());
+        assertThat(second.isEmpty()).isTrue();
+        
+        // When - B changes, C is removed and D is added
+        entries.put("gov/nasa/jpf/B.class", bytes("class B, changed"));
+        entries.remove("gov/nasa/jpf/C.class");
+        entries.put("gov/nasa/jpf/D.class", bytes("class D"));
+        createJar(jarPath, entries);
+        Files.setLastModifiedTime(jarPath, FileTime.fromMillis(Files.getLastModifiedTime(jarPath).toMillis() + 2000));
+        ArchiveIndex.Changes third = ArchiveFileReader.findChangedEntries(jarPath, indexDirectory);
+        
+        // Then
+        assertThat(third.getAddedEntries()).containsExactly("gov/nasa/jpf/D.class");
+        assertThat(third.getModifiedEntries()).containsExactly("gov/nasa/jpf/B.class");
+        assertThat(third.getRemovedEntries()).containsExactly("gov/nasa/jpf/C.class");
+    }
+    
+    @Test
+    void testTouchedArchiveWithSameContentHasNoChanges() throws IOException {
+        // Given
+        Path jarPath = tempDir.resolve("test.jar");
+        Path indexDirectory = tempDir.resolve("index");
+        createJar(jarPath, Map.of("gov/nasa/jpf/A.class", bytes("class A")));
+        ArchiveFileReader.findChangedEntries(jarPath, indexDirectory);
+        
+        // When
+        Files.setLastModifiedTime(jarPath, FileTime.fromMillis(Files.getLastModifiedTime(jarPath).toMillis() + 2000));
+        ArchiveIndex.Changes changes = ArchiveFileReader.findChangedEntries(jarPath, indexDirectory);
+        
+        // Then - the central directory is compared, and the index is refreshed
+        assertThat(changes.isEmpty()).isTrue();
+        assertThat(ArchiveIndex.read(ArchiveIndex.indexFileFor(indexDirectory, jarPath)).isCurrent(jarPath)).isTrue();
+    }
+    
+    @Test
+    void testCorruptIndexIsRebuilt() throws IOException {
+        // Given
+        Path jarPath = tempDir.resolve("test.jar");
+        Path indexDirectory = tempDir.resolve("index");
+        createJar(jarPath, Map.of("gov/nasa/jpf/A.class", bytes("class A")));
+        Path indexFile = ArchiveIndex.indexFileFor(indexDirectory, jarPath);
+        Files.createDirectories(indexDirectory);
+        Files.write(indexFile, bytes("garbage"));
+        
+        // When
+        ArchiveIndex.Changes changes = ArchiveFileReader.findChangedEntries(jarPath, indexDirectory);
+        
+        // Then
+        assertThat(changes.getAddedEntries()).containsExactly("gov/nasa/jpf/A.class");
+        assertThat(ArchiveIndex.read(indexFile).getEntryCount()).isEqualTo(1);
+        assertThatThrownBy(() -> ArchiveIndex.read(tempDir.resolve("missing.idx")))
+            .isInstanceOf(IOException.class);
+    }
+    
+    private static byte[] bytes(String text) {
+        return text.getBytes(StandardCharsets.UTF_8);
+    }
+    
+    private static long crc(byte[] data) {
+        CRC32 crc = new CRC32();
+        crc.update(data);
+        return crc.getValue();
+    }
+    
+    private static void createJar(Path jarPath, Map<String, byte[]> entries) throws IOException {
+        try (JarOutputStream jos = new JarOutputStream(Files.newOutputStream(jarPath))) {
+            for (Map.Entry<String, byte[]> entry : entries.entrySet()) {
+                jos.putNextEntry(new JarEntry(entry.getKey()));
+                jos.write(entry.getValue());
+                jos.closeEntry();
+            }
+        }
+    }
+} 
\ No newline at end of file
@@ -0,0 +1,153 @@
+/*
+ * Copyright (C) 2025, United States Government, as represented by the
+ * Administrator of the National Aeronautics and Space Administration.
+ * All rights reserved.
+ *
+ * The Java Pathfinder AutoDoc tool is licensed under the
+ * Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ * 
+ *        http://www.apache.org/licenses/LICENSE-2.0. 
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and 
+ * limitations under the License.
+ */
+
+package gov.nasa.jpf.autodoc.core;
+
+import gov.nasa.jpf.autodoc.core.model.AnalysisConfig;
+import gov.nasa.jpf.autodoc.core.model.ArchiveBackend;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Random;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Compares the JarFile and memory-mapped archive backends, and the JarFile
+ * backend with and without parallel inflation. Also times archive indexes
+ * against reading the whole archive.
+ * Run with ./gradlew performanceTest; the archive size can be raised with
+ * -Dautodoc.bench.entries=N.
+ */
+public class ArchiveReaderPerformanceTest {
+    
+    private static final int ENTRIES = Integer.getInteger("autodoc.bench.entries", 2000);
+    private static final int ROUNDS = Integer.getInteger("autodoc.bench.rounds", 5);
+    
+    @TempDir
+    Path tempDir;
+    
+    @Test
+    void testMappedBackendAgainstJarFile() throws IOException {
+        Path jarPath = tempDir.resolve("bench.jar");
+        createBenchmarkJar(jarPath, ENTRIES);
+        
+        // Warm up both paths and check they agree
+        List<ClassFile> expected = ArchiveFileReader.readFromJar(jarPath);
+        List<ClassFile> actual = ArchiveFileReader.readFromMappedArchive(jarPath);
+        AnalysisConfig parallelConfig = AnalysisConfig.builder()
+            .archiveBackend(ArchiveBackend.JAR_FILE).parallelInflationThreshold(1).build();
+        List<ClassFile> parallel = ArchiveFileReader.readFromArchive(jarPath, parallelConfig);
+        assertThat(actual).hasSameSizeAs(expected);
+        assertThat(parallel).hasSameSizeAs(expected);
+        for (int i = 0; i < expected.size(); i++) {
+            assertThat(actual.get(i).getClassName()).isEqualTo(expected.get(i).getClassName());
+            assertThat(actual.get(i).getData()).isEqualTo(expected.get(i).getData());
+            assertThat(parallel.get(i).getData()).isEqualTo(expected.get(i).getData());
+        }
+        
+        long jarFileNanos = Long.MAX_VALUE;
+        long parallelNanos = Long.MAX_VALUE;
+        long mappedNanos = Long.MAX_VALUE;
+        for (int round = 0; round < ROUNDS; round++) {
+            long start = System.nanoTime();
+            loadAll(ArchiveFileReader.readFromJar(jarPath));
+            jarFileNanos = Math.min(jarFileNanos, System.nanoTime() - start);
+            
+            start = System.nanoTime();
+            loadAll(ArchiveFileReader.readFromArchive(jarPath, parallelConfig));
+            parallelNanos = Math.min(parallelNanos, System.nanoTime() - start);
+            
+            start = System.nanoTime();
+            loadAll(ArchiveFileReader.readFromMappedArchive(jarPath));
+            mappedNanos = Math.min(mappedNanos, System.nanoTime() - start);
+        }
+        
+        System.out.printf("Archive read (%d entries, best of %d): JAR_FILE %.2f ms, " +
+                          "JAR_FILE parallel %.2f ms, MAPPED %.2f ms%n",
+                          ENTRIES, ROUNDS, jarFileNanos / 1e6, parallelNanos / 1e6, mappedNanos / 1e6);
+    }
+    
+    @Test
+    void testArchiveIndexAgainstFullRead() throws IOException {
+        Path jarPath = tempDir.resolve("bench.jar");
+        Path indexFile = tempDir.resolve("bench.idx");
+        createBenchmarkJar(jarPath, ENTRIES);
+        ArchiveIndex.build(jarPath).write(indexFile);
+        
+        long buildNanos = Long.MAX_VALUE;
+        long loadNanos = Long.MAX_VALUE;
+        long readNanos = Long.MAX_VALUE;
+        for (int round = 0; round < ROUNDS; round++) {
+            long start = System.nanoTime();
+            ArchiveIndex built = ArchiveIndex.build(jarPath);
+            buildNanos = Math.min(buildNanos, System.nanoTime() - start);
+            
+            start = System.nanoTime();
+            ArchiveIndex loaded = ArchiveIndex.read(indexFile);
+            assertThat(loaded.isCurrent(jarPath)).isTrue();
+            loadNanos = Math.min(loadNanos, System.nanoTime() - start);
+            assertThat(built.changesSince(loaded).isEmpty()).isTrue();
+            
+            start = System.nanoTime();
+            loadAll(ArchiveFileReader.readFromMappedArchive(jarPath));
+            readNanos = Math.min(readNanos, System.nanoTime() - start);
+        }
+        
+        System.out.printf("Archive index (%d entries, best of %d): build %.2f ms, load %.2f ms, " +
+                          "full read %.2f ms%n",
+                          ENTRIES, ROUNDS, buildNanos / 1e6, loadNanos / 1e6, readNanos / 1e6);
+    }
+    
+    private static long loadAll(List<ClassFile> classFiles) {
+        // Mapped entries are inflated on first access, so touch every class
+        long bytes = 0;
+        for (ClassFile classFile : classFiles) {
+            bytes += classFile.getData().length;
+        }
+        return bytes;
+    }
+    
+    private void createBenchmarkJar(Path jarPath, int entries) throws IOException {
+        Random random = new Random(42);
+        
+        try (JarOutputStream jos = new JarOutputStream(Files.newOutputStream(jarPath))) {
+            for (int i = 0; i < entries; i++) {
+                jos.putNextEntry(new JarEntry("gov/nasa/jpf/bench/p" + (i % 50) + "/Class" + i + ".class"));
+                jos.write(createClassLikeBytes(random));
+                jos.closeEntry();
+            }
+        }
+    }
+    
+    private byte[] createClassLikeBytes(Random random) {
+        // Roughly class-file sized and about as compressible as real bytecode
+        byte[] data = new byte[1024 + random.nextInt(8192)];
+        String vocabulary = "gov/nasa/jpf/vm/ThreadInfo java/lang/Object <init> ()V Code LineNumberTable ";
+        for (int i = 0; i < data.length; i++) {
+            data[i] = random.nextInt(4) == 0 ? (byte) random.nextInt(256) : (byte) vocabulary.charAt(i % vocabulary.length());
+        }
+        return data;
+    }
+} 
\ No newline at end of file
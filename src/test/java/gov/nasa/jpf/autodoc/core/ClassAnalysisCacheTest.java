@@ -0,0 +1,100 @@
+/*
+ * Copyright (C) 2025, United States Government, as represented by the
+ * Administrator of the National Aeronautics and Space Administration.
+ * All rights reserved.
+ *
+ * The Java Pathfinder AutoDoc tool is licensed under the
+ * Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ * 
+ *        http://www.apache.org/licenses/LICENSE-2.0. 
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and 
+ * limitations under the License.
+ */
+package gov.nasa.jpf.autodoc.core;
+
+import gov.nasa.jpf.autodoc.core.model.AnalysisConfig;
+import gov.nasa.jpf.autodoc.core.model.TypeInfo;
+import gov.nasa.jpf.autodoc.core.model.UnifiedAnalysisResult;
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Tests for the content-addressed cache of class findings shared by concurrent targets.
+ */
+class ClassAnalysisCacheTest {
+    
+    @Test
+    void testIdenticalClassesAreAnalyzedOnce() throws Exception {
+        // Given - the same class content in 8 targets, asked for at the same time
+        ClassAnalysisCache cache = new ClassAnalysisCache();
+        AtomicInteger analyses = new AtomicInteger();
+        List<UnifiedAnalysisResult> results = new ArrayList<>();
+        List<Future<?>> tasks = new ArrayList<>();
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        
+        // When
+        try {
+            for (int i = 0; i < 8; i++) {
+                UnifiedAnalysisResult result = new UnifiedAnalysisResult("target" + i, AnalysisConfig.builder().build());
+                results.add(result);
+                ClassFile classFile = classFile("gov.nasa.jpf.Shared", Path.of("target" + i + ".jar"));
+                tasks.add(pool.submit(() -> cache.analyze(classFile, result, sink -> {
+                    analyses.incrementAndGet();
+                    sink.addType(new TypeInfo("gov.nasa.jpf.Shared", "java.lang.Object", "class"));
+                })));
+            }
+            for (Future<?> task : tasks) {
+                task.get();
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+        
+        // Then
+        assertThat(analyses.get()).isEqualTo(1);
+        assertThat(cache.getMissCount()).isEqualTo(1);
+        assertThat(cache.getHitCount()).isEqualTo(7);
+        for (UnifiedAnalysisResult result : results) {
+            assertThat(result.getTypes()).containsKey("gov.nasa.jpf.Shared");
+        }
+    }
+    
+    @Test
+    void testFailedAnalysisIsNotCached() {
+        // Given
+        ClassAnalysisCache cache = new ClassAnalysisCache();
+        UnifiedAnalysisResult result = new UnifiedAnalysisResult("target", AnalysisConfig.builder().build());
+        ClassFile classFile = classFile("gov.nasa.jpf.Broken", Path.of("a.jar"));
+        
+        // When - the first analysis fails, the second copy is analyzed again
+        assertThatThrownBy(() -> cache.analyze(classFile, result, sink -> {
+            throw new IllegalStateException("analysis failed");
+        })).hasMessage("analysis failed");
+        cache.analyze(classFile("gov.nasa.jpf.Broken", Path.of("b.jar")), result,
+                      sink -> sink.addType(new TypeInfo("gov.nasa.jpf.Broken", "java.lang.Object", "class")));
+        
+        // Then
+        assertThat(result.getTypes()).containsKey("gov.nasa.jpf.Broken");
+        assertThat(cache.getMissCount()).isEqualTo(2);
+        assertThat(cache.getHitCount()).isZero();
+    }
+    
+    private static ClassFile classFile(String className, Path archive) {
+        return new LazyClassFile(className, archive, "jar", () -> new byte[] { 1, 2, 3, 4 });
+    }
+}
@@ -20,7 +20,17 @@ package gov.nasa.jpf.autodoc.core;
 
 import gov.nasa.jpf.autodoc.core.model.AnalysisConfig;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.atomic.AtomicInteger;
+
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 /**
  * Test for core classes to verify the setup is working.
@@ -79,4 +89,92 @@ public class ClassFileTest {
         assertThat(config.isAnalyzeConfigurations()).isFalse();
         assertThat(config.isAnalyzeTypes()).isTrue();
     }
+    
+    @Test
+    void testLazyClassFileLoadsOnDemandAndReleases(@TempDir Path tempDir) throws IOException {
+        // Given
+        Path classPath = tempDir.resolve("classes/gov/nasa/jpf/LazyClass.class");
+        Files.createDirectories(classPath.getParent());
+        byte[] classBytes = { (byte) 0xCA, (byte) 0xFE, (byte) 0xBA, (byte) 0xBE, 0x00, 0x00, 0x00, 0x34 };
+        Files.write(classPath, classBytes);
+        
+        // When
+        ClassFile classFile = ClassFile.lazyFromFile(classPath, classBytes.length);
+        
+        // Then - the file is smaller than a header read, so asking for the name loads it
+        assertThat(classFile.isLoaded()).isFalse();
+        assertThat(classFile.getClassName()).isEqualTo("gov.nasa.jpf.LazyClass");
+        assertThat(classFile.isLoaded()).isTrue();
+        assertThat(classFile.getData()).isEqualTo(classBytes);
+        
+        classFile.release();
+        assertThat(classFile.isLoaded()).isFalse();
+        assertThat(classFile.getData()).isEqualTo(classBytes);
+        
+        classFile.release();
+        Files.delete(classPath);
+        assertThatThrownBy(classFile::getData).isInstanceOf(UncheckedIOException.class);
+    }
+    
+    @Test
+    void testSmallClassFileIsReadOnceForNameAndData(@TempDir Path tempDir) throws IOException {
+        // Given - a real class file, with a locator that counts how often it is read
+        Path classPath = tempDir.resolve("out/ClassFileTest.class");
+        Files.createDirectories(classPath.getParent());
+        try (InputStream in = ClassFileTest.class.getResourceAsStream("ClassFileTest.class")) {
+            Files.copy(in, classPath);
+        }
+        AtomicInteger loads = new AtomicInteger();
+        LazyClassFile.Locator locator = () -> {
+            loads.incrementAndGet();
+            return Files.readAllBytes(classPath);
+        };
+        
+        // When - admission asks for the name, duplicate filtering and analysis for the data
+        ClassFile fromData = new LazyClassFile(null, classPath, "file", locator, true);
+        String name = fromData.getClassName();
+        fromData.getData();
+        fromData.getFingerprint();
+        
+        // Then
+        assertThat(name).isEqualTo(ClassFileTest.class.getName());
+        assertThat(loads).hasValue(1);
+        
+        // A large class file still has only its header read for the name
+        ClassFile fromHeader = new LazyClassFile(null, classPath, "file", locator, false);
+        assertThat(fromHeader.getClassName()).isEqualTo(ClassFileTest.class.getName());
+        assertThat(loads).hasValue(1);
+        fromHeader.getData();
+        assertThat(loads).hasValue(2);
+    }
+    
+    @Test
+    void testEagerClassFileIgnoresRelease() {
+        byte[] classBytes = { (byte) 0xCA, (byte) 0xFE, (byte) 0xBA, (byte) 0xBE };
+        ClassFile classFile = ClassFile.fromJar("gov.nasa.jpf.EagerClass", classBytes, Path.of("test.jar"));
+        
+        classFile.release();
+        
+        assertThat(classFile.isLoaded()).isTrue();
+        assertThat(classFile.getData()).isSameAs(classBytes);
+    }
+    
+    @Test
+    void testClassNameIsReadFromHeaderNotPath(@TempDir Path tempDir) throws IOException {
+        // Given - a real class file in a directory that does not match its package
+        Path classPath = tempDir.resolve("out/ClassFileTest.class");
+        Files.createDirectories(classPath.getParent());
+        try (InputStream in = ClassFileTest.class.getResourceAsStream("ClassFileTest.class")) {
+            Files.copy(in, classPath);
+        }
+        
+        // When
+        ClassFile lazy = ClassFile.lazyFromFile(classPath, -1);
+        ClassFile eager = ClassFile.fromFile(classPath.toFile());
+        
+        // Then
+        assertThat(lazy.getClassName()).isEqualTo(ClassFileTest.class.getName());
+        assertThat(lazy.isLoaded()).isFalse();
+        assertThat(eager.getClassName()).isEqualTo(ClassFileTest.class.getName());
+    }
 } 
\ No newline at end of file
@@ -0,0 +1,129 @@
+/*
+ * Copyright (C) 2025, United States Government, as represented by the
+ * Administrator of the National Aeronautics and Space Administration.
+ * All rights reserved.
+ *
+ * The Java Pathfinder AutoDoc tool is licensed under the
+ * Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ * 
+ *        http://www.apache.org/licenses/LICENSE-2.0. 
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and 
+ * limitations under the License.
+ */
+package gov.nasa.jpf.autodoc.core;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Tests for classpath parsing and lazy class lookup.
+ */
+public class ClasspathResolverTest {
+    
+    @TempDir
+    Path tempDir;
+    
+    @Test
+    void testParseSplitsAndExpandsWildcards() throws IOException {
+        // Given
+        Path libDir = Files.createDirectories(tempDir.resolve("lib"));
+        Files.write(libDir.resolve("b.jar"), new byte[0]);
+        Files.write(libDir.resolve("a.zip"), new byte[0]);
+        Files.write(libDir.resolve("C.JAR"), new byte[0]);
+        Files.write(libDir.resolve("notes.txt"), new byte[0]);
+        Files.createDirectories(libDir.resolve("sub.jar"));
+        Path classes = tempDir.resolve("classes");
+        
+        // When
+        List<Path> entries = ClasspathResolver.parse(
+            classes + File.pathSeparator + File.pathSeparator + libDir + File.separator + "*");
+        
+        // Then
+        assertThat(entries).containsExactly(classes, libDir.resolve("C.JAR"), libDir.resolve("b.jar"));
+        assertThatThrownBy(() -> ClasspathResolver.parse(tempDir.resolve("missing") + File.separator + "*"))
+            .isInstanceOf(NoSuchFileException.class);
+    }
+    
+    @Test
+    void testFirstEntryWinsAndLaterEntriesAreIndexedLazily() throws IOException {
+        // Given
+        Path classes = tempDir.resolve("classes");
+        Files.createDirectories(classes.resolve("gov/nasa/jpf"));
+        Files.write(classes.resolve("gov/nasa/jpf/A.class"), bytes("A from classes"));
+        Path first = createJar(tempDir.resolve("first.jar"), Map.of(
+            "gov/nasa/jpf/A.class", bytes("A from jar"),
+            "gov/nasa/jpf/B.class", bytes("B from jar")));
+        Path second = createJar(tempDir.resolve("second.jar"), Map.of(
+            "gov/nasa/jpf/C.class", bytes("C from jar"),
+            "META-INF/versions/11/gov/nasa/jpf/C.class", bytes("C for Java 11")));
+        
+        try (ClasspathResolver resolver = new ClasspathResolver(List.of(classes, first, second))) {
+            // When
+            ClasspathResolver.Location a = resolver.locate("gov.nasa.jpf.A");
+            int indexedAfterA = resolver.getIndexedClassCount();
+            ClassFile b = resolver.find("gov.nasa.jpf.B");
+            ClassFile c = resolver.find("gov.nasa.jpf.C");
+            
+            // Then
+            assertThat(a.isArchive()).isFalse();
+            assertThat(a.getClasspathEntry()).isEqualTo(classes);
+            assertThat(indexedAfterA).isEqualTo(1);
+            assertThat(b.getData()).isEqualTo(bytes("B from jar"));
+            assertThat(b.getSourcePath()).isEqualTo(first);
+            assertThat(c.getData()).isEqualTo(bytes("C from jar"));
+            assertThat(resolver.getIndexedClassCount()).isEqualTo(3);
+            assertThat(resolver.find("gov.nasa.jpf.Missing")).isNull();
+            assertThat(resolver.contains("gov.nasa.jpf.A")).isTrue();
+        }
+    }
+    
+    @Test
+    void testUnusableEntriesAreSkipped() throws IOException {
+        // Given
+        Path corrupt = tempDir.resolve("corrupt.jar");
+        Files.write(corrupt, bytes("not a jar"));
+        Path jar = createJar(tempDir.resolve("lib.jar"), Map.of("gov/nasa/jpf/A.class", bytes("A")));
+        
+        // When
+        try (ClasspathResolver resolver = new ClasspathResolver(
+                 List.of(tempDir.resolve("missing"), corrupt, jar))) {
+            // Then
+            assertThat(resolver.locate("gov.nasa.jpf.A").getClasspathEntry()).isEqualTo(jar);
+            assertThat(resolver.locate("gov.nasa.jpf.Other")).isNull();
+        }
+    }
+    
+    private static byte[] bytes(String text) {
+        return text.getBytes(StandardCharsets.UTF_8);
+    }
+    
+    private static Path createJar(Path jarPath, Map<String, byte[]> entries) throws IOException {
+        try (JarOutputStream jos = new JarOutputStream(Files.newOutputStream(jarPath))) {
+            for (Map.Entry<String, byte[]> entry : entries.entrySet()) {
+                jos.putNextEntry(new JarEntry(entry.getKey()));
+                jos.write(entry.getValue());
+                jos.closeEntry();
+            }
+        }
+        return jarPath;
+    }
+} 
\ No newline at end of file
@@ -0,0 +1,301 @@
+/*
+ * Copyright (C) 2025, United States Government, as represented by the
+ * Administrator of the National Aeronautics and Space Administration.
+ * All rights reserved.
+ *
+ * The Java Pathfinder AutoDoc tool is licensed under the
+ * Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ * 
+ *        http://www.apache.org/licenses/LICENSE-2.0. 
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and 
+ * limitations under the License.
+ */
+package gov.nasa.jpf.autodoc.core;
+
+import gov.nasa.jpf.autodoc.core.model.AnalysisConfig;
+import gov.nasa.jpf.autodoc.core.model.ConfigOption;
+import gov.nasa.jpf.autodoc.core.model.ExecutorMode;
+import gov.nasa.jpf.autodoc.core.model.Listener;
+import gov.nasa.jpf.autodoc.core.model.NativePeer;
+import gov.nasa.jpf.autodoc.core.model.ResultAccumulator;
+import gov.nasa.jpf.autodoc.core.model.ResultSink;
+import gov.nasa.jpf.autodoc.core.model.UnifiedAnalysisResult;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Tests for DefaultAnalysisEngine.
+ */
+class DefaultAnalysisEngineTest {
+    
+    @TempDir
+    Path tempDir;
+    
+    @Test
+    void testClassesOutsideJPFPackagesAreNeverLoaded() throws IOException {
+        for (boolean parallel : new boolean[] { false, true }) {
+            // Given - one JPF class among classes of other packages
+            CountingClassFile jpfClass = new CountingClassFile(ParsedClass.class);
+            List<ClassFile> classFiles = List.of(new CountingClassFile(String.class), jpfClass,
+                                                 new CountingClassFile(List.class));
+            AnalysisConfig config = AnalysisConfig.builder().parallelProcessing(parallel).threadCount(2).build();
+            
+            // When
+            UnifiedAnalysisResult result;
+            try (ClassFileSource source = ClassFileSource.of(classFiles)) {
+                result = new DefaultAnalysisEngine().analyze(source, config);
+            }
+            
+            // Then
+            assertThat(result).isNotNull();
+            assertThat(jpfClass.loads.get()).as("parallel %s", parallel).isPositive();
+            for (ClassFile classFile : classFiles) {
+                if (classFile != jpfClass) {
+                    assertThat(((CountingClassFile) classFile).loads.get())
+                        .as("loads of %s, parallel %s", classFile.getClassName(), parallel)
+                        .isZero();
+                }
+            }
+        }
+    }
+    
+    @Test
+    void testForkJoinModeFindsWhatSequentialAnalysisFinds() throws IOException {
+        // Given - more classes than fit in one chunk, so the task is split
+        Class<?>[] types = { AnalysisEngine.class, ArchiveFileReader.class, ArchiveIndex.class,
+                             BZip2InputStream.class, ChunkedAnalysisTask.class, ClassFile.class,
+                             ClassFileSet.class, ClassFileSource.class, ClassFingerprint.class,
+                             ClasspathResolver.class, DefaultAnalysisEngine.class, DirectorySource.class,
+                             DirectoryWalker.class, DuplicateClassFilter.class, IngestionPipeline.class,
+                             LazyClassFile.class, MappedZipReader.class, NestedArchiveCursor.class,
+                             ParallelZipFileSource.class, ParsedClass.class, ReadAheadInputStream.class,
+                             TarSource.class, ZipFileSource.class, AnalysisConfig.class,
+                             ExecutorMode.class, ResultAccumulator.class, ResultSink.class,
+                             UnifiedAnalysisResult.class, IngestionPipeline.Stats.class,
+                             AnalysisConfig.Builder.class };
+        AnalysisConfig sequentialConfig = AnalysisConfig.builder().parallelProcessing(false).build();
+        AnalysisConfig forkJoinConfig = AnalysisConfig.builder()
+            .parallelProcessing(true)
+            .threadCount(4)
+            .executorMode(ExecutorMode.FORKJOIN)
+            .build();
+        
+        // When
+        UnifiedAnalysisResult sequential = analyze(types, sequentialConfig);
+        UnifiedAnalysisResult forkJoin = analyze(types, forkJoinConfig);
+        
+        // Then
+        assertThat(forkJoin.getTypes().keySet()).isNotEmpty()
+            .isEqualTo(sequential.getTypes().keySet());
+        assertThat(forkJoin.getConfigOptions().keySet()).isEqualTo(sequential.getConfigOptions().keySet());
+        assertThat(forkJoin.getCrossReferences().keySet()).isEqualTo(sequential.getCrossReferences().keySet());
+    }
+    
+    @Test
+    void testEngineIsReusedAcrossAnalysesUntilClosed() throws IOException {
+        // Given - one engine for several targets in every executor mode
+        Class<?>[] types = { ParsedClass.class, ClassFile.class, DefaultAnalysisEngine.class };
+        AnalysisConfig sequentialConfig = AnalysisConfig.builder().parallelProcessing(false).build();
+        UnifiedAnalysisResult expected = analyze(types, sequentialConfig);
+        DefaultAnalysisEngine engine = new DefaultAnalysisEngine();
+        
+        try {
+            for (int round = 0; round < 3; round++) {
+                for (ExecutorMode mode : ExecutorMode.values()) {
+                    AnalysisConfig config = AnalysisConfig.builder()
+                        .parallelProcessing(true)
+                        .threadCount(2)
+                        .executorMode(mode)
+                        .build();
+                    
+                    // When
+                    UnifiedAnalysisResult result = analyze(engine, types, config);
+                    
+                    // Then
+                    assertThat(result.getTypes().keySet()).as("round %d, %s", round, mode)
+                        .isEqualTo(expected.getTypes().keySet());
+                }
+            }
+        } finally {
+            engine.close();
+        }
+        
+        // A closed engine refuses further analyses
+        assertThatThrownBy(() -> analyze(engine, types, AnalysisConfig.builder().parallelProcessing(true).build()))
+            .hasRootCauseInstanceOf(IllegalStateException.class);
+    }
+    
+    @Test
+    void testConcurrentTargetsGetTheirOwnResults() throws IOException {
+        // Given - two targets sharing some classes, as extensions share jpf-core
+        Path first = createJar("first.jar", AnalysisConfig.class, ConfigOption.class, NativePeer.class);
+        Path second = createJar("second.jar", AnalysisConfig.class, ConfigOption.class, Listener.class);
+        List<String> targets = List.of(first.toString(), second.toString());
+        
+        for (ExecutorMode mode : ExecutorMode.values()) {
+            AnalysisConfig config = AnalysisConfig.builder()
+                .parallelProcessing(true)
+                .threadCount(2)
+                .executorMode(mode)
+                .build();
+            
+            try (DefaultAnalysisEngine engine = new DefaultAnalysisEngine()) {
+                // When
+                List<CompletableFuture<UnifiedAnalysisResult>> results = engine.analyzeConcurrently(targets, config);
+                
+                // Then - each result holds what analyzing its target alone finds
+                assertThat(results).hasSize(2);
+                for (int i = 0; i < targets.size(); i++) {
+                    UnifiedAnalysisResult expected = engine.analyze(targets.get(i), config);
+                    UnifiedAnalysisResult actual = results.get(i).join();
+                    assertThat(actual.getTypes().keySet()).as("%s, target %d", mode, i).isNotEmpty()
+                        .isEqualTo(expected.getTypes().keySet());
+                    assertThat(actual.getConfigOptions().keySet()).isEqualTo(expected.getConfigOptions().keySet());
+                }
+                assertThat(results.get(0).join().getTypes()).containsKey(NativePeer.class.getName())
+                    .doesNotContainKey(Listener.class.getName());
+                assertThat(results.get(1).join().getTypes()).containsKey(Listener.class.getName())
+                    .doesNotContainKey(NativePeer.class.getName());
+            }
+        }
+    }
+    
+    @Test
+    void testAncestorsOutsideTheTargetAreResolvedOnTheClasspath() throws IOException {
+        // Given - a listener whose superclasses are only on the classpath
+        Path target = createJar("extension.jar", SearchListener.class);
+        Path classpath = createJar("core.jar", BaseSearchListener.class, AbstractSearchListener.class);
+        AnalysisConfig config = AnalysisConfig.builder()
+            .parallelProcessing(false)
+            .classpath(List.of(classpath))
+            .build();
+        
+        // When
+        UnifiedAnalysisResult result;
+        UnifiedAnalysisResult withoutClasspath;
+        try (DefaultAnalysisEngine engine = new DefaultAnalysisEngine()) {
+            result = engine.analyze(target.toString(), config);
+            withoutClasspath = engine.analyze(target.toString(), AnalysisConfig.builder().parallelProcessing(false).build());
+        }
+        
+        // Then - the chain is followed until a class the classpath does not hold
+        assertThat(result.getTypes().get(SearchListener.class.getName()).getAncestors())
+            .containsExactly(BaseSearchListener.class.getName(), AbstractSearchListener.class.getName(),
+                             "java.lang.Object");
+        assertThat(withoutClasspath.getTypes().get(SearchListener.class.getName()).getAncestors()).isEmpty();
+    }
+    
+    @Test
+    void testClasspathResolversStayOpenWhileTheEngineIs() throws IOException {
+        // Given
+        Path first = createJar("first.jar", BaseSearchListener.class);
+        Path second = createJar("second.jar", AbstractSearchListener.class);
+        AnalysisConfig firstConfig = AnalysisConfig.builder().classpath(List.of(first)).build();
+        AnalysisConfig secondConfig = AnalysisConfig.builder().classpath(List.of(second)).build();
+        DefaultAnalysisEngine engine = new DefaultAnalysisEngine();
+        
+        try {
+            // When
+            ClasspathResolver resolver = engine.getClasspathResolver(firstConfig);
+            ClasspathResolver other = engine.getClasspathResolver(secondConfig);
+            
+            // Then - one resolver per classpath, and asking for another does not close the first
+            assertThat(engine.getClasspathResolver(firstConfig)).isSameAs(resolver);
+            assertThat(other).isNotSameAs(resolver);
+            assertThat(resolver.find(BaseSearchListener.class.getName())).isNotNull();
+            assertThat(resolver.findSuperClassName(BaseSearchListener.class.getName()))
+                .isEqualTo(AbstractSearchListener.class.getName());
+        } finally {
+            engine.close();
+        }
+        assertThatThrownBy(() -> engine.getClasspathResolver(firstConfig)).isInstanceOf(IllegalStateException.class);
+    }
+    
+    static class AbstractSearchListener {
+    }
+    
+    static class BaseSearchListener extends AbstractSearchListener {
+    }
+    
+    static class SearchListener extends BaseSearchListener {
+    }
+    
+    private Path createJar(String name, Class<?>... types) throws IOException {
+        Path jarPath = tempDir.resolve(name);
+        try (JarOutputStream jos = new JarOutputStream(Files.newOutputStream(jarPath))) {
+            for (Class<?> type : types) {
+                String resource = type.getName().replace('.', '/') + ".class";
+                jos.putNextEntry(new JarEntry(resource));
+                try (InputStream in = type.getResourceAsStream("/" + resource)) {
+                    in.transferTo(jos);
+                }
+                jos.closeEntry();
+            }
+        }
+        return jarPath;
+    }
+    
+    private static UnifiedAnalysisResult analyze(Class<?>[] types, AnalysisConfig config) throws IOException {
+        List<ClassFile> classFiles = new ArrayList<>();
+        for (Class<?> type : types) {
+            classFiles.add(new CountingClassFile(type));
+        }
+        try (ClassFileSource source = ClassFileSource.of(classFiles)) {
+            return new DefaultAnalysisEngine().analyze(source, config);
+        }
+    }
+    
+    private static UnifiedAnalysisResult analyze(AnalysisEngine engine, Class<?>[] types, AnalysisConfig config)
+        throws IOException {
+        List<ClassFile> classFiles = new ArrayList<>();
+        for (Class<?> type : types) {
+            classFiles.add(new CountingClassFile(type));
+        }
+        try (ClassFileSource source = ClassFileSource.of(classFiles)) {
+            return engine.analyze(source, config);
+        }
+    }
+    
+    /**
+     * A class file that counts how often its bytes are asked for.
+     */
+    private static final class CountingClassFile extends ClassFile {
+        
+        private final byte[] bytes;
+        final AtomicInteger loads = new AtomicInteger();
+        
+        CountingClassFile(Class<?> type) throws IOException {
+            super(type.getName(), Paths.get("test.jar"), "jar");
+            String resource = "/" + type.getName().replace('.', '/') + ".class";
+            try (InputStream in = type.getResourceAsStream(resource)) {
+                this.bytes = in.readAllBytes();
+            }
+        }
+        
+        @Override
+        public byte[] getData() {
+            loads.incrementAndGet();
+            return bytes;
+        }
+    }
+} 
\ No newline at end of file
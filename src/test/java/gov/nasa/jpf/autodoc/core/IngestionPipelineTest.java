@@ -0,0 +1,227 @@
+/*
+ * Copyright (C) 2025, United States Government, as represented by the
+ * Administrator of the National Aeronautics and Space Administration.
+ * All rights reserved.
+ *
+ * The Java Pathfinder AutoDoc tool is licensed under the
+ * Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ * 
+ *        http://www.apache.org/licenses/LICENSE-2.0. 
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and 
+ * limitations under the License.
+ */
+package gov.nasa.jpf.autodoc.core;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Tests for the reader/analyzer pipeline used by parallel analysis.
+ */
+class IngestionPipelineTest {
+    
+    private ExecutorService readers;
+    private ExecutorService analyzers;
+    
+    @BeforeEach
+    void setUp() {
+        readers = Executors.newCachedThreadPool();
+        analyzers = Executors.newFixedThreadPool(4);
+    }
+    
+    @AfterEach
+    void tearDown() {
+        readers.shutdownNow();
+        analyzers.shutdownNow();
+    }
+    
+    @Test
+    void testClassFilesAreNumberedInSourceOrderWithinWindow() throws Exception {
+        // Given
+        int capacity = 8;
+        List<ClassFile> classFiles = createClassFiles(500);
+        AtomicInteger taken = new AtomicInteger();
+        AtomicInteger finished = new AtomicInteger();
+        AtomicInteger maxInFlight = new AtomicInteger();
+        Map<Long, String> analyzed = new ConcurrentHashMap<>();
+        Iterable<ClassFile> source = () -> new Iterator<ClassFile>() {
+            private final Iterator<ClassFile> delegate = classFiles.iterator();
+            
+            @Override
+            public boolean hasNext() {
+                return delegate.hasNext();
+            }
+            
+            @Override
+            public ClassFile next() {
+                int inFlight = taken.incrementAndGet() - finished.get();
+                maxInFlight.accumulateAndGet(inFlight, Math::max);
+                return delegate.next();
+            }
+        };
+        IngestionPipeline pipeline = new IngestionPipeline(3, 4, capacity, classFile -> true, (classFile, sequence) -> {
+            if (ThreadLocalRandom.current().nextInt(10) == 0) {
+                Thread.yield();
+            }
+            analyzed.put(sequence, classFile.getClassName());
+            finished.incrementAndGet();
+        });
+        
+        // When
+        IngestionPipeline.Stats stats = pipeline.run(source, readers, analyzers);
+        
+        // Then
+        assertThat(analyzed).hasSize(classFiles.size());
+        for (int i = 0; i < classFiles.size(); i++) {
+            assertThat(analyzed.get((long) i)).isEqualTo(classFiles.get(i).getClassName());
+        }
+        assertThat(maxInFlight.get()).isLessThanOrEqualTo(capacity);
+        assertThat(stats.getClassesRead()).isEqualTo(500);
+        assertThat(stats.getClassesAnalyzed()).isEqualTo(500);
+        assertThat(stats.getBytesRead()).isEqualTo(500 * 4);
+        assertThat(stats.toString()).contains("500 classes");
+    }
+    
+    @Test
+    void testAnalyzerFailureIsReported() {
+        // Given
+        IngestionPipeline pipeline = new IngestionPipeline(2, 2, 4, classFile -> true, (classFile, sequence) -> {
+            if (classFile.getClassName().endsWith("C7")) {
+                throw new IllegalStateException("analyzer failed");
+            }
+        });
+        
+        // When / Then
+        assertThatThrownBy(() -> pipeline.run(createClassFiles(50), readers, analyzers))
+            .isInstanceOf(ExecutionException.class)
+            .hasRootCauseMessage("analyzer failed");
+    }
+    
+    @Test
+    void testSourceFailureIsReported() {
+        // Given
+        Iterable<ClassFile> source = () -> new Iterator<ClassFile>() {
+            private int count;
+            
+            @Override
+            public boolean hasNext() {
+                return true;
+            }
+            
+            @Override
+            public ClassFile next() {
+                if (++count == 20) {
+                    throw new IllegalStateException("source failed");
+                }
+                return classFile(count);
+            }
+        };
+        IngestionPipeline pipeline = new IngestionPipeline(2, 2, 4, classFile -> true, (classFile, sequence) -> { });
+        
+        // When / Then
+        assertThatThrownBy(() -> pipeline.run(source, readers, analyzers))
+            .isInstanceOf(ExecutionException.class)
+            .hasRootCauseMessage("source failed");
+    }
+    
+    @Test
+    void testEmptySource() throws Exception {
+        AtomicInteger analyzed = new AtomicInteger();
+        IngestionPipeline pipeline = new IngestionPipeline(2, 2, 4, classFile -> true,
+            (classFile, sequence) -> analyzed.incrementAndGet());
+        
+        IngestionPipeline.Stats stats = pipeline.run(Collections.emptyList(), readers, analyzers);
+        
+        assertThat(analyzed.get()).isZero();
+        assertThat(stats.getClassesAnalyzed()).isZero();
+    }
+    
+    @Test
+    void testReadersRunOnVirtualThreadsWhereSupported() throws Exception {
+        // Given - readers record their threads, analyzers stay on platform threads
+        Set<String> readerThreads = ConcurrentHashMap.newKeySet();
+        Set<String> analyzerThreads = ConcurrentHashMap.newKeySet();
+        // Without virtual threads the factory falls back to platform threads
+        ThreadFactory readerThreadFactory = VirtualThreads.newThreadFactory("test-reader");
+        IngestionPipeline pipeline = new IngestionPipeline(16, 2, 32, classFile -> {
+            readerThreads.add(Thread.currentThread().toString());
+            return true;
+        }, (classFile, sequence) -> analyzerThreads.add(Thread.currentThread().toString()));
+        ExecutorService virtualReaders = Executors.newCachedThreadPool(readerThreadFactory);
+        
+        // When
+        IngestionPipeline.Stats stats;
+        try {
+            stats = pipeline.run(createClassFiles(200), virtualReaders, analyzers);
+        } finally {
+            virtualReaders.shutdownNow();
+        }
+        
+        // Then
+        assertThat(stats.getClassesAnalyzed()).isEqualTo(200);
+        assertThat(readerThreads).isNotEmpty().allSatisfy(thread -> {
+            assertThat(thread).contains("test-reader");
+            assertThat(thread.startsWith("VirtualThread")).isEqualTo(VirtualThreads.isSupported());
+        });
+        assertThat(analyzerThreads).isNotEmpty().noneMatch(thread -> thread.startsWith("VirtualThread"));
+    }
+    
+    @Test
+    void testExecutorsAreReusableAcrossRuns() throws Exception {
+        // Given - one run that fails, then runs on the same executors
+        IngestionPipeline failing = new IngestionPipeline(2, 4, 4, classFile -> true, (classFile, sequence) -> {
+            throw new IllegalStateException("analyzer failed");
+        });
+        AtomicInteger analyzed = new AtomicInteger();
+        IngestionPipeline pipeline = new IngestionPipeline(2, 4, 8, classFile -> true,
+            (classFile, sequence) -> analyzed.incrementAndGet());
+        
+        // When
+        assertThatThrownBy(() -> failing.run(createClassFiles(100), readers, analyzers))
+            .isInstanceOf(ExecutionException.class);
+        for (int i = 0; i < 3; i++) {
+            pipeline.run(createClassFiles(100), readers, analyzers);
+        }
+        
+        // Then
+        assertThat(analyzed.get()).isEqualTo(300);
+        assertThat(readers.isShutdown()).isFalse();
+        assertThat(analyzers.isShutdown()).isFalse();
+    }
+    
+    private static List<ClassFile> createClassFiles(int count) {
+        List<ClassFile> classFiles = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            classFiles.add(classFile(i));
+        }
+        return classFiles;
+    }
+    
+    private static ClassFile classFile(int index) {
+        return new LazyClassFile("gov.nasa.jpf.C" + index, Path.of("test.jar"), "jar", () -> new byte[4]);
+    }
+} 
\ No newline at end of file
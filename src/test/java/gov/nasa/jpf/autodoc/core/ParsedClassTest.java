@@ -0,0 +1,82 @@
+/*
+ * Copyright (C) 2025, United States Government, as represented by the
+ * Administrator of the National Aeronautics and Space Administration.
+ * All rights reserved.
+ *
+ * The Java Pathfinder AutoDoc tool is licensed under the
+ * Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ * 
+ *        http://www.apache.org/licenses/LICENSE-2.0. 
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and 
+ * limitations under the License.
+ */
+package gov.nasa.jpf.autodoc.core;
+
+import gov.nasa.jpf.autodoc.core.bytecode.ClassFileScanner;
+import gov.nasa.jpf.autodoc.core.bytecode.ClassFormatException;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Paths;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+
+/**
+ * Tests for ParsedClass.
+ */
+class ParsedClassTest {
+    
+    @Test
+    void testScannerIsSharedAndRescannedForItsOwner() throws IOException {
+        // Given
+        ParsedClass first = parsed(ParsedClassTest.class);
+        ParsedClass second = parsed(ClassFile.class);
+        
+        // When
+        ClassFileScanner scanner = first.getScanner();
+        
+        // Then - asking again does not rescan, and another class takes the scanner over
+        assertThat(first.getScanner()).isSameAs(scanner);
+        assertThat(second.getScanner().getClassName()).isEqualTo(ClassFile.class.getName());
+        assertThat(first.getScanner().getClassName()).isEqualTo(ParsedClassTest.class.getName());
+    }
+    
+    @Test
+    void testJPFPackageCheck() throws IOException {
+        assertThat(parsed(ParsedClassTest.class).isJPFClass()).isTrue();
+        assertThat(new ParsedClass(new ClassFile("java.lang.String", new byte[0], Paths.get("rt.jar"), "jar"))
+                       .isJPFClass()).isFalse();
+        assertThat(ParsedClass.isJPFClassName("gov.nasa.jpf.vm.VM")).isTrue();
+        assertThat(ParsedClass.isJPFClassName("gov.nasa.jpfx.Tool")).isFalse();
+        assertThat(ParsedClass.isJPFClassName("org.example.gov.nasa.jpf.Listener")).isFalse();
+    }
+    
+    @Test
+    void testScanFailureIsKept() {
+        // Given
+        ParsedClass parsedClass = new ParsedClass(
+            new ClassFile("gov.nasa.jpf.Broken", new byte[] { 1, 2, 3, 4, 5, 6, 7, 8, 9, 10 }, Paths.get("test.jar"), "jar"));
+        
+        // When
+        Throwable first = catchThrowable(parsedClass::getScanner);
+        Throwable second = catchThrowable(parsedClass::getScanner);
+        
+        // Then
+        assertThat(first).isInstanceOf(ClassFormatException.class);
+        assertThat(second).isSameAs(first);
+    }
+    
+    private static ParsedClass parsed(Class<?> type) throws IOException {
+        String resource = "/" + type.getName().replace('.', '/') + ".class";
+        try (InputStream in = type.getResourceAsStream(resource)) {
+            return new ParsedClass(new ClassFile(type.getName(), in.readAllBytes(), Paths.get("test.jar"), "jar"));
+        }
+    }
+} 
\ No newline at end of file
@@ -0,0 +1,67 @@
+/*
+ * Copyright (C) 2025, United States Government, as represented by the
+ * Administrator of the National Aeronautics and Space Administration.
+ * All rights reserved.
+ *
+ * The Java Pathfinder AutoDoc tool is licensed under the
+ * Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ * 
+ *        http://www.apache.org/licenses/LICENSE-2.0. 
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and 
+ * limitations under the License.
+ */
+
+package gov.nasa.jpf.autodoc.core;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class ReadAheadInputStreamTest {
+    
+    @Test
+    void testReadsDelegateInChunks() throws IOException {
+        // Given
+        byte[] data = new byte[10_000];
+        for (int i = 0; i < data.length; i++) {
+            data[i] = (byte) i;
+        }
+        
+        // When
+        byte[] read;
+        try (InputStream in = new ReadAheadInputStream(new ByteArrayInputStream(data), 1024, 2, "test-reader")) {
+            read = in.readAllBytes();
+        }
+        
+        // Then
+        assertThat(read).isEqualTo(data);
+    }
+    
+    @Test
+    void testRuntimeFailureOfDelegateIsReportedToConsumer() throws IOException {
+        // Given - a delegate that fails the way a corrupt compressed stream can
+        InputStream failing = new InputStream() {
+            @Override
+            public int read() {
+                throw new IllegalStateException("corrupt block");
+            }
+        };
+        
+        // When/Then - the consumer gets an IOException instead of waiting forever
+        try (InputStream in = new ReadAheadInputStream(failing, 1024, 2, "test-reader")) {
+            assertThatThrownBy(in::read)
+                .isInstanceOf(IOException.class)
+                .hasCauseInstanceOf(IllegalStateException.class);
+        }
+    }
+}
@@ -0,0 +1,134 @@
+/*
+ * Copyright (C) 2025, United States Government, as represented by the
+ * Administrator of the National Aeronautics and Space Administration.
+ * All rights reserved.
+ *
+ * The Java Pathfinder AutoDoc tool is licensed under the
+ * Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ * 
+ *        http://www.apache.org/licenses/LICENSE-2.0. 
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and 
+ * limitations under the License.
+ */
+package gov.nasa.jpf.autodoc.core.bytecode;
+
+import gov.nasa.jpf.annotation.JPFOption;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for AnnotationScanner.
+ */
+class AnnotationScannerTest {
+    
+    @Retention(RetentionPolicy.CLASS)
+    @interface Sample {
+        String text();
+        int number();
+        long big();
+        double ratio();
+        boolean flag();
+        char letter();
+        ElementType kind();
+        Class<?> type();
+        int[] numbers();
+    }
+    
+    @SuppressWarnings("unused")
+    static class Annotated {
+        
+        @JPFOption(type = "Int", key = "search.depth_limit", defaultValue = "42", comment = "Maximum depth")
+        int depthLimit;
+        
+        @Deprecated
+        String unrelated;
+        
+        @JPFOption(type = "Boolean", key = "cg.enumerate_random", defaultValue = "false")
+        @JPFOption(type = "Boolean", key = "cg.break_single_choice", defaultValue = "true")
+        void configure() {
+            // The body is skipped
+            for (int i = 0; i < 10; i++) {
+                depthLimit += i;
+            }
+        }
+        
+        @Sample(text = "hello", number = -7, big = 1L << 40, ratio = 0.5, flag = true, letter = 'x',
+                kind = ElementType.FIELD, type = String.class, numbers = {1, 2, 3})
+        void sample() {
+        }
+    }
+    
+    @Test
+    void testFindsOptionsOnFieldsAndInContainers() throws IOException {
+        // Given
+        ClassFileScanner scanner = new ClassFileScanner().scan(classBytes(Annotated.class));
+        
+        // When
+        List<AnnotationScanner.Annotation> options = AnnotationScanner.find(scanner, JPFOption.class.getName());
+        
+        // Then
+        assertThat(options).hasSize(3);
+        assertThat(options.get(0).isField()).isTrue();
+        assertThat(options.get(0).getMemberName()).isEqualTo("depthLimit");
+        assertThat(options.get(0).getValue("key")).isEqualTo("search.depth_limit");
+        assertThat(options.get(0).getValue("defaultValue")).isEqualTo("42");
+        assertThat(options.get(0).getValue("comment")).isEqualTo("Maximum depth");
+        assertThat(options.get(1).isField()).isFalse();
+        assertThat(options.get(1).getMemberName()).isEqualTo("configure");
+        assertThat(options.get(1).getValue("key")).isEqualTo("cg.enumerate_random");
+        assertThat(options.get(1).getValue("comment")).isNull();
+        assertThat(options.get(2).getValue("key")).isEqualTo("cg.break_single_choice");
+    }
+    
+    @Test
+    void testDecodesElementValuesOfInvisibleAnnotations() throws IOException {
+        // Given
+        ClassFileScanner scanner = new ClassFileScanner().scan(classBytes(Annotated.class));
+        
+        // When
+        List<AnnotationScanner.Annotation> samples = AnnotationScanner.find(scanner, Sample.class.getName());
+        
+        // Then
+        assertThat(samples).hasSize(1);
+        AnnotationScanner.Annotation sample = samples.get(0);
+        assertThat(sample.getMemberDescriptor()).isEqualTo("()V");
+        assertThat(sample.getValue("text")).isEqualTo("hello");
+        assertThat(sample.getValue("number")).isEqualTo("-7");
+        assertThat(sample.getValue("big")).isEqualTo(String.valueOf(1L << 40));
+        assertThat(sample.getValue("ratio")).isEqualTo("0.5");
+        assertThat(sample.getValue("flag")).isEqualTo("true");
+        assertThat(sample.getValue("letter")).isEqualTo("x");
+        assertThat(sample.getValue("kind")).isEqualTo("FIELD");
+        assertThat(sample.getValue("type")).isEqualTo("Ljava/lang/String;");
+        assertThat(sample.getValue("numbers")).isEqualTo("1,2,3");
+    }
+    
+    @Test
+    void testClassWithoutTheAnnotationIsRejected() throws IOException {
+        // Given
+        ClassFileScanner scanner = new ClassFileScanner().scan(classBytes(AnnotationScannerTest.class));
+        
+        // When / Then
+        assertThat(AnnotationScanner.find(scanner, JPFOption.class.getName())).isEmpty();
+    }
+    
+    private static byte[] classBytes(Class<?> type) throws IOException {
+        String resource = "/" + type.getName().replace('.', '/') + ".class";
+        try (InputStream in = type.getResourceAsStream(resource)) {
+            return in.readAllBytes();
+        }
+    }
+} 
\ No newline at end of file
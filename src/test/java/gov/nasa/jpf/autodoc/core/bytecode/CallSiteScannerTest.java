@@ -0,0 +1,164 @@
+/*
+ * Copyright (C) 2025, United States Government, as represented by the
+ * Administrator of the National Aeronautics and Space Administration.
+ * All rights reserved.
+ *
+ * The Java Pathfinder AutoDoc tool is licensed under the
+ * Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ * 
+ *        http://www.apache.org/licenses/LICENSE-2.0. 
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and 
+ * limitations under the License.
+ */
+package gov.nasa.jpf.autodoc.core.bytecode;
+
+import gov.nasa.jpf.Config;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for CallSiteScanner.
+ */
+class CallSiteScannerTest {
+    
+    @SuppressWarnings("unused")
+    static class ConfigReader {
+        
+        int depth;
+        
+        ConfigReader(Config config, int mode) {
+            // Switches and wide locals come before the calls, so instruction lengths must be right
+            switch (mode) {
+                case 1: depth = 1; break;
+                case 2: depth = 2; break;
+                case 3: depth = 3; break;
+                default: depth = 0;
+            }
+            switch (mode) {
+                case 10: depth = 10; break;
+                case 1000: depth = 1000; break;
+                default: break;
+            }
+            long a0 = 0, a1 = 0, a2 = 0, a3 = 0, a4 = 0, a5 = 0, a6 = 0, a7 = 0, a8 = 0, a9 = 0;
+            long b0 = 0, b1 = 0, b2 = 0, b3 = 0, b4 = 0, b5 = 0, b6 = 0, b7 = 0, b8 = 0, b9 = 0;
+            long c0 = 0, c1 = 0, c2 = 0, c3 = 0, c4 = 0, c5 = 0, c6 = 0, c7 = 0, c8 = 0, c9 = 0;
+            long d0 = 0, d1 = 0, d2 = 0, d3 = 0, d4 = 0, d5 = 0, d6 = 0, d7 = 0, d8 = 0, d9 = 0;
+            long e0 = 0, e1 = 0, e2 = 0, e3 = 0, e4 = 0, e5 = 0, e6 = 0, e7 = 0, e8 = 0, e9 = 0;
+            long f0 = 0, f1 = 0, f2 = 0, f3 = 0, f4 = 0, f5 = 0, f6 = 0, f7 = 0, f8 = 0, f9 = 0;
+            long g0 = 0, g1 = 0, g2 = 0, g3 = 0, g4 = 0, g5 = 0, g6 = 0, g7 = 0, g8 = 0, g9 = 0;
+            long h0 = 0, h1 = 0, h2 = 0, h3 = 0, h4 = 0, h5 = 0, h6 = 0, h7 = 0, h8 = 0, h9 = 0;
+            long i0 = 0, i1 = 0, i2 = 0, i3 = 0, i4 = 0, i5 = 0, i6 = 0, i7 = 0, i8 = 0, i9 = 0;
+            long j0 = 0, j1 = 0, j2 = 0, j3 = 0, j4 = 0, j5 = 0, j6 = 0, j7 = 0, j8 = 0, j9 = 0;
+            long k0 = 0, k1 = 0, k2 = 0, k3 = 0, k4 = 0, k5 = 0, k6 = 0, k7 = 0, k8 = 0, k9 = 0;
+            long l0 = 0, l1 = 0, l2 = 0, l3 = 0, l4 = 0, l5 = 0, l6 = 0, l7 = 0, l8 = 0, l9 = 0;
+            long m0 = 0, m1 = 0, m2 = 0, m3 = 0, m4 = 0, m5 = 0, m6 = 0, m7 = 0, m8 = 0, m9 = 0;
+            int wide = 0;
+            wide += 1000;
+            
+            depth += config.getInt("search.depth_limit", 42);
+            depth += config.getInt("search.min_free", 1 << 20);
+            config.getBoolean("search.multiple_errors", false);
+            config.getBoolean("search.show_depth", true);
+            config.getChar("report.separator", ':');
+            config.getLong("vm.max_time", 3_000_000_000L);
+            config.getDouble("vm.ratio", 0.75);
+            config.getString("report.publisher");
+            config.getString("vm.class", "gov.nasa.jpf.vm.SingleProcessVM");
+            config.getInstance("vm.scheduler", Runnable.class);
+            config.getInt("search.depth", depth);
+            config.getString(String.valueOf(mode));
+        }
+    }
+    
+    @Test
+    void testFindsConstantArgumentsOfConfigCalls() throws IOException {
+        // Given
+        ClassFileScanner scanner = new ClassFileScanner().scan(classBytes(ConfigReader.class));
+        
+        // When
+        List<CallSiteScanner.CallSite> calls = CallSiteScanner.find(scanner, Config.class.getName());
+        
+        // Then
+        assertThat(calls).extracting(CallSiteScanner.CallSite::getCallerName).containsOnly("<init>");
+        assertThat(calls.stream().map(CallSiteScannerTest::describe).collect(Collectors.toList())).containsExactly(
+            "getInt(search.depth_limit, 42)",
+            "getInt(search.min_free, 1048576)",
+            "getBoolean(search.multiple_errors, false)",
+            "getBoolean(search.show_depth, true)",
+            "getChar(report.separator, :)",
+            "getLong(vm.max_time, 3000000000)",
+            "getDouble(vm.ratio, 0.75)",
+            "getString(report.publisher)",
+            "getString(vm.class, gov.nasa.jpf.vm.SingleProcessVM)",
+            "getInstance(vm.scheduler, java.lang.Runnable)",
+            "getInt(search.depth, null)",
+            "getString(null)");
+    }
+    
+    @SuppressWarnings("unused")
+    static class BranchingConfigReader {
+        
+        BranchingConfigReader(Config config, boolean fast) {
+            config.getInt("search.depth", fast ? 10 : 42);
+            config.getString(fast ? "search.fast" : "search.slow");
+            config.getInt("search.width", 7);
+            try {
+                config.getString("report.console");
+            } catch (IllegalStateException e) {
+                config.getString("report.fallback");
+            }
+        }
+    }
+    
+    @Test
+    void testArgumentsJoiningBranchesAreUnknown() throws IOException {
+        // Given
+        ClassFileScanner scanner = new ClassFileScanner().scan(classBytes(BranchingConfigReader.class));
+        
+        // When
+        List<CallSiteScanner.CallSite> calls = CallSiteScanner.find(scanner, Config.class.getName());
+        
+        // Then - neither branch of a ?: is reported as the argument, and tracking resumes after the join
+        assertThat(calls.stream().map(CallSiteScannerTest::describe).collect(Collectors.toList())).containsExactly(
+            "getInt(null, null)",
+            "getString(null)",
+            "getInt(search.width, 7)",
+            "getString(report.console)",
+            "getString(report.fallback)");
+    }
+    
+    @Test
+    void testClassWithoutConfigCallsIsRejected() throws IOException {
+        // Given
+        ClassFileScanner scanner = new ClassFileScanner().scan(classBytes(CallSiteScannerTest.class));
+        
+        // When / Then
+        assertThat(CallSiteScanner.find(scanner, Config.class.getName())).isEmpty();
+    }
+    
+    private static String describe(CallSiteScanner.CallSite call) {
+        StringBuilder text = new StringBuilder(call.getMethodName()).append('(');
+        for (int i = 0; i < call.getArgumentCount(); i++) {
+            text.append(i > 0 ? ", " : "").append(call.getConstantArgument(i));
+        }
+        return text.append(')').toString();
+    }
+    
+    private static byte[] classBytes(Class<?> type) throws IOException {
+        String resource = "/" + type.getName().replace('.', '/') + ".class";
+        try (InputStream in = type.getResourceAsStream(resource)) {
+            return in.readAllBytes();
+        }
+    }
+} 
\ No newline at end of file
@@ -0,0 +1,202 @@
+/*
+ * Copyright (C) 2025, United States Government, as represented by the
+ * Administrator of the National Aeronautics and Space Administration.
+ * All rights reserved.
+ *
+ * The Java Pathfinder AutoDoc tool is licensed under the
+ * Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ * 
+ *        http://www.apache.org/licenses/LICENSE-2.0. 
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and 
+ * limitations under the License.
+ */
+package gov.nasa.jpf.autodoc.core.bytecode;
+
+import gov.nasa.jpf.autodoc.core.ClasspathResolver;
+import gov.nasa.jpf.autodoc.core.model.AnalysisConfig;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.Method;
+import java.net.URISyntaxException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Tests for ClassFileScanner, checked against reflection.
+ */
+class ClassFileScannerTest {
+    
+    @Test
+    void testScanMatchesReflection() throws IOException {
+        // Given - a scanner reused across classes of different sizes and kinds
+        ClassFileScanner scanner = new ClassFileScanner();
+        
+        for (Class<?> type : List.of(String.class, ArrayList.class, Runnable.class, ClasspathResolver.Location.class,
+                                     AnalysisConfig.class, ClassFileScannerTest.class)) {
+            // When
+            scanner.scan(classBytes(type));
+            
+            // Then
+            assertScanMatches(scanner, type);
+        }
+    }
+    
+    @Test
+    void testObjectHasNoSuperClass() throws IOException {
+        // When
+        ClassFileScanner scanner = new ClassFileScanner().scan(classBytes(Object.class));
+        
+        // Then
+        assertThat(scanner.getClassName()).isEqualTo("java.lang.Object");
+        assertThat(scanner.getSuperClassName()).isNull();
+        assertThat(scanner.getInterfaceCount()).isZero();
+    }
+    
+    @Test
+    void testMalformedClassFilesAreRejected() throws IOException {
+        // Given
+        byte[] classBytes = classBytes(ClassFileScannerTest.class);
+        byte[] truncated = Arrays.copyOf(classBytes, classBytes.length / 2);
+        byte[] badTag = classBytes.clone();
+        badTag[10] = 2;
+        ClassFileScanner scanner = new ClassFileScanner();
+        
+        // When / Then
+        assertThatThrownBy(() -> scanner.scan(new byte[] { 1, 2, 3, 4, 5, 6, 7, 8, 9, 10 }))
+            .isInstanceOf(ClassFormatException.class);
+        assertThatThrownBy(() -> scanner.scan(truncated).getMethodCount())
+            .isInstanceOf(ClassFormatException.class);
+        assertThatThrownBy(() -> scanner.scan(badTag))
+            .isInstanceOf(ClassFormatException.class);
+        
+        // The scanner is still usable afterwards
+        assertThat(scanner.scan(classBytes).getClassName()).isEqualTo(ClassFileScannerTest.class.getName());
+    }
+    
+    @Test
+    void testMemberTablesAreReadOnDemand() throws IOException {
+        // Given - a class cut off inside its methods table
+        byte[] classBytes = classBytes(ClassFileScannerTest.class);
+        ClassFileScanner scanner = new ClassFileScanner();
+        int methodsOffset = scanner.scan(classBytes).getMethodOffset(0);
+        byte[] truncated = Arrays.copyOf(classBytes, methodsOffset + 4);
+        
+        // When
+        scanner.scan(truncated);
+        
+        // Then - the header is readable; only walking the members finds the damage
+        assertThat(scanner.getClassName()).isEqualTo(ClassFileScannerTest.class.getName());
+        assertThat(scanner.getSuperClassName()).isEqualTo("java.lang.Object");
+        assertThatThrownBy(scanner::getMethodCount)
+            .isInstanceOf(ClassFormatException.class);
+    }
+    
+    @Test
+    void testAttributeLengthsOutsideTheClassFileAreRejected() throws IOException {
+        // Given - the first method's first attribute claims a negative or oversized length
+        byte[] classBytes = classBytes(ClassFileScannerTest.class);
+        ClassFileScanner scanner = new ClassFileScanner();
+        int lengthOffset = scanner.scan(classBytes).getMethodOffset(0) + 10;
+        byte[] negative = classBytes.clone();
+        negative[lengthOffset] = (byte) 0x80;
+        byte[] oversized = classBytes.clone();
+        oversized[lengthOffset] = (byte) 0x7F;
+        
+        // When / Then
+        assertThatThrownBy(() -> scanner.scan(negative).getMethodCount())
+            .isInstanceOf(ClassFormatException.class)
+            .hasMessageContaining("Bad attribute length");
+        assertThatThrownBy(() -> scanner.scan(oversized).getMethodCount())
+            .isInstanceOf(ClassFormatException.class)
+            .hasMessageContaining("Bad attribute length");
+    }
+    
+    @Test
+    void testScanAllMainClasses() throws IOException, URISyntaxException, ClassNotFoundException {
+        // Given - every class of the tool itself
+        Path classesDir = Paths.get(ClassFileScanner.class.getProtectionDomain().getCodeSource().getLocation().toURI());
+        List<byte[]> classes = new ArrayList<>();
+        if (Files.isDirectory(classesDir)) {
+            try (Stream<Path> paths = Files.walk(classesDir)) {
+                for (Path path : paths.filter(p -> p.toString().endsWith(".class")).collect(Collectors.toList())) {
+                    classes.add(Files.readAllBytes(path));
+                }
+            }
+        }
+        ClassFileScanner scanner = new ClassFileScanner();
+        
+        // When / Then
+        for (byte[] classBytes : classes) {
+            scanner.scan(classBytes);
+            assertScanMatches(scanner, Class.forName(scanner.getClassName(), false, getClass().getClassLoader()));
+        }
+    }
+    
+    private static void assertScanMatches(ClassFileScanner scanner, Class<?> type) throws ClassFormatException {
+        assertThat(scanner.getClassName()).isEqualTo(type.getName());
+        assertThat(scanner.isInterface()).isEqualTo(type.isInterface());
+        assertThat(scanner.getSuperClassName())
+            .isEqualTo(type.getSuperclass() != null ? type.getSuperclass().getName() : type.isInterface() ? "java.lang.Object" : null);
+        
+        List<String> interfaces = new ArrayList<>();
+        for (int i = 0; i < scanner.getInterfaceCount(); i++) {
+            interfaces.add(scanner.getInterfaceName(i));
+        }
+        assertThat(interfaces).containsExactlyElementsOf(
+            Arrays.stream(type.getInterfaces()).map(Class::getName).collect(Collectors.toList()));
+        
+        List<String> methods = new ArrayList<>();
+        for (int i = 0; i < scanner.getMethodCount(); i++) {
+            if (!scanner.isInitializer(i)) {
+                methods.add(scanner.getMethodName(i) + scanner.getMethodDescriptor(i));
+            }
+        }
+        // Coverage instrumentation adds methods at load time that are not in the class file
+        assertThat(methods).containsExactlyInAnyOrderElementsOf(
+            Arrays.stream(type.getDeclaredMethods()).filter(method -> !method.getName().startsWith("$jacoco"))
+                  .map(ClassFileScannerTest::nameAndDescriptor).collect(Collectors.toList()));
+    }
+    
+    private static String nameAndDescriptor(Method method) {
+        StringBuilder descriptor = new StringBuilder(method.getName()).append('(');
+        for (Class<?> parameter : method.getParameterTypes()) {
+            descriptor.append(descriptorOf(parameter));
+        }
+        return descriptor.append(')').append(descriptorOf(method.getReturnType())).toString();
+    }
+    
+    private static String descriptorOf(Class<?> type) {
+        if (type.isArray()) {
+            return type.getName().replace('.', '/');
+        }
+        if (type.isPrimitive()) {
+            return String.valueOf("ZBCSIJFDV".charAt(
+                Arrays.asList(boolean.class, byte.class, char.class, short.class, int.class, long.class,
+                              float.class, double.class, void.class).indexOf(type)));
+        }
+        return "L" + type.getName().replace('.', '/') + ";";
+    }
+    
+    private static byte[] classBytes(Class<?> type) throws IOException {
+        String resource = "/" + type.getName().replace('.', '/') + ".class";
+        try (InputStream in = type.getResourceAsStream(resource)) {
+            return in.readAllBytes();
+        }
+    }
+} 
\ No newline at end of file
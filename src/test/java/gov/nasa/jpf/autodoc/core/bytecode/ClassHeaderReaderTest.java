@@ -0,0 +1,104 @@
+/*
+ * Copyright (C) 2025, United States Government, as represented by the
+ * Administrator of the National Aeronautics and Space Administration.
+ * All rights reserved.
+ *
+ * The Java Pathfinder AutoDoc tool is licensed under the
+ * Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ * 
+ *        http://www.apache.org/licenses/LICENSE-2.0. 
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and 
+ * limitations under the License.
+ */
+package gov.nasa.jpf.autodoc.core.bytecode;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Tests for ClassHeaderReader.
+ */
+class ClassHeaderReaderTest {
+    
+    @TempDir
+    Path tempDir;
+    
+    @Test
+    void testReadClassNameOfNestedClass() throws IOException {
+        // Given
+        byte[] classBytes = classBytes(Map.Entry.class);
+        
+        // When
+        String className = ClassHeaderReader.readClassName(classBytes);
+        
+        // Then
+        assertThat(className).isEqualTo("java.util.Map$Entry");
+    }
+    
+    @Test
+    void testPrefixShorterThanHeaderNeedsMoreBytes() throws IOException {
+        // Given
+        byte[] classBytes = classBytes(ClassHeaderReaderTest.class);
+        
+        // When - find the shortest prefix that holds the header
+        int headerLength = 0;
+        while (ClassHeaderReader.readClassName(classBytes, headerLength) == null) {
+            headerLength++;
+        }
+        
+        // Then
+        assertThat(headerLength).isLessThan(classBytes.length);
+        assertThat(ClassHeaderReader.readClassName(classBytes, headerLength))
+            .isEqualTo(ClassHeaderReaderTest.class.getName());
+    }
+    
+    @Test
+    void testReadClassNameFromFileWithLargeConstantPool() throws IOException {
+        // Given - the constant pool of String does not fit in the first read
+        byte[] classBytes = classBytes(String.class);
+        assertThat(classBytes.length).isGreaterThan(ClassHeaderReader.HEADER_PREFIX_SIZE);
+        Path classPath = tempDir.resolve("Renamed.class");
+        Files.write(classPath, classBytes);
+        
+        // When / Then
+        assertThat(ClassHeaderReader.readClassName(classPath)).isEqualTo("java.lang.String");
+    }
+    
+    @Test
+    void testMalformedClassFilesAreRejected() throws IOException {
+        // Given
+        Path truncated = tempDir.resolve("Truncated.class");
+        Files.write(truncated, new byte[] { (byte) 0xCA, (byte) 0xFE, (byte) 0xBA, (byte) 0xBE, 0, 0, 0, 0x34, 0, 0x21 });
+        byte[] badTag = classBytes(ClassHeaderReaderTest.class);
+        badTag[10] = 2;
+        
+        // When / Then
+        assertThatThrownBy(() -> ClassHeaderReader.readClassName(new byte[] { 1, 2, 3, 4, 5, 6, 7, 8, 9, 10 }))
+            .isInstanceOf(ClassFormatException.class);
+        assertThatThrownBy(() -> ClassHeaderReader.readClassName(truncated))
+            .isInstanceOf(ClassFormatException.class);
+        assertThatThrownBy(() -> ClassHeaderReader.readClassName(badTag))
+            .isInstanceOf(ClassFormatException.class);
+    }
+    
+    private static byte[] classBytes(Class<?> type) throws IOException {
+        String resource = "/" + type.getName().replace('.', '/') + ".class";
+        try (InputStream in = type.getResourceAsStream(resource)) {
+            return in.readAllBytes();
+        }
+    }
+} 
\ No newline at end of file
@@ -0,0 +1,71 @@
+/*
+ * Copyright (C) 2025, United States Government, as represented by the
+ * Administrator of the National Aeronautics and Space Administration.
+ * All rights reserved.
+ *
+ * The Java Pathfinder AutoDoc tool is licensed under the
+ * Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ * 
+ *        http://www.apache.org/licenses/LICENSE-2.0. 
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and 
+ * limitations under the License.
+ */
+
+package gov.nasa.jpf.autodoc.core.model;
+
+import gov.nasa.jpf.autodoc.core.ClassFile;
+import gov.nasa.jpf.autodoc.options.ConfigurationAnalyzer;
+import gov.nasa.jpf.autodoc.types.TypeHierarchyAnalyzer;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.net.URISyntaxException;
+import java.util.List;
+
+/**
+ * Measures the time and allocation per class of collecting findings with a
+ * ResultAccumulator against building a result per class and merging it.
+ */
+public class ResultAccumulatorPerformanceTest {
+    
+    private static final int ROUNDS = Integer.getInteger("autodoc.bench.rounds", 5);
+    
+    @Test
+    void testAccumulatorAgainstMerge() throws IOException, URISyntaxException {
+        List<ClassFile> classFiles = ResultAccumulatorTest.loadMainClasses();
+        ConfigurationAnalyzer configAnalyzer = new ConfigurationAnalyzer();
+        TypeHierarchyAnalyzer typeAnalyzer = new TypeHierarchyAnalyzer();
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long thread = Thread.currentThread().getId();
+        
+        long mergeBytes = Long.MAX_VALUE;
+        long accumulateBytes = Long.MAX_VALUE;
+        long mergeNanos = Long.MAX_VALUE;
+        long accumulateNanos = Long.MAX_VALUE;
+        for (int round = 0; round < ROUNDS; round++) {
+            long bytes = threads.getThreadAllocatedBytes(thread);
+            long start = System.nanoTime();
+            ResultAccumulatorTest.mergePerClass(classFiles, configAnalyzer, typeAnalyzer);
+            mergeNanos = Math.min(mergeNanos, System.nanoTime() - start);
+            mergeBytes = Math.min(mergeBytes, threads.getThreadAllocatedBytes(thread) - bytes);
+            
+            bytes = threads.getThreadAllocatedBytes(thread);
+            start = System.nanoTime();
+            ResultAccumulatorTest.accumulate(classFiles, configAnalyzer, typeAnalyzer);
+            accumulateNanos = Math.min(accumulateNanos, System.nanoTime() - start);
+            accumulateBytes = Math.min(accumulateBytes, threads.getThreadAllocatedBytes(thread) - bytes);
+        }
+        
+        int classCount = classFiles.size();
+        System.out.printf("Result collection (%d classes, best of %d): merge %d bytes/class %.2f ms, " +
+                          "accumulator %d bytes/class %.2f ms%n",
+                          classCount, ROUNDS, mergeBytes / classCount, mergeNanos / 1e6,
+                          accumulateBytes / classCount, accumulateNanos / 1e6);
+    }
+}
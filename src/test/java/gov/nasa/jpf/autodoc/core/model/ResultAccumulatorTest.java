@@ -0,0 +1,167 @@
+/*
+ * Copyright (C) 2025, United States Government, as represented by the
+ * Administrator of the National Aeronautics and Space Administration.
+ * All rights reserved.
+ *
+ * The Java Pathfinder AutoDoc tool is licensed under the
+ * Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ * 
+ *        http://www.apache.org/licenses/LICENSE-2.0. 
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and 
+ * limitations under the License.
+ */
+package gov.nasa.jpf.autodoc.core.model;
+
+import gov.nasa.jpf.autodoc.core.ArchiveFileReader;
+import gov.nasa.jpf.autodoc.core.ClassFile;
+import gov.nasa.jpf.autodoc.core.ParsedClass;
+import gov.nasa.jpf.autodoc.options.ConfigurationAnalyzer;
+import gov.nasa.jpf.autodoc.types.TypeHierarchyAnalyzer;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.net.URISyntaxException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for ResultAccumulator, with a per-class allocation comparison against
+ * building a result per class and merging it. Timings are reported by
+ * {@link ResultAccumulatorPerformanceTest}.
+ */
+class ResultAccumulatorTest {
+    
+    private static final AnalysisConfig CONFIG = AnalysisConfig.defaultConfig();
+    
+    @Test
+    void testSealReplaysFindingsInSourceOrder() throws Exception {
+        // Given - classes handed out to threads out of order, all reporting one shared option
+        int classCount = 2000;
+        ResultAccumulator accumulator = new ResultAccumulator();
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        List<Future<?>> tasks = new ArrayList<>();
+        for (int i = classCount - 1; i >= 0; i--) {
+            long sequence = i;
+            tasks.add(executor.submit(() -> record(accumulator.forClass(sequence), sequence)));
+        }
+        for (Future<?> task : tasks) {
+            task.get();
+        }
+        executor.shutdown();
+        
+        // When
+        UnifiedAnalysisResult result = new UnifiedAnalysisResult("test", CONFIG);
+        int findings = accumulator.sealInto(result);
+        
+        // Then - the same result as analyzing the classes one after another
+        UnifiedAnalysisResult expected = new UnifiedAnalysisResult("test", CONFIG);
+        for (long i = 0; i < classCount; i++) {
+            record(expected, i);
+        }
+        assertThat(findings).isEqualTo(3 * classCount);
+        assertThat(result.getConfigOptions()).hasSameSizeAs(expected.getConfigOptions());
+        assertThat(result.getConfigOptions().get("shared").getClassName()).isEqualTo("C" + (classCount - 1));
+        assertThat(result.getListeners().keySet()).isEqualTo(expected.getListeners().keySet());
+        assertThat(result.getListeners().get("L7").getType()).isEqualTo(expected.getListeners().get("L7").getType());
+        
+        // The shards are dropped once sealed, so the pool threads keep none of the findings
+        assertThat(accumulator.sealInto(new UnifiedAnalysisResult("again", CONFIG))).isZero();
+    }
+    
+    private static void record(ResultSink sink, long sequence) {
+        sink.addConfigOption(new ConfigOption("shared", "C" + sequence, "String", "getString"));
+        sink.addConfigOption(new ConfigOption("own" + sequence, "C" + sequence, "String", "getString"));
+        sink.addListener(new Listener("L" + (sequence % 10), "T" + sequence));
+    }
+    
+    @Test
+    void testAllocationPerClassAgainstMerge() throws IOException, URISyntaxException {
+        // Given - every class of the tool itself, all in the JPF packages
+        List<ClassFile> classFiles = loadMainClasses();
+        ConfigurationAnalyzer configAnalyzer = new ConfigurationAnalyzer();
+        TypeHierarchyAnalyzer typeAnalyzer = new TypeHierarchyAnalyzer();
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long thread = Thread.currentThread().getId();
+        
+        long mergeBytes = Long.MAX_VALUE;
+        long accumulateBytes = Long.MAX_VALUE;
+        UnifiedAnalysisResult merged = null;
+        UnifiedAnalysisResult sealed = null;
+        for (int round = 0; round < 5; round++) {
+            // When - a result per class, merged one by one
+            long bytes = threads.getThreadAllocatedBytes(thread);
+            merged = mergePerClass(classFiles, configAnalyzer, typeAnalyzer);
+            mergeBytes = Math.min(mergeBytes, threads.getThreadAllocatedBytes(thread) - bytes);
+            
+            // When - one accumulator, sealed at the end
+            bytes = threads.getThreadAllocatedBytes(thread);
+            sealed = accumulate(classFiles, configAnalyzer, typeAnalyzer);
+            accumulateBytes = Math.min(accumulateBytes, threads.getThreadAllocatedBytes(thread) - bytes);
+        }
+        
+        // Then
+        assertThat(sealed.getConfigOptions().keySet()).isEqualTo(merged.getConfigOptions().keySet());
+        assertThat(sealed.getTypes().keySet()).isEqualTo(merged.getTypes().keySet());
+        assertThat(sealed.getListeners().keySet()).isEqualTo(merged.getListeners().keySet());
+        assertThat(accumulateBytes).isLessThan(mergeBytes);
+    }
+    
+    static UnifiedAnalysisResult mergePerClass(List<ClassFile> classFiles, ConfigurationAnalyzer configAnalyzer,
+                                               TypeHierarchyAnalyzer typeAnalyzer) {
+        UnifiedAnalysisResult merged = new UnifiedAnalysisResult("merge", CONFIG);
+        for (ClassFile classFile : classFiles) {
+            UnifiedAnalysisResult partialResult = new UnifiedAnalysisResult("class", CONFIG);
+            ParsedClass parsedClass = new ParsedClass(classFile);
+            configAnalyzer.analyze(parsedClass, partialResult);
+            typeAnalyzer.analyze(parsedClass, partialResult);
+            merged.merge(partialResult);
+        }
+        return merged;
+    }
+    
+    static UnifiedAnalysisResult accumulate(List<ClassFile> classFiles, ConfigurationAnalyzer configAnalyzer,
+                                            TypeHierarchyAnalyzer typeAnalyzer) {
+        ResultAccumulator accumulator = new ResultAccumulator();
+        for (int i = 0; i < classFiles.size(); i++) {
+            ResultSink sink = accumulator.forClass(i);
+            ParsedClass parsedClass = new ParsedClass(classFiles.get(i));
+            configAnalyzer.analyze(parsedClass, sink);
+            typeAnalyzer.analyze(parsedClass, sink);
+        }
+        UnifiedAnalysisResult sealed = new UnifiedAnalysisResult("accumulate", CONFIG);
+        accumulator.sealInto(sealed);
+        return sealed;
+    }
+    
+    static List<ClassFile> loadMainClasses() throws IOException, URISyntaxException {
+        Path classesDir = Paths.get(ResultAccumulator.class.getProtectionDomain().getCodeSource().getLocation().toURI());
+        List<ClassFile> classFiles = new ArrayList<>();
+        if (Files.isDirectory(classesDir)) {
+            try (Stream<Path> paths = Files.walk(classesDir)) {
+                for (Path path : paths.filter(p -> p.toString().endsWith(".class")).collect(Collectors.toList())) {
+                    classFiles.add(ClassFile.fromFile(path.toFile()));
+                }
+            }
+        } else {
+            // Tests may run against the jar
+            classFiles.addAll(ArchiveFileReader.readFromArchive(classesDir));
+        }
+        return classFiles;
+    }
+} 
\ No newline at end of file
@@ -0,0 +1,109 @@
+/*
+ * Copyright (C) 2025, United States Government, as represented by the
+ * Administrator of the National Aeronautics and Space Administration.
+ * All rights reserved.
+ *
+ * The Java Pathfinder AutoDoc tool is licensed under the
+ * Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ * 
+ *        http://www.apache.org/licenses/LICENSE-2.0. 
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and 
+ * limitations under the License.
+ */
+package gov.nasa.jpf.autodoc.options;
+
+import gov.nasa.jpf.Config;
+import gov.nasa.jpf.annotation.JPFOption;
+import gov.nasa.jpf.autodoc.core.ClassFile;
+import gov.nasa.jpf.autodoc.core.model.AnalysisConfig;
+import gov.nasa.jpf.autodoc.core.model.ConfigAnnotation;
+import gov.nasa.jpf.autodoc.core.model.ConfigOption;
+import gov.nasa.jpf.autodoc.core.model.UnifiedAnalysisResult;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Paths;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for ConfigurationAnalyzer.
+ */
+class ConfigurationAnalyzerTest {
+    
+    @SuppressWarnings("unused")
+    static class SearchOptions {
+        
+        @JPFOption(type = "Int", key = "search.depth_limit", defaultValue = "2147483647", comment = "Maximum search depth")
+        int depthLimit;
+        
+        @JPFOption(type = "Boolean", key = "search.multiple_errors", defaultValue = "false")
+        boolean multipleErrors;
+    }
+    
+    @SuppressWarnings("unused")
+    static class SearchSettings {
+        
+        SearchSettings(Config config) {
+            config.getInt("search.depth_limit", 100);
+            config.getBoolean("search.multiple_errors", false);
+            config.getString("search.class");
+        }
+    }
+    
+    @Test
+    void testConfigKeysAreReadFromGetterCalls() throws IOException {
+        // Given
+        ClassFile classFile = ClassFile.fromJar(SearchSettings.class.getName(), classBytes(SearchSettings.class),
+                                                Paths.get("test.jar"));
+        UnifiedAnalysisResult result = new UnifiedAnalysisResult("test", AnalysisConfig.defaultConfig());
+        
+        // When
+        new ConfigurationAnalyzer().analyze(classFile, result);
+        
+        // Then
+        assertThat(result.getConfigOptions())
+            .containsOnlyKeys("search.depth_limit", "search.multiple_errors", "search.class");
+        ConfigOption depthLimit = result.getConfigOptions().get("search.depth_limit");
+        assertThat(depthLimit.getType()).isEqualTo("Int");
+        assertThat(depthLimit.getSourceMethod()).isEqualTo("getInt");
+        assertThat(depthLimit.getValues()).extracting(ConfigOption.Value::getValue).containsExactly("100");
+        assertThat(result.getConfigOptions().get("search.multiple_errors").getValues())
+            .extracting(ConfigOption.Value::getValue).containsExactly("false");
+        assertThat(result.getConfigOptions().get("search.class").getValues()).isEmpty();
+    }
+    
+    @Test
+    void testJPFOptionAnnotationsAreReadFromBytecode() throws IOException {
+        // Given
+        ClassFile classFile = ClassFile.fromJar(SearchOptions.class.getName(), classBytes(SearchOptions.class),
+                                                Paths.get("test.jar"));
+        UnifiedAnalysisResult result = new UnifiedAnalysisResult("test", AnalysisConfig.defaultConfig());
+        
+        // When
+        new ConfigurationAnalyzer().analyze(classFile, result);
+        
+        // Then
+        assertThat(result.getConfigAnnotations()).containsOnlyKeys("search.depth_limit", "search.multiple_errors");
+        ConfigAnnotation depthLimit = result.getConfigAnnotations().get("search.depth_limit");
+        assertThat(depthLimit.getClassName()).isEqualTo(SearchOptions.class.getName());
+        assertThat(depthLimit.getType()).isEqualTo("Int");
+        assertThat(depthLimit.getValue()).isEqualTo("2147483647");
+        assertThat(depthLimit.getComment()).isEqualTo("Maximum search depth");
+        assertThat(depthLimit.getAnnotationType()).isEqualTo("JPFOption");
+        assertThat(result.getConfigAnnotations().get("search.multiple_errors").getComment()).isEmpty();
+    }
+    
+    private static byte[] classBytes(Class<?> type) throws IOException {
+        String resource = "/" + type.getName().replace('.', '/') + ".class";
+        try (InputStream in = type.getResourceAsStream(resource)) {
+            return in.readAllBytes();
+        }
+    }
+} 
\ No newline at end of file
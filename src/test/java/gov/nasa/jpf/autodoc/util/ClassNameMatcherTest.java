@@ -0,0 +1,102 @@
+/*
+ * Copyright (C) 2025, United States Government, as represented by the
+ * Administrator of the National Aeronautics and Space Administration.
+ * All rights reserved.
+ *
+ * The Java Pathfinder AutoDoc tool is licensed under the
+ * Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ * 
+ *        http://www.apache.org/licenses/LICENSE-2.0. 
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and 
+ * limitations under the License.
+ */
+package gov.nasa.jpf.autodoc.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for ClassNameMatcher, checked against String.matches.
+ */
+class ClassNameMatcherTest {
+    
+    private static final List<String> NAMES = Arrays.asList(
+        "", "gov", "gov.nasa.jpf", "gov.nasa.jpf.vm.VM", "gov.nasa.jpf.vm.Instruction",
+        "gov.nasa.jpf.listener.DeadlockListener", "gov.nasa.jpf.search.Search",
+        "gov.nasa.jpf.JPF$Status", "govXnasa.jpf.Foo", "com.example.Test", "com.example.FooTest",
+        "com.example.internal.Impl", "Test", "a", "ab", "abc", "gov.nasa.jpf.vm.\nVM");
+    
+    private static final List<String> PATTERNS = Arrays.asList(
+        // Literal names and prefixes (trie)
+        "gov\\.nasa\\.jpf\\.vm\\.VM", "gov\\.nasa\\.jpf\\.vm\\..*", "gov\\.nasa\\.jpf.*",
+        "gov\\.nasa\\.jpf\\.JPF\\$Status", ".*", "",
+        // Literals with '.' and '.*' (automaton)
+        "gov.nasa.jpf.*", ".*Test", ".*\\.internal\\..*", "gov.nasa.jpf.*Listener", "a.", ".+",
+        "gov.nasa.jpf.vm..*", ".*.Search",
+        // Other regex features (fallback)
+        "com\\.example\\.[A-Z]\\w*", "(gov|com)\\..*", "ab?c?", "^Test$", "a.*?b");
+    
+    @Test
+    void testEachPatternMatchesLikeStringMatches() {
+        for (String pattern : PATTERNS) {
+            ClassNameMatcher matcher = ClassNameMatcher.compile(pattern);
+            for (String name : NAMES) {
+                assertEquals(name.matches(pattern), matcher.matches(name),
+                    "pattern '" + pattern + "' on '" + name + "'");
+            }
+        }
+    }
+    
+    @Test
+    void testCombinedPatternsMatchLikeAnyStringMatches() {
+        // Given
+        Random random = new Random(42);
+        
+        for (int round = 0; round < 200; round++) {
+            List<String> patterns = new ArrayList<>();
+            int count = 1 + random.nextInt(4);
+            for (int i = 0; i < count; i++) {
+                patterns.add(PATTERNS.get(random.nextInt(PATTERNS.size())));
+            }
+            
+            // When
+            ClassNameMatcher matcher = ClassNameMatcher.compile(patterns);
+            
+            // Then
+            for (String name : NAMES) {
+                boolean expected = patterns.stream().anyMatch(name::matches);
+                assertEquals(expected, matcher.matches(name), patterns + " on '" + name + "'");
+            }
+        }
+    }
+    
+    @Test
+    void testEmptyMatcherMatchesNothing() {
+        ClassNameMatcher matcher = ClassNameMatcher.compile(Collections.emptyList());
+        
+        assertTrue(matcher.isEmpty());
+        assertFalse(matcher.matches("gov.nasa.jpf.vm.VM"));
+        assertFalse(matcher.matches(""));
+    }
+    
+    @Test
+    void testAutomatonHandlesNonAsciiNames() {
+        ClassNameMatcher matcher = ClassNameMatcher.compile("gov.nasa.*T\u00e9st");
+        
+        assertTrue(matcher.matches("gov.nasa.jpf.T\u00e9st"));
+        assertTrue(matcher.matches("gov.nasa.jpf.\u00c4T\u00e9st"));
+        assertFalse(matcher.matches("gov.nasa.jpf.Test"));
+    }
+} 
\ No newline at end of file